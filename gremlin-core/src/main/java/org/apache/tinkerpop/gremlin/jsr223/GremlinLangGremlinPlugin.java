@@ -0,0 +1,62 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.jsr223;
+
+import java.util.Collections;
+
+/**
+ * Configures the {@link GremlinLangScriptEngine}. This {@link GremlinPlugin} is not enabled for the
+ * {@code ServiceLoader}. It is designed to be instantiated manually, typically from the configuration of Gremlin
+ * Server.
+ */
+public final class GremlinLangGremlinPlugin extends AbstractGremlinPlugin {
+    private static final String NAME = "tinkerpop.gremlin-lang";
+
+    private GremlinLangGremlinPlugin(final Builder builder) {
+        super(NAME, Collections.singleton("gremlin-lang"), new ParseCacheCustomizer(builder.parseCacheSpecification));
+    }
+
+    public static Builder build() {
+        return new Builder();
+    }
+
+    public static final class Builder {
+
+        private String parseCacheSpecification = GremlinLangScriptEngine.DEFAULT_PARSE_CACHE_SPECIFICATION;
+
+        private Builder() {}
+
+        /**
+         * Sets the Caffeine specification of the cache of parsed scripts, which defaults to
+         * {@link GremlinLangScriptEngine#DEFAULT_PARSE_CACHE_SPECIFICATION}. A {@code maximumWeight} is measured in
+         * characters of the scripts, so that the cache is bounded by the size of the scripts it holds rather than by
+         * their number. The specification is a comma separated list of keys and values as described for the
+         * {@code classMapCacheSpecification} of the {@code GroovyCompilerGremlinPlugin}, other than
+         * {@code recordStats} which is always set.
+         */
+        public Builder parseCacheSpecification(final String parseCacheSpecification) {
+            this.parseCacheSpecification = parseCacheSpecification;
+            return this;
+        }
+
+        public GremlinLangGremlinPlugin create() {
+            return new GremlinLangGremlinPlugin(this);
+        }
+    }
+}
@@ -18,7 +18,10 @@
  */
 package org.apache.tinkerpop.gremlin.jsr223;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import org.apache.tinkerpop.gremlin.language.grammar.GremlinAntlrToJava;
+import org.apache.tinkerpop.gremlin.language.grammar.GremlinParser;
 import org.apache.tinkerpop.gremlin.language.grammar.GremlinQueryParser;
 import org.apache.tinkerpop.gremlin.language.grammar.VariableResolver;
 import org.apache.tinkerpop.gremlin.process.traversal.Bytecode;
@@ -34,6 +37,7 @@ import javax.script.SimpleBindings;
 import java.io.IOException;
 import java.io.Reader;
 import java.util.Map;
+import java.util.stream.Stream;
 
 /**
  * A {@link GremlinScriptEngine} implementation that evaluates Gremlin scripts using {@code gremlin-language}. As it
@@ -42,6 +46,11 @@ import java.util.Map;
  * to the capabilities of the ANTLR grammar so therefore syntax that includes things like lambdas are not supported.
  * For bytecode evaluation it simply uses the {@link JavaTranslator}.
  * <p/>
+ * Parse trees of scripts are cached by their text so that a script submitted repeatedly, typically with different
+ * parameters, is only lexed and parsed once. Parameters are resolved from the bindings each time the cached tree is
+ * interpreted, so a cached tree is never tied to the values of a particular request. The cache is configured with a
+ * {@link ParseCacheCustomizer}, as given by the {@link GremlinLangGremlinPlugin}.
+ * <p/>
  * As an internal note, technically, this is an incomplete implementation of the {@link GremlinScriptEngine} in the
  * traditional sense as a drop-in replacement for something like the {@code GremlinGroovyScriptEngine}. As a result,
  * this {@link GremlinScriptEngine} cannot pass the {@code GremlinScriptEngineSuite} tests in full. On the other hand,
@@ -51,8 +60,15 @@ import java.util.Map;
  * into the existing internals of Gremlin Server or more specifically the {@code GremlinExecutor}.
  */
 public class GremlinLangScriptEngine extends AbstractScriptEngine implements GremlinScriptEngine {
+    /**
+     * The specification of the cache of parsed scripts when no {@link ParseCacheCustomizer} is given.
+     */
+    public static final String DEFAULT_PARSE_CACHE_SPECIFICATION = "maximumSize=10000";
+
     private volatile GremlinScriptEngineFactory factory;
 
+    private final Cache<String, GremlinParser.QueryListContext> parseCache;
+
     /**
      * Creates a new instance using no {@link Customizer}.
      */
@@ -61,6 +77,58 @@ public class GremlinLangScriptEngine extends AbstractScriptEngine implements Gre
     }
 
     public GremlinLangScriptEngine(final Customizer... customizers) {
+        final String parseCacheSpecification = Stream.of(customizers)
+                .filter(c -> c instanceof ParseCacheCustomizer)
+                .map(c -> ((ParseCacheCustomizer) c).getParseCacheSpecification())
+                .findFirst().orElse(DEFAULT_PARSE_CACHE_SPECIFICATION);
+
+        // a maximumWeight bounds the characters of the cached scripts as a tree grows with the script it came from
+        final Caffeine<Object, Object> builder = Caffeine.from(parseCacheSpecification);
+        parseCache = parseCacheSpecification.contains("maximumWeight") ?
+                builder.weigher((String script, GremlinParser.QueryListContext tree) -> script.length()).recordStats().build() :
+                builder.recordStats().build();
+    }
+
+    /**
+     * Gets the estimated size of the cache of parsed scripts.
+     */
+    public long getParseCacheEstimatedSize() {
+        return parseCache.estimatedSize();
+    }
+
+    /**
+     * Gets the number of times a script was found already parsed in the cache.
+     */
+    public long getParseCacheHitCount() {
+        return parseCache.stats().hitCount();
+    }
+
+    /**
+     * Gets the ratio of scripts found already parsed in the cache to the scripts evaluated.
+     */
+    public double getParseCacheHitRate() {
+        return parseCache.stats().hitRate();
+    }
+
+    /**
+     * Gets the number of times a script had to be parsed because it was not in the cache.
+     */
+    public long getParseCacheMissCount() {
+        return parseCache.stats().missCount();
+    }
+
+    /**
+     * Gets the number of parse trees evicted from the cache.
+     */
+    public long getParseCacheEvictionCount() {
+        return parseCache.stats().evictionCount();
+    }
+
+    /**
+     * Gets the number of scripts that were looked up in the cache.
+     */
+    public long getParseCacheRequestCount() {
+        return parseCache.stats().requestCount();
     }
 
     @Override
@@ -111,7 +179,8 @@ public class GremlinLangScriptEngine extends AbstractScriptEngine implements Gre
                 new VariableResolver.DefaultVariableResolver(m));
 
         try {
-            return GremlinQueryParser.parse(script, antlr);
+            // scripts that fail to parse throw from the loader and are therefore not cached
+            return GremlinQueryParser.parse(parseCache.get(script, GremlinQueryParser::parseQueryList), antlr);
         } catch (Exception ex) {
             throw new ScriptException(ex);
         }
@@ -46,6 +46,16 @@ public class GremlinQueryParser {
      * Parse Gremlin string using a specified {@link GremlinAntlrToJava} object.
      */
     public static Object parse(final String query, final GremlinVisitor<Object> visitor)  {
+        return parse(parseQueryList(query), visitor);
+    }
+
+    /**
+     * Parse Gremlin string to its parse tree without interpreting it. The tree holds no variable values as those are
+     * only resolved when it is visited, so it may be kept and visited again with
+     * {@link #parse(GremlinParser.QueryListContext, GremlinVisitor)} for each evaluation of the same query, even
+     * concurrently.
+     */
+    public static GremlinParser.QueryListContext parseQueryList(final String query) {
         final CharStream in = CharStreams.fromString(query);
         final GremlinLexer lexer = new GremlinLexer(in);
         lexer.removeErrorListeners();
@@ -81,6 +91,14 @@ public class GremlinQueryParser {
             }        
         }
 
+        return queryContext;
+    }
+
+    /**
+     * Interpret a parse tree produced by {@link #parseQueryList(String)} with a specified {@link GremlinAntlrToJava}
+     * object.
+     */
+    public static Object parse(final GremlinParser.QueryListContext queryContext, final GremlinVisitor<Object> visitor) {
         try {
             return visitor.visit(queryContext);
         } catch (ClassCastException ex) {
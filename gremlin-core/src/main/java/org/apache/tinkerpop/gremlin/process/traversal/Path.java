@@ -24,6 +24,7 @@ import org.javatuples.Pair;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Objects;
@@ -205,11 +206,21 @@ public interface Path extends Cloneable, Iterable<Object> {
      */
     public default boolean isSimple() {
         final List<Object> objects = this.objects();
-        for (int i = 0; i < objects.size() - 1; i++) {
-            for (int j = i + 1; j < objects.size(); j++) {
-                if (Objects.equals(objects.get(i), objects.get(j)))
-                    return false;
+        if (objects.size() <= 8) {
+            // a pairwise scan is cheaper than hashing for short paths
+            for (int i = 0; i < objects.size() - 1; i++) {
+                for (int j = i + 1; j < objects.size(); j++) {
+                    if (Objects.equals(objects.get(i), objects.get(j)))
+                        return false;
+                }
             }
+            return true;
+        }
+
+        final Set<Object> seen = new HashSet<>(objects.size() * 2);
+        for (final Object object : objects) {
+            if (!seen.add(object))
+                return false;
         }
         return true;
     }
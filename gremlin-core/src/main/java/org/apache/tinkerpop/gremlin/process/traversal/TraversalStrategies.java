@@ -31,8 +31,11 @@ import org.apache.tinkerpop.gremlin.process.traversal.strategy.decoration.Option
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.decoration.PartitionStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.decoration.SeedStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.decoration.SubgraphStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.finalization.BreadthFirstRepeatStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.finalization.ParallelBranchStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.finalization.ProfileStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.finalization.ReferenceElementStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.finalization.TraversalBudgetStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.optimization.AdjacentToIncidentStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.optimization.CountStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.optimization.EarlyLimitStrategy;
@@ -247,6 +250,9 @@ public interface TraversalStrategies extends Serializable, Cloneable, Iterable<T
             put(SubgraphStrategy.class.getSimpleName(), SubgraphStrategy.class);
 
             // finalization
+            put(BreadthFirstRepeatStrategy.class.getSimpleName(), BreadthFirstRepeatStrategy.class);
+            put(ParallelBranchStrategy.class.getSimpleName(), ParallelBranchStrategy.class);
+            put(TraversalBudgetStrategy.class.getSimpleName(), TraversalBudgetStrategy.class);
             put(ReferenceElementStrategy.class.getSimpleName(), ReferenceElementStrategy.class);
 
             // optimizations
@@ -19,6 +19,7 @@
 package org.apache.tinkerpop.gremlin.process.traversal.step.branch;
 
 import org.apache.tinkerpop.gremlin.process.traversal.Pick;
+import org.apache.tinkerpop.gremlin.process.traversal.Step;
 import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
 import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
 import org.apache.tinkerpop.gremlin.process.traversal.lambda.PredicateTraversal;
@@ -27,8 +28,10 @@ import org.apache.tinkerpop.gremlin.process.traversal.step.TraversalOptionParent
 import org.apache.tinkerpop.gremlin.process.traversal.step.util.ComputerAwareStep;
 import org.apache.tinkerpop.gremlin.process.traversal.traverser.TraverserRequirement;
 import org.apache.tinkerpop.gremlin.process.traversal.util.FastNoSuchElementException;
+import org.apache.tinkerpop.gremlin.process.traversal.util.ForkJoinHelper;
 import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
 import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalUtil;
+import org.apache.tinkerpop.gremlin.structure.util.CloseableIterator;
 import org.apache.tinkerpop.gremlin.structure.util.StringFactory;
 import org.javatuples.Pair;
 
@@ -39,6 +42,7 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -46,7 +50,7 @@ import java.util.stream.Stream;
  * @author Marko A. Rodriguez (http://markorodriguez.com)
  * @author Daniel Kuppitz (http://gremlin.guru)
  */
-public class BranchStep<S, E, M> extends ComputerAwareStep<S, E> implements TraversalOptionParent<M, S, E> {
+public class BranchStep<S, E, M> extends ComputerAwareStep<S, E> implements TraversalOptionParent<M, S, E>, AutoCloseable {
 
     protected Traversal.Admin<S, M> branchTraversal;
     protected Map<Pick, List<Traversal.Admin<S, E>>> traversalPickOptions = new HashMap<>();
@@ -54,6 +58,8 @@ public class BranchStep<S, E, M> extends ComputerAwareStep<S, E> implements Trav
 
     private boolean first = true;
     private boolean hasBarrier;
+    private transient ForkJoinPool forkJoinPool = null;
+    private transient CloseableIterator<Traverser.Admin<E>> concurrentEnds = null;
 
     public BranchStep(final Traversal.Admin traversal) {
         super(traversal);
@@ -93,6 +99,19 @@ public class BranchStep<S, E, M> extends ComputerAwareStep<S, E> implements Trav
         return this.getSelfAndChildRequirements();
     }
 
+    /**
+     * Sets the pool on which the options that received a traverser are iterated concurrently, or {@code null} to
+     * iterate them one after another on the calling thread. The results are emitted in the same order either way, and
+     * when concurrent, each option is only read a little ahead of the results that were taken from the step.
+     */
+    public void setForkJoinPool(final ForkJoinPool forkJoinPool) {
+        this.forkJoinPool = forkJoinPool;
+    }
+
+    public ForkJoinPool getForkJoinPool() {
+        return this.forkJoinPool;
+    }
+
     @Override
     public List<Traversal.Admin<S, E>> getGlobalChildren() {
         return Collections.unmodifiableList(Stream.concat(
@@ -110,6 +129,12 @@ public class BranchStep<S, E, M> extends ComputerAwareStep<S, E> implements Trav
     protected Iterator<Traverser.Admin<E>> standardAlgorithm() {
         while (true) {
             if (!this.first) {
+                if (null != this.forkJoinPool) {
+                    final Iterator<Traverser.Admin<E>> ends = this.iterateOptionsConcurrently();
+                    if (ends.hasNext())
+                        return ends;
+                }
+
                 // this block is ignored on the first pass through the while(true) giving the opportunity for
                 // the traversalOptions to be prepared. Iterate all of them and simply return the ones that yield
                 // results. applyCurrentTraverser() will have only injected the current traverser into the options
@@ -139,6 +164,23 @@ public class BranchStep<S, E, M> extends ComputerAwareStep<S, E> implements Trav
         }
     }
 
+    /**
+     * Iterates the options that received a traverser concurrently on the {@link #forkJoinPool} and returns their
+     * results in option order as they are taken. Nothing is done when fewer than two options received traversers.
+     */
+    private Iterator<Traverser.Admin<E>> iterateOptionsConcurrently() {
+        final List<Step<?, E>> ends = new ArrayList<>();
+        for (final Traversal.Admin<S, E> option : getGlobalChildren()) {
+            if (option.getStartStep().hasStarts())
+                ends.add(option.getEndStep());
+        }
+        if (ends.size() < 2)
+            return Collections.emptyIterator();
+
+        this.concurrentEnds = ForkJoinHelper.concat(this.forkJoinPool, ends, ForkJoinHelper.READ_AHEAD);
+        return this.concurrentEnds;
+    }
+
     /**
      * Choose the right traversal option to apply and seed those options with this traverser.
      */
@@ -222,6 +264,7 @@ public class BranchStep<S, E, M> extends ComputerAwareStep<S, E> implements Trav
             clone.traversalOptions.add(Pair.with(pair.getValue0().clone(), pair.getValue1().clone()));
         }
         clone.branchTraversal = this.branchTraversal.clone();
+        clone.concurrentEnds = null;
         return clone;
     }
 
@@ -255,8 +298,27 @@ public class BranchStep<S, E, M> extends ComputerAwareStep<S, E> implements Trav
 
     @Override
     public void reset() {
+        this.closeConcurrentEnds();
         super.reset();
         this.getGlobalChildren().forEach(Traversal.Admin::reset);
         this.first = true;
     }
+
+    /**
+     * Stops any options that are being iterated concurrently and, when they are iterated on the {@link #forkJoinPool},
+     * closes them so that the steps within them release their resources as well.
+     */
+    @Override
+    public void close() {
+        this.closeConcurrentEnds();
+        if (null != this.forkJoinPool)
+            this.getGlobalChildren().forEach(CloseableIterator::closeIterator);
+    }
+
+    private void closeConcurrentEnds() {
+        if (null != this.concurrentEnds) {
+            this.concurrentEnds.close();
+            this.concurrentEnds = null;
+        }
+    }
 }
@@ -18,27 +18,37 @@
  */
 package org.apache.tinkerpop.gremlin.process.traversal.step.branch;
 
+import org.apache.tinkerpop.gremlin.process.traversal.Step;
 import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
 import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
 import org.apache.tinkerpop.gremlin.process.traversal.step.TraversalParent;
 import org.apache.tinkerpop.gremlin.process.traversal.step.util.AbstractStep;
 import org.apache.tinkerpop.gremlin.process.traversal.traverser.TraverserRequirement;
 import org.apache.tinkerpop.gremlin.process.traversal.util.FastNoSuchElementException;
+import org.apache.tinkerpop.gremlin.process.traversal.util.ForkJoinHelper;
+import org.apache.tinkerpop.gremlin.structure.util.CloseableIterator;
 import org.apache.tinkerpop.gremlin.structure.util.StringFactory;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.NoSuchElementException;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * @author Marko A. Rodriguez (http://markorodriguez.com)
  */
-public final class LocalStep<S, E> extends AbstractStep<S, E> implements TraversalParent {
+public final class LocalStep<S, E> extends AbstractStep<S, E> implements TraversalParent, AutoCloseable {
 
     private Traversal.Admin<S, E> localTraversal;
     private boolean first = true;
 
+    private transient ForkJoinPool forkJoinPool = null;
+    private int parallelism = 1;
+    private List<Traversal.Admin<S, E>> forkedTraversals = new ArrayList<>();
+    private transient CloseableIterator<Traverser.Admin<E>> forkedEnds = null;
+
     public LocalStep(final Traversal.Admin traversal, final Traversal.Admin<S, E> localTraversal) {
         super(traversal);
         this.localTraversal = this.integrateChild(localTraversal);
@@ -54,8 +64,29 @@ public final class LocalStep<S, E> extends AbstractStep<S, E> implements Travers
         return this.localTraversal.getTraverserRequirements();
     }
 
+    /**
+     * Sets the pool on which the local traversal is applied to up to {@code parallelism} traversers at once, or
+     * {@code null} to apply it to one traverser at a time on the calling thread. The results are emitted in the order
+     * of the traversers either way.
+     */
+    public void setForkJoinPool(final ForkJoinPool forkJoinPool, final int parallelism) {
+        this.forkJoinPool = forkJoinPool;
+        this.parallelism = parallelism;
+    }
+
+    public ForkJoinPool getForkJoinPool() {
+        return this.forkJoinPool;
+    }
+
+    public int getParallelism() {
+        return this.parallelism;
+    }
+
     @Override
     protected Traverser.Admin<E> processNextStart() throws NoSuchElementException {
+        if (null != this.forkJoinPool)
+            return this.processNextForkedStart();
+
         if (this.first) {
             this.first = false;
             this.localTraversal.addStart(this.starts.next());
@@ -72,11 +103,74 @@ public final class LocalStep<S, E> extends AbstractStep<S, E> implements Travers
         }
     }
 
+    /**
+     * Takes up to {@link #parallelism} traversers and applies a copy of the local traversal to each of them
+     * concurrently, taking the results of each as they are asked for.
+     */
+    private Traverser.Admin<E> processNextForkedStart() {
+        while (true) {
+            if (null != this.forkedEnds && this.forkedEnds.hasNext())
+                return this.forkedEnds.next();
+
+            final List<Traverser.Admin<S>> batch = new ArrayList<>();
+            batch.add(this.starts.next());
+            while (batch.size() < this.parallelism && this.starts.hasNext()) {
+                batch.add(this.starts.next());
+            }
+
+            if (this.forkedTraversals.isEmpty())
+                this.forkedTraversals.add(this.localTraversal);
+            while (this.forkedTraversals.size() < batch.size()) {
+                final Traversal.Admin<S, E> fork = this.localTraversal.clone();
+                fork.setParent(this);
+                fork.setSideEffects(this.getTraversal().getSideEffects());
+                this.forkedTraversals.add(fork);
+            }
+
+            final List<Step<?, E>> ends = new ArrayList<>(batch.size());
+            for (int i = 0; i < batch.size(); i++) {
+                final Traversal.Admin<S, E> fork = this.forkedTraversals.get(i);
+                fork.reset();
+                fork.addStart(batch.get(i));
+                ends.add(fork.getEndStep());
+            }
+
+            this.closeForkedEnds();
+            this.forkedEnds = ForkJoinHelper.concat(this.forkJoinPool, ends, ForkJoinHelper.READ_AHEAD);
+        }
+    }
+
     @Override
     public void reset() {
+        this.closeForkedEnds();
         super.reset();
         this.first = true;
         this.localTraversal.reset();
+        this.forkedTraversals.forEach(Traversal.Admin::reset);
+    }
+
+    /**
+     * Stops any applications of the local traversal that are running concurrently and, when they are applied on the
+     * {@link #forkJoinPool}, closes the local traversal and its copies so that the steps within them release their
+     * resources as well.
+     */
+    @Override
+    public void close() {
+        this.closeForkedEnds();
+        if (null != this.forkJoinPool) {
+            // the local traversal is the first of the forked traversals once any were made
+            if (this.forkedTraversals.isEmpty())
+                CloseableIterator.closeIterator(this.localTraversal);
+            else
+                this.forkedTraversals.forEach(CloseableIterator::closeIterator);
+        }
+    }
+
+    private void closeForkedEnds() {
+        if (null != this.forkedEnds) {
+            this.forkedEnds.close();
+            this.forkedEnds = null;
+        }
     }
 
     @Override
@@ -84,6 +178,8 @@ public final class LocalStep<S, E> extends AbstractStep<S, E> implements Travers
         final LocalStep<S, E> clone = (LocalStep<S, E>) super.clone();
         clone.localTraversal = this.localTraversal.clone();
         clone.first = true;
+        clone.forkedTraversals = new ArrayList<>();
+        clone.forkedEnds = null;
         return clone;
     }
 
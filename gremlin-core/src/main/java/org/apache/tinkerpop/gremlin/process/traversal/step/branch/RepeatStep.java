@@ -24,12 +24,14 @@ import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
 import org.apache.tinkerpop.gremlin.process.traversal.step.TraversalParent;
 import org.apache.tinkerpop.gremlin.process.traversal.step.util.ComputerAwareStep;
 import org.apache.tinkerpop.gremlin.process.traversal.traverser.TraverserRequirement;
+import org.apache.tinkerpop.gremlin.process.traversal.traverser.util.TraverserSet;
 import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalUtil;
 import org.apache.tinkerpop.gremlin.structure.util.StringFactory;
 import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.NoSuchElementException;
@@ -47,6 +49,11 @@ public final class RepeatStep<S> extends ComputerAwareStep<S, S> implements Trav
     public boolean untilFirst = false;
     public boolean emitFirst = false;
 
+    private boolean breadthFirst = false;
+    private boolean pruneVisited = false;
+    private TraverserSet<S> frontier = new TraverserSet<>();
+    private Set<Object> visited = new HashSet<>();
+
     public RepeatStep(final Traversal.Admin traversal) {
         super(traversal);
     }
@@ -100,6 +107,28 @@ public final class RepeatStep<S> extends ComputerAwareStep<S, S> implements Trav
         return this.repeatTraversal;
     }
 
+    /**
+     * Switches the step to expand its traversers one level at a time rather than depth-first. All incoming traversers
+     * are gathered before the first level is expanded, and the traversers of each level are bulked together before
+     * the next is expanded. Results are the same as in depth-first mode except for their order.
+     *
+     * @param pruneVisited when {@code true}, a traverser is discarded once it arrives at an object that was already
+     *                     reached by any traverser of this step, so that each object is expanded, emitted and
+     *                     returned at most once
+     */
+    public void setBreadthFirst(final boolean breadthFirst, final boolean pruneVisited) {
+        this.breadthFirst = breadthFirst;
+        this.pruneVisited = breadthFirst && pruneVisited;
+    }
+
+    public boolean isBreadthFirst() {
+        return this.breadthFirst;
+    }
+
+    public boolean isPruneVisited() {
+        return this.pruneVisited;
+    }
+
     public List<Traversal.Admin<S, S>> getGlobalChildren() {
         return null == this.repeatTraversal ? Collections.emptyList() : Collections.singletonList(this.repeatTraversal);
     }
@@ -142,6 +171,8 @@ public final class RepeatStep<S> extends ComputerAwareStep<S, S> implements Trav
             this.untilTraversal.reset();
         if (null != this.repeatTraversal)
             this.repeatTraversal.reset();
+        this.frontier.clear();
+        this.visited.clear();
     }
 
     private final String untilString() {
@@ -162,6 +193,8 @@ public final class RepeatStep<S> extends ComputerAwareStep<S, S> implements Trav
             clone.untilTraversal = this.untilTraversal.clone();
         if (null != this.emitTraversal)
             clone.emitTraversal = this.emitTraversal.clone();
+        clone.frontier = new TraverserSet<>();
+        clone.visited = new HashSet<>();
         return clone;
     }
 
@@ -192,6 +225,9 @@ public final class RepeatStep<S> extends ComputerAwareStep<S, S> implements Trav
         if (null == this.repeatTraversal)
             throw new IllegalStateException("The repeat()-traversal was not defined: " + this);
 
+        if (this.breadthFirst)
+            return this.breadthFirstAlgorithm();
+
         while (true) {
             if (this.repeatTraversal.getEndStep().hasNext()) {
                 return this.repeatTraversal.getEndStep();
@@ -212,6 +248,56 @@ public final class RepeatStep<S> extends ComputerAwareStep<S, S> implements Trav
         }
     }
 
+    /**
+     * Expands the traversers of the {@link #frontier} as one level. The {@link RepeatEndStep} gathers the traversers
+     * that continue into the frontier again while the level is drained, and the next level is only started once the
+     * current one is exhausted.
+     */
+    private Iterator<Traverser.Admin<S>> breadthFirstAlgorithm() {
+        while (true) {
+            if (this.repeatTraversal.getEndStep().hasNext())
+                return this.repeatTraversal.getEndStep();
+
+            if (this.frontier.isEmpty()) {
+                this.visit(this.starts.next());
+                while (this.starts.hasNext()) {
+                    this.visit(this.starts.next());
+                }
+                if (this.frontier.isEmpty())
+                    continue;
+            }
+
+            final TraverserSet<S> level = this.frontier;
+            this.frontier = new TraverserSet<>();
+            final List<Traverser.Admin<S>> ends = new ArrayList<>();
+            for (final Traverser.Admin<S> start : level) {
+                start.initialiseLoops(this.getId(), this.loopName);
+                if (doUntil(start, true)) {
+                    start.resetLoops();
+                    ends.add(start);
+                    continue;
+                }
+                this.repeatTraversal.addStart(start);
+                if (doEmit(start, true)) {
+                    final Traverser.Admin<S> emitSplit = start.split();
+                    emitSplit.resetLoops();
+                    ends.add(emitSplit);
+                }
+            }
+            if (!ends.isEmpty())
+                return ends.iterator();
+        }
+    }
+
+    /**
+     * Adds the traverser to the first level unless it arrived at an object that was already visited and such
+     * traversers are pruned.
+     */
+    private void visit(final Traverser.Admin<S> traverser) {
+        if (!this.pruneVisited || this.visited.add(traverser.get()))
+            this.frontier.add(traverser);
+    }
+
     @Override
     protected Iterator<Traverser.Admin<S>> computerAlgorithm() throws NoSuchElementException {
         if (null == this.repeatTraversal)
@@ -295,11 +381,16 @@ public final class RepeatStep<S> extends ComputerAwareStep<S, S> implements Trav
             while (true) {
                 final Traverser.Admin<S> start = this.starts.next();
                 start.incrLoops();
+                if (null != this.getBudget()) this.getBudget().checkLoops(start);
+                if (repeatStep.breadthFirst && repeatStep.pruneVisited && !repeatStep.visited.add(start.get()))
+                    continue;
                 if (repeatStep.doUntil(start, false)) {
                     start.resetLoops();
                     return IteratorUtils.of(start);
                 } else {
-                    if (!repeatStep.untilFirst && !repeatStep.emitFirst)
+                    if (repeatStep.breadthFirst)
+                        repeatStep.frontier.add(start);
+                    else if (!repeatStep.untilFirst && !repeatStep.emitFirst)
                         repeatStep.repeatTraversal.addStart(start);
                     else
                         repeatStep.addStart(start);
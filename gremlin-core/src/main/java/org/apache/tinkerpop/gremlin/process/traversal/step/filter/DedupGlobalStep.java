@@ -23,21 +23,36 @@ import org.apache.tinkerpop.gremlin.process.traversal.Operator;
 import org.apache.tinkerpop.gremlin.process.traversal.Pop;
 import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
 import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
+import org.apache.tinkerpop.gremlin.process.traversal.lambda.AbstractLambdaTraversal;
 import org.apache.tinkerpop.gremlin.process.traversal.step.Barrier;
 import org.apache.tinkerpop.gremlin.process.traversal.step.ByModulating;
+import org.apache.tinkerpop.gremlin.process.traversal.step.Configuring;
 import org.apache.tinkerpop.gremlin.process.traversal.step.GraphComputing;
+import org.apache.tinkerpop.gremlin.process.traversal.step.LambdaHolder;
 import org.apache.tinkerpop.gremlin.process.traversal.step.PathProcessor;
 import org.apache.tinkerpop.gremlin.process.traversal.step.Scoping;
 import org.apache.tinkerpop.gremlin.process.traversal.step.TraversalParent;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.Parameters;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.WithOptions;
 import org.apache.tinkerpop.gremlin.process.traversal.traverser.TraverserRequirement;
 import org.apache.tinkerpop.gremlin.process.traversal.util.FastNoSuchElementException;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
 import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalProduct;
 import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalUtil;
+import org.apache.tinkerpop.gremlin.structure.Edge;
+import org.apache.tinkerpop.gremlin.structure.Element;
 import org.apache.tinkerpop.gremlin.structure.Property;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.structure.VertexProperty;
 import org.apache.tinkerpop.gremlin.structure.util.StringFactory;
 import org.apache.tinkerpop.gremlin.structure.util.detached.DetachedFactory;
 import org.apache.tinkerpop.gremlin.structure.util.reference.ReferenceFactory;
+import org.apache.tinkerpop.gremlin.util.BloomFilter;
+import org.apache.tinkerpop.gremlin.util.LongHashSet;
 
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.math.BigInteger;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
@@ -48,15 +63,43 @@ import java.util.List;
 import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Set;
+import java.util.UUID;
 import java.util.function.BinaryOperator;
 
 /**
+ * Filters traversers whose value (or {@code by()} projection of it) has already been seen. Seen numbers and elements
+ * with numeric identifiers are held as primitive longs. When configured with
+ * {@link WithOptions#dedupFalsePositiveRate} the seen values are instead kept in a {@link BloomFilter}, which bounds
+ * memory at the cost of filtering a small fraction of unique traversers. No other configuration is accepted.
+ *
  * @author Marko A. Rodriguez (http://markorodriguez.com)
  */
-public final class DedupGlobalStep<S> extends FilterStep<S> implements TraversalParent, Scoping, GraphComputing, Barrier<Map<Object, Traverser.Admin<S>>>, ByModulating, PathProcessor {
+public final class DedupGlobalStep<S> extends FilterStep<S> implements TraversalParent, Scoping, GraphComputing, Barrier<Map<Object, Traverser.Admin<S>>>, ByModulating, PathProcessor, Configuring {
+
+    private final static IllegalArgumentException INVALID_CONFIGURATION_EXCEPTION =
+            new IllegalArgumentException("WithOptions.dedupFalsePositiveRate requires a single Number argument between 0 and 1 exclusive");
+
+    /**
+     * The number of recently projected elements that are remembered, which must be a power of two.
+     */
+    private static final int PROJECTED_ELEMENTS_SIZE = 1024;
+
+    private static final Set<TraverserRequirement> MEMOIZABLE_REQUIREMENTS = Collections.unmodifiableSet(
+            new HashSet<>(Arrays.asList(TraverserRequirement.OBJECT, TraverserRequirement.BULK, TraverserRequirement.ONE_BULK)));
 
     private Traversal.Admin<S, Object> dedupTraversal = null;
-    private Set<Object> duplicateSet = new HashSet<>();
+    private final Parameters parameters = new Parameters();
+    private double falsePositiveRate = 0d;
+    private SeenSet duplicateSet = new SeenSet(0d);
+
+    /**
+     * A small direct-mapped cache of the elements whose {@code by()} projection has been computed, which is only used
+     * when {@link #isProjectionMemoizable()} so that an element that arrives again soon after need not be projected
+     * again. An element that was pushed out by another is simply projected again, so memory stays fixed.
+     */
+    private Object[] projectedElements = null;
+    private Boolean projectionMemoizable = null;
+
     private boolean onGraphComputer = false;
     private final Set<String> dedupLabels;
     private Set<String> keepLabels;
@@ -74,6 +117,17 @@ public final class DedupGlobalStep<S> extends FilterStep<S> implements Traversal
         if (this.onGraphComputer && !this.executingAtMaster) return true;
         traverser.setBulk(1L);
         if (null == this.dedupLabels) {
+            // the projection of an element seen before was already recorded, so the traverser is a duplicate
+            if (traverser.get() instanceof Element && this.isProjectionMemoizable()) {
+                if (null == this.projectedElements)
+                    this.projectedElements = new Object[PROJECTED_ELEMENTS_SIZE];
+                final Object element = traverser.get();
+                final int slot = (int) BloomFilter.mix(element.hashCode()) & (PROJECTED_ELEMENTS_SIZE - 1);
+                if (element.equals(this.projectedElements[slot]))
+                    return false;
+                this.projectedElements[slot] = element;
+            }
+
             final TraversalProduct product = TraversalUtil.produce(traverser, this.dedupTraversal);
             return product.isProductive() && this.duplicateSet.add(product.get());
         } else {
@@ -89,6 +143,49 @@ public final class DedupGlobalStep<S> extends FilterStep<S> implements Traversal
         }
     }
 
+    /**
+     * A {@code by()} projection can be memoized per element if it is a child traversal whose result depends only on
+     * the element, i.e. it does not look at the path, sack, side-effects or loops of the traverser and has no lambdas
+     * that might do so. Token and property projections are cheap enough that they are not worth memoizing.
+     */
+    private boolean isProjectionMemoizable() {
+        if (null == this.projectionMemoizable) {
+            this.projectionMemoizable = null != this.dedupTraversal &&
+                    !(this.dedupTraversal instanceof AbstractLambdaTraversal) &&
+                    MEMOIZABLE_REQUIREMENTS.containsAll(this.dedupTraversal.getTraverserRequirements()) &&
+                    !TraversalHelper.hasStepOfAssignableClassRecursively(LambdaHolder.class, this.dedupTraversal);
+        }
+        return this.projectionMemoizable;
+    }
+
+    @Override
+    public void configure(final Object... keyValues) {
+        if (keyValues[0].equals(WithOptions.dedupFalsePositiveRate)) {
+            if (keyValues.length != 2 || !(keyValues[1] instanceof Number))
+                throw INVALID_CONFIGURATION_EXCEPTION;
+            final double rate = ((Number) keyValues[1]).doubleValue();
+            if (!(rate > 0d && rate < 1d))
+                throw INVALID_CONFIGURATION_EXCEPTION;
+            this.falsePositiveRate = rate;
+            this.duplicateSet = new SeenSet(rate);
+            this.projectedElements = null;
+        } else {
+            throw new IllegalArgumentException(String.format("dedup() does not accept the configuration: %s", keyValues[0]));
+        }
+    }
+
+    @Override
+    public Parameters getParameters() {
+        return this.parameters;
+    }
+
+    /**
+     * Gets the configured false positive rate or zero if duplicates are detected exactly.
+     */
+    public double getFalsePositiveRate() {
+        return this.falsePositiveRate;
+    }
+
     @Override
     public void atMaster(final boolean atMaster) {
         this.executingAtMaster = atMaster;
@@ -123,18 +220,23 @@ public final class DedupGlobalStep<S> extends FilterStep<S> implements Traversal
     @Override
     public void modulateBy(final Traversal.Admin<?, ?> dedupTraversal) {
         this.dedupTraversal = this.integrateChild(dedupTraversal);
+        this.projectionMemoizable = null;
     }
 
     @Override
     public void replaceLocalChild(final Traversal.Admin<?, ?> oldTraversal, final Traversal.Admin<?, ?> newTraversal) {
-        if (null != this.dedupTraversal && this.dedupTraversal.equals(oldTraversal))
+        if (null != this.dedupTraversal && this.dedupTraversal.equals(oldTraversal)) {
             this.dedupTraversal = this.integrateChild(newTraversal);
+            this.projectionMemoizable = null;
+        }
     }
 
     @Override
     public DedupGlobalStep<S> clone() {
         final DedupGlobalStep<S> clone = (DedupGlobalStep<S>) super.clone();
-        clone.duplicateSet = new HashSet<>();
+        clone.duplicateSet = new SeenSet(this.falsePositiveRate);
+        clone.projectedElements = null;
+        clone.projectionMemoizable = null;
         if (null != this.dedupTraversal)
             clone.dedupTraversal = this.dedupTraversal.clone();
         return clone;
@@ -153,6 +255,8 @@ public final class DedupGlobalStep<S> extends FilterStep<S> implements Traversal
             result ^= this.dedupTraversal.hashCode();
         if (this.dedupLabels != null)
             result ^= this.dedupLabels.hashCode();
+        if (this.falsePositiveRate > 0d)
+            result ^= Double.hashCode(this.falsePositiveRate);
         return result;
     }
 
@@ -160,6 +264,7 @@ public final class DedupGlobalStep<S> extends FilterStep<S> implements Traversal
     public void reset() {
         super.reset();
         this.duplicateSet.clear();
+        this.projectedElements = null;
         this.barrier = null;
         this.barrierIterator = null;
     }
@@ -270,4 +375,130 @@ public final class DedupGlobalStep<S> extends FilterStep<S> implements Traversal
     public Set<String> getKeepLabels() {
         return this.keepLabels;
     }
+
+    /**
+     * The set of values seen by the step. Numbers and vertices or edges with {@code Long} or {@code Integer}
+     * identifiers are recorded as primitive longs in a set for each kind of value, since two such values are equal
+     * exactly when they are of the same kind and have the same number. Everything else is held in a {@code HashSet}.
+     * If a false positive rate is given, values are hashed to 64 bits with {@link #hash(Object)} and added to a
+     * {@link BloomFilter} instead.
+     */
+    static final class SeenSet implements Serializable {
+        private static final int KINDS = 6;
+
+        private final BloomFilter bloomFilter;
+        private final LongHashSet[] numbers = new LongHashSet[KINDS];
+        private Set<Object> objects = null;
+
+        SeenSet(final double falsePositiveRate) {
+            this.bloomFilter = falsePositiveRate > 0d ? new BloomFilter(falsePositiveRate) : null;
+        }
+
+        /**
+         * @return {@code true} if the value was not seen before
+         */
+        boolean add(final Object value) {
+            final int kind = kindOf(value);
+            if (null != this.bloomFilter) {
+                return this.bloomFilter.add(kind < 0 ? hash(value) : BloomFilter.mix(BloomFilter.mix(numberOf(value)) + kind));
+            } else if (kind < 0) {
+                if (null == this.objects)
+                    this.objects = new HashSet<>();
+                return this.objects.add(value);
+            } else {
+                if (null == this.numbers[kind])
+                    this.numbers[kind] = new LongHashSet();
+                return this.numbers[kind].add(numberOf(value));
+            }
+        }
+
+        void clear() {
+            if (null != this.bloomFilter)
+                this.bloomFilter.clear();
+            Arrays.fill(this.numbers, null);
+            this.objects = null;
+        }
+
+        private static int kindOf(final Object value) {
+            if (value instanceof Long)
+                return 0;
+            else if (value instanceof Integer)
+                return 1;
+            else if (value instanceof Vertex)
+                return kindOfId(((Vertex) value).id(), 2);
+            else if (value instanceof Edge)
+                return kindOfId(((Edge) value).id(), 4);
+            else
+                return -1;
+        }
+
+        private static int kindOfId(final Object id, final int kind) {
+            if (id instanceof Long)
+                return kind;
+            else if (id instanceof Integer)
+                return kind + 1;
+            else
+                return -1;
+        }
+
+        private static long numberOf(final Object value) {
+            return ((Number) (value instanceof Element ? ((Element) value).id() : value)).longValue();
+        }
+
+        /**
+         * A 64-bit hash of the value that is equal for equal values. Strings, numbers, elements, collections and maps
+         * are hashed from their full content so that values whose {@code hashCode()} collide are still told apart.
+         * Values of any other type only have their 32-bit {@code hashCode()} to go on.
+         */
+        static long hash(final Object value) {
+            if (null == value)
+                return 0x9e3779b97f4a7c15L;
+            else if (value instanceof String)
+                return hash((String) value, 1);
+            else if (value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte)
+                return BloomFilter.mix(BloomFilter.mix(((Number) value).longValue()) + value.getClass().getName().hashCode());
+            else if (value instanceof Double)
+                return BloomFilter.mix(BloomFilter.mix(Double.doubleToLongBits((Double) value)) + 2);
+            else if (value instanceof Float)
+                return BloomFilter.mix(BloomFilter.mix(Float.floatToIntBits((Float) value)) + 3);
+            else if (value instanceof BigInteger || value instanceof BigDecimal)
+                return hash(value.toString(), value instanceof BigInteger ? 4 : 5);
+            else if (value instanceof UUID)
+                return BloomFilter.mix(BloomFilter.mix(((UUID) value).getMostSignificantBits()) + ((UUID) value).getLeastSignificantBits());
+            else if (value instanceof Enum)
+                return hash(((Enum) value).getDeclaringClass().getName(), 6 + ((Enum) value).ordinal());
+            else if (value instanceof Element) {
+                // elements are equal when they are of the same kind and their ids are equal
+                final int kind = value instanceof Vertex ? 7 : value instanceof Edge ? 8 : value instanceof VertexProperty ? 9 : 10;
+                return BloomFilter.mix(hash(((Element) value).id()) + kind);
+            } else if (value instanceof List) {
+                long h = 11;
+                for (final Object item : (List<?>) value) {
+                    h = BloomFilter.mix(h * 31 + hash(item));
+                }
+                return h;
+            } else if (value instanceof Set) {
+                long h = 12;
+                for (final Object item : (Set<?>) value) {
+                    h += hash(item);
+                }
+                return BloomFilter.mix(h);
+            } else if (value instanceof Map) {
+                long h = 13;
+                for (final Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+                    h += BloomFilter.mix(hash(entry.getKey()) * 31 + hash(entry.getValue()));
+                }
+                return BloomFilter.mix(h);
+            } else
+                return BloomFilter.mix(BloomFilter.mix(value.hashCode()) + 14);
+        }
+
+        private static long hash(final String value, final long seed) {
+            long h = 0xcbf29ce484222325L ^ seed;
+            for (int i = 0; i < value.length(); i++) {
+                h = (h ^ value.charAt(i)) * 0x100000001b3L;
+            }
+            return BloomFilter.mix(h + value.length());
+        }
+    }
 }
@@ -31,26 +31,33 @@ import org.apache.tinkerpop.gremlin.process.traversal.traverser.util.TraverserSe
 import org.apache.tinkerpop.gremlin.process.traversal.util.FastNoSuchElementException;
 import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalUtil;
 import org.apache.tinkerpop.gremlin.structure.Graph;
+import org.apache.tinkerpop.gremlin.structure.service.AsyncService;
 import org.apache.tinkerpop.gremlin.structure.service.Service;
 import org.apache.tinkerpop.gremlin.structure.service.ServiceRegistry;
 import org.apache.tinkerpop.gremlin.structure.util.CloseableIterator;
 import org.apache.tinkerpop.gremlin.structure.util.StringFactory;
+import org.javatuples.Pair;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Deque;
 import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.CompletionStage;
 
 import static org.apache.tinkerpop.gremlin.structure.util.CloseableIterator.EmptyCloseableIterator;
 import static org.apache.tinkerpop.gremlin.structure.service.Service.ServiceCallContext;
 
 /**
  * Reference implementation for service calls via the {@link ServiceRegistry} and {@link Service} APIs. This step
- * can be used to start a traversal or it can be used mid-traversal with one at a time or barrier execution.
+ * can be used to start a traversal or it can be used mid-traversal with one at a time or barrier execution. A streaming
+ * {@link AsyncService} may have several calls in flight at once, in which case upstream traversers are taken ahead of
+ * the results being consumed and those results are emitted in the order of the traversers that produced them.
  *
  * @author Mike Personick (http://github.com/mikepersonick)
  */
@@ -68,6 +75,7 @@ public final class CallStep<S, E> extends AbstractStep<S, E> implements Traversa
 
     private transient Traverser.Admin<S> head = null;
     private transient CloseableIterator iterator = EmptyCloseableIterator.instance();
+    private transient Deque<Pair<Traverser.Admin<S>, CompletionStage<CloseableIterator>>> inFlight = null;
 
     public CallStep(final Traversal.Admin traversal, final boolean isStart) {
         this(traversal, isStart, null);
@@ -148,6 +156,27 @@ public final class CallStep<S, E> extends AbstractStep<S, E> implements Traversa
                  */
 
                 closeIterator();
+                if (isConcurrent()) {
+                    /*
+                     * Streaming async service - keep calls in flight for the traversers ahead and take the results
+                     * of the oldest one.
+                     */
+                    final int maxConcurrency = ((AsyncService) service()).getMaxConcurrency();
+                    if (null == this.inFlight)
+                        this.inFlight = new ArrayDeque<>();
+                    while (this.starts.hasNext() && this.inFlight.size() < maxConcurrency) {
+                        final Traverser.Admin<S> traverser = this.starts.next();
+                        this.inFlight.add(Pair.with(traverser, this.flatMapAsync(traverser)));
+                    }
+                    if (this.inFlight.isEmpty()) {
+                        // no more input
+                        throw FastNoSuchElementException.instance();
+                    }
+                    final Pair<Traverser.Admin<S>, CompletionStage<CloseableIterator>> call = this.inFlight.remove();
+                    this.head = call.getValue0();
+                    this.iterator = AsyncService.await((CompletionStage) call.getValue1());
+                    continue;
+                }
                 if (!this.starts.hasNext()) {
                     // no more input
                     throw FastNoSuchElementException.instance();
@@ -182,6 +211,7 @@ public final class CallStep<S, E> extends AbstractStep<S, E> implements Traversa
     @Override
     public void close() {
         closeIterator();
+        cancelInFlight();
         if (service != null)
             service.close();
         service = null;
@@ -192,6 +222,22 @@ public final class CallStep<S, E> extends AbstractStep<S, E> implements Traversa
         this.iterator = EmptyCloseableIterator.instance();
     }
 
+    protected void cancelInFlight() {
+        if (null == this.inFlight)
+            return;
+        while (!this.inFlight.isEmpty()) {
+            AsyncService.cancel((CompletionStage) this.inFlight.remove().getValue1());
+        }
+    }
+
+    /**
+     * Determines if the service is a streaming {@link AsyncService} that may have more than one call in flight.
+     */
+    protected boolean isConcurrent() {
+        return service().isStreaming() && service() instanceof AsyncService &&
+                ((AsyncService) service()).getMaxConcurrency() > 1;
+    }
+
     protected Map getMergedParams() {
         if (mapTraversal == null && parameters.isEmpty()) {
             // static params only
@@ -248,6 +294,11 @@ public final class CallStep<S, E> extends AbstractStep<S, E> implements Traversa
         return service().execute(this.ctx, traverser, params);
     }
 
+    protected CompletionStage<CloseableIterator> flatMapAsync(final Traverser.Admin<S> traverser) {
+        final Map params = getMergedParams(traverser);
+        return ((AsyncService) service()).executeAsync(this.ctx, traverser, params);
+    }
+
     protected CloseableIterator flatMap(final TraverserSet<S> traverserSet) {
         final Map params = getMergedParams(traverserSet);
         return service().execute(this.ctx, traverserSet, params);
@@ -267,6 +318,7 @@ public final class CallStep<S, E> extends AbstractStep<S, E> implements Traversa
         parameters.getTraversals().forEach(Traversal.Admin::reset);
 
         closeIterator();
+        cancelInFlight();
         head = null;
     }
 
@@ -326,6 +378,7 @@ public final class CallStep<S, E> extends AbstractStep<S, E> implements Traversa
         clone.parameters = parameters.clone();
         clone.ctx = new ServiceCallContext(traversal, clone);
         clone.iterator = EmptyCloseableIterator.instance();
+        clone.inFlight = null;
         clone.head = null;
         return clone;
     }
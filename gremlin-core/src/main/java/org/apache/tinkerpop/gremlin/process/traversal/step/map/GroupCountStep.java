@@ -28,7 +28,8 @@ import org.apache.tinkerpop.gremlin.process.traversal.step.util.ReducingBarrierS
 import org.apache.tinkerpop.gremlin.process.traversal.traverser.TraverserRequirement;
 import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalUtil;
 import org.apache.tinkerpop.gremlin.structure.util.StringFactory;
-import org.apache.tinkerpop.gremlin.util.function.HashMapSupplier;
+import org.apache.tinkerpop.gremlin.util.ObjectLongHashMap;
+import org.apache.tinkerpop.gremlin.util.function.ObjectLongHashMapSupplier;
 
 import java.io.Serializable;
 import java.util.Collections;
@@ -47,7 +48,7 @@ public class GroupCountStep<S, E> extends ReducingBarrierStep<S, Map<E, Long>> i
 
     public GroupCountStep(final Traversal.Admin traversal) {
         super(traversal);
-        this.setSeedSupplier(HashMapSupplier.instance());
+        this.setSeedSupplier(ObjectLongHashMapSupplier.instance());
         this.setReducingBiOperator(GroupCountBiOperator.instance());
     }
 
@@ -58,6 +59,21 @@ public class GroupCountStep<S, E> extends ReducingBarrierStep<S, Map<E, Long>> i
         return map;
     }
 
+    @Override
+    protected Map<E, Long> reduceTraverser(final Map<E, Long> seed, final Traverser.Admin<S> traverser) {
+        if (!(seed instanceof ObjectLongHashMap))
+            return super.reduceTraverser(seed, traverser);
+
+        final ObjectLongHashMap<E> counts = (ObjectLongHashMap<E>) seed;
+        TraversalUtil.produce(traverser, this.keyTraversal).ifProductive(p -> counts.incr((E) p, traverser.bulk()));
+        return seed;
+    }
+
+    @Override
+    public Map<E, Long> generateFinalResult(final Map<E, Long> map) {
+        return map instanceof ObjectLongHashMap ? new HashMap<>(map) : map;
+    }
+
     @Override
     public void addLocalChild(final Traversal.Admin<?, ?> groupTraversal) {
         this.keyTraversal = this.integrateChild(groupTraversal);
@@ -118,6 +134,15 @@ public class GroupCountStep<S, E> extends ReducingBarrierStep<S, Map<E, Long>> i
 
         @Override
         public Map<E, Long> apply(final Map<E, Long> mutatingSeed, final Map<E, Long> map) {
+            if (mutatingSeed instanceof ObjectLongHashMap) {
+                final ObjectLongHashMap<E> counts = (ObjectLongHashMap<E>) mutatingSeed;
+                if (map instanceof ObjectLongHashMap)
+                    ((ObjectLongHashMap<E>) map).forEachLong(counts::incr);
+                else
+                    map.forEach(counts::incr);
+                return mutatingSeed;
+            }
+
             for (final Map.Entry<E, Long> entry : map.entrySet()) {
                 MapHelper.incr(mutatingSeed, entry.getKey(), entry.getValue());
             }
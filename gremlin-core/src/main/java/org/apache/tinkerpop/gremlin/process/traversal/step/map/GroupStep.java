@@ -33,7 +33,9 @@ import org.apache.tinkerpop.gremlin.process.traversal.step.util.ReducingBarrierS
 import org.apache.tinkerpop.gremlin.process.traversal.traverser.TraverserRequirement;
 import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalUtil;
 import org.apache.tinkerpop.gremlin.structure.util.StringFactory;
+import org.apache.tinkerpop.gremlin.util.ObjectLongHashMap;
 import org.apache.tinkerpop.gremlin.util.function.HashMapSupplier;
+import org.apache.tinkerpop.gremlin.util.function.ObjectLongHashMapSupplier;
 
 import java.io.Serializable;
 import java.util.ArrayList;
@@ -42,6 +44,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.function.BinaryOperator;
+import java.util.function.Supplier;
 
 /**
  * @author Marko A. Rodriguez (http://markorodriguez.com)
@@ -88,6 +91,25 @@ public final class GroupStep<S, K, V> extends ReducingBarrierStep<S, Map<K, V>>
         this.setReducingBiOperator(new GroupBiOperator<>(null == this.barrierStep ? Operator.assign : this.barrierStep.getMemoryComputeKey().getReducer()));
     }
 
+    /**
+     * Determines if the value traversal is a lone {@code count()} in which case the group values can be accumulated
+     * as primitive counters.
+     */
+    private static boolean isCounting(final Traversal.Admin<?, ?> valueTraversal) {
+        return valueTraversal.getSteps().size() == 1 && valueTraversal.getStartStep() instanceof CountGlobalStep;
+    }
+
+    /**
+     * Gets an {@link ObjectLongHashMap} as the seed when the groups are reduced by counting, which is decided from the
+     * reducer each time rather than held so that it is kept by clones and deserialized steps.
+     */
+    @Override
+    public Supplier<Map<K, V>> getSeedSupplier() {
+        final BinaryOperator<Map<K, V>> biOperator = this.getBiOperator();
+        return biOperator instanceof GroupBiOperator && ((GroupBiOperator) biOperator).barrierAggregator == Operator.sumLong ?
+                (Supplier) ObjectLongHashMapSupplier.instance() : HashMapSupplier.instance();
+    }
+
     @Override
     public void modulateBy(final Traversal.Admin<?, ?> kvTraversal) {
         if ('k' == this.state) {
@@ -136,6 +158,17 @@ public final class GroupStep<S, K, V> extends ReducingBarrierStep<S, Map<K, V>>
         return map;
     }
 
+    @Override
+    protected Map<K, V> reduceTraverser(final Map<K, V> seed, final Traverser.Admin<S> traverser) {
+        // the count of a single traverser is its bulk so there is no need to push it through the value traversal
+        if (!(seed instanceof ObjectLongHashMap) || !isCounting(this.valueTraversal))
+            return super.reduceTraverser(seed, traverser);
+
+        final ObjectLongHashMap<K> counts = (ObjectLongHashMap<K>) seed;
+        TraversalUtil.produce(traverser, this.keyTraversal).ifProductive(p -> counts.incr((K) p, traverser.bulk()));
+        return seed;
+    }
+
     @Override
     public String toString() {
         return StringFactory.stepString(this, this.keyTraversal, this.valueTraversal);
@@ -182,7 +215,8 @@ public final class GroupStep<S, K, V> extends ReducingBarrierStep<S, Map<K, V>>
 
     @Override
     public Map<K, V> generateFinalResult(final Map<K, V> object) {
-        return doFinalReduction((Map<K, Object>) object, this.valueTraversal);
+        final Map<K, Object> map = object instanceof ObjectLongHashMap ? new HashMap<>(object) : (Map<K, Object>) object;
+        return doFinalReduction(map, this.valueTraversal);
     }
 
     ///////////////////////
@@ -201,6 +235,15 @@ public final class GroupStep<S, K, V> extends ReducingBarrierStep<S, Map<K, V>>
 
         @Override
         public Map<K, V> apply(final Map<K, V> mapA, final Map<K, V> mapB) {
+            if (mapA instanceof ObjectLongHashMap && this.barrierAggregator == Operator.sumLong) {
+                final ObjectLongHashMap<K> counts = (ObjectLongHashMap<K>) mapA;
+                if (mapB instanceof ObjectLongHashMap)
+                    ((ObjectLongHashMap<K>) mapB).forEachLong(counts::incr);
+                else
+                    mapB.forEach((k, v) -> counts.incr(k, ((Number) v).longValue()));
+                return mapA;
+            }
+
             for (final K key : mapB.keySet()) {
                 V objectA = mapA.get(key);
                 final V objectB = mapB.get(key);
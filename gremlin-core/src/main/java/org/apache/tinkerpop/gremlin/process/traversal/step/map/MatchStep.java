@@ -18,23 +18,29 @@
  */
 package org.apache.tinkerpop.gremlin.process.traversal.step.map;
 
+import org.apache.tinkerpop.gremlin.process.traversal.Compare;
+import org.apache.tinkerpop.gremlin.process.traversal.Contains;
+import org.apache.tinkerpop.gremlin.process.traversal.P;
 import org.apache.tinkerpop.gremlin.process.traversal.Path;
 import org.apache.tinkerpop.gremlin.process.traversal.Pop;
 import org.apache.tinkerpop.gremlin.process.traversal.Step;
 import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
 import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
 import org.apache.tinkerpop.gremlin.process.traversal.step.Barrier;
+import org.apache.tinkerpop.gremlin.process.traversal.step.HasContainerHolder;
 import org.apache.tinkerpop.gremlin.process.traversal.step.PathProcessor;
 import org.apache.tinkerpop.gremlin.process.traversal.step.Scoping;
 import org.apache.tinkerpop.gremlin.process.traversal.step.TraversalParent;
 import org.apache.tinkerpop.gremlin.process.traversal.step.filter.AndStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.filter.ConnectiveStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.filter.FilterStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.filter.NotStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.filter.WherePredicateStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.filter.WhereTraversalStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.sideEffect.StartStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.util.AbstractStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.util.ComputerAwareStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.HasContainer;
 import org.apache.tinkerpop.gremlin.process.traversal.step.util.ProfileStep;
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.decoration.ConnectiveStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.optimization.PathRetractionStrategy;
@@ -43,12 +49,19 @@ import org.apache.tinkerpop.gremlin.process.traversal.traverser.util.TraverserSe
 import org.apache.tinkerpop.gremlin.process.traversal.util.DefaultTraversal;
 import org.apache.tinkerpop.gremlin.process.traversal.util.PathUtil;
 import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
+import org.apache.tinkerpop.gremlin.structure.Direction;
+import org.apache.tinkerpop.gremlin.structure.Edge;
+import org.apache.tinkerpop.gremlin.structure.Element;
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.structure.util.GraphStatistics;
 import org.apache.tinkerpop.gremlin.structure.util.StringFactory;
 import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
 
 import java.io.Serializable;
 import java.lang.reflect.InvocationTargetException;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
@@ -615,6 +628,12 @@ public final class MatchStep<S, E> extends ComputerAwareStep<S, Map<String, E>>
     //////////////////////////////
 
     public static final class Helper {
+
+        /**
+         * The fraction of traversers assumed to pass a filter that the graph statistics cannot estimate.
+         */
+        private static final double DEFAULT_SELECTIVITY = 0.5d;
+
         private Helper() {
         }
 
@@ -692,6 +711,68 @@ public final class MatchStep<S, E> extends ComputerAwareStep<S, Map<String, E>>
             });
             return sort.get(0);
         }
+
+        /**
+         * Estimates the number of traversers that a single traverser yields from the match traversal given the
+         * statistics of the graph. The estimate follows the adjacency and filter steps of the traversal and treats
+         * all other steps as one-to-one.
+         */
+        public static double estimateMultiplicity(final Traversal.Admin<Object, Object> traversal, final GraphStatistics statistics) {
+            double multiplicity = 1.0d;
+            Class<? extends Element> elementClass = Vertex.class;
+            for (final Step<?, ?> step : traversal.getSteps()) {
+                if (step instanceof VertexStep) {
+                    final VertexStep<?> vertexStep = (VertexStep<?>) step;
+                    multiplicity *= statistics.averageDegree(vertexStep.getEdgeLabels()) * (Direction.BOTH == vertexStep.getDirection() ? 2 : 1);
+                    elementClass = vertexStep.returnsEdge() ? Edge.class : Vertex.class;
+                } else if (step instanceof EdgeVertexStep) {
+                    multiplicity *= Direction.BOTH == ((EdgeVertexStep) step).getDirection() ? 2 : 1;
+                    elementClass = Vertex.class;
+                } else if (step instanceof HasContainerHolder) {
+                    for (final HasContainer hasContainer : ((HasContainerHolder) step).getHasContainers()) {
+                        multiplicity *= estimateSelectivity(hasContainer, elementClass, statistics);
+                    }
+                } else if (step instanceof FilterStep) {
+                    multiplicity *= DEFAULT_SELECTIVITY;
+                } else if (!(step instanceof MatchStartStep) && !(step instanceof MatchEndStep) && !(step instanceof ProfileStep)) {
+                    elementClass = null;
+                }
+            }
+            return multiplicity;
+        }
+
+        private static double estimateSelectivity(final HasContainer hasContainer, final Class<? extends Element> elementClass,
+                                                  final GraphStatistics statistics) {
+            final long total = null == elementClass ? 0L : statistics.count(elementClass);
+            final P<?> predicate = hasContainer.getPredicate();
+            if (0L == total || null == predicate)
+                return DEFAULT_SELECTIVITY;
+
+            final Collection<?> values;
+            if (predicate.getBiPredicate() == Compare.eq)
+                values = Collections.singletonList(predicate.getValue());
+            else if (predicate.getBiPredicate() == Contains.within && predicate.getValue() instanceof Collection)
+                values = (Collection<?>) predicate.getValue();
+            else
+                return DEFAULT_SELECTIVITY;
+
+            final String key = hasContainer.getKey();
+            long count = 0L;
+            for (final Object value : values) {
+                final Optional<Long> estimate;
+                if (T.id.getAccessor().equals(key))
+                    estimate = Optional.of(1L);
+                else if (T.label.getAccessor().equals(key))
+                    estimate = value instanceof String ? statistics.countByLabel(elementClass, (String) value) : Optional.empty();
+                else
+                    estimate = statistics.countByProperty(elementClass, key, value);
+
+                if (!estimate.isPresent())
+                    return DEFAULT_SELECTIVITY;
+                count += estimate.get();
+            }
+            return Math.min(1.0d, (double) count / total);
+        }
     }
 
 
@@ -733,8 +814,19 @@ public final class MatchStep<S, E> extends ComputerAwareStep<S, Map<String, E>>
         }
     }
 
+    /**
+     * Orders the patterns by the multiplicity observed for them so far, trying the most selective pattern first. If the
+     * graph implements {@link GraphStatistics}, the multiplicities start from estimates made with those statistics so
+     * that the first traversers are already processed in a sensible order. Otherwise, the patterns start out in the
+     * order they were given.
+     */
     public static class CountMatchAlgorithm implements MatchAlgorithm {
 
+        /**
+         * The number of observed starts that an estimated multiplicity is worth.
+         */
+        protected static final double ESTIMATE_WEIGHT = 100.0d;
+
         protected List<Bundle> bundles;
         protected int counter = 0;
         protected boolean onComputer;
@@ -742,6 +834,17 @@ public final class MatchStep<S, E> extends ComputerAwareStep<S, Map<String, E>>
         public void initialize(final boolean onComputer, final List<Traversal.Admin<Object, Object>> traversals) {
             this.onComputer = onComputer;
             this.bundles = traversals.stream().map(Bundle::new).collect(Collectors.toList());
+
+            // on the computer, sorting is biased to the local star graph on a per traverser-basis instead
+            if (!onComputer && !traversals.isEmpty()) {
+                traversals.get(0).getGraph().filter(graph -> graph instanceof GraphStatistics).ifPresent(graph -> {
+                    for (final Bundle bundle : this.bundles) {
+                        if (bundle.traversalType == TraversalType.MATCH_TRAVERSAL)
+                            bundle.setEstimatedMultiplicity(Helper.estimateMultiplicity(bundle.traversal, (GraphStatistics) graph));
+                    }
+                    Collections.sort(this.bundles, Comparator.<Bundle>comparingInt(b -> b.traversalType.ordinal()).thenComparingDouble(b -> b.multiplicity));
+                });
+            }
         }
 
         @Override
@@ -801,6 +904,7 @@ public final class MatchStep<S, E> extends ComputerAwareStep<S, Map<String, E>>
             public long startsCount;
             public long endsCount;
             public double multiplicity;
+            public double estimatedMultiplicity;
 
             public Bundle(final Traversal.Admin<Object, Object> traversal) {
                 this.traversal = traversal;
@@ -808,10 +912,20 @@ public final class MatchStep<S, E> extends ComputerAwareStep<S, Map<String, E>>
                 this.startsCount = 0l;
                 this.endsCount = 0l;
                 this.multiplicity = 0.0d;
+                this.estimatedMultiplicity = -1.0d;
+            }
+
+            public final void setEstimatedMultiplicity(final double estimatedMultiplicity) {
+                this.estimatedMultiplicity = estimatedMultiplicity;
+                this.multiplicity = estimatedMultiplicity;
             }
 
             public final void incrementEndCount() {
-                this.multiplicity = (double) ++this.endsCount / (double) this.startsCount;
+                ++this.endsCount;
+                // an estimate counts as a number of observed starts so that actual counts take over as they grow
+                this.multiplicity = this.estimatedMultiplicity < 0.0d ?
+                        (double) this.endsCount / (double) this.startsCount :
+                        (this.endsCount + this.estimatedMultiplicity * ESTIMATE_WEIGHT) / (this.startsCount + ESTIMATE_WEIGHT);
             }
         }
     }
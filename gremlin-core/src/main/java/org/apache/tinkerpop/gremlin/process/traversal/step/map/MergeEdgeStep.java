@@ -30,10 +30,14 @@ import java.util.Objects;
 import java.util.Set;
 
 import org.apache.tinkerpop.gremlin.process.traversal.Merge;
+import org.apache.tinkerpop.gremlin.process.traversal.P;
 import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
 import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversal;
 import org.apache.tinkerpop.gremlin.process.traversal.lambda.ConstantTraversal;
+import org.apache.tinkerpop.gremlin.process.traversal.lambda.IdentityTraversal;
+import org.apache.tinkerpop.gremlin.process.traversal.step.sideEffect.IdentityStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.HasContainer;
 import org.apache.tinkerpop.gremlin.process.traversal.step.util.event.Event;
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.decoration.EventStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalUtil;
@@ -44,6 +48,7 @@ import org.apache.tinkerpop.gremlin.structure.Property;
 import org.apache.tinkerpop.gremlin.structure.T;
 import org.apache.tinkerpop.gremlin.structure.Vertex;
 import org.apache.tinkerpop.gremlin.structure.util.Attachable;
+import org.apache.tinkerpop.gremlin.structure.util.BatchVertexLookup;
 import org.apache.tinkerpop.gremlin.structure.util.CloseableIterator;
 import org.apache.tinkerpop.gremlin.structure.util.StringFactory;
 import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
@@ -65,6 +70,9 @@ public class MergeEdgeStep<S> extends MergeStep<S, Edge, Object> {
     private Traversal.Admin<S, Object> outVTraversal = null;
     private Traversal.Admin<S, Object> inVTraversal = null;
 
+    private Map<Object, Vertex> batchEndpoints = new HashMap<>();
+    private boolean batchAdjacency = false;
+
     public MergeEdgeStep(final Traversal.Admin traversal, final boolean isStart) {
         super(traversal, isStart);
     }
@@ -146,9 +154,93 @@ public class MergeEdgeStep<S> extends MergeStep<S, Edge, Object> {
         final MergeEdgeStep<S> clone = (MergeEdgeStep<S>) super.clone();
         clone.outVTraversal = outVTraversal != null ? outVTraversal.clone() : null;
         clone.inVTraversal = inVTraversal != null ? inVTraversal.clone() : null;
+        clone.batchEndpoints = new HashMap<>();
         return clone;
     }
 
+    /**
+     * Resolves the vertices that anchor the searches of the batch with a single call to
+     * {@link Graph#vertices(Object...)}. Only the anchors that can be read without running a child traversal are
+     * gathered, which is when the merge map is the traverser itself or a constant and it names the vertex by id or as
+     * a {@link Vertex}, so the merge maps themselves are still materialized as each traverser is processed. The edges
+     * are then read from the adjacency of those vertices, so edges created earlier in the batch are always seen.
+     * Nothing is prepared when a subclass overrides {@link #searchEdges(Map)}, which is then called for each search.
+     */
+    @Override
+    protected void prepareBatch(final List<Traverser.Admin<S>> traversers) {
+        batchEndpoints.clear();
+        batchAdjacency = !overrides(MergeEdgeStep.class, "searchEdges", Map.class);
+        if (!batchAdjacency) return;
+
+        final Set<Object> anchorIds = new LinkedHashSet<>();
+        for (final Traverser.Admin<S> traverser : traversers) {
+            final Object merge = peekMergeMap(traverser);
+            if (merge instanceof Map) {
+                final Object anchorId = anchorId((Map) merge);
+                if (anchorId != null) anchorIds.add(anchorId);
+            }
+        }
+
+        if (!anchorIds.isEmpty()) {
+            try (CloseableIterator<Vertex> it = CloseableIterator.of(getGraph().vertices(anchorIds.toArray()))) {
+                it.forEachRemaining(v -> batchEndpoints.put(v.id(), v));
+            }
+        }
+    }
+
+    /**
+     * Gets the merge map of the traverser if it is available without applying a child traversal and otherwise
+     * {@code null}.
+     */
+    private Object peekMergeMap(final Traverser.Admin<S> traverser) {
+        if (mergeTraversal instanceof ConstantTraversal)
+            return mergeTraversal.next();
+        if (mergeTraversal instanceof IdentityTraversal ||
+                mergeTraversal.getSteps().stream().allMatch(step -> step instanceof IdentityStep))
+            return traverser.get();
+        return null;
+    }
+
+    /**
+     * Gets the id of the vertex whose adjacency a batched search reads, which is the {@code Direction.OUT} vertex or
+     * otherwise the {@code Direction.IN} one. Searches by edge id, searches without either vertex and searches whose
+     * vertex is still a {@link Merge} token have no anchor.
+     */
+    private static Object anchorId(final Map mergeMap) {
+        if (mergeMap.get(T.id) != null) return null;
+        final Object anchor = mergeMap.get(Direction.OUT) != null ? mergeMap.get(Direction.OUT) : mergeMap.get(Direction.IN);
+        if (anchor instanceof Merge) return null;
+        return anchor instanceof Vertex ? ((Vertex) anchor).id() : anchor;
+    }
+
+    private Iterator<Edge> searchBatchedEdges(final Map mergeMap) {
+        final Object anchorId = anchorId(mergeMap);
+        if (!batchAdjacency || anchorId == null)
+            return searchEdges(mergeMap);
+
+        Vertex anchor = batchEndpoints.get(anchorId);
+        if (anchor == null) {
+            // the anchor wasn't known when the batch was prepared or the id is of a different form than the one the
+            // graph returned, like a String for a numeric id
+            try (CloseableIterator<Vertex> it = CloseableIterator.of(getGraph().vertices(anchorId))) {
+                if (!it.hasNext()) return CloseableIterator.empty();
+                anchor = it.next();
+            }
+            batchEndpoints.put(anchorId, anchor);
+        }
+
+        final Object fromId = mergeMap.get(Direction.OUT);
+        final Object toId = mergeMap.get(Direction.IN);
+        final String label = (String) mergeMap.get(T.label);
+        final Direction direction = fromId != null ? Direction.OUT : Direction.IN;
+        final HasContainer from = fromId != null ? new HasContainer(T.id.getAccessor(), P.eq(fromId)) : null;
+        final HasContainer to = toId != null ? new HasContainer(T.id.getAccessor(), P.eq(toId)) : null;
+        final String[] labels = label != null ? new String[] { label } : new String[0];
+        return IteratorUtils.filter(anchor.edges(direction, labels),
+                e -> (from == null || from.test(e.outVertex())) && (to == null || to.test(e.inVertex())) &&
+                        BatchVertexLookup.matches(e, mergeMap));
+    }
+
     @Override
     protected Set getAllowedTokens() {
         return allowedTokens;
@@ -262,8 +354,7 @@ public class MergeEdgeStep<S> extends MergeStep<S, Edge, Object> {
          * Create a copy of the unresolved map and attempt to resolve any Vertex references.
          */
         final Map mergeMap = resolveVertices(new LinkedHashMap<>(unresolvedMergeMap), traverser);
-
-        Iterator<Edge> edges = searchEdges(mergeMap);
+        Iterator<Edge> edges = isBatching() ? searchBatchedEdges(mergeMap) : searchEdges(mergeMap);
 
         if (onMatchTraversal != null) {
             if (onMatchTraversal instanceof ConstantTraversal) {
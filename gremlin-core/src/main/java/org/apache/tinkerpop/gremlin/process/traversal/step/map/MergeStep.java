@@ -18,15 +18,22 @@
  */
 package org.apache.tinkerpop.gremlin.process.traversal.step.map;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 
 import org.apache.tinkerpop.gremlin.process.traversal.Merge;
+import org.apache.tinkerpop.gremlin.process.traversal.P;
 import org.apache.tinkerpop.gremlin.process.traversal.Step;
 import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
 import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
@@ -38,6 +45,7 @@ import org.apache.tinkerpop.gremlin.process.traversal.step.Deleting;
 import org.apache.tinkerpop.gremlin.process.traversal.step.TraversalOptionParent;
 import org.apache.tinkerpop.gremlin.process.traversal.step.Writing;
 import org.apache.tinkerpop.gremlin.process.traversal.step.util.Parameters;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.WithOptions;
 import org.apache.tinkerpop.gremlin.process.traversal.step.util.event.CallbackRegistry;
 import org.apache.tinkerpop.gremlin.process.traversal.step.util.event.Event;
 import org.apache.tinkerpop.gremlin.process.traversal.step.util.event.ListCallbackRegistry;
@@ -49,12 +57,20 @@ import org.apache.tinkerpop.gremlin.structure.Direction;
 import org.apache.tinkerpop.gremlin.structure.Graph;
 import org.apache.tinkerpop.gremlin.structure.T;
 import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.structure.util.BatchVertexLookup;
 import org.apache.tinkerpop.gremlin.structure.util.CloseableIterator;
 import org.apache.tinkerpop.gremlin.structure.util.ElementHelper;
 import org.apache.tinkerpop.gremlin.structure.util.StringFactory;
+import org.apache.tinkerpop.gremlin.util.iterator.EmptyIterator;
 
 /**
  * Abstract base class for the {@code mergeV/E()} implementations.
+ * <p/>
+ * When configured with {@link WithOptions#mergeBatchSize} the step gathers up to that many traversers and hands them
+ * to {@link #prepareBatch(List)} before processing any of them, so that the searches for the whole batch can be
+ * resolved together. Elements that earlier traversers in the batch create or match remain visible to the later ones,
+ * but the step assumes that nothing else modifies the graph in a way that would change the result of those searches
+ * until the batch is done.
  */
 public abstract class MergeStep<S, E, C> extends FlatMapStep<S, E>
         implements Writing<Event>, Deleting<Event>, TraversalOptionParent<Merge, S, C> {
@@ -71,6 +87,11 @@ public abstract class MergeStep<S, E, C> extends FlatMapStep<S, E>
 
     private boolean usesPartitionStrategy;
 
+    protected int batchSize = 1;
+    private Deque<Traverser.Admin<S>> batch = new ArrayDeque<>();
+    private Traverser.Admin<S> batchHead = null;
+    private Iterator<E> batchIterator = EmptyIterator.instance();
+
     public MergeStep(final Traversal.Admin traversal, final boolean isStart) {
         this(traversal, isStart, new IdentityTraversal<>());
     }
@@ -158,14 +179,29 @@ public abstract class MergeStep<S, E, C> extends FlatMapStep<S, E>
     }
 
     /**
-     * This implementation should only be used as a mechanism for supporting {@link PartitionStrategy}. Using this
-     * with {@link GraphTraversal#with(String,Object)} will have an ill effect of simply acting like a call to
-     * {@link GraphTraversal#property(Object, Object, Object...)}. No mutating steps currently support use of
-     * {@link GraphTraversal#with(String,Object)} so perhaps it's best to not start with that now.
+     * Gets the number of traversers that are gathered and resolved together, where {@code 1} means that each one is
+     * processed as it arrives.
+     */
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    /**
+     * Aside from {@link WithOptions#mergeBatchSize}, this implementation should only be used as a mechanism for
+     * supporting {@link PartitionStrategy}. Using this with {@link GraphTraversal#with(String,Object)} will have an
+     * ill effect of simply acting like a call to {@link GraphTraversal#property(Object, Object, Object...)}.
      */
     @Override
     public void configure(final Object... keyValues) {
-        this.parameters.set(this, keyValues);
+        if (keyValues[0].equals(WithOptions.mergeBatchSize)) {
+            if (!(keyValues[1] instanceof Number) || ((Number) keyValues[1]).longValue() < 1 ||
+                    ((Number) keyValues[1]).longValue() > Integer.MAX_VALUE)
+                throw new IllegalArgumentException(String.format(
+                        "The %s option must be a positive integer - found: %s", WithOptions.mergeBatchSize, keyValues[1]));
+            this.batchSize = ((Number) keyValues[1]).intValue();
+        } else {
+            this.parameters.set(this, keyValues);
+        }
     }
 
     @Override
@@ -180,7 +216,41 @@ public abstract class MergeStep<S, E, C> extends FlatMapStep<S, E>
             first = false;
             generateTraverser(false);
         }
-        return super.processNextStart();
+        return batchSize > 1 ? processNextBatchedStart() : super.processNextStart();
+    }
+
+    private Traverser.Admin<E> processNextBatchedStart() {
+        while (true) {
+            if (this.batchIterator.hasNext()) {
+                return this.batchHead.split(this.batchIterator.next(), this);
+            } else {
+                CloseableIterator.closeIterator(this.batchIterator);
+                if (this.batch.isEmpty()) {
+                    this.batch.add(this.starts.next());
+                    while (this.batch.size() < batchSize && this.starts.hasNext()) {
+                        this.batch.add(this.starts.next());
+                    }
+                    prepareBatch(new ArrayList<>(this.batch));
+                }
+                this.batchHead = this.batch.poll();
+                this.batchIterator = this.flatMap(this.batchHead);
+            }
+        }
+    }
+
+    /**
+     * Determines if the step is processing traversers in batches, in which case {@link #prepareBatch(List)} has been
+     * called for the traverser that is given to {@link #flatMap(Traverser.Admin)}.
+     */
+    protected boolean isBatching() {
+        return batchSize > 1;
+    }
+
+    /**
+     * Called with each batch of traversers before any of them are given to {@link #flatMap(Traverser.Admin)}, so
+     * that the lookups for all of them can be resolved at once. By default, nothing is prepared.
+     */
+    protected void prepareBatch(final List<Traverser.Admin<S>> traversers) {
     }
 
     private void generateTraverser(final Object o) {
@@ -214,6 +284,10 @@ public abstract class MergeStep<S, E, C> extends FlatMapStep<S, E>
     public void reset() {
         super.reset();
         first = true;
+        CloseableIterator.closeIterator(batchIterator);
+        batch.clear();
+        batchHead = null;
+        batchIterator = EmptyIterator.instance();
         mergeTraversal.reset();
         if (onCreateTraversal != null) onCreateTraversal.reset();
         if (onMatchTraversal != null) onMatchTraversal.reset();
@@ -240,6 +314,9 @@ public abstract class MergeStep<S, E, C> extends FlatMapStep<S, E>
     @Override
     public MergeStep<S, E, C> clone() {
         final MergeStep<S, E, C> clone = (MergeStep<S, E, C>) super.clone();
+        clone.batch = new ArrayDeque<>();
+        clone.batchHead = null;
+        clone.batchIterator = EmptyIterator.instance();
         clone.mergeTraversal = mergeTraversal.clone();
         clone.onCreateTraversal = onCreateTraversal != null ? onCreateTraversal.clone() : null;
         clone.onMatchTraversal = onMatchTraversal != null ? onMatchTraversal.clone() : null;
@@ -369,6 +446,136 @@ public abstract class MergeStep<S, E, C> extends FlatMapStep<S, E>
         return t;
     }
 
+    /**
+     * Finds the vertices for a list of searches of the form accepted by {@link #searchVertices(Map)}. When the graph
+     * implements {@link BatchVertexLookup} the searches are handed to it. Otherwise searches by id are resolved with
+     * a single {@code g.V(ids)} and the remaining ones are grouped by their label and first property key so that
+     * each group is resolved with a single {@code g.V().hasLabel(label).has(key, within(values))}, after which the
+     * candidates are distributed to the searches they match.
+     *
+     * @return a list of the matching vertices for each search, in the same order as the searches
+     */
+    protected List<List<Vertex>> lookupVertices(final List<Map<?,?>> searches) {
+        final Graph graph = getGraph();
+
+        // a provider that customizes the search gets it called for each search rather than having it bypassed
+        if (overrides(MergeStep.class, "searchVertices", Map.class) ||
+                overrides(MergeStep.class, "searchVerticesTraversal", Graph.class, Object.class) ||
+                overrides(MergeStep.class, "searchVerticesPropertyConstraints", GraphTraversal.class, Map.class)) {
+            final List<List<Vertex>> results = new ArrayList<>(searches.size());
+            for (final Map<?,?> search : searches) {
+                final List<Vertex> found = new ArrayList<>();
+                try (final CloseableIterator<Vertex> vertices = searchVertices(search)) {
+                    vertices.forEachRemaining(found::add);
+                }
+                results.add(found);
+            }
+            return results;
+        }
+
+        if (graph instanceof BatchVertexLookup)
+            return ((BatchVertexLookup) graph).lookupVertices(searches);
+
+        final List<List<Vertex>> results = new ArrayList<>(searches.size());
+        final List<Integer> byId = new ArrayList<>();
+        final Map<List<Object>, List<Integer>> groups = new LinkedHashMap<>();
+        for (int i = 0; i < searches.size(); i++) {
+            final Map<?,?> search = searches.get(i);
+            results.add(new ArrayList<>());
+            if (search.get(T.id) != null) {
+                byId.add(i);
+                continue;
+            }
+
+            String key = null;
+            for (final Object k : search.keySet()) {
+                if (k instanceof String) {
+                    key = (String) k;
+                    break;
+                }
+            }
+
+            // a value the planner can't put into within() has to be searched on its own
+            if (null != key && search.get(key) instanceof Traversal) {
+                try (final CloseableIterator<Vertex> vertices = searchVertices(search)) {
+                    vertices.forEachRemaining(results.get(i)::add);
+                }
+                continue;
+            }
+
+            groups.computeIfAbsent(Arrays.asList(search.get(T.label), key), k -> new ArrayList<>()).add(i);
+        }
+
+        if (!byId.isEmpty()) {
+            final Set<Object> ids = new LinkedHashSet<>();
+            byId.forEach(i -> ids.add(searches.get(i).get(T.id)));
+            distribute(graph.traversal().V(ids.toArray()), T.id, byId, searches, results);
+        }
+
+        for (final Map.Entry<List<Object>, List<Integer>> group : groups.entrySet()) {
+            final String label = (String) group.getKey().get(0);
+            final String key = (String) group.getKey().get(1);
+            GraphTraversal<Vertex, Vertex> t = searchVerticesLabelConstraint(graph.traversal().V(), label);
+            if (null != key) {
+                final Set<Object> values = new LinkedHashSet<>();
+                group.getValue().forEach(i -> values.add(searches.get(i).get(key)));
+                t = t.has(key, P.within(values));
+            }
+            distribute(t, key, group.getValue(), searches, results);
+        }
+
+        return results;
+    }
+
+    /**
+     * Determines if a subclass of this step, like one that a graph provider substitutes, declares the named method
+     * that is otherwise declared by the given class, in which case batching must call it rather than bypass it.
+     */
+    protected boolean overrides(final Class<?> declaringClass, final String methodName, final Class<?>... parameterTypes) {
+        for (Class<?> c = getClass(); c != null && c != declaringClass; c = c.getSuperclass()) {
+            try {
+                c.getDeclaredMethod(methodName, parameterTypes);
+                return true;
+            } catch (NoSuchMethodException ignored) {
+                // keep looking up the hierarchy
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Hands each candidate to the searches it matches, using the value of the probe key (a property key or
+     * {@link T#id}) to find the searches worth testing rather than testing all of them.
+     */
+    private static void distribute(final GraphTraversal<Vertex, Vertex> candidates, final Object probe,
+                                   final List<Integer> indices, final List<Map<?,?>> searches,
+                                   final List<List<Vertex>> results) {
+        final Map<Object, List<Integer>> buckets = new HashMap<>();
+        if (null != probe)
+            indices.forEach(i -> buckets.computeIfAbsent(BatchVertexLookup.bucketOf(searches.get(i).get(probe)),
+                    k -> new ArrayList<>()).add(i));
+
+        try (final CloseableIterator<Vertex> vertices = CloseableIterator.of(candidates)) {
+            while (vertices.hasNext()) {
+                final Vertex v = vertices.next();
+                final Set<Integer> tests = new LinkedHashSet<>();
+                if (null == probe)
+                    tests.addAll(indices);
+                else if (probe == T.id) {
+                    tests.addAll(buckets.getOrDefault(BatchVertexLookup.bucketOf(v.id()), Collections.emptyList()));
+                    tests.addAll(buckets.getOrDefault(v.id().toString(), Collections.emptyList()));
+                } else
+                    v.values((String) probe).forEachRemaining(value ->
+                            tests.addAll(buckets.getOrDefault(BatchVertexLookup.bucketOf(value), Collections.emptyList())));
+
+                for (final Integer i : tests) {
+                    if (BatchVertexLookup.matches(v, searches.get(i)))
+                        results.get(i).add(v);
+                }
+            }
+        }
+    }
+
     @Override
     protected abstract Iterator<E> flatMap(final Traverser.Admin<S> traverser);
 
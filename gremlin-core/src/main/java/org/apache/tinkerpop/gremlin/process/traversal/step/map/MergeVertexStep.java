@@ -18,10 +18,14 @@
  */
 package org.apache.tinkerpop.gremlin.process.traversal.step.map;
 
+import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Deque;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.stream.Stream;
@@ -37,6 +41,7 @@ import org.apache.tinkerpop.gremlin.structure.Property;
 import org.apache.tinkerpop.gremlin.structure.T;
 import org.apache.tinkerpop.gremlin.structure.Vertex;
 import org.apache.tinkerpop.gremlin.structure.VertexProperty;
+import org.apache.tinkerpop.gremlin.structure.util.BatchVertexLookup;
 import org.apache.tinkerpop.gremlin.structure.util.CloseableIterator;
 import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
 
@@ -49,6 +54,10 @@ public class MergeVertexStep<S> extends MergeStep<S, Vertex, Map> {
 
     private static final Set allowedTokens = new LinkedHashSet(Arrays.asList(T.id, T.label));
 
+    private Deque<Map> pendingMergeMaps = new ArrayDeque<>();
+    private Deque<List<Vertex>> pendingMatches = new ArrayDeque<>();
+    private Set<Vertex> batchTouched = new LinkedHashSet<>();
+
     public static void validateMapInput(final Map map, final boolean ignoreTokens) {
         MergeStep.validate(map, ignoreTokens, allowedTokens, "mergeV");
     }
@@ -68,7 +77,37 @@ public class MergeVertexStep<S> extends MergeStep<S, Vertex, Map> {
 
     @Override
     public MergeVertexStep<S> clone() {
-        return (MergeVertexStep<S>) super.clone();
+        final MergeVertexStep<S> clone = (MergeVertexStep<S>) super.clone();
+        clone.pendingMergeMaps = new ArrayDeque<>();
+        clone.pendingMatches = new ArrayDeque<>();
+        clone.batchTouched = new LinkedHashSet<>();
+        return clone;
+    }
+
+    @Override
+    protected void prepareBatch(final List<Traverser.Admin<S>> traversers) {
+        pendingMergeMaps.clear();
+        pendingMatches.clear();
+        batchTouched.clear();
+
+        final List<Map<?,?>> searches = new ArrayList<>(traversers.size());
+        for (final Traverser.Admin<S> traverser : traversers) {
+            final Map mergeMap = materializeMap(traverser, mergeTraversal);
+            validateMapInput(mergeMap, false);
+            pendingMergeMaps.add(mergeMap);
+            searches.add(mergeMap);
+        }
+        pendingMatches.addAll(lookupVertices(searches));
+    }
+
+    /**
+     * Combines the vertices found for the search when the batch was prepared with those created or matched by the
+     * traversers of the batch so far, keeping the ones that still match.
+     */
+    private Iterator<Vertex> searchBatchedVertices(final Map mergeMap, final List<Vertex> prepared) {
+        final Set<Vertex> candidates = new LinkedHashSet<>(prepared);
+        candidates.addAll(batchTouched);
+        return IteratorUtils.filter(candidates.iterator(), v -> BatchVertexLookup.matches(v, mergeMap));
     }
 
     @Override
@@ -80,10 +119,16 @@ public class MergeVertexStep<S> extends MergeStep<S, Vertex, Map> {
     protected Iterator<Vertex> flatMap(final Traverser.Admin<S> traverser) {
         final Graph graph = getGraph();
 
-        final Map mergeMap = materializeMap(traverser, mergeTraversal);
-        validateMapInput(mergeMap, false);
-
-        Iterator<Vertex> vertices = searchVertices(mergeMap);
+        final Map mergeMap;
+        Iterator<Vertex> vertices;
+        if (isBatching()) {
+            mergeMap = pendingMergeMaps.poll();
+            vertices = IteratorUtils.peek(searchBatchedVertices(mergeMap, pendingMatches.poll()), batchTouched::add);
+        } else {
+            mergeMap = materializeMap(traverser, mergeTraversal);
+            validateMapInput(mergeMap, false);
+            vertices = searchVertices(mergeMap);
+        }
 
         if (onMatchTraversal != null) {
             if (onMatchTraversal instanceof ConstantTraversal) {
@@ -170,6 +215,8 @@ public class MergeVertexStep<S> extends MergeStep<S, Vertex, Map> {
             this.callbackRegistry.getCallbacks().forEach(c -> c.accept(vae));
         }
 
+        if (isBatching()) batchTouched.add(vertex);
+
         return IteratorUtils.of(vertex);
     }
 
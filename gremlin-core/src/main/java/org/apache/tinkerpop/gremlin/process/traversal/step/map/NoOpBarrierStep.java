@@ -22,41 +22,126 @@ package org.apache.tinkerpop.gremlin.process.traversal.step.map;
 import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
 import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
 import org.apache.tinkerpop.gremlin.process.traversal.step.LocalBarrier;
+import org.apache.tinkerpop.gremlin.process.traversal.step.Profiling;
 import org.apache.tinkerpop.gremlin.process.traversal.step.util.AbstractStep;
 import org.apache.tinkerpop.gremlin.process.traversal.traverser.TraverserRequirement;
 import org.apache.tinkerpop.gremlin.process.traversal.traverser.util.TraverserSet;
 import org.apache.tinkerpop.gremlin.process.traversal.util.FastNoSuchElementException;
+import org.apache.tinkerpop.gremlin.process.traversal.util.MutableMetrics;
 import org.apache.tinkerpop.gremlin.structure.util.StringFactory;
+import org.apache.tinkerpop.gremlin.util.LongHashSet;
 
 import java.util.Collections;
 import java.util.NoSuchElementException;
+import java.util.Objects;
 import java.util.Set;
 
 /**
+ * A barrier that gathers up to {@code maxBarrierSize} traversers so that equal traversers are bulked together. An
+ * adaptive barrier, as inserted by {@code LazyBarrierStrategy}, watches how many traversers each fill bulks away. It
+ * shrinks its fills when bulking is modest, grows them back when it is high and, when a large fill bulks nothing at
+ * all, lets traversers pass straight through while sampling them for duplicates so that it can resume bulking when
+ * they reappear. The observed bulking ratio is reported as the {@link #BULKING_RATIO} annotation under
+ * {@code profile()}.
+ *
  * @author Marko A. Rodriguez (http://markorodriguez.com)
  */
-public final class NoOpBarrierStep<S> extends AbstractStep<S, S> implements LocalBarrier<S> {
+public final class NoOpBarrierStep<S> extends AbstractStep<S, S> implements LocalBarrier<S>, Profiling {
+
+    public static final String BULKING_RATIO = "bulkingRatio";
+    public static final String PASS_THROUGH = "passThrough";
+
+    /**
+     * The smallest fill from which an adaptive barrier will draw a conclusion about bulking.
+     */
+    private static final int MIN_SAMPLE_SIZE = 256;
+
+    /**
+     * The number of traversers a pass-through barrier samples before it reconsiders bulking. The window doubles each
+     * time the sample shows no duplication up to {@link #MAX_PASS_THROUGH_WINDOW}.
+     */
+    private static final int MIN_PASS_THROUGH_WINDOW = 1024;
+    private static final int MAX_PASS_THROUGH_WINDOW = 65536;
+
+    /**
+     * A fill that bulks fewer traversers than this ratio is not worth the barrier.
+     */
+    private static final double NO_BENEFIT_RATIO = 1.05d;
+
+    /**
+     * A fill that bulks more traversers than this ratio should be as large as allowed.
+     */
+    private static final double HIGH_BENEFIT_RATIO = 2.0d;
 
     private int maxBarrierSize;
+    private final boolean adaptive;
     private TraverserSet<S> barrier;
 
+    private int targetBarrierSize;
+    private long traversersIn = 0L;
+    private long traversersOut = 0L;
+    private boolean passThrough = false;
+    private int passThroughWindow = MIN_PASS_THROUGH_WINDOW;
+    private int passThroughCount = 0;
+    private int passThroughDuplicates = 0;
+    private LongHashSet passThroughSample = null;
+    private MutableMetrics metrics = null;
+
     public NoOpBarrierStep(final Traversal.Admin traversal) {
         this(traversal, Integer.MAX_VALUE);
     }
 
     public NoOpBarrierStep(final Traversal.Admin traversal, final int maxBarrierSize) {
+        this(traversal, maxBarrierSize, false);
+    }
+
+    /**
+     * @param adaptive determines if the barrier sizes its fills from the bulking it observes and stops bulking when
+     *                 there is no benefit in doing so
+     */
+    public NoOpBarrierStep(final Traversal.Admin traversal, final int maxBarrierSize, final boolean adaptive) {
         super(traversal);
         this.maxBarrierSize = maxBarrierSize;
+        this.adaptive = adaptive;
+        this.targetBarrierSize = maxBarrierSize;
         this.barrier = (TraverserSet<S>) this.traversal.getTraverserSetSupplier().get();
     }
 
     @Override
     protected Traverser.Admin<S> processNextStart() throws NoSuchElementException {
-        if (this.barrier.isEmpty())
+        if (this.barrier.isEmpty()) {
+            if (this.passThrough)
+                return this.passThrough();
             this.processAllStarts();
+        }
         return this.barrier.remove();
     }
 
+    private Traverser.Admin<S> passThrough() {
+        final Traverser.Admin<S> traverser = this.starts.next();
+        this.traversersIn++;
+        this.traversersOut++;
+        if (!this.passThroughSample.add(Objects.hashCode(traverser.get())))
+            this.passThroughDuplicates++;
+
+        if (++this.passThroughCount >= this.passThroughWindow) {
+            if (this.passThroughDuplicates >= this.passThroughCount * (NO_BENEFIT_RATIO - 1d)) {
+                // duplicates are showing up again so go back to bulking from a small barrier
+                this.passThrough = false;
+                this.passThroughWindow = MIN_PASS_THROUGH_WINDOW;
+                this.targetBarrierSize = Math.min(this.maxBarrierSize, MIN_SAMPLE_SIZE);
+                this.passThroughSample = null;
+            } else {
+                this.passThroughWindow = Math.min(MAX_PASS_THROUGH_WINDOW, this.passThroughWindow * 2);
+                this.passThroughSample = new LongHashSet();
+            }
+            this.passThroughCount = 0;
+            this.passThroughDuplicates = 0;
+            this.updateMetrics();
+        }
+        return traverser;
+    }
+
     @Override
     public Set<TraverserRequirement> getRequirements() {
         return Collections.singleton(TraverserRequirement.BULK);
@@ -64,13 +149,75 @@ public final class NoOpBarrierStep<S> extends AbstractStep<S, S> implements Loca
 
     @Override
     public void processAllStarts() {
-        while ((this.maxBarrierSize == Integer.MAX_VALUE || this.barrier.size() < this.maxBarrierSize) && this.starts.hasNext()) {
+        final int sizeBefore = this.barrier.size();
+        int added = 0;
+        while ((this.targetBarrierSize == Integer.MAX_VALUE || this.barrier.size() < this.targetBarrierSize) && this.starts.hasNext()) {
             final Traverser.Admin<S> traverser = this.starts.next();
             traverser.setStepId(this.getNextStep().getId()); // when barrier is reloaded, the traversers should be at the next step
             this.barrier.add(traverser);
+            added++;
+        }
+
+        if (added > 0) {
+            final int distinct = this.barrier.size() - sizeBefore;
+            this.traversersIn += added;
+            this.traversersOut += distinct;
+            if (this.adaptive)
+                this.adapt(added, distinct);
+            this.updateMetrics();
         }
     }
 
+    /**
+     * Sizes the next fill from the bulking ratio of the last one.
+     */
+    private void adapt(final int added, final int distinct) {
+        if (added < MIN_SAMPLE_SIZE) return;
+
+        final double ratio = (double) added / distinct;
+        if (ratio < NO_BENEFIT_RATIO) {
+            this.passThrough = true;
+            this.passThroughSample = new LongHashSet();
+        } else if (ratio < HIGH_BENEFIT_RATIO) {
+            this.targetBarrierSize = Math.max(MIN_SAMPLE_SIZE, this.targetBarrierSize / 2);
+        } else {
+            this.targetBarrierSize = this.targetBarrierSize > this.maxBarrierSize / 2 ?
+                    this.maxBarrierSize : this.targetBarrierSize * 2;
+        }
+    }
+
+    private void updateMetrics() {
+        if (null != this.metrics && !this.metrics.isFinalized()) {
+            this.metrics.setAnnotation(BULKING_RATIO, this.getBulkingRatio());
+            if (this.adaptive)
+                this.metrics.setAnnotation(PASS_THROUGH, String.valueOf(this.passThrough));
+        }
+    }
+
+    /**
+     * Gets the number of traversers that entered the barrier for each one that left it, which is {@code 1.0} when
+     * no traverser was bulked.
+     */
+    public double getBulkingRatio() {
+        return 0L == this.traversersOut ? 1.0d : (double) this.traversersIn / this.traversersOut;
+    }
+
+    /**
+     * Determines if the barrier currently lets traversers through without bulking them.
+     */
+    public boolean isPassThrough() {
+        return this.passThrough;
+    }
+
+    public boolean isAdaptive() {
+        return this.adaptive;
+    }
+
+    @Override
+    public void setMetrics(final MutableMetrics metrics) {
+        this.metrics = metrics;
+    }
+
     @Override
     public boolean hasNextBarrier() {
         this.processAllStarts();
@@ -98,6 +245,8 @@ public final class NoOpBarrierStep<S> extends AbstractStep<S, S> implements Loca
     public NoOpBarrierStep<S> clone() {
         final NoOpBarrierStep<S> clone = (NoOpBarrierStep<S>) super.clone();
         clone.barrier = (TraverserSet<S>) this.traversal.getTraverserSetSupplier().get();
+        clone.resetAdaptiveState();
+        clone.metrics = null;
         return clone;
     }
 
@@ -115,6 +264,18 @@ public final class NoOpBarrierStep<S> extends AbstractStep<S, S> implements Loca
     public void reset() {
         super.reset();
         this.barrier.clear();
+        this.resetAdaptiveState();
+    }
+
+    private void resetAdaptiveState() {
+        this.targetBarrierSize = this.maxBarrierSize;
+        this.traversersIn = 0L;
+        this.traversersOut = 0L;
+        this.passThrough = false;
+        this.passThroughWindow = MIN_PASS_THROUGH_WINDOW;
+        this.passThroughCount = 0;
+        this.passThroughDuplicates = 0;
+        this.passThroughSample = null;
     }
 
     public int getMaxBarrierSize() {
@@ -24,25 +24,32 @@ import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
 import org.apache.tinkerpop.gremlin.process.traversal.step.ByModulating;
 import org.apache.tinkerpop.gremlin.process.traversal.step.TraversalParent;
 import org.apache.tinkerpop.gremlin.process.traversal.traverser.TraverserRequirement;
+import org.apache.tinkerpop.gremlin.process.traversal.util.ForkJoinHelper;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalProduct;
 import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalRing;
 import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalUtil;
+import org.apache.tinkerpop.gremlin.structure.util.CloseableIterator;
 import org.apache.tinkerpop.gremlin.structure.util.StringFactory;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 /**
  * @author Marko A. Rodriguez (http://markorodriguez.com)
  */
-public class ProjectStep<S, E> extends ScalarMapStep<S, Map<String, E>> implements TraversalParent, ByModulating {
+public class ProjectStep<S, E> extends ScalarMapStep<S, Map<String, E>> implements TraversalParent, ByModulating, AutoCloseable {
 
     private final List<String> projectKeys;
     private TraversalRing<S, E> traversalRing;
+    private transient ForkJoinPool forkJoinPool = null;
 
     public ProjectStep(final Traversal.Admin traversal, final String... projectKeys) {
         this(traversal, new TraversalRing<>(), projectKeys);
@@ -59,8 +66,25 @@ public class ProjectStep<S, E> extends ScalarMapStep<S, Map<String, E>> implemen
         this.traversalRing = traversalRing;
     }
 
+    /**
+     * Sets the pool on which the {@code by()} modulators are applied concurrently, or {@code null} to apply them one
+     * after another on the calling thread. Modulators are only applied concurrently when each key has a modulator of
+     * its own, as a modulator that is reused for several keys cannot be applied to both at once.
+     */
+    public void setForkJoinPool(final ForkJoinPool forkJoinPool) {
+        this.forkJoinPool = forkJoinPool;
+    }
+
+    public ForkJoinPool getForkJoinPool() {
+        return this.forkJoinPool;
+    }
+
     @Override
     protected Map<String, E> map(final Traverser.Admin<S> traverser) {
+        if (null != this.forkJoinPool && this.projectKeys.size() > 1 &&
+                this.traversalRing.size() == this.projectKeys.size())
+            return this.mapConcurrently(traverser);
+
         final Map<String, E> end = new LinkedHashMap<>(this.projectKeys.size(), 1.0f);
         for (final String projectKey : this.projectKeys) {
             TraversalUtil.produce(traverser, this.traversalRing.next()).ifProductive(p -> end.put(projectKey, (E) p));
@@ -69,12 +93,38 @@ public class ProjectStep<S, E> extends ScalarMapStep<S, Map<String, E>> implemen
         return end;
     }
 
+    private Map<String, E> mapConcurrently(final Traverser.Admin<S> traverser) {
+        final List<Supplier<TraversalProduct>> tasks = new ArrayList<>(this.projectKeys.size());
+        for (final Traversal.Admin<S, E> traversal : this.traversalRing.getTraversals()) {
+            final Traverser.Admin<S> split = traverser.split();
+            tasks.add(() -> TraversalUtil.produce(split, traversal));
+        }
+
+        final List<TraversalProduct> products = ForkJoinHelper.invokeAll(this.forkJoinPool, tasks);
+        final Map<String, E> end = new LinkedHashMap<>(this.projectKeys.size(), 1.0f);
+        for (int i = 0; i < this.projectKeys.size(); i++) {
+            final String projectKey = this.projectKeys.get(i);
+            products.get(i).ifProductive(p -> end.put(projectKey, (E) p));
+        }
+        return end;
+    }
+
     @Override
     public void reset() {
         super.reset();
         this.traversalRing.reset();
     }
 
+    /**
+     * Closes the {@code by()} modulators when they are evaluated on the {@link #forkJoinPool} so that the steps within
+     * them release their resources.
+     */
+    @Override
+    public void close() {
+        if (null != this.forkJoinPool)
+            this.traversalRing.getTraversals().forEach(CloseableIterator::closeIterator);
+    }
+
     @Override
     public String toString() {
         return StringFactory.stepString(this, this.projectKeys, this.traversalRing);
@@ -26,6 +26,7 @@ import org.apache.tinkerpop.gremlin.process.traversal.step.SideEffectCapable;
 import org.apache.tinkerpop.gremlin.process.traversal.step.TraversalParent;
 import org.apache.tinkerpop.gremlin.process.traversal.step.util.BulkSet;
 import org.apache.tinkerpop.gremlin.process.traversal.traverser.TraverserRequirement;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalBudget;
 import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalUtil;
 import org.apache.tinkerpop.gremlin.structure.util.StringFactory;
 import org.apache.tinkerpop.gremlin.util.function.BulkSetSupplier;
@@ -55,6 +56,8 @@ public final class AggregateLocalStep<S> extends SideEffectStep<S> implements Si
         final BulkSet<Object> bulkSet = new BulkSet<>();
         TraversalUtil.produce(traverser, this.storeTraversal).ifProductive(p -> bulkSet.add(p, traverser.bulk()));
         this.getTraversal().getSideEffects().add(this.sideEffectKey, bulkSet);
+        final TraversalBudget budget = this.getBudget();
+        if (null != budget) budget.checkSideEffectSize(this.getTraversal().getSideEffects(), this.sideEffectKey);
     }
 
     @Override
@@ -25,6 +25,7 @@ import org.apache.tinkerpop.gremlin.process.traversal.step.SideEffectCapable;
 import org.apache.tinkerpop.gremlin.process.traversal.step.TraversalParent;
 import org.apache.tinkerpop.gremlin.process.traversal.step.map.GroupCountStep;
 import org.apache.tinkerpop.gremlin.process.traversal.traverser.TraverserRequirement;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalBudget;
 import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalUtil;
 import org.apache.tinkerpop.gremlin.structure.util.StringFactory;
 import org.apache.tinkerpop.gremlin.util.function.HashMapSupplier;
@@ -54,6 +55,8 @@ public class GroupCountSideEffectStep<S, E> extends SideEffectStep<S> implements
         final Map<E, Long> map = new HashMap<>(1);
         map.put(TraversalUtil.applyNullable(traverser, this.keyTraversal), traverser.bulk());
         this.getTraversal().getSideEffects().add(this.sideEffectKey, map);
+        final TraversalBudget budget = this.getBudget();
+        if (null != budget) budget.checkSideEffectSize(this.getTraversal().getSideEffects(), this.sideEffectKey);
     }
 
     @Override
@@ -31,6 +31,7 @@ import org.apache.tinkerpop.gremlin.process.traversal.step.TraversalParent;
 import org.apache.tinkerpop.gremlin.process.traversal.step.map.GroupStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.util.ProfileStep;
 import org.apache.tinkerpop.gremlin.process.traversal.traverser.TraverserRequirement;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalBudget;
 import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalUtil;
 import org.apache.tinkerpop.gremlin.structure.util.StringFactory;
 import org.apache.tinkerpop.gremlin.util.function.HashMapSupplier;
@@ -139,8 +140,11 @@ public final class GroupSideEffectStep<S, K, V> extends SideEffectStep<S>
                 map.put((K) p, (V) this.barrierStep.nextBarrier());
         });
 
-        if (!map.isEmpty())
+        if (!map.isEmpty()) {
             this.getTraversal().getSideEffects().add(this.sideEffectKey, map);
+            final TraversalBudget budget = this.getBudget();
+            if (null != budget) budget.checkSideEffectSize(this.getTraversal().getSideEffects(), this.sideEffectKey);
+        }
     }
 
     @Override
@@ -23,6 +23,9 @@ import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
 import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
 import org.apache.tinkerpop.gremlin.process.traversal.step.GraphComputing;
 import org.apache.tinkerpop.gremlin.process.traversal.step.SideEffectCapable;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.ProfileStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.WithOptions;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.finalization.ProfileStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.util.DefaultTraversalMetrics;
 import org.apache.tinkerpop.gremlin.structure.Graph;
 import org.apache.tinkerpop.gremlin.util.function.DefaultTraversalMetricsSupplier;
@@ -37,6 +40,7 @@ public final class ProfileSideEffectStep<S> extends SideEffectStep<S> implements
 
     private String sideEffectKey;
     private boolean onGraphComputer = false;
+    private int sampleInterval = 1;
 
     public ProfileSideEffectStep(final Traversal.Admin traversal, final String sideEffectKey) {
         super(traversal);
@@ -53,6 +57,20 @@ public final class ProfileSideEffectStep<S> extends SideEffectStep<S> implements
         return this.sideEffectKey;
     }
 
+    /**
+     * Sets the number of traversers of each profiled step for which one is timed, which the {@link ProfileStrategy}
+     * gives to every {@link ProfileStep} it injects. It is overridden by {@link WithOptions#profileSampleInterval}.
+     */
+    public void setSampleInterval(final int sampleInterval) {
+        if (sampleInterval < 1)
+            throw new IllegalArgumentException("The sample interval must be greater than zero: " + sampleInterval);
+        this.sampleInterval = sampleInterval;
+    }
+
+    public int getSampleInterval() {
+        return this.sampleInterval;
+    }
+
     @Override
     public Traverser.Admin<S> next() {
         Traverser.Admin<S> start = null;
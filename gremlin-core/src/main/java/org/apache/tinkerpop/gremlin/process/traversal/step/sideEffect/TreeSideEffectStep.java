@@ -28,6 +28,7 @@ import org.apache.tinkerpop.gremlin.process.traversal.step.TraversalParent;
 import org.apache.tinkerpop.gremlin.process.traversal.step.map.TreeStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.util.Tree;
 import org.apache.tinkerpop.gremlin.process.traversal.traverser.TraverserRequirement;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalBudget;
 import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalRing;
 import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalUtil;
 import org.apache.tinkerpop.gremlin.structure.util.StringFactory;
@@ -67,6 +68,8 @@ public final class TreeSideEffectStep<S> extends SideEffectStep<S> implements Si
         }
         this.traversalRing.reset();
         this.getTraversal().getSideEffects().add(this.sideEffectKey, root);
+        final TraversalBudget budget = this.getBudget();
+        if (null != budget) budget.checkSideEffectSize(this.getTraversal().getSideEffects(), this.sideEffectKey);
     }
 
     @Override
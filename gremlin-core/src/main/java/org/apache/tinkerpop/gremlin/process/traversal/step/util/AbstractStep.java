@@ -24,6 +24,7 @@ import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
 import org.apache.tinkerpop.gremlin.process.traversal.traverser.util.EmptyTraverser;
 import org.apache.tinkerpop.gremlin.process.traversal.traverser.util.TraverserSet;
 import org.apache.tinkerpop.gremlin.process.traversal.util.EmptyTraversal;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalBudget;
 import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalInterruptedException;
 import org.apache.tinkerpop.gremlin.structure.util.StringFactory;
 
@@ -40,6 +41,12 @@ import java.util.Set;
 public abstract class AbstractStep<S, E> implements Step<S, E> {
 
     protected Set<String> labels = new LinkedHashSet<>();
+
+    /**
+     * A read-only view of {@link #labels} which is created once since every path section produced by this step
+     * holds on to it.
+     */
+    private transient Set<String> labelsView;
     protected String id = Traverser.Admin.HALT;
     protected Traversal.Admin traversal;
     protected ExpandableStepIterator<S> starts;
@@ -82,7 +89,9 @@ public abstract class AbstractStep<S, E> implements Step<S, E> {
 
     @Override
     public Set<String> getLabels() {
-        return Collections.unmodifiableSet(this.labels);
+        if (null == this.labelsView)
+            this.labelsView = Collections.unmodifiableSet(this.labels);
+        return this.labelsView;
     }
 
     @Override
@@ -187,11 +196,13 @@ public abstract class AbstractStep<S, E> implements Step<S, E> {
         try {
             final AbstractStep<S, E> clone = (AbstractStep<S, E>) super.clone();
             clone.starts = new ExpandableStepIterator<>(clone, (TraverserSet<S>) traversal.getTraverserSetSupplier().get());
+            clone.starts.setBudget(this.starts.getBudget());
             clone.previousStep = EmptyStep.instance();
             clone.nextStep = EmptyStep.instance();
             clone.nextEnd = EmptyTraverser.instance();
             clone.traversal = EmptyTraversal.instance();
             clone.labels = new LinkedHashSet<>(this.labels);
+            clone.labelsView = null;
             clone.reset();
             return clone;
         } catch (final CloneNotSupportedException e) {
@@ -217,6 +228,17 @@ public abstract class AbstractStep<S, E> implements Step<S, E> {
         return this.starts;
     }
 
+    /**
+     * Gets the budget the step is to check its work against or {@code null} if it has none.
+     */
+    public TraversalBudget getBudget() {
+        return this.starts.getBudget();
+    }
+
+    public void setBudget(final TraversalBudget budget) {
+        this.starts.setBudget(budget);
+    }
+
     public boolean isTraverserStepIdAndLabelsSetByChild() {
         return traverserStepIdAndLabelsSetByChild;
     }
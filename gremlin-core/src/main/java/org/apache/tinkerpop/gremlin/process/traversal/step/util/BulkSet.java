@@ -18,29 +18,30 @@
  */
 package org.apache.tinkerpop.gremlin.process.traversal.step.util;
 
+import org.apache.tinkerpop.gremlin.util.ObjectLongHashMap;
+
 import java.io.Serializable;
 import java.util.AbstractSet;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Iterator;
-import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 import java.util.Spliterator;
 import java.util.function.BiConsumer;
-import java.util.stream.Collectors;
 
 /**
  * BulkSet is a weighted set (i.e. a multi-set). Objects are added along with a bulk counter the denotes how many times the object was added to the set.
  * Given that count-based compression (vs. enumeration) can yield large sets, methods exist that are long-based (2^64).
+ * The bulk counters are held as primitives in an {@link ObjectLongHashMap} so that adding to the set does not box.
  *
  * @author Marko A. Rodriguez (http://markorodriguez.com)
  */
 public final class BulkSet<S> extends AbstractSet<S> implements Set<S>, Serializable {
-    private final Map<S, Long> map = new LinkedHashMap<>();
+    private final ObjectLongHashMap<S> map = new ObjectLongHashMap<>();
 
 
     /**
@@ -109,7 +110,7 @@ public final class BulkSet<S> extends AbstractSet<S> implements Set<S>, Serializ
     }
 
     public long longSize() {
-        return this.map.values().stream().collect(Collectors.summingLong(Long::longValue));
+        return this.map.sum();
     }
 
     @Override
@@ -130,7 +131,7 @@ public final class BulkSet<S> extends AbstractSet<S> implements Set<S>, Serializ
     @Override
     public boolean addAll(final Collection<? extends S> collection) {
         if (collection instanceof BulkSet) {
-            ((BulkSet<S>) collection).map.forEach(this::add);
+            ((BulkSet<S>) collection).map.forEachLong(this::add);
         } else {
             collection.iterator().forEachRemaining(this::add);
         }
@@ -147,19 +148,13 @@ public final class BulkSet<S> extends AbstractSet<S> implements Set<S>, Serializ
 
     public boolean add(final S s, final long bulk) {
         allContainedElementsClassChecked = false;
-        final Long current = this.map.get(s);
-        if (current != null) {
-            this.map.put(s, current + bulk);
-            return false;
-        } else {
-            this.map.put(s, bulk);
-            return true;
-        }
+        final int uniqueSize = this.map.size();
+        this.map.incr(s, bulk);
+        return this.map.size() > uniqueSize;
     }
 
     public long get(final S s) {
-        final Long bulk = this.map.get(s);
-        return null == bulk ? 0 : bulk;
+        return this.map.getLong(s, 0L);
     }
 
     @Override
@@ -205,7 +200,7 @@ public final class BulkSet<S> extends AbstractSet<S> implements Set<S>, Serializ
 
     private List<S> toList() {
         final List<S> list = new ArrayList<>();
-        this.map.forEach((k, v) -> {
+        this.map.forEachLong((k, v) -> {
             for (long i = 0; i < v; i++) {
                 list.add(k);
             }
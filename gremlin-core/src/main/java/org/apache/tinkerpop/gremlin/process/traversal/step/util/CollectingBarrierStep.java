@@ -27,6 +27,7 @@ import org.apache.tinkerpop.gremlin.process.traversal.traverser.ProjectedTravers
 import org.apache.tinkerpop.gremlin.process.traversal.traverser.TraverserRequirement;
 import org.apache.tinkerpop.gremlin.process.traversal.traverser.util.TraverserSet;
 import org.apache.tinkerpop.gremlin.process.traversal.util.FastNoSuchElementException;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalBudget;
 import org.apache.tinkerpop.gremlin.structure.util.StringFactory;
 import org.apache.tinkerpop.gremlin.structure.util.detached.DetachedFactory;
 import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
@@ -65,7 +66,13 @@ public abstract class CollectingBarrierStep<S> extends AbstractStep<S, S> implem
     @Override
     public void processAllStarts() {
         if (this.starts.hasNext()) {
-            if (Integer.MAX_VALUE == this.maxBarrierSize) {
+            final TraversalBudget budget = this.getBudget();
+            if (null != budget && budget.isBarrierSizeLimited()) {
+                while (this.starts.hasNext() && this.traverserSet.size() < this.maxBarrierSize) {
+                    this.traverserSet.add(this.starts.next());
+                    budget.checkBarrierSize(this, this.traverserSet.size());
+                }
+            } else if (Integer.MAX_VALUE == this.maxBarrierSize) {
                 this.starts.forEachRemaining(this.traverserSet::add);
             } else {
                 while (this.starts.hasNext() && this.traverserSet.size() < this.maxBarrierSize) {
@@ -21,6 +21,7 @@ package org.apache.tinkerpop.gremlin.process.traversal.step.util;
 import org.apache.tinkerpop.gremlin.process.traversal.Step;
 import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
 import org.apache.tinkerpop.gremlin.process.traversal.traverser.util.TraverserSet;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalBudget;
 
 import java.io.Serializable;
 import java.util.Iterator;
@@ -32,6 +33,7 @@ public final class ExpandableStepIterator<S> implements Iterator<Traverser.Admin
 
     private TraverserSet<S> traverserSet;
     private final Step<S, ?> hostStep;
+    private TraversalBudget budget = null;
 
     public ExpandableStepIterator(final Step<S, ?> hostStep) {
         this(hostStep, new TraverserSet<>());
@@ -49,13 +51,29 @@ public final class ExpandableStepIterator<S> implements Iterator<Traverser.Admin
 
     @Override
     public Traverser.Admin<S> next() {
+        final Traverser.Admin<S> traverser;
         if (!this.traverserSet.isEmpty())
-            return this.traverserSet.remove();
+            traverser = this.traverserSet.remove();
         /////////////
-        if (this.hostStep.getPreviousStep().hasNext())
-            return this.hostStep.getPreviousStep().next();
+        else if (this.hostStep.getPreviousStep().hasNext())
+            traverser = this.hostStep.getPreviousStep().next();
         /////////////
-        return this.traverserSet.remove();
+        else
+            traverser = this.traverserSet.remove();
+
+        if (null != this.budget) this.budget.onTraverser(traverser);
+        return traverser;
+    }
+
+    /**
+     * Sets the budget that is charged for every traverser taken by the host step.
+     */
+    public void setBudget(final TraversalBudget budget) {
+        this.budget = budget;
+    }
+
+    public TraversalBudget getBudget() {
+        return this.budget;
     }
 
     public void add(final Iterator<Traverser.Admin<S>> iterator) {
@@ -24,6 +24,7 @@ import org.apache.tinkerpop.gremlin.structure.util.StringFactory;
 
 import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.LinkedHashSet;
@@ -32,6 +33,11 @@ import java.util.Objects;
 import java.util.Set;
 
 /**
+ * A {@link Path} formed as a linked list of sections where each section points at the one before it, so that paths
+ * which split from a common prefix share that prefix rather than copying it. Each section tracks the size of the path
+ * and a bitmask summary of all labels up to that point which allows size lookups in constant time and lets label
+ * lookups stop as soon as no earlier section can hold the label.
+ *
  * @author Marko A. Rodriguez (http://markorodriguez.com)
  */
 public class ImmutablePath implements Path, Serializable, Cloneable {
@@ -43,6 +49,17 @@ public class ImmutablePath implements Path, Serializable, Cloneable {
     private Object currentObject;
     private Set<String> currentLabels;
 
+    /**
+     * The number of objects in the path up to and including this section.
+     */
+    private int size;
+
+    /**
+     * The union of {@link #labelBit(String)} over the labels of this section and all previous sections. A clear bit
+     * means that the label is certainly not in the path while a set bit means the label sets must still be checked.
+     */
+    private int labelMask;
+
     public static Path make() {
         return TAIL_PATH;
     }
@@ -57,10 +74,28 @@ public class ImmutablePath implements Path, Serializable, Cloneable {
         this.previousPath = previousPath;
         this.currentObject = currentObject;
         this.currentLabels = currentLabels;
+        if (null != previousPath) {
+            this.size = previousPath.size + 1;
+            this.labelMask = previousPath.labelMask;
+            for (final String label : currentLabels) {
+                this.labelMask |= labelBit(label);
+            }
+        }
+    }
+
+    private static int labelBit(final String label) {
+        return 1 << (label.hashCode() & 31);
     }
 
     private final boolean isTail() {
-        return END.equals(this.currentObject);
+        return 0 == this.size;
+    }
+
+    /**
+     * Determines if the label might be found in this section or the ones before it.
+     */
+    private boolean mayHaveLabel(final int labelBit) {
+        return (this.labelMask & labelBit) != 0;
     }
 
     @Override
@@ -70,13 +105,7 @@ public class ImmutablePath implements Path, Serializable, Cloneable {
 
     @Override
     public int size() {
-        int counter = 0;
-        ImmutablePath currentPath = this;
-        while (true) {
-            if (currentPath.isTail()) return counter;
-            counter++;
-            currentPath = currentPath.previousPath;
-        }
+        return this.size;
     }
 
     @Override
@@ -107,12 +136,10 @@ public class ImmutablePath implements Path, Serializable, Cloneable {
             return this;
 
         // get all the immutable path sections
-        final List<ImmutablePath> immutablePaths = new ArrayList<>();
+        final ImmutablePath[] immutablePaths = new ImmutablePath[this.size];
         ImmutablePath currentPath = this;
-        while (true) {
-            if (currentPath.isTail())
-                break;
-            immutablePaths.add(0, currentPath);
+        for (int i = this.size - 1; i >= 0; i--) {
+            immutablePaths[i] = currentPath;
             currentPath = currentPath.previousPath;
         }
         // build a new immutable path using the respective path sections that are not to be retracted
@@ -128,13 +155,14 @@ public class ImmutablePath implements Path, Serializable, Cloneable {
 
     @Override
     public <A> A get(final int index) {
-        int counter = this.size();
+        if (index < 0 || index >= this.size)
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + this.size);
+
         ImmutablePath currentPath = this;
-        while (true) {
-            if (index == --counter)
-                return (A) currentPath.currentObject;
+        for (int i = this.size - 1; i > index; i--) {
             currentPath = currentPath.previousPath;
         }
+        return (A) currentPath.currentObject;
     }
 
     @Override
@@ -142,21 +170,22 @@ public class ImmutablePath implements Path, Serializable, Cloneable {
         if (Pop.mixed == pop) {
             return this.get(label);
         } else if (Pop.all == pop) {
-            // Recursively build the list to avoid building objects/labels collections.
+            // Walk the path to avoid building objects/labels collections and reverse the matches at the end.
             final List<Object> list = new ArrayList<>();
+            final int labelBit = labelBit(label);
             ImmutablePath currentPath = this;
-            while (true) {
-                if (currentPath.isTail())
-                    break;
-                else if (currentPath.currentLabels.contains(label))
-                    list.add(0, currentPath.currentObject);
+            while (currentPath.mayHaveLabel(labelBit)) {
+                if (currentPath.currentLabels.contains(label))
+                    list.add(currentPath.currentObject);
                 currentPath = currentPath.previousPath;
             }
+            Collections.reverse(list);
             return (A) list;
         } else if (Pop.last == pop) {
+            final int labelBit = labelBit(label);
             ImmutablePath currentPath = this;
             while (true) {
-                if (currentPath.isTail())
+                if (!currentPath.mayHaveLabel(labelBit))
                     throw Path.Exceptions.stepWithProvidedLabelDoesNotExist(label);
                 else if (currentPath.currentLabels.contains(label))
                     return (A) currentPath.currentObject;
@@ -165,11 +194,10 @@ public class ImmutablePath implements Path, Serializable, Cloneable {
             }
         } else { // Pop.first
             A found = null;
+            final int labelBit = labelBit(label);
             ImmutablePath currentPath = this;
-            while (true) {
-                if (currentPath.isTail())
-                    break;
-                else if (currentPath.currentLabels.contains(label))
+            while (currentPath.mayHaveLabel(labelBit)) {
+                if (currentPath.currentLabels.contains(label))
                     found = (A) currentPath.currentObject;
                 currentPath = currentPath.previousPath;
             }
@@ -180,9 +208,10 @@ public class ImmutablePath implements Path, Serializable, Cloneable {
 
     @Override
     public boolean hasLabel(final String label) {
+        final int labelBit = labelBit(label);
         ImmutablePath currentPath = this;
         while (true) {
-            if (currentPath.isTail())
+            if (!currentPath.mayHaveLabel(labelBit))
                 return false;
             else if (currentPath.currentLabels.contains(label))
                 return true;
@@ -193,28 +222,24 @@ public class ImmutablePath implements Path, Serializable, Cloneable {
 
     @Override
     public List<Object> objects() {
-        final List<Object> objects = new ArrayList<>();
+        final Object[] objects = new Object[this.size];
         ImmutablePath currentPath = this;
-        while (true) {
-            if (currentPath.isTail())
-                break;
-            objects.add(0, currentPath.currentObject);
+        for (int i = this.size - 1; i >= 0; i--) {
+            objects[i] = currentPath.currentObject;
             currentPath = currentPath.previousPath;
         }
-        return Collections.unmodifiableList(objects);
+        return Collections.unmodifiableList(Arrays.asList(objects));
     }
 
     @Override
     public List<Set<String>> labels() {
-        final List<Set<String>> labels = new ArrayList<>();
+        final Set<String>[] labels = new Set[this.size];
         ImmutablePath currentPath = this;
-        while (true) {
-            if (currentPath.isTail())
-                break;
-            labels.add(0, currentPath.currentLabels);
+        for (int i = this.size - 1; i >= 0; i--) {
+            labels[i] = currentPath.currentLabels;
             currentPath = currentPath.previousPath;
         }
-        return Collections.unmodifiableList(labels);
+        return Collections.unmodifiableList(Arrays.asList(labels));
     }
 
     @Override
@@ -31,6 +31,9 @@ import java.util.List;
 import java.util.Set;
 
 /**
+ * A {@link Path} backed by lists of objects and labels. The label sets are treated as copy-on-write so that a
+ * {@link #clone()} can share them with the original rather than copying each one.
+ *
  * @author Marko A. Rodriguez (http://markorodriguez.com)
  */
 public class MutablePath implements Path, Serializable {
@@ -60,9 +63,7 @@ public class MutablePath implements Path, Serializable {
         clone.objects = new ArrayList<>();
         clone.labels = new ArrayList<>();*/
         clone.objects.addAll(this.objects);
-        for (final Set<String> labels : this.labels) {
-            clone.labels.add(new LinkedHashSet<>(labels));
-        }
+        clone.labels.addAll(this.labels);
         return clone;
     }
 
@@ -90,15 +91,24 @@ public class MutablePath implements Path, Serializable {
 
     @Override
     public Path extend(final Set<String> labels) {
-        if (!labels.isEmpty() && !this.labels.get(this.labels.size() - 1).containsAll(labels))
-            this.labels.get(this.labels.size() - 1).addAll(labels);
+        final int last = this.labels.size() - 1;
+        if (!labels.isEmpty() && !this.labels.get(last).containsAll(labels)) {
+            final Set<String> newLabels = new LinkedHashSet<>(this.labels.get(last));
+            newLabels.addAll(labels);
+            this.labels.set(last, newLabels);
+        }
         return this;
     }
 
     @Override
     public Path retract(final Set<String> removeLabels) {
         for (int i = this.labels.size() - 1; i >= 0; i--) {
-            this.labels.get(i).removeAll(removeLabels);
+            final Set<String> currentLabels = this.labels.get(i);
+            if (!Collections.disjoint(currentLabels, removeLabels)) {
+                final Set<String> newLabels = new LinkedHashSet<>(currentLabels);
+                newLabels.removeAll(removeLabels);
+                this.labels.set(i, newLabels);
+            }
             if (this.labels.get(i).isEmpty()) {
                 this.labels.remove(i);
                 this.objects.remove(i);
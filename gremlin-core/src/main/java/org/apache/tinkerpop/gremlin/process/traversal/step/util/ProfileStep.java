@@ -26,35 +26,91 @@ import org.apache.tinkerpop.gremlin.process.traversal.step.MemoryComputing;
 import org.apache.tinkerpop.gremlin.process.traversal.step.Profiling;
 import org.apache.tinkerpop.gremlin.process.traversal.util.MutableMetrics;
 import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalMetrics;
 
 import java.io.Serializable;
 import java.util.NoSuchElementException;
 import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 import java.util.function.BinaryOperator;
+import java.util.function.LongSupplier;
 
 /**
+ * Collects the {@link MutableMetrics} of the step that precedes it. By default every call to {@link #next()} and
+ * {@link #hasNext()} is timed. With a sample interval greater than one only every Nth traverser is timed, which covers
+ * all the calls to {@link #hasNext()} that lead to it along with the call to {@link #next()} that returns it. The
+ * duration is extrapolated from the timed traversers and the counts are kept in plain fields of the step that are only written to the
+ * metrics when they are requested, which keeps the overhead low enough to profile live traffic. Sampling does not
+ * apply on a {@code GraphComputer} where every call is timed.
+ *
  * @author Bob Briody (http://bobbriody.com)
  */
 public final class ProfileStep<S> extends AbstractStep<S, S> implements MemoryComputing<MutableMetrics> {  // pseudo GraphComputing but local traversals are "GraphComputing"
+
+    /**
+     * The annotation that holds the sample interval of metrics whose duration is an estimate.
+     */
+    public static final String SAMPLE_INTERVAL_KEY = "sampleInterval";
+
     private MutableMetrics metrics;
     private boolean onGraphComputer = false;
 
+    private int sampleInterval = 1;
+    private long rounds = 0;
+    private long sampledRounds = 0;
+    private boolean inRound = false;
+    private boolean sampledRound = false;
+    private long sampledDuration = 0;
+    private long barrierDuration = 0;
+    private long barrierStart = -1;
+    private boolean unflushed = false;
+    private long traverserCount = 0;
+    private long elementCount = 0;
+
+    /**
+     * Times the sampled calls in place of {@code System.nanoTime()} when it is given, which is only done by tests.
+     */
+    private final transient LongSupplier clock;
+
     public ProfileStep(final Traversal.Admin traversal) {
+        this(traversal, null);
+    }
+
+    ProfileStep(final Traversal.Admin traversal, final LongSupplier clock) {
         super(traversal);
+        this.clock = clock;
     }
 
     /**
      * Returns {@code Optional.empty()} if traversal is not iterated or if not locked after strategy application.
      */
     public Optional<MutableMetrics> getMetrics() {
-        if (this.traversal.isLocked()) this.initializeIfNeeded();
+        if (this.traversal.isLocked()) {
+            this.initializeIfNeeded();
+            if (this.isSampling()) this.flushSamples();
+        }
         return Optional.ofNullable(metrics);
     }
 
+    /**
+     * Sets the number of traversers of the step for which one is timed. The default of one times every call.
+     */
+    public void setSampleInterval(final int sampleInterval) {
+        if (sampleInterval < 1)
+            throw new IllegalArgumentException("The sample interval must be greater than zero: " + sampleInterval);
+        this.sampleInterval = sampleInterval;
+    }
+
+    public int getSampleInterval() {
+        return this.sampleInterval;
+    }
+
     @Override
     public Traverser.Admin<S> next() {
-        Traverser.Admin<S> start = null;
         this.initializeIfNeeded();
+        if (this.isSampling()) return this.sampledNext();
+
+        Traverser.Admin<S> start = null;
         this.metrics.start();
         try {
             start = super.next();
@@ -79,12 +135,84 @@ public final class ProfileStep<S> extends AbstractStep<S, S> implements MemoryCo
     @Override
     public boolean hasNext() {
         initializeIfNeeded();
+        if (this.isSampling()) {
+            this.unflushed = true;
+            if (!this.startRound()) return super.hasNext();
+            final long startTime = this.nanoTime();
+            final boolean ret = super.hasNext();
+            this.sampledDuration += this.nanoTime() - startTime;
+            return ret;
+        }
+
         this.metrics.start();
         boolean ret = super.hasNext();
         this.metrics.stop();
         return ret;
     }
 
+    private Traverser.Admin<S> sampledNext() {
+        final Traverser.Admin<S> start;
+        this.unflushed = true;
+        if (!this.startRound()) {
+            try {
+                start = super.next();
+            } finally {
+                this.inRound = false;
+            }
+        } else {
+            final long startTime = this.nanoTime();
+            try {
+                start = super.next();
+            } finally {
+                this.sampledDuration += this.nanoTime() - startTime;
+                this.inRound = false;
+            }
+        }
+        this.traverserCount++;
+        this.elementCount += start.bulk();
+        return start;
+    }
+
+    /**
+     * Starts a round with the first call that follows the return of a traverser, or the first call of all, and ends
+     * it when {@link #next()} returns. A round is every call the step needs to produce a traverser, so that the
+     * {@link #hasNext()} that does the work is timed together with the {@link #next()} that returns its result. The
+     * last round is the one that finds the step exhausted.
+     *
+     * @return whether the current round is timed
+     */
+    private boolean startRound() {
+        if (!this.inRound) {
+            this.inRound = true;
+            this.sampledRound = this.rounds++ % this.sampleInterval == 0;
+            if (this.sampledRound) this.sampledRounds++;
+        }
+        return this.sampledRound;
+    }
+
+    private long nanoTime() {
+        return null == this.clock ? System.nanoTime() : this.clock.getAsLong();
+    }
+
+    private boolean isSampling() {
+        return this.sampleInterval > 1 && !this.onGraphComputer;
+    }
+
+    /**
+     * Writes the counts and the duration extrapolated from the timed rounds to the metrics if anything was collected
+     * since they were last written.
+     */
+    private void flushSamples() {
+        if (!this.unflushed || this.metrics.isFinalized()) return;
+        this.unflushed = false;
+        final long estimate = 0 == this.sampledRounds ? 0 :
+                (long) ((double) this.sampledDuration * this.rounds / this.sampledRounds);
+        this.metrics.setDuration(estimate + this.barrierDuration, TimeUnit.NANOSECONDS);
+        this.metrics.setCount(TraversalMetrics.TRAVERSER_COUNT_ID, this.traverserCount);
+        this.metrics.setCount(TraversalMetrics.ELEMENT_COUNT_ID, this.elementCount);
+        this.metrics.setAnnotation(SAMPLE_INTERVAL_KEY, this.sampleInterval);
+    }
+
     @Override
     protected Traverser.Admin<S> processNextStart() throws NoSuchElementException {
         return this.starts.next();
@@ -112,6 +240,16 @@ public final class ProfileStep<S> extends AbstractStep<S, S> implements MemoryCo
     public ProfileStep<S> clone() {
         final ProfileStep<S> clone = (ProfileStep<S>) super.clone();
         clone.metrics = null;
+        clone.rounds = 0;
+        clone.sampledRounds = 0;
+        clone.inRound = false;
+        clone.sampledRound = false;
+        clone.sampledDuration = 0;
+        clone.barrierDuration = 0;
+        clone.barrierStart = -1;
+        clone.unflushed = false;
+        clone.traverserCount = 0;
+        clone.elementCount = 0;
         return clone;
     }
 
@@ -120,14 +258,23 @@ public final class ProfileStep<S> extends AbstractStep<S, S> implements MemoryCo
      */
     public void start() {
         this.initializeIfNeeded();
-        this.metrics.start();
+        if (this.isSampling())
+            this.barrierStart = this.nanoTime();
+        else
+            this.metrics.start();
     }
 
     /**
      * Stops the metrics timer.
      */
     public void stop() {
-        this.metrics.stop();
+        if (this.isSampling()) {
+            // barrier work is timed in full as it is not spread over the calls that are sampled
+            this.barrierDuration += this.nanoTime() - this.barrierStart;
+            this.barrierStart = -1;
+            this.unflushed = true;
+        } else
+            this.metrics.stop();
     }
 
     /////
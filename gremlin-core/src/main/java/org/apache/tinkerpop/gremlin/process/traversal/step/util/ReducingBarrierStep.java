@@ -26,6 +26,7 @@ import org.apache.tinkerpop.gremlin.process.traversal.step.Barrier;
 import org.apache.tinkerpop.gremlin.process.traversal.step.Generating;
 import org.apache.tinkerpop.gremlin.process.traversal.step.map.SumGlobalStep;
 import org.apache.tinkerpop.gremlin.process.traversal.util.FastNoSuchElementException;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalBudget;
 
 import java.io.Serializable;
 import java.util.Optional;
@@ -77,6 +78,15 @@ public abstract class ReducingBarrierStep<S, E> extends AbstractStep<S, E> imple
 
     public abstract E projectTraverser(final Traverser.Admin<S> traverser);
 
+    /**
+     * Folds a traverser into the seed. The default projects the traverser with {@link #projectTraverser(Traverser.Admin)}
+     * and combines the projection with the seed using the reducing operator. Steps whose seed can absorb a traverser
+     * directly may override this to avoid creating an intermediate projection for each traverser.
+     */
+    protected E reduceTraverser(final E seed, final Traverser.Admin<S> traverser) {
+        return this.reducingBiOperator.apply(seed, this.projectTraverser(traverser));
+    }
+
     public void setReducingBiOperator(final BinaryOperator<E> reducingBiOperator) {
         this.reducingBiOperator = reducingBiOperator;
     }
@@ -107,8 +117,17 @@ public abstract class ReducingBarrierStep<S, E> extends AbstractStep<S, E> imple
             this.seed = getSeedSupplier().get();
         }
 
-        while (this.starts.hasNext())
-            this.seed = this.reducingBiOperator.apply(this.seed, this.projectTraverser(this.starts.next()));
+        final TraversalBudget budget = this.getBudget();
+        if (null == budget || !budget.isBarrierSizeLimited()) {
+            while (this.starts.hasNext())
+                this.seed = this.reduceTraverser(this.seed, this.starts.next());
+        } else {
+            // a seed that is a collection or a map, like that of fold() or group(), grows with the traversers
+            while (this.starts.hasNext()) {
+                this.seed = this.reduceTraverser(this.seed, this.starts.next());
+                budget.checkBarrierSize(this, TraversalBudget.sizeOf(this.seed));
+            }
+        }
     }
 
     @Override
@@ -19,6 +19,7 @@
 package org.apache.tinkerpop.gremlin.process.traversal.step.util;
 
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversal;
+import org.apache.tinkerpop.gremlin.process.traversal.step.filter.DedupGlobalStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.map.IndexStep;
 import org.apache.tinkerpop.gremlin.structure.Edge;
 import org.apache.tinkerpop.gremlin.structure.Element;
@@ -90,4 +91,37 @@ public class WithOptions {
      * Index items using a {@code LinkedHashMap}.
      */
     public static int map = 1;
+
+    //
+    // DedupGlobalStep
+    //
+
+    /**
+     * Configures {@link DedupGlobalStep} to remember the values it has seen in a Bloom filter rather than holding
+     * every value in memory. The value given is the probability of a traverser being wrongly filtered as a duplicate
+     * and must be between 0 and 1 exclusive.
+     */
+    public static final String dedupFalsePositiveRate = Graph.Hidden.hide("tinkerpop.dedup.falsePositiveRate");
+
+    //
+    // MergeStep
+    //
+
+    /**
+     * Configures {@code mergeV()} and {@code mergeE()} to gather the given number of traversers and resolve their
+     * lookups together. Batching assumes that, while a batch is processed, only the merge step itself adds or changes
+     * the elements that later traversers of the batch would match.
+     */
+    public static final String mergeBatchSize = Graph.Hidden.hide("tinkerpop.merge.batchSize");
+
+    //
+    // ProfileStep
+    //
+
+    /**
+     * Configures {@code profile()} to time only one in the given number of traversers of each step and to extrapolate the
+     * durations it reports from those. Unlike the other options it is given to the traversal source, as in
+     * {@code g.with(WithOptions.profileSampleInterval, 100)}, as it applies to every step of the traversal.
+     */
+    public static final String profileSampleInterval = Graph.Hidden.hide("tinkerpop.profile.sampleInterval");
 }
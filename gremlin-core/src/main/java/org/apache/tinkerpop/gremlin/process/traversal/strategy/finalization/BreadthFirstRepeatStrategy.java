@@ -0,0 +1,115 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.strategy.finalization;
+
+import org.apache.commons.configuration2.Configuration;
+import org.apache.commons.configuration2.MapConfiguration;
+import org.apache.tinkerpop.gremlin.process.traversal.Step;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.TraversalStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.step.branch.RepeatStep;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.AbstractTraversalStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
+import org.apache.tinkerpop.gremlin.structure.util.StringFactory;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * An opt-in OLTP strategy that has {@code repeat()} expand its traversers one level at a time rather than
+ * depth-first. The traversers of each level are bulked together before the next level is expanded, so that objects
+ * reached by many paths are expanded once per level with a combined bulk rather than once per path. Results are the
+ * same as without the strategy except for their order.
+ * <p/>
+ * With {@code pruneVisited}, each {@code repeat()} additionally keeps the set of objects its traversers have reached
+ * and discards any traverser that arrives at one of them again. Each object is then expanded, emitted and returned
+ * at most once, which makes reachability and k-hop neighborhood queries linear in the size of the graph, but changes
+ * results for traversals that care about the number of paths to an object.
+ *
+ * <pre>
+ * g.withStrategies(BreadthFirstRepeatStrategy.build().pruneVisited(true).create()).V(1).repeat(both()).emit()
+ * </pre>
+ */
+public final class BreadthFirstRepeatStrategy extends AbstractTraversalStrategy<TraversalStrategy.FinalizationStrategy>
+        implements TraversalStrategy.FinalizationStrategy {
+
+    public static final String PRUNE_VISITED = "pruneVisited";
+
+    private final boolean pruneVisited;
+
+    private BreadthFirstRepeatStrategy(final Builder builder) {
+        this.pruneVisited = builder.pruneVisited;
+    }
+
+    public boolean isPruneVisited() {
+        return pruneVisited;
+    }
+
+    @Override
+    public void apply(final Traversal.Admin<?, ?> traversal) {
+        if (TraversalHelper.onGraphComputer(traversal))
+            return;
+
+        for (final Step<?, ?> step : traversal.getSteps()) {
+            if (step instanceof RepeatStep)
+                ((RepeatStep<?>) step).setBreadthFirst(true, this.pruneVisited);
+        }
+    }
+
+    public static BreadthFirstRepeatStrategy create(final Configuration configuration) {
+        return build().pruneVisited(configuration.getBoolean(PRUNE_VISITED, false)).create();
+    }
+
+    @Override
+    public Configuration getConfiguration() {
+        final Map<String, Object> map = new HashMap<>();
+        map.put(STRATEGY, BreadthFirstRepeatStrategy.class.getCanonicalName());
+        map.put(PRUNE_VISITED, this.pruneVisited);
+        return new MapConfiguration(map);
+    }
+
+    @Override
+    public String toString() {
+        return StringFactory.traversalStrategyString(this);
+    }
+
+    public static Builder build() {
+        return new Builder();
+    }
+
+    public final static class Builder {
+
+        private boolean pruneVisited = false;
+
+        private Builder() {
+        }
+
+        /**
+         * Determines if traversers arriving at an object that the {@code repeat()} already reached are discarded.
+         */
+        public Builder pruneVisited(final boolean pruneVisited) {
+            this.pruneVisited = pruneVisited;
+            return this;
+        }
+
+        public BreadthFirstRepeatStrategy create() {
+            return new BreadthFirstRepeatStrategy(this);
+        }
+    }
+}
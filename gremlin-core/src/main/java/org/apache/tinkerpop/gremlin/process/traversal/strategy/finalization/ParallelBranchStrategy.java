@@ -0,0 +1,185 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.strategy.finalization;
+
+import org.apache.commons.configuration2.Configuration;
+import org.apache.commons.configuration2.MapConfiguration;
+import org.apache.tinkerpop.gremlin.process.traversal.Step;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.TraversalStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.step.LambdaHolder;
+import org.apache.tinkerpop.gremlin.process.traversal.step.Mutating;
+import org.apache.tinkerpop.gremlin.process.traversal.step.SideEffectCapable;
+import org.apache.tinkerpop.gremlin.process.traversal.step.branch.LocalStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.branch.UnionStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.ProjectStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.sideEffect.ProfileSideEffectStep;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.AbstractTraversalStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
+import org.apache.tinkerpop.gremlin.structure.Graph;
+import org.apache.tinkerpop.gremlin.structure.util.StringFactory;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * An opt-in strategy that evaluates independent child traversals concurrently in OLTP. The branches of
+ * {@code union()}, the modulators of {@code project().by()} and the applications of {@code local()} to up to the
+ * configured parallelism of traversers run on a {@code ForkJoinPool}. Results are emitted in the same order as they
+ * would be without the strategy and the children are only read a little ahead of the results taken from the step, so
+ * a traversal that stops early, as with {@code limit()}, does not pay for the whole of every branch. Children that are
+ * still running when the traversal is closed or reset are stopped.
+ * <p/>
+ * The pool is the common {@code ForkJoinPool} of the JVM unless one is supplied to the {@link Builder}, in which case
+ * the application that created it is responsible for shutting it down. A pool of its own is preferable for graphs
+ * where traversals wait on I/O as the common pool is sized for work that keeps the processors busy.
+ * <p/>
+ * A step is only made concurrent when none of its children has side-effects, mutations or lambdas, which might not
+ * be safe to run from several threads. The strategy does nothing on graphs that support transactions, as those
+ * are typically bound to the calling thread, nor for {@code profile()} and {@code GraphComputer} traversals.
+ *
+ * <pre>
+ * g.withStrategies(ParallelBranchStrategy.build().parallelism(8).create()).V().union(out().out(), in().in())
+ * </pre>
+ */
+public final class ParallelBranchStrategy extends AbstractTraversalStrategy<TraversalStrategy.FinalizationStrategy>
+        implements TraversalStrategy.FinalizationStrategy {
+
+    public static final String PARALLELISM = "parallelism";
+
+    private static final Collection<Class> UNSAFE_STEPS = Arrays.asList(SideEffectCapable.class, Mutating.class, LambdaHolder.class);
+
+    private final int parallelism;
+    // the pool is not serialized with the strategy so a strategy sent to a remote server uses the common pool there
+    private final transient ForkJoinPool forkJoinPool;
+
+    private ParallelBranchStrategy(final Builder builder) {
+        this.parallelism = builder.parallelism;
+        this.forkJoinPool = builder.forkJoinPool;
+    }
+
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    /**
+     * Gets the pool that was supplied to the {@link Builder} or the common pool if there was none.
+     */
+    public ForkJoinPool getForkJoinPool() {
+        return null == forkJoinPool ? ForkJoinPool.commonPool() : forkJoinPool;
+    }
+
+    @Override
+    public void apply(final Traversal.Admin<?, ?> traversal) {
+        if (TraversalHelper.onGraphComputer(traversal))
+            return;
+
+        final Traversal.Admin<?, ?> root = TraversalHelper.getRootTraversal(traversal);
+        final Optional<Graph> graph = root.getGraph();
+        if (!graph.isPresent() || graph.get().features().graph().supportsTransactions() ||
+                TraversalHelper.hasStepOfAssignableClassRecursively(ProfileSideEffectStep.class, root))
+            return;
+
+        for (final Step<?, ?> step : traversal.getSteps()) {
+            if (step instanceof UnionStep) {
+                final UnionStep<?, ?> union = (UnionStep<?, ?>) step;
+                if (union.getGlobalChildren().size() > 1 && areIndependent(union.getGlobalChildren()))
+                    union.setForkJoinPool(getForkJoinPool());
+            } else if (step instanceof LocalStep) {
+                final LocalStep<?, ?> local = (LocalStep<?, ?>) step;
+                if (areIndependent(local.getLocalChildren()))
+                    local.setForkJoinPool(getForkJoinPool(), parallelism);
+            } else if (step instanceof ProjectStep) {
+                final ProjectStep<?, ?> project = (ProjectStep<?, ?>) step;
+                if (project.getLocalChildren().size() > 1 && areIndependent(project.getLocalChildren()))
+                    project.setForkJoinPool(getForkJoinPool());
+            }
+        }
+    }
+
+    private static boolean areIndependent(final List<? extends Traversal.Admin<?, ?>> children) {
+        for (final Traversal.Admin<?, ?> child : children) {
+            if (TraversalHelper.hasStepOfAssignableClassRecursively(UNSAFE_STEPS, child))
+                return false;
+        }
+        return true;
+    }
+
+    public static ParallelBranchStrategy create(final Configuration configuration) {
+        final Builder builder = build();
+        if (configuration.containsKey(PARALLELISM))
+            builder.parallelism(configuration.getInt(PARALLELISM));
+        return builder.create();
+    }
+
+    @Override
+    public Configuration getConfiguration() {
+        final Map<String, Object> map = new HashMap<>();
+        map.put(STRATEGY, ParallelBranchStrategy.class.getCanonicalName());
+        map.put(PARALLELISM, this.parallelism);
+        return new MapConfiguration(map);
+    }
+
+    @Override
+    public String toString() {
+        return StringFactory.traversalStrategyString(this);
+    }
+
+    public static Builder build() {
+        return new Builder();
+    }
+
+    public final static class Builder {
+
+        private int parallelism = Runtime.getRuntime().availableProcessors();
+        private ForkJoinPool forkJoinPool = null;
+
+        private Builder() {
+        }
+
+        /**
+         * The number of traversers to which {@code local()} applies its child traversal at once, which defaults to
+         * the number of processors.
+         */
+        public Builder parallelism(final int parallelism) {
+            if (parallelism < 1)
+                throw new IllegalArgumentException("The parallelism must be at least 1: " + parallelism);
+            this.parallelism = parallelism;
+            return this;
+        }
+
+        /**
+         * The pool on which child traversals are evaluated, which is not part of the configuration of the strategy
+         * and so only applies to traversals that are run where the strategy was built. Defaults to the common pool.
+         */
+        public Builder forkJoinPool(final ForkJoinPool forkJoinPool) {
+            this.forkJoinPool = forkJoinPool;
+            return this;
+        }
+
+        public ParallelBranchStrategy create() {
+            return new ParallelBranchStrategy(this);
+        }
+    }
+}
@@ -26,11 +26,14 @@ import org.apache.tinkerpop.gremlin.process.traversal.step.ProfilingAware;
 import org.apache.tinkerpop.gremlin.process.traversal.step.sideEffect.ProfileSideEffectStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.util.EmptyStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.util.ProfileStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.WithOptions;
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.AbstractTraversalStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.decoration.OptionsStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
 import org.apache.tinkerpop.gremlin.structure.Graph;
 
 import java.util.List;
+import java.util.Optional;
 
 /**
  * @author Bob Briody (http://bobbriody.com)
@@ -53,6 +56,7 @@ public final class ProfileStrategy extends AbstractTraversalStrategy<TraversalSt
         if (traversal.getEndStep().getLabels().contains(MARKER)) {
             traversal.getEndStep().removeLabel(MARKER);
             // Add .profile() step after every pre-existing step.
+            final int sampleInterval = sampleInterval(traversal);
             final List<Step> steps = traversal.getSteps();
             final int numSteps = steps.size();
             for (int i = 0; i < numSteps; i++) {
@@ -61,6 +65,7 @@ public final class ProfileStrategy extends AbstractTraversalStrategy<TraversalSt
                     break;
                 // Create and inject ProfileStep
                 final ProfileStep profileStepToAdd = new ProfileStep(traversal);
+                profileStepToAdd.setSampleInterval(sampleInterval);
                 traversal.addStep((i * 2) + 1, profileStepToAdd);
 
                 final Step stepToBeProfiled = traversal.getSteps().get(i * 2);
@@ -71,6 +76,25 @@ public final class ProfileStrategy extends AbstractTraversalStrategy<TraversalSt
         }
     }
 
+    /**
+     * Gets the sample interval from {@link WithOptions#profileSampleInterval} or, if it is not present, from the
+     * {@link ProfileSideEffectStep} of the root traversal.
+     */
+    private static int sampleInterval(final Traversal.Admin<?, ?> traversal) {
+        final Optional<Object> option = traversal.getStrategies().getStrategy(OptionsStrategy.class).
+                map(s -> s.getOptions().get(WithOptions.profileSampleInterval));
+        if (option.isPresent()) {
+            if (!(option.get() instanceof Number) || ((Number) option.get()).intValue() < 1)
+                throw new IllegalArgumentException(String.format(
+                        "The %s option must be a positive integer - found: %s", WithOptions.profileSampleInterval, option.get()));
+            return ((Number) option.get()).intValue();
+        }
+
+        final List<ProfileSideEffectStep> profileSteps = TraversalHelper.getStepsOfAssignableClassRecursively(
+                ProfileSideEffectStep.class, TraversalHelper.getRootTraversal(traversal));
+        return profileSteps.isEmpty() ? 1 : profileSteps.get(0).getSampleInterval();
+    }
+
     public static ProfileStrategy instance() {
         return INSTANCE;
     }
@@ -0,0 +1,208 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.strategy.finalization;
+
+import org.apache.commons.configuration2.Configuration;
+import org.apache.commons.configuration2.MapConfiguration;
+import org.apache.tinkerpop.gremlin.process.traversal.Step;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.TraversalStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.AbstractStep;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.AbstractTraversalStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.traverser.TraverserRequirement;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalBudget;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalBudgetExceededException;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
+import org.apache.tinkerpop.gremlin.structure.util.StringFactory;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * An opt-in strategy that bounds the resources a traversal may consume so that a runaway traversal fails quickly
+ * rather than saturating the CPU or the heap until a timeout fires. Each execution of the traversal gets a new
+ * {@link TraversalBudget} which its steps check as they work, throwing a {@link TraversalBudgetExceededException}
+ * when any of these limits is crossed:
+ * <ul>
+ *     <li>{@code maxTraversers} - the number of traversers taken by all the steps of the traversal and its children</li>
+ *     <li>{@code maxBarrierSize} - the number of traversers held by a collecting barrier like {@code order()} or
+ *     the number of values in the result of a reducing barrier like {@code fold()} or {@code group()}</li>
+ *     <li>{@code maxPathLength} - the length of the path of any traverser if the traversal already tracks paths and
+ *     otherwise the number of times any traverser goes around a {@code repeat()}, which is what lets paths grow
+ *     without bound, so that setting it never makes traversers track their path</li>
+ *     <li>{@code maxSideEffectSize} - the number of values held by the side-effect of {@code aggregate()},
+ *     {@code group()}, {@code groupCount()} or {@code tree()}</li>
+ * </ul>
+ * Limits that are not set are not checked. The strategy does nothing on {@code GraphComputer}.
+ *
+ * <pre>
+ * g.withStrategies(TraversalBudgetStrategy.build().maxTraversers(1000000).maxBarrierSize(100000).create()).V().out().order()
+ * </pre>
+ */
+public final class TraversalBudgetStrategy extends AbstractTraversalStrategy<TraversalStrategy.FinalizationStrategy>
+        implements TraversalStrategy.FinalizationStrategy {
+
+    public static final String MAX_TRAVERSERS = "maxTraversers";
+    public static final String MAX_BARRIER_SIZE = "maxBarrierSize";
+    public static final String MAX_PATH_LENGTH = "maxPathLength";
+    public static final String MAX_SIDE_EFFECT_SIZE = "maxSideEffectSize";
+
+    private static final Set<Class<? extends FinalizationStrategy>> PRIORS = Collections.singleton(ProfileStrategy.class);
+
+    private final long maxTraversers;
+    private final long maxBarrierSize;
+    private final long maxPathLength;
+    private final long maxSideEffectSize;
+
+    private TraversalBudgetStrategy(final Builder builder) {
+        this.maxTraversers = builder.maxTraversers;
+        this.maxBarrierSize = builder.maxBarrierSize;
+        this.maxPathLength = builder.maxPathLength;
+        this.maxSideEffectSize = builder.maxSideEffectSize;
+    }
+
+    @Override
+    public void apply(final Traversal.Admin<?, ?> traversal) {
+        // the budget is shared by the whole traversal so it is given to the steps of all children from the root
+        if (!traversal.isRoot() || TraversalHelper.onGraphComputer(traversal))
+            return;
+
+        final TraversalBudget budget = new TraversalBudget(maxTraversers, maxBarrierSize, maxPathLength, maxSideEffectSize,
+                traversal.getTraverserRequirements().contains(TraverserRequirement.PATH));
+        TraversalHelper.applyTraversalRecursively(t -> {
+            for (final Step<?, ?> step : t.getSteps()) {
+                if (step instanceof AbstractStep)
+                    ((AbstractStep<?, ?>) step).setBudget(budget);
+            }
+        }, traversal);
+    }
+
+    /**
+     * The budget must be given to the {@code ProfileStep} instances as well.
+     */
+    @Override
+    public Set<Class<? extends FinalizationStrategy>> applyPrior() {
+        return PRIORS;
+    }
+
+    public long getMaxTraversers() {
+        return maxTraversers;
+    }
+
+    public long getMaxBarrierSize() {
+        return maxBarrierSize;
+    }
+
+    public long getMaxPathLength() {
+        return maxPathLength;
+    }
+
+    public long getMaxSideEffectSize() {
+        return maxSideEffectSize;
+    }
+
+    public static TraversalBudgetStrategy create(final Configuration configuration) {
+        final Builder builder = build();
+        if (configuration.containsKey(MAX_TRAVERSERS))
+            builder.maxTraversers(configuration.getLong(MAX_TRAVERSERS));
+        if (configuration.containsKey(MAX_BARRIER_SIZE))
+            builder.maxBarrierSize(configuration.getLong(MAX_BARRIER_SIZE));
+        if (configuration.containsKey(MAX_PATH_LENGTH))
+            builder.maxPathLength(configuration.getLong(MAX_PATH_LENGTH));
+        if (configuration.containsKey(MAX_SIDE_EFFECT_SIZE))
+            builder.maxSideEffectSize(configuration.getLong(MAX_SIDE_EFFECT_SIZE));
+        return builder.create();
+    }
+
+    @Override
+    public Configuration getConfiguration() {
+        final Map<String, Object> map = new HashMap<>();
+        map.put(STRATEGY, TraversalBudgetStrategy.class.getCanonicalName());
+        if (Long.MAX_VALUE != this.maxTraversers) map.put(MAX_TRAVERSERS, this.maxTraversers);
+        if (Long.MAX_VALUE != this.maxBarrierSize) map.put(MAX_BARRIER_SIZE, this.maxBarrierSize);
+        if (Long.MAX_VALUE != this.maxPathLength) map.put(MAX_PATH_LENGTH, this.maxPathLength);
+        if (Long.MAX_VALUE != this.maxSideEffectSize) map.put(MAX_SIDE_EFFECT_SIZE, this.maxSideEffectSize);
+        return new MapConfiguration(map);
+    }
+
+    @Override
+    public String toString() {
+        return StringFactory.traversalStrategyString(this);
+    }
+
+    public static Builder build() {
+        return new Builder();
+    }
+
+    public final static class Builder {
+
+        private long maxTraversers = Long.MAX_VALUE;
+        private long maxBarrierSize = Long.MAX_VALUE;
+        private long maxPathLength = Long.MAX_VALUE;
+        private long maxSideEffectSize = Long.MAX_VALUE;
+
+        private Builder() {
+        }
+
+        /**
+         * The number of traversers that all the steps of the traversal may take in total.
+         */
+        public Builder maxTraversers(final long maxTraversers) {
+            this.maxTraversers = requirePositive(MAX_TRAVERSERS, maxTraversers);
+            return this;
+        }
+
+        /**
+         * The number of traversers or values any single barrier may hold.
+         */
+        public Builder maxBarrierSize(final long maxBarrierSize) {
+            this.maxBarrierSize = requirePositive(MAX_BARRIER_SIZE, maxBarrierSize);
+            return this;
+        }
+
+        /**
+         * The length the path of a traverser may grow to, which bounds the loops of a {@code repeat()} instead when
+         * the traversal does not track paths.
+         */
+        public Builder maxPathLength(final long maxPathLength) {
+            this.maxPathLength = requirePositive(MAX_PATH_LENGTH, maxPathLength);
+            return this;
+        }
+
+        /**
+         * The number of values any single side-effect may hold.
+         */
+        public Builder maxSideEffectSize(final long maxSideEffectSize) {
+            this.maxSideEffectSize = requirePositive(MAX_SIDE_EFFECT_SIZE, maxSideEffectSize);
+            return this;
+        }
+
+        public TraversalBudgetStrategy create() {
+            return new TraversalBudgetStrategy(this);
+        }
+
+        private static long requirePositive(final String name, final long value) {
+            if (value < 1)
+                throw new IllegalArgumentException(String.format("The %s must be at least 1: %s", name, value));
+            return value;
+        }
+    }
+}
@@ -46,7 +46,9 @@ import java.util.Set;
  * {@code LazyBarrierStrategy} is an OLTP-only strategy that automatically inserts a {@link NoOpBarrierStep} after every
  * {@link FlatMapStep} if neither path-tracking nor partial path-tracking is required, and the next step is not the
  * traversal's last step or a {@link Barrier}. {@link NoOpBarrierStep}s allow traversers to be bulked, thus this strategy
- * is meant to reduce memory requirements and improve the overall query performance.
+ * is meant to reduce memory requirements and improve the overall query performance. The inserted barriers are
+ * adaptive in that they size themselves from the bulking they observe at runtime and let traversers pass through
+ * unbulked when there is nothing to gain from holding them.
  *
  * @author Marko A. Rodriguez (http://markorodriguez.com)
  * @example <pre>
@@ -93,7 +95,7 @@ public final class LazyBarrierStrategy extends AbstractTraversalStrategy<Travers
             final Step<?, ?> step = traversal.getSteps().get(i);
 
             if (step.getLabels().contains(BARRIER_PLACEHOLDER)) {
-                TraversalHelper.insertAfterStep(new NoOpBarrierStep<>(traversal, MAX_BARRIER_SIZE), step, traversal);
+                TraversalHelper.insertAfterStep(new NoOpBarrierStep<>(traversal, MAX_BARRIER_SIZE, true), step, traversal);
                 step.removeLabel(BARRIER_PLACEHOLDER);
                 if (step.getLabels().contains(BARRIER_COPY_LABELS)) {
                     step.removeLabel(BARRIER_COPY_LABELS);
@@ -123,7 +125,7 @@ public final class LazyBarrierStrategy extends AbstractTraversalStrategy<Travers
                         !(step.getNextStep() instanceof DiscardStep) &&
                         !(step.getNextStep() instanceof EmptyStep) &&
                         !(step.getNextStep() instanceof ProfileSideEffectStep)) {
-                    final Step noOpBarrierStep = new NoOpBarrierStep<>(traversal, MAX_BARRIER_SIZE);
+                    final Step noOpBarrierStep = new NoOpBarrierStep<>(traversal, MAX_BARRIER_SIZE, true);
                     TraversalHelper.copyLabels(step, noOpBarrierStep, true);
                     TraversalHelper.insertAfterStep(noOpBarrierStep, step, traversal);
                 } else
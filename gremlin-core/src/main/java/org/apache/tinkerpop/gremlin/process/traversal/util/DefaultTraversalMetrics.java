@@ -188,8 +188,11 @@ public final class DefaultTraversalMetrics implements TraversalMetrics, Serializ
                 if (!onGraphComputer) {
                     // subtract upstream duration.
                     final long durBeforeAdjustment = metrics.getDuration(TimeUnit.NANOSECONDS);
-                    // adjust duration
-                    metrics.setDuration(metrics.getDuration(TimeUnit.NANOSECONDS) - prevDur, TimeUnit.NANOSECONDS);
+                    // adjust duration. sampled durations are estimates so the upstream estimate may exceed the
+                    // downstream one in which case the step is considered to have taken no time
+                    final long adjusted = metrics.getDuration(TimeUnit.NANOSECONDS) - prevDur;
+                    metrics.setDuration(metrics.getAnnotations().containsKey(ProfileStep.SAMPLE_INTERVAL_KEY) ?
+                            Math.max(0L, adjusted) : adjusted, TimeUnit.NANOSECONDS);
                     prevDur = durBeforeAdjustment;
                 }
 
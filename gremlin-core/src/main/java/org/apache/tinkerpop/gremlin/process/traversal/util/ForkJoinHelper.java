@@ -0,0 +1,286 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.util;
+
+import org.apache.tinkerpop.gremlin.structure.util.CloseableIterator;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.function.Supplier;
+
+/**
+ * Utility for evaluating independent child traversals concurrently on a {@code ForkJoinPool}.
+ */
+public final class ForkJoinHelper {
+
+    /**
+     * The number of elements that {@link #concat(ForkJoinPool, List, int)} is typically asked to read ahead of the
+     * caller from each source.
+     */
+    public static final int READ_AHEAD = 64;
+
+    private ForkJoinHelper() {
+    }
+
+    /**
+     * Evaluates the tasks concurrently and returns their results in the order of the tasks. The calling thread
+     * evaluates the first task itself rather than waiting idle. When called from a worker of the same pool, as
+     * happens when parallel steps are nested, the other tasks are forked to that worker so that joining them
+     * helps with the work rather than blocking the pool. When a task fails, or the caller is interrupted, the other
+     * tasks are cancelled, which interrupts those that are running, and the first exception is rethrown once all of
+     * them are done.
+     */
+    public static <T> List<T> invokeAll(final ForkJoinPool pool, final List<Supplier<T>> tasks) {
+        final List<T> results = new ArrayList<>(tasks.size());
+        if (tasks.size() == 1) {
+            results.add(tasks.get(0).get());
+            return results;
+        }
+
+        final List<Cancellable<T>> cancellables = new ArrayList<>(tasks.size() - 1);
+        final List<ForkJoinTask<T>> forked = new ArrayList<>(tasks.size() - 1);
+        for (int i = 1; i < tasks.size(); i++) {
+            final Supplier<T> task = tasks.get(i);
+            final Cancellable<T> cancellable = new Cancellable<>(task::get);
+            cancellables.add(cancellable);
+            forked.add(start(pool, ForkJoinTask.adapt(cancellable)));
+        }
+
+        RuntimeException failure = null;
+        try {
+            results.add(tasks.get(0).get());
+        } catch (final RuntimeException e) {
+            failure = e;
+        }
+
+        for (int i = 0; i < forked.size() && null == failure; i++) {
+            try {
+                results.add(await(forked.get(i)));
+            } catch (final RuntimeException e) {
+                failure = e;
+            }
+        }
+
+        // every task is seen to completion before throwing so that none is left running against a traversal that the
+        // caller might reset
+        if (null != failure) {
+            cancellables.forEach(Cancellable::cancel);
+            forked.forEach(ForkJoinTask::quietlyJoin);
+            throw failure;
+        }
+        return results;
+    }
+
+    /**
+     * Iterates the sources concurrently and returns their elements in the order of the sources. The calling thread
+     * takes the elements of the first source from it directly as they are asked for. The other sources are read on
+     * the pool in chunks of {@code readAhead} elements, where a source only has its next chunk read once the one
+     * before it has been taken, so no more than about two chunks of each source are produced ahead of the caller.
+     * The iterator must be closed if it is abandoned before its end so that no source is left being read while the
+     * caller goes on to reset it.
+     */
+    public static <T> CloseableIterator<T> concat(final ForkJoinPool pool, final List<? extends Iterator<T>> sources,
+                                                  final int readAhead) {
+        return new ConcurrentIterator<>(pool, sources, readAhead);
+    }
+
+    private static <T> ForkJoinTask<T> start(final ForkJoinPool pool, final ForkJoinTask<T> task) {
+        final Thread current = Thread.currentThread();
+        return current instanceof ForkJoinWorkerThread && ((ForkJoinWorkerThread) current).getPool() == pool ?
+                task.fork() : pool.submit(task);
+    }
+
+    /**
+     * Waits for the task, helping with the work of the pool when called from one of its workers, and rethrows what
+     * the task threw. An interrupt of a caller that is not a worker of the pool is rethrown as a
+     * {@link TraversalInterruptedException}.
+     */
+    private static <T> T await(final ForkJoinTask<T> task) {
+        try {
+            return task.get();
+        } catch (final InterruptedException e) {
+            throw new TraversalInterruptedException();
+        } catch (final ExecutionException e) {
+            final Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) throw (RuntimeException) cause;
+            if (cause instanceof Error) throw (Error) cause;
+            throw new IllegalStateException(cause);
+        }
+    }
+
+    private static final class ConcurrentIterator<T> implements CloseableIterator<T> {
+        private final ForkJoinPool pool;
+        private final List<ReadAhead<T>> readAheads;
+        private final int readAhead;
+        private volatile boolean closed = false;
+        private int index = 0;
+        private Iterator<T> current;
+
+        private ConcurrentIterator(final ForkJoinPool pool, final List<? extends Iterator<T>> sources, final int readAhead) {
+            this.pool = pool;
+            this.readAhead = readAhead;
+            this.current = sources.get(0);
+            this.readAheads = new ArrayList<>(sources.size());
+            this.readAheads.add(null);
+            for (int i = 1; i < sources.size(); i++) {
+                final ReadAhead<T> source = new ReadAhead<>(sources.get(i));
+                source.read(this);
+                this.readAheads.add(source);
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            try {
+                while (!this.current.hasNext()) {
+                    if (this.index == this.readAheads.size())
+                        return false;
+                    final ReadAhead<T> source = this.index == 0 ? null : this.readAheads.get(this.index);
+                    if (null == source || source.taken) {
+                        if (++this.index == this.readAheads.size()) {
+                            this.current = Collections.emptyIterator();
+                            return false;
+                        }
+                        this.current = this.readAheads.get(this.index).take(this);
+                    } else {
+                        this.current = source.take(this);
+                    }
+                }
+                return true;
+            } catch (final RuntimeException | Error e) {
+                // no source is left running against a traversal that the caller might reset
+                this.close();
+                throw e;
+            }
+        }
+
+        @Override
+        public T next() {
+            if (!this.hasNext())
+                throw new NoSuchElementException();
+            return this.current.next();
+        }
+
+        /**
+         * Stops the reads and waits for those in progress to end, which they do before their next element or, as
+         * their threads are interrupted, as soon as the steps they are in notice the interrupt.
+         */
+        @Override
+        public void close() {
+            this.closed = true;
+            for (final ReadAhead<T> source : this.readAheads) {
+                if (null != source && null != source.reading)
+                    source.reading.cancel();
+            }
+            for (final ReadAhead<T> source : this.readAheads) {
+                if (null != source && null != source.chunk)
+                    source.chunk.quietlyJoin();
+            }
+            this.current = Collections.emptyIterator();
+            this.index = this.readAheads.size();
+        }
+    }
+
+    private static final class ReadAhead<T> {
+        private final Iterator<T> source;
+        private volatile Cancellable<List<T>> reading;
+        private ForkJoinTask<List<T>> chunk;
+        private volatile boolean exhausted = false;
+
+        /**
+         * Whether the last chunk was taken, which is only known by the caller once it took that chunk, as the read of
+         * the next chunk marks the source {@link #exhausted} while the one before it might not have been consumed.
+         */
+        private boolean taken = false;
+
+        private ReadAhead(final Iterator<T> source) {
+            this.source = source;
+        }
+
+        private void read(final ConcurrentIterator<T> iterator) {
+            this.reading = new Cancellable<>(() -> {
+                final List<T> elements = new ArrayList<>(iterator.readAhead);
+                while (!iterator.closed && elements.size() < iterator.readAhead && this.source.hasNext()) {
+                    elements.add(this.source.next());
+                }
+                this.exhausted = iterator.closed || !this.source.hasNext();
+                return elements;
+            });
+            this.chunk = start(iterator.pool, ForkJoinTask.adapt(this.reading));
+        }
+
+        /**
+         * Waits for the chunk being read and starts reading the next one unless the source is exhausted.
+         */
+        private Iterator<T> take(final ConcurrentIterator<T> iterator) {
+            final List<T> elements = await(this.chunk);
+            this.chunk = null;
+            this.taken = this.exhausted;
+            if (!this.taken)
+                this.read(iterator);
+            return elements.iterator();
+        }
+    }
+
+    /**
+     * A task for the pool that is stopped by interrupting the thread running it, which the steps of a traversal notice
+     * and answer with a {@link TraversalInterruptedException}. A task cancelled before it starts does not run at all.
+     */
+    private static final class Cancellable<T> implements Callable<T> {
+        private final Callable<T> body;
+        private Thread runner = null;
+        private boolean cancelled = false;
+
+        private Cancellable(final Callable<T> body) {
+            this.body = body;
+        }
+
+        @Override
+        public T call() throws Exception {
+            synchronized (this) {
+                if (this.cancelled) throw new TraversalInterruptedException();
+                this.runner = Thread.currentThread();
+            }
+            try {
+                return this.body.call();
+            } finally {
+                synchronized (this) {
+                    this.runner = null;
+
+                    // the interrupt was meant for this task only and must not reach the next one the worker runs
+                    if (this.cancelled) Thread.interrupted();
+                }
+            }
+        }
+
+        private synchronized void cancel() {
+            this.cancelled = true;
+            if (null != this.runner && this.runner != Thread.currentThread())
+                this.runner.interrupt();
+        }
+    }
+}
@@ -0,0 +1,133 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.util;
+
+import org.apache.tinkerpop.gremlin.process.traversal.Step;
+import org.apache.tinkerpop.gremlin.process.traversal.TraversalSideEffects;
+import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.BulkSet;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.finalization.TraversalBudgetStrategy;
+
+import java.io.Serializable;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The resources that a single execution of a traversal may consume, which the {@link TraversalBudgetStrategy} shares
+ * among all of its steps. Steps check the budget as they work and throw a {@link TraversalBudgetExceededException}
+ * as soon as a limit is crossed. A limit of {@code Long.MAX_VALUE} is not checked.
+ */
+public final class TraversalBudget implements Serializable {
+
+    private final long maxTraversers;
+    private final long maxBarrierSize;
+    private final long maxPathLength;
+    private final long maxSideEffectSize;
+
+    /**
+     * Paths are only measured when traversers already track them and otherwise the loops of a {@code repeat()} are.
+     */
+    private final boolean pathTracked;
+
+    /**
+     * Child traversals may be evaluated concurrently, so the count is shared safely between threads.
+     */
+    private final AtomicLong traversers = new AtomicLong();
+
+    public TraversalBudget(final long maxTraversers, final long maxBarrierSize, final long maxPathLength,
+                           final long maxSideEffectSize, final boolean pathTracked) {
+        this.maxTraversers = maxTraversers;
+        this.maxBarrierSize = maxBarrierSize;
+        this.maxPathLength = maxPathLength;
+        this.maxSideEffectSize = maxSideEffectSize;
+        this.pathTracked = pathTracked;
+    }
+
+    /**
+     * Counts a traverser taken by a step and checks the length of its path.
+     */
+    public void onTraverser(final Traverser.Admin<?> traverser) {
+        if (Long.MAX_VALUE != this.maxTraversers && this.traversers.incrementAndGet() > this.maxTraversers)
+            throw new TraversalBudgetExceededException(String.format(
+                    "The traversal processed more than %s traversers - consider increasing %s",
+                    this.maxTraversers, TraversalBudgetStrategy.MAX_TRAVERSERS));
+        if (this.pathTracked && Long.MAX_VALUE != this.maxPathLength && traverser.path().size() > this.maxPathLength)
+            throw new TraversalBudgetExceededException(String.format(
+                    "The traversal produced a path longer than %s - consider increasing %s",
+                    this.maxPathLength, TraversalBudgetStrategy.MAX_PATH_LENGTH));
+    }
+
+    /**
+     * Checks the number of times a traverser went around a {@code repeat()} against the path length when the
+     * traversal does not track paths, as each loop is what would extend its path.
+     */
+    public void checkLoops(final Traverser.Admin<?> traverser) {
+        if (!this.pathTracked && Long.MAX_VALUE != this.maxPathLength && traverser.loops() > this.maxPathLength)
+            throw new TraversalBudgetExceededException(String.format(
+                    "A traverser looped more than %s times - consider increasing %s",
+                    this.maxPathLength, TraversalBudgetStrategy.MAX_PATH_LENGTH));
+    }
+
+    /**
+     * Checks the number of traversers held by a barrier or the size of the value it is reducing to.
+     */
+    public void checkBarrierSize(final Step<?, ?> step, final long size) {
+        if (size > this.maxBarrierSize)
+            throw new TraversalBudgetExceededException(String.format(
+                    "%s held more than %s traversers or values - consider increasing %s",
+                    step, this.maxBarrierSize, TraversalBudgetStrategy.MAX_BARRIER_SIZE));
+    }
+
+    /**
+     * Checks the number of values held by the side-effect of the given key.
+     */
+    public void checkSideEffectSize(final TraversalSideEffects sideEffects, final String sideEffectKey) {
+        if (Long.MAX_VALUE == this.maxSideEffectSize)
+            return;
+
+        final long size = sizeOf(sideEffects.get(sideEffectKey));
+        if (size > this.maxSideEffectSize)
+            throw new TraversalBudgetExceededException(String.format(
+                    "The side-effect %s held more than %s values - consider increasing %s",
+                    sideEffectKey, this.maxSideEffectSize, TraversalBudgetStrategy.MAX_SIDE_EFFECT_SIZE));
+    }
+
+    public boolean isBarrierSizeLimited() {
+        return Long.MAX_VALUE != this.maxBarrierSize;
+    }
+
+    /**
+     * Gets the number of values held by a collection, map or {@link BulkSet} and zero for any other object.
+     */
+    public static long sizeOf(final Object value) {
+        if (value instanceof BulkSet)
+            return ((BulkSet<?>) value).longSize();
+        else if (value instanceof Collection)
+            return ((Collection<?>) value).size();
+        else if (value instanceof Map)
+            return ((Map<?, ?>) value).size();
+        else
+            return 0;
+    }
+
+    public long getTraversers() {
+        return this.traversers.get();
+    }
+}
@@ -45,7 +45,10 @@ import org.apache.tinkerpop.gremlin.process.traversal.strategy.decoration.Option
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.decoration.PartitionStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.decoration.SeedStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.decoration.SubgraphStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.finalization.BreadthFirstRepeatStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.finalization.MatchAlgorithmStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.finalization.ParallelBranchStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.finalization.TraversalBudgetStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.optimization.AdjacentToIncidentStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.optimization.ByModulatorOptimizationStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.optimization.EarlyLimitStrategy;
@@ -195,6 +198,9 @@ abstract class GraphSONModule extends TinkerPopJacksonModule {
                             SeedStrategy.class,
                             LazyBarrierStrategy.class,
                             MatchAlgorithmStrategy.class,
+                            BreadthFirstRepeatStrategy.class,
+                            ParallelBranchStrategy.class,
+                            TraversalBudgetStrategy.class,
                             AdjacentToIncidentStrategy.class,
                             ByModulatorOptimizationStrategy.class,
                             ProductiveByStrategy.class,
@@ -332,6 +338,9 @@ abstract class GraphSONModule extends TinkerPopJacksonModule {
                     SeedStrategy.class,
                     LazyBarrierStrategy.class,
                     MatchAlgorithmStrategy.class,
+                    BreadthFirstRepeatStrategy.class,
+                    ParallelBranchStrategy.class,
+                    TraversalBudgetStrategy.class,
                     AdjacentToIncidentStrategy.class,
                     ByModulatorOptimizationStrategy.class,
                     ProductiveByStrategy.class,
@@ -443,6 +452,9 @@ abstract class GraphSONModule extends TinkerPopJacksonModule {
                             SeedStrategy.class,
                             LazyBarrierStrategy.class,
                             MatchAlgorithmStrategy.class,
+                            BreadthFirstRepeatStrategy.class,
+                            ParallelBranchStrategy.class,
+                            TraversalBudgetStrategy.class,
                             AdjacentToIncidentStrategy.class,
                             ByModulatorOptimizationStrategy.class,
                             ProductiveByStrategy.class,
@@ -566,6 +578,9 @@ abstract class GraphSONModule extends TinkerPopJacksonModule {
                     SeedStrategy.class,
                     LazyBarrierStrategy.class,
                     MatchAlgorithmStrategy.class,
+                    BreadthFirstRepeatStrategy.class,
+                    ParallelBranchStrategy.class,
+                    TraversalBudgetStrategy.class,
                     AdjacentToIncidentStrategy.class,
                     ByModulatorOptimizationStrategy.class,
                     ProductiveByStrategy.class,
@@ -23,6 +23,7 @@ import org.apache.tinkerpop.gremlin.structure.io.gryo.kryoshim.KryoShim;
 import org.apache.tinkerpop.gremlin.structure.io.gryo.kryoshim.OutputShim;
 import org.apache.tinkerpop.gremlin.structure.io.gryo.kryoshim.SerializerShim;
 import org.apache.tinkerpop.gremlin.util.function.HashSetSupplier;
+import org.apache.tinkerpop.gremlin.util.function.ObjectLongHashMapSupplier;
 import org.apache.tinkerpop.shaded.kryo.Kryo;
 import org.apache.tinkerpop.shaded.kryo.Serializer;
 import org.apache.tinkerpop.shaded.kryo.io.Input;
@@ -163,6 +164,17 @@ final class UtilSerializers {
         }
     }
 
+    public final static class ObjectLongHashMapSupplierSerializer implements SerializerShim<ObjectLongHashMapSupplier> {
+        @Override
+        public <O extends OutputShim> void write(final KryoShim<?, O> kryo, final O output, final ObjectLongHashMapSupplier objectLongHashMapSupplier) {
+        }
+
+        @Override
+        public <I extends InputShim> ObjectLongHashMapSupplier read(final KryoShim<I, ?> kryo, final I input, final Class<ObjectLongHashMapSupplier> clazz) {
+            return ObjectLongHashMapSupplier.instance();
+        }
+    }
+
     static final class UUIDSerializer implements SerializerShim<UUID> {
 
         public UUIDSerializer() {
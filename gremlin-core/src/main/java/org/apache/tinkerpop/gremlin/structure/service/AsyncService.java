@@ -0,0 +1,117 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.structure.service;
+
+import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.CallStep;
+import org.apache.tinkerpop.gremlin.process.traversal.traverser.util.TraverserSet;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalInterruptedException;
+import org.apache.tinkerpop.gremlin.structure.util.CloseableIterator;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * A {@link Service} that executes without blocking the traversal thread, completing a {@code CompletionStage} with its
+ * results instead of returning them directly. For a {@link Service.Type#Streaming} service, {@link CallStep} keeps up
+ * to {@link #getMaxConcurrency()} calls in flight across upstream traversers while still emitting their results in the
+ * order of those traversers. Start and Barrier services are awaited as they only ever have one call outstanding.
+ * <p/>
+ * The blocking {@code execute} methods of {@link Service} are implemented by awaiting their asynchronous counterparts,
+ * so an {@code AsyncService} need only implement the {@code executeAsync} methods for the {@link Service.Type}s it
+ * supports.
+ */
+public interface AsyncService<I, R> extends Service<I, R> {
+
+    /**
+     * Return the maximum number of calls that may be in flight at once for a Streaming service. The default of one
+     * means that each call is awaited before the next upstream traverser is taken.
+     */
+    default int getMaxConcurrency() {
+        return 1;
+    }
+
+    /**
+     * Execute a Start service call asynchronously.
+     */
+    default CompletionStage<CloseableIterator<R>> executeAsync(final ServiceCallContext ctx, final Map params) {
+        throw new UnsupportedOperationException(Exceptions.cannotStartTraversal);
+    }
+
+    /**
+     * Execute a Streaming service call with one upstream input asynchronously.
+     */
+    default CompletionStage<CloseableIterator<R>> executeAsync(final ServiceCallContext ctx, final Traverser.Admin<I> in, final Map params) {
+        throw new UnsupportedOperationException(Exceptions.doesNotSupportStreaming);
+    }
+
+    /**
+     * Execute a Barrier service call with all upstream input asynchronously.
+     */
+    default CompletionStage<CloseableIterator<R>> executeAsync(final ServiceCallContext ctx, final TraverserSet<I> in, final Map params) {
+        throw new UnsupportedOperationException(Exceptions.doesNotSupportBarrier);
+    }
+
+    @Override
+    default CloseableIterator<R> execute(final ServiceCallContext ctx, final Map params) {
+        return await(executeAsync(ctx, params));
+    }
+
+    @Override
+    default CloseableIterator<R> execute(final ServiceCallContext ctx, final Traverser.Admin<I> in, final Map params) {
+        return await(executeAsync(ctx, in, params));
+    }
+
+    @Override
+    default CloseableIterator<R> execute(final ServiceCallContext ctx, final TraverserSet<I> in, final Map params) {
+        return await(executeAsync(ctx, in, params));
+    }
+
+    /**
+     * Wait for the results of a service call, rethrowing the exception it completed with, if any. An interrupt of the
+     * waiting thread is surfaced as a {@link TraversalInterruptedException}.
+     */
+    static <R> CloseableIterator<R> await(final CompletionStage<CloseableIterator<R>> stage) {
+        try {
+            return stage.toCompletableFuture().get();
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+            throw new TraversalInterruptedException();
+        } catch (ExecutionException ee) {
+            final Throwable cause = ee.getCause();
+            if (cause instanceof RuntimeException)
+                throw (RuntimeException) cause;
+            if (cause instanceof Error)
+                throw (Error) cause;
+            throw new IllegalStateException(cause.getMessage(), cause);
+        }
+    }
+
+    /**
+     * Abandon a service call that is no longer needed, closing its results if they are already available or become
+     * available despite the attempt to cancel it.
+     */
+    static void cancel(final CompletionStage<? extends CloseableIterator<?>> stage) {
+        final CompletableFuture<? extends CloseableIterator<?>> future = stage.toCompletableFuture();
+        future.thenAccept(CloseableIterator::closeIterator);
+        future.cancel(false);
+    }
+}
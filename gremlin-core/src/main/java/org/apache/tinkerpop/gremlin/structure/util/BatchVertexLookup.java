@@ -0,0 +1,79 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.structure.util;
+
+import org.apache.tinkerpop.gremlin.process.traversal.P;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.HasContainer;
+import org.apache.tinkerpop.gremlin.structure.Element;
+import org.apache.tinkerpop.gremlin.structure.Graph;
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An optional interface for a {@link Graph} to implement so that {@code mergeV()} can resolve the searches of many
+ * traversers with a single call rather than with a traversal for each one. A search is a {@code Map} as given to
+ * {@code mergeV()} with an optional {@link T#id}, an optional {@link T#label} and property key/value pairs, all of
+ * which a vertex must match.
+ */
+public interface BatchVertexLookup {
+
+    /**
+     * Finds the vertices that match each of the searches.
+     *
+     * @return a list of the matching vertices for each search, in the same order as the searches
+     */
+    public List<List<Vertex>> lookupVertices(final List<Map<?, ?>> searches);
+
+    /**
+     * Reduces a value to a key that is equal for all values that {@code has()} would consider equal, so that
+     * searches can be bucketed by value before the exact {@link #matches(Element, Map)} test. Numbers of different
+     * types are reduced to their {@code double} value and so may share a bucket without being equal.
+     */
+    public static Object bucketOf(final Object value) {
+        if (value instanceof Number) {
+            final double d = ((Number) value).doubleValue();
+            return d == 0d ? 0d : d;
+        }
+        return value;
+    }
+
+    /**
+     * Determines if the element matches the {@link T} and property entries of the search, comparing values as
+     * {@code has()} does. Any other entries, like the {@code Direction} of a {@code mergeE()} search, are ignored.
+     */
+    public static boolean matches(final Element element, final Map<?, ?> search) {
+        for (final Map.Entry<?, ?> entry : search.entrySet()) {
+            final Object key = entry.getKey();
+            final String accessor;
+            if (key instanceof T)
+                accessor = ((T) key).getAccessor();
+            else if (key instanceof String)
+                accessor = (String) key;
+            else
+                continue;
+
+            if (!new HasContainer(accessor, P.eq(entry.getValue())).test(element))
+                return false;
+        }
+        return true;
+    }
+}
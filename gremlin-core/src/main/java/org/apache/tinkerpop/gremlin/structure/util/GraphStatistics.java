@@ -0,0 +1,76 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.structure.util;
+
+import org.apache.tinkerpop.gremlin.structure.Edge;
+import org.apache.tinkerpop.gremlin.structure.Element;
+import org.apache.tinkerpop.gremlin.structure.Graph;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+
+import java.util.Optional;
+
+/**
+ * An optional interface for a {@link Graph} to implement so that the traversal engine may consult cardinality
+ * estimates when planning, for example, the order in which the patterns of {@code match()} are tried. Estimates need
+ * not be exact but should be cheap to compute. An empty {@code Optional} means the graph cannot estimate the count,
+ * in which case the planner falls back to its defaults.
+ */
+public interface GraphStatistics {
+
+    /**
+     * Gets the estimated number of vertices or edges in the graph.
+     */
+    public <E extends Element> long count(final Class<E> elementClass);
+
+    /**
+     * Gets the estimated number of vertices or edges with the specified label.
+     */
+    public default <E extends Element> Optional<Long> countByLabel(final Class<E> elementClass, final String label) {
+        return Optional.empty();
+    }
+
+    /**
+     * Gets the estimated number of vertices or edges that have a property with the specified key and value.
+     */
+    public default <E extends Element> Optional<Long> countByProperty(final Class<E> elementClass, final String key, final Object value) {
+        return Optional.empty();
+    }
+
+    /**
+     * Gets the estimated number of edges that an average vertex has in one direction with one of the specified labels,
+     * or with any label if none are given. Labels the graph cannot count are assumed to cover every edge.
+     */
+    public default double averageDegree(final String... edgeLabels) {
+        final long vertices = this.count(Vertex.class);
+        if (0L == vertices) return 0d;
+
+        long edges = 0L;
+        if (0 == edgeLabels.length)
+            edges = this.count(Edge.class);
+        else {
+            for (final String label : edgeLabels) {
+                final Optional<Long> count = this.countByLabel(Edge.class, label);
+                if (!count.isPresent())
+                    return (double) this.count(Edge.class) / vertices;
+                edges += count.get();
+            }
+        }
+        return (double) edges / vertices;
+    }
+}
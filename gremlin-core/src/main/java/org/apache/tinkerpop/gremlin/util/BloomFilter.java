@@ -0,0 +1,167 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.util;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * An approximate set of 64-bit hashes which may report a hash as present when it was never added, but never the
+ * reverse. The filter does not need to know how many hashes will be added up front. It starts small and adds stages
+ * of growing capacity and shrinking error rate as it fills, so that the overall false positive probability stays
+ * under the configured rate (the stage rates form a geometric series that sums to it). The bit arrays of the stages
+ * are bounded by a maximum size in bytes; once that is reached the last stage keeps taking hashes, so memory stops
+ * growing and the false positive rate rises above the configured one instead.
+ */
+public final class BloomFilter implements Serializable {
+
+    private static final int INITIAL_CAPACITY = 1024;
+
+    /**
+     * The default bound on the size of the bit arrays of a filter, which is 64 megabytes.
+     */
+    public static final long DEFAULT_MAX_BYTES = 64L * 1024L * 1024L;
+
+    private final double falsePositiveRate;
+    private final long maxBytes;
+    private final List<Stage> stages = new ArrayList<>();
+    private long sizeInBytes = 0;
+
+    /**
+     * @param falsePositiveRate the probability that {@link #add(long)} reports an unseen hash as already present
+     */
+    public BloomFilter(final double falsePositiveRate) {
+        this(falsePositiveRate, DEFAULT_MAX_BYTES);
+    }
+
+    /**
+     * @param falsePositiveRate the probability that {@link #add(long)} reports an unseen hash as already present
+     * @param maxBytes the bound on the size of the bit arrays of the filter
+     */
+    public BloomFilter(final double falsePositiveRate, final long maxBytes) {
+        if (!(falsePositiveRate > 0d && falsePositiveRate < 1d))
+            throw new IllegalArgumentException("The false positive rate must be between 0 and 1 exclusive: " + falsePositiveRate);
+        if (maxBytes < 8)
+            throw new IllegalArgumentException("The maximum size must be at least 8 bytes: " + maxBytes);
+        this.falsePositiveRate = falsePositiveRate;
+        this.maxBytes = maxBytes;
+    }
+
+    public double getFalsePositiveRate() {
+        return this.falsePositiveRate;
+    }
+
+    /**
+     * Gets the size of the bit arrays of the filter, which never exceeds the maximum size it was created with.
+     */
+    public long getSizeInBytes() {
+        return this.sizeInBytes;
+    }
+
+    /**
+     * Adds the hash to the filter.
+     *
+     * @return {@code true} if the hash was definitely not present before, and {@code false} if it probably was
+     */
+    public boolean add(final long hash) {
+        for (int i = 0; i < this.stages.size(); i++) {
+            if (this.stages.get(i).mightContain(hash))
+                return false;
+        }
+
+        Stage current = this.stages.isEmpty() ? null : this.stages.get(this.stages.size() - 1);
+        final long remainingWords = (this.maxBytes - this.sizeInBytes) / 8;
+        if (null == current || (current.isFull() && remainingWords > 0)) {
+            final int stage = this.stages.size();
+            final long capacity = (long) INITIAL_CAPACITY << Math.min(stage * 2, 40);
+            current = new Stage(capacity, this.falsePositiveRate * Math.pow(0.5d, stage + 1), remainingWords);
+            this.stages.add(current);
+            this.sizeInBytes += current.bits.length * 8L;
+        }
+        current.put(hash);
+        return true;
+    }
+
+    public boolean mightContain(final long hash) {
+        for (int i = 0; i < this.stages.size(); i++) {
+            if (this.stages.get(i).mightContain(hash))
+                return true;
+        }
+        return false;
+    }
+
+    public void clear() {
+        this.stages.clear();
+        this.sizeInBytes = 0;
+    }
+
+    /**
+     * A 64-bit finalizer from MurmurHash3 that spreads the bits of the value over the whole hash.
+     */
+    public static long mix(long value) {
+        value ^= value >>> 33;
+        value *= 0xff51afd7ed558ccdL;
+        value ^= value >>> 33;
+        value *= 0xc4ceb9fe1a85ec53L;
+        value ^= value >>> 33;
+        return value;
+    }
+
+    private static final class Stage implements Serializable {
+        private final long[] bits;
+        private final long numBits;
+        private final int numHashes;
+        private final long capacity;
+        private long count = 0;
+
+        private Stage(final long capacity, final double falsePositiveRate, final long maxWords) {
+            final long optimalBits = (long) Math.ceil(-capacity * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+            this.bits = new long[(int) Math.min(Math.min(Integer.MAX_VALUE - 8, maxWords), (optimalBits + 63) / 64)];
+            this.numBits = this.bits.length * 64L;
+            this.numHashes = Math.max(1, (int) Math.round((double) this.numBits / capacity * Math.log(2)));
+            this.capacity = capacity;
+        }
+
+        private boolean isFull() {
+            return this.count >= this.capacity;
+        }
+
+        private void put(final long hash) {
+            final int h1 = (int) hash;
+            final int h2 = (int) (hash >>> 32);
+            for (int i = 1; i <= this.numHashes; i++) {
+                final long bit = Math.floorMod(h1 + (long) i * h2, this.numBits);
+                this.bits[(int) (bit >>> 6)] |= 1L << bit;
+            }
+            this.count++;
+        }
+
+        private boolean mightContain(final long hash) {
+            final int h1 = (int) hash;
+            final int h2 = (int) (hash >>> 32);
+            for (int i = 1; i <= this.numHashes; i++) {
+                final long bit = Math.floorMod(h1 + (long) i * h2, this.numBits);
+                if ((this.bits[(int) (bit >>> 6)] & (1L << bit)) == 0L)
+                    return false;
+            }
+            return true;
+        }
+    }
+}
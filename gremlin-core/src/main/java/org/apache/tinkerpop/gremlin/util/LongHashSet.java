@@ -0,0 +1,134 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.util;
+
+import java.io.Serializable;
+
+/**
+ * A set of primitive {@code long} values backed by an open-addressing hash table. It holds a value in eight bytes
+ * where a {@code HashSet<Long>} needs a boxed {@code Long} and a map node for each one.
+ */
+public final class LongHashSet implements Serializable {
+
+    private static final int DEFAULT_CAPACITY = 16;
+
+    /**
+     * Zero marks an empty slot in the table so the presence of zero itself is tracked separately.
+     */
+    private long[] table;
+    private boolean containsZero = false;
+    private int size = 0;
+
+    public LongHashSet() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public LongHashSet(final int expectedSize) {
+        if (expectedSize < 0)
+            throw new IllegalArgumentException("The expected size must not be negative: " + expectedSize);
+        this.table = new long[tableSizeFor(expectedSize)];
+    }
+
+    /**
+     * Adds the value to the set.
+     *
+     * @return {@code true} if the value was not already present
+     */
+    public boolean add(final long value) {
+        if (0L == value) {
+            if (this.containsZero)
+                return false;
+            this.containsZero = true;
+            this.size++;
+            return true;
+        }
+
+        final int mask = this.table.length - 1;
+        int slot = hash(value) & mask;
+        long current;
+        while ((current = this.table[slot]) != 0L) {
+            if (current == value)
+                return false;
+            slot = (slot + 1) & mask;
+        }
+        this.table[slot] = value;
+        this.size++;
+
+        // keep the table at most half full so that probe sequences stay short
+        if (this.size * 2 > this.table.length)
+            this.rehash(this.table.length * 2);
+        return true;
+    }
+
+    public boolean contains(final long value) {
+        if (0L == value)
+            return this.containsZero;
+
+        final int mask = this.table.length - 1;
+        int slot = hash(value) & mask;
+        long current;
+        while ((current = this.table[slot]) != 0L) {
+            if (current == value)
+                return true;
+            slot = (slot + 1) & mask;
+        }
+        return false;
+    }
+
+    public int size() {
+        return this.size;
+    }
+
+    public boolean isEmpty() {
+        return 0 == this.size;
+    }
+
+    public void clear() {
+        this.table = new long[tableSizeFor(DEFAULT_CAPACITY)];
+        this.containsZero = false;
+        this.size = 0;
+    }
+
+    private void rehash(final int newLength) {
+        if (newLength <= 0)
+            throw new IllegalStateException("LongHashSet cannot grow any further");
+
+        final long[] old = this.table;
+        this.table = new long[newLength];
+        final int mask = newLength - 1;
+        for (final long value : old) {
+            if (value != 0L) {
+                int slot = hash(value) & mask;
+                while (this.table[slot] != 0L) {
+                    slot = (slot + 1) & mask;
+                }
+                this.table[slot] = value;
+            }
+        }
+    }
+
+    private static int tableSizeFor(final int expectedSize) {
+        return Integer.highestOneBit(Math.max(expectedSize, 4) * 4 - 1);
+    }
+
+    private static int hash(final long value) {
+        final long h = value * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+}
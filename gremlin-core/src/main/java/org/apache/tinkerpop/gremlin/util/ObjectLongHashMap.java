@@ -0,0 +1,459 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.util;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.ObjLongConsumer;
+
+/**
+ * A {@code Map} of objects to primitive {@code long} values that is backed by an open-addressing hash table. It is
+ * meant for counting, where the boxing of a {@code Long} on every increment of a {@code HashMap<K,Long>} produces a
+ * lot of garbage. Use {@link #incr(Object, long)} to update counters in place. Entries iterate in insertion order
+ * like a {@code LinkedHashMap}. The standard {@code Map} methods remain available, but box their values.
+ */
+public final class ObjectLongHashMap<K> extends AbstractMap<K, Long> implements Serializable {
+
+    private static final int DEFAULT_CAPACITY = 8;
+
+    /**
+     * Marks an entry in the dense arrays that was removed and is waiting to be compacted away on the next resize.
+     */
+    private static final Object REMOVED = new Object();
+
+    /**
+     * Keys in insertion order, possibly containing {@link #REMOVED} markers.
+     */
+    private transient Object[] keys;
+
+    /**
+     * Values aligned to {@link #keys}.
+     */
+    private transient long[] values;
+
+    /**
+     * The hash table which holds the position in {@link #keys} plus one for each slot or zero if the slot is empty.
+     * Collisions are resolved by linear probing.
+     */
+    private transient int[] table;
+
+    /**
+     * The number of positions used in {@link #keys} including removed ones.
+     */
+    private transient int used;
+
+    private transient int size;
+    private transient int modCount;
+
+    public ObjectLongHashMap() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public ObjectLongHashMap(final int expectedSize) {
+        if (expectedSize < 0)
+            throw new IllegalArgumentException("The expected size must not be negative: " + expectedSize);
+        this.allocate(Math.max(expectedSize, DEFAULT_CAPACITY));
+    }
+
+    public ObjectLongHashMap(final Map<? extends K, ? extends Number> map) {
+        this(map.size());
+        map.forEach((k, v) -> this.incr(k, v.longValue()));
+    }
+
+    /**
+     * Adds the {@code delta} to the value of the {@code key}, adding the key with a starting value of zero if it is
+     * not present.
+     *
+     * @return the value associated to the key after the increment
+     */
+    public long incr(final K key, final long delta) {
+        final int index = this.indexOf(key);
+        if (index >= 0)
+            return this.values[index] += delta;
+
+        this.insert(key, delta);
+        return delta;
+    }
+
+    /**
+     * Gets the value of the {@code key} without boxing or the {@code defaultValue} if the key is not present.
+     */
+    public long getLong(final Object key, final long defaultValue) {
+        final int index = this.indexOf(key);
+        return index < 0 ? defaultValue : this.values[index];
+    }
+
+    /**
+     * Sets the value of the {@code key} without boxing.
+     *
+     * @return {@code true} if the key was not present before
+     */
+    public boolean putLong(final K key, final long value) {
+        final int index = this.indexOf(key);
+        if (index >= 0) {
+            this.values[index] = value;
+            return false;
+        }
+
+        this.insert(key, value);
+        return true;
+    }
+
+    /**
+     * Sums all the values in the map.
+     */
+    public long sum() {
+        long sum = 0L;
+        for (int i = 0; i < this.used; i++) {
+            if (this.keys[i] != REMOVED)
+                sum += this.values[i];
+        }
+        return sum;
+    }
+
+    /**
+     * Iterates the entries in insertion order without boxing the values.
+     */
+    public void forEachLong(final ObjLongConsumer<? super K> consumer) {
+        final int expectedModCount = this.modCount;
+        for (int i = 0; i < this.used; i++) {
+            if (this.keys[i] != REMOVED)
+                consumer.accept((K) this.keys[i], this.values[i]);
+            if (expectedModCount != this.modCount)
+                throw new ConcurrentModificationException();
+        }
+    }
+
+    @Override
+    public void forEach(final BiConsumer<? super K, ? super Long> consumer) {
+        this.forEachLong(consumer::accept);
+    }
+
+    @Override
+    public int size() {
+        return this.size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return 0 == this.size;
+    }
+
+    @Override
+    public boolean containsKey(final Object key) {
+        return this.indexOf(key) >= 0;
+    }
+
+    @Override
+    public Long get(final Object key) {
+        final int index = this.indexOf(key);
+        return index < 0 ? null : this.values[index];
+    }
+
+    @Override
+    public Long put(final K key, final Long value) {
+        Objects.requireNonNull(value, "ObjectLongHashMap does not support null values");
+        final int index = this.indexOf(key);
+        if (index >= 0) {
+            final long old = this.values[index];
+            this.values[index] = value;
+            return old;
+        }
+
+        this.insert(key, value);
+        return null;
+    }
+
+    @Override
+    public Long remove(final Object key) {
+        final int slot = this.slotOf(key);
+        if (slot < 0)
+            return null;
+
+        final int index = this.table[slot] - 1;
+        final long old = this.values[index];
+        this.removeAt(slot, index);
+        return old;
+    }
+
+    @Override
+    public void clear() {
+        if (this.used > 0) {
+            this.allocate(DEFAULT_CAPACITY);
+            this.modCount++;
+        }
+    }
+
+    @Override
+    public Set<Map.Entry<K, Long>> entrySet() {
+        return new EntrySet();
+    }
+
+    @Override
+    public int hashCode() {
+        int h = 0;
+        for (int i = 0; i < this.used; i++) {
+            if (this.keys[i] != REMOVED)
+                h += Objects.hashCode(this.keys[i]) ^ Long.hashCode(this.values[i]);
+        }
+        return h;
+    }
+
+    ///////////////////////
+
+    private void allocate(final int capacity) {
+        this.keys = new Object[capacity];
+        this.values = new long[capacity];
+        this.table = new int[tableSizeFor(capacity)];
+        this.used = 0;
+        this.size = 0;
+    }
+
+    /**
+     * The table is kept at most half full so that probe sequences stay short.
+     */
+    private static int tableSizeFor(final int capacity) {
+        return Integer.highestOneBit(Math.max(capacity, 2) * 2 - 1) << 1;
+    }
+
+    private static int hash(final Object key) {
+        final int h = null == key ? 0 : key.hashCode() * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    private int indexOf(final Object key) {
+        final int slot = this.slotOf(key);
+        return slot < 0 ? -1 : this.table[slot] - 1;
+    }
+
+    private int slotOf(final Object key) {
+        final int mask = this.table.length - 1;
+        int slot = hash(key) & mask;
+        int entry;
+        while ((entry = this.table[slot]) != 0) {
+            if (Objects.equals(key, this.keys[entry - 1]))
+                return slot;
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    private void insert(final Object key, final long value) {
+        if (this.used == this.keys.length)
+            this.resize();
+
+        final int index = this.used++;
+        this.keys[index] = key;
+        this.values[index] = value;
+        this.place(hash(key), index);
+        this.size++;
+        this.modCount++;
+    }
+
+    private void place(final int hash, final int index) {
+        final int mask = this.table.length - 1;
+        int slot = hash & mask;
+        while (this.table[slot] != 0) {
+            slot = (slot + 1) & mask;
+        }
+        this.table[slot] = index + 1;
+    }
+
+    /**
+     * Compacts away removed entries and grows the arrays if more than half of the positions are live.
+     */
+    private void resize() {
+        final Object[] oldKeys = this.keys;
+        final long[] oldValues = this.values;
+        final int oldUsed = this.used;
+        final int capacity = this.size >= oldKeys.length / 2 ? oldKeys.length * 2 : oldKeys.length;
+        if (capacity < 0)
+            throw new IllegalStateException("ObjectLongHashMap cannot grow any further");
+
+        this.allocate(capacity);
+        for (int i = 0; i < oldUsed; i++) {
+            if (oldKeys[i] != REMOVED) {
+                this.keys[this.used] = oldKeys[i];
+                this.values[this.used] = oldValues[i];
+                this.place(hash(oldKeys[i]), this.used++);
+            }
+        }
+        this.size = this.used;
+    }
+
+    /**
+     * Removes the entry in the given slot by shifting back any entries in the same probe sequence that follow it, so
+     * that no tombstones are needed in the hash table itself.
+     */
+    private void removeAt(int slot, final int index) {
+        this.keys[index] = REMOVED;
+        this.size--;
+        this.modCount++;
+
+        final int mask = this.table.length - 1;
+        int next = (slot + 1) & mask;
+        int entry;
+        while ((entry = this.table[next]) != 0) {
+            final int home = hash(this.keys[entry - 1]) & mask;
+            // move the entry into the freed slot if its home slot does not lie cyclically in (slot, next]
+            if (slot <= next ? (home <= slot || home > next) : (home <= slot && home > next)) {
+                this.table[slot] = entry;
+                slot = next;
+            }
+            next = (next + 1) & mask;
+        }
+        this.table[slot] = 0;
+    }
+
+    private void writeObject(final ObjectOutputStream out) throws IOException {
+        out.defaultWriteObject();
+        out.writeInt(this.size);
+        for (int i = 0; i < this.used; i++) {
+            if (this.keys[i] != REMOVED) {
+                out.writeObject(this.keys[i]);
+                out.writeLong(this.values[i]);
+            }
+        }
+    }
+
+    private void readObject(final ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        final int size = in.readInt();
+        this.allocate(Math.max(size, DEFAULT_CAPACITY));
+        for (int i = 0; i < size; i++) {
+            this.insert(in.readObject(), in.readLong());
+        }
+    }
+
+    private final class EntrySet extends AbstractSet<Map.Entry<K, Long>> {
+        @Override
+        public int size() {
+            return ObjectLongHashMap.this.size;
+        }
+
+        @Override
+        public void clear() {
+            ObjectLongHashMap.this.clear();
+        }
+
+        @Override
+        public boolean contains(final Object o) {
+            if (!(o instanceof Map.Entry))
+                return false;
+            final Map.Entry<?, ?> e = (Map.Entry<?, ?>) o;
+            final int index = ObjectLongHashMap.this.indexOf(e.getKey());
+            return index >= 0 && e.getValue() instanceof Long && values[index] == (Long) e.getValue();
+        }
+
+        @Override
+        public Iterator<Map.Entry<K, Long>> iterator() {
+            return new EntryIterator();
+        }
+    }
+
+    private final class EntryIterator implements Iterator<Map.Entry<K, Long>> {
+        private int next = 0;
+        private int last = -1;
+        private int expectedModCount = modCount;
+
+        @Override
+        public boolean hasNext() {
+            while (this.next < used && keys[this.next] == REMOVED) {
+                this.next++;
+            }
+            return this.next < used;
+        }
+
+        @Override
+        public Map.Entry<K, Long> next() {
+            if (this.expectedModCount != modCount)
+                throw new ConcurrentModificationException();
+            if (!this.hasNext())
+                throw new NoSuchElementException();
+            this.last = this.next++;
+            return new Entry(this.last);
+        }
+
+        @Override
+        public void remove() {
+            if (this.last < 0)
+                throw new IllegalStateException();
+            if (this.expectedModCount != modCount)
+                throw new ConcurrentModificationException();
+            ObjectLongHashMap.this.removeAt(ObjectLongHashMap.this.slotOf(keys[this.last]), this.last);
+            this.expectedModCount = modCount;
+            this.last = -1;
+        }
+    }
+
+    private final class Entry implements Map.Entry<K, Long> {
+        private final int index;
+
+        private Entry(final int index) {
+            this.index = index;
+        }
+
+        @Override
+        public K getKey() {
+            return (K) keys[this.index];
+        }
+
+        @Override
+        public Long getValue() {
+            return values[this.index];
+        }
+
+        @Override
+        public Long setValue(final Long value) {
+            Objects.requireNonNull(value, "ObjectLongHashMap does not support null values");
+            final long old = values[this.index];
+            values[this.index] = value;
+            return old;
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (!(o instanceof Map.Entry))
+                return false;
+            final Map.Entry<?, ?> e = (Map.Entry<?, ?>) o;
+            return Objects.equals(this.getKey(), e.getKey()) && Objects.equals(this.getValue(), e.getValue());
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hashCode(this.getKey()) ^ Long.hashCode(values[this.index]);
+        }
+
+        @Override
+        public String toString() {
+            return this.getKey() + "=" + this.getValue();
+        }
+    }
+}
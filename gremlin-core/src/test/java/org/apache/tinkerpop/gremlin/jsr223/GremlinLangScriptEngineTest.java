@@ -31,8 +31,10 @@ import java.util.HashMap;
 import java.util.Map;
 
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
 import static org.hamcrest.core.IsInstanceOf.instanceOf;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
 
 public class GremlinLangScriptEngineTest {
 
@@ -63,6 +65,63 @@ public class GremlinLangScriptEngineTest {
         assertEquals(g.V(100, 1000, 10000).asAdmin().getBytecode(), ((Traversal.Admin) result).getBytecode());
     }
 
+    @Test
+    public void shouldReuseParsedScriptWithDifferentParameters() throws ScriptException {
+        final GremlinLangScriptEngine engine = new GremlinLangScriptEngine();
+        for (int i = 0; i < 3; i++) {
+            final Bindings b = new SimpleBindings();
+            b.put("g", g);
+            b.put("x", i);
+            final Object result = engine.eval("g.V(x).out()", b);
+            assertEquals(g.V(i).out().asAdmin().getBytecode(), ((Traversal.Admin) result).getBytecode());
+        }
+
+        assertEquals(1, engine.getParseCacheEstimatedSize());
+        assertEquals(1, engine.getParseCacheMissCount());
+        assertEquals(2, engine.getParseCacheHitCount());
+    }
+
+    @Test
+    public void shouldNotCacheScriptThatFailsToParse() {
+        final GremlinLangScriptEngine engine = new GremlinLangScriptEngine();
+        engine.put("g", g);
+        for (int i = 0; i < 2; i++) {
+            try {
+                engine.eval("g.V().notAStep(");
+                fail("Script should not have parsed");
+            } catch (ScriptException ignored) {
+                // expected
+            }
+        }
+
+        assertEquals(0, engine.getParseCacheEstimatedSize());
+        assertEquals(0, engine.getParseCacheHitCount());
+    }
+
+    @Test
+    public void shouldConfigureParseCacheFromPlugin() {
+        final GremlinPlugin plugin = GremlinLangGremlinPlugin.build().parseCacheSpecification("maximumSize=10").create();
+        final Customizer[] customizers = plugin.getCustomizers("gremlin-lang").get();
+        assertEquals("maximumSize=10", ((ParseCacheCustomizer) customizers[0]).getParseCacheSpecification());
+        assertThat(plugin.getCustomizers("gremlin-groovy").isPresent(), is(false));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldUseParseCacheSpecificationOfCustomizer() {
+        new GremlinLangScriptEngine(new ParseCacheCustomizer("notAKey=10"));
+    }
+
+    @Test
+    public void shouldWeighParsedScriptsByLength() throws ScriptException {
+        final GremlinLangScriptEngine engine = new GremlinLangScriptEngine(new ParseCacheCustomizer("maximumWeight=1000"));
+        engine.put("g", g);
+        engine.eval("g.V().out()");
+        engine.eval("g.V().out()");
+
+        assertEquals(1, engine.getParseCacheEstimatedSize());
+        assertEquals(1, engine.getParseCacheHitCount());
+    }
+
     @Test
     public void shouldEvalGremlinBytecode() throws ScriptException {
         final Object result = scriptEngine.eval(g.V().asAdmin().getBytecode(), "g");
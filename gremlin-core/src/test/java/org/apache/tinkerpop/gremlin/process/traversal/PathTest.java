@@ -549,4 +549,52 @@ public class PathTest {
             }
         });
     }
+
+    @Test
+    public void shouldHandleLongPathsWithManyLabels() {
+        PATH_SUPPLIERS.forEach(supplier -> {
+            Path path = supplier.get();
+            for (int i = 0; i < 100; i++) {
+                path = path.extend(i, Collections.singleton("l" + i));
+            }
+            assertEquals(100, path.size());
+            assertTrue(path.isSimple());
+            for (int i = 0; i < 100; i++) {
+                assertTrue(path.hasLabel("l" + i));
+                assertEquals(Integer.valueOf(i), path.get("l" + i));
+                assertEquals(Integer.valueOf(i), path.get(Pop.first, "l" + i));
+                assertEquals(Collections.singletonList(i), path.get(Pop.all, "l" + i));
+                assertEquals(Integer.valueOf(i), path.get(i));
+            }
+            assertFalse(path.hasLabel("l100"));
+            assertEquals(Collections.emptyList(), path.get(Pop.all, "l100"));
+            assertEquals(100, path.objects().size());
+            assertEquals(Integer.valueOf(99), path.objects().get(99));
+
+            path = path.extend(50, Collections.singleton("l0"));
+            assertFalse(path.isSimple());
+            assertEquals(Arrays.asList(0, 50), path.get(Pop.all, "l0"));
+            assertEquals(Integer.valueOf(0), path.get(Pop.first, "l0"));
+            assertEquals(Integer.valueOf(50), path.get(Pop.last, "l0"));
+        });
+    }
+
+    @Test
+    public void shouldNotLeakLabelChangesAcrossClones() {
+        PATH_SUPPLIERS.forEach(supplier -> {
+            Path path = supplier.get();
+            path = path.extend("marko", new HashSet<>(Collections.singleton("a")));
+            path = path.extend("stephen", new HashSet<>(Collections.singleton("b")));
+            final Path clone = path.clone();
+
+            final Path extended = clone.extend(Collections.singleton("c"));
+            assertTrue(extended.hasLabel("c"));
+            assertFalse(path.hasLabel("c"));
+
+            final Path retracted = path.retract(Collections.singleton("a"));
+            assertFalse(retracted.hasLabel("a"));
+            assertTrue(extended.hasLabel("a"));
+            assertEquals("marko", extended.get("a"));
+        });
+    }
 }
@@ -21,9 +21,24 @@ package org.apache.tinkerpop.gremlin.process.traversal.step.filter;
 import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
 import org.apache.tinkerpop.gremlin.process.traversal.step.StepTest;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.WithOptions;
+import org.apache.tinkerpop.gremlin.structure.util.detached.DetachedVertex;
+import org.apache.tinkerpop.gremlin.structure.util.reference.ReferenceVertex;
+import org.junit.Test;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.LinkedList;
 import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
 
 /**
  * @author Daniel Kuppitz (http://gremlin.guru)
@@ -34,7 +49,72 @@ public class DedupGlobalStepTest extends StepTest {
     protected List<Traversal> getTraversals() {
         return Arrays.asList(
                 __.dedup(),
-                __.dedup().by("name")
+                __.dedup().by("name"),
+                __.dedup().with(WithOptions.dedupFalsePositiveRate, 0.01)
         );
     }
+
+    @Test
+    public void shouldDedupMixedNumbersExactly() {
+        final List<Object> values = Arrays.asList(1, 1L, 1, 1L, 1.0d, "1", 0, 0L, -1L, Long.MIN_VALUE, Long.MIN_VALUE);
+        assertEquals(Arrays.asList(1, 1L, 1.0d, "1", 0, 0L, -1L, Long.MIN_VALUE),
+                __.inject(values.toArray()).dedup().toList());
+    }
+
+    @Test
+    public void shouldDedupWithBloomFilter() {
+        final Object[] values = LongStream.range(0, 20000).map(l -> l % 10000).boxed().toArray();
+        final List<Object> result = __.inject(values).dedup().with(WithOptions.dedupFalsePositiveRate, 0.001).toList();
+        // no value is emitted twice though a few may be lost to false positives
+        assertEquals(result.size(), result.stream().distinct().count());
+        assertEquals(10000d, result.size(), 50d);
+    }
+
+    @Test
+    public void shouldDedupByMemoizedProjection() {
+        final List<String> values = IntStream.range(0, 100).mapToObj(i -> "v" + (i % 7)).collect(Collectors.toList());
+        assertEquals(Arrays.asList("v0", "v1", "v2", "v3", "v4", "v5", "v6"),
+                __.inject(values.toArray()).dedup().by(__.identity()).toList());
+    }
+
+    @Test
+    public void shouldDedupByMemoizedElementProjection() {
+        // more distinct elements than the step remembers so that some have to be projected again
+        final List<Object> vertices = IntStream.range(0, 3000).mapToObj(ReferenceVertex::new).collect(Collectors.toList());
+        final List<Object> values = new ArrayList<>(vertices);
+        values.addAll(vertices);
+        values.add(new ReferenceVertex(7));
+        assertEquals(vertices, __.inject(values.toArray()).dedup().by(__.id().fold()).toList());
+    }
+
+    @Test
+    public void shouldNotFilterValuesWithCollidingHashCodesInBloomFilter() {
+        final List<String> values = Arrays.asList("AaAa", "AaBB", "BBAa", "BBBB", "AaAa");
+        assertEquals(1, values.stream().mapToInt(String::hashCode).distinct().count());
+        assertEquals(Arrays.asList("AaAa", "AaBB", "BBAa", "BBBB"),
+                __.inject(values.toArray()).dedup().with(WithOptions.dedupFalsePositiveRate, 0.001).toList());
+    }
+
+    @Test
+    public void shouldHashEqualValuesAlike() {
+        assertEquals(DedupGlobalStep.SeenSet.hash(Arrays.asList(1, "a", 2L)),
+                DedupGlobalStep.SeenSet.hash(new LinkedList<>(Arrays.asList(1, "a", 2L))));
+        assertEquals(DedupGlobalStep.SeenSet.hash(new HashSet<>(Arrays.asList("x", "y", "z"))),
+                DedupGlobalStep.SeenSet.hash(new LinkedHashSet<>(Arrays.asList("z", "y", "x"))));
+        assertEquals(DedupGlobalStep.SeenSet.hash(new ReferenceVertex("a")),
+                DedupGlobalStep.SeenSet.hash(new DetachedVertex("a", "person", Collections.emptyMap())));
+        assertNotEquals(DedupGlobalStep.SeenSet.hash(1), DedupGlobalStep.SeenSet.hash(1L));
+        assertNotEquals(DedupGlobalStep.SeenSet.hash(Arrays.asList("a", "b")),
+                DedupGlobalStep.SeenSet.hash(Arrays.asList("b", "a")));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldNotAllowInvalidFalsePositiveRate() {
+        __.dedup().with(WithOptions.dedupFalsePositiveRate, 1.5d);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldNotAllowUnknownConfiguration() {
+        __.dedup().with("unknown", 10);
+    }
 }
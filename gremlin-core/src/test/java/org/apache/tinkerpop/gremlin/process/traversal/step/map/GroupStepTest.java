@@ -23,10 +23,16 @@ import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
 import org.apache.tinkerpop.gremlin.process.traversal.step.StepTest;
 import org.apache.tinkerpop.gremlin.structure.T;
+import org.apache.tinkerpop.gremlin.util.ObjectLongHashMap;
+import org.junit.Test;
 
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
 
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.MatcherAssert.assertThat;
+
 /**
  * @author Marko A. Rodriguez (http://markorodriguez.com)
  */
@@ -40,4 +46,14 @@ public class GroupStepTest extends StepTest {
                 __.group().by(T.label).by(__.values("name").count())
         );
     }
+
+    @Test
+    public void shouldSeedCountedGroupsWithObjectLongHashMap() {
+        final GroupStep<?, ?, ?> counted = (GroupStep) __.group().by(T.label).by(__.out().count()).asAdmin().getEndStep();
+        assertThat(counted.getSeedSupplier().get(), instanceOf(ObjectLongHashMap.class));
+        assertThat(counted.clone().getSeedSupplier().get(), instanceOf(ObjectLongHashMap.class));
+
+        final GroupStep<?, ?, ?> folded = (GroupStep) __.group().by(T.label).asAdmin().getEndStep();
+        assertThat(folded.getSeedSupplier().get(), instanceOf(HashMap.class));
+    }
 }
@@ -30,13 +30,18 @@ import org.apache.tinkerpop.gremlin.process.traversal.step.filter.WhereTraversal
 import org.apache.tinkerpop.gremlin.process.traversal.step.util.EmptyStep;
 import org.apache.tinkerpop.gremlin.process.traversal.traverser.B_LP_O_P_S_SE_SL_TraverserGenerator;
 import org.apache.tinkerpop.gremlin.process.traversal.traverser.util.EmptyTraverser;
+import org.apache.tinkerpop.gremlin.structure.Edge;
+import org.apache.tinkerpop.gremlin.structure.Graph;
 import org.apache.tinkerpop.gremlin.structure.T;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.structure.util.GraphStatistics;
 import org.junit.Test;
 
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Optional;
 import java.util.function.Consumer;
 
 import static org.apache.tinkerpop.gremlin.process.traversal.P.eq;
@@ -50,6 +55,10 @@ import static org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__.where;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.CALLS_REAL_METHODS;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.withSettings;
 
 /**
  * @author Marko A. Rodriguez (http://markorodriguez.com)
@@ -194,6 +203,47 @@ public class MatchStepTest extends StepTest {
         });
     }
 
+    @Test
+    public void testCountMatchAlgorithmWithGraphStatistics() {
+        final Graph graph = mock(Graph.class, withSettings().extraInterfaces(GraphStatistics.class).defaultAnswer(CALLS_REAL_METHODS));
+        final GraphStatistics statistics = (GraphStatistics) graph;
+        doReturn(100L).when(statistics).count(Vertex.class);
+        doReturn(1000L).when(statistics).count(Edge.class);
+        doReturn(Optional.of(50L)).when(statistics).countByLabel(Edge.class, "knows");
+        doReturn(Optional.of(900L)).when(statistics).countByLabel(Edge.class, "likes");
+        doReturn(Optional.of(10L)).when(statistics).countByLabel(Vertex.class, "person");
+
+        final Traversal.Admin<?, ?> traversal = __.match(
+                as("a").out("likes").as("b"),
+                as("a").out("knows").as("c"),
+                as("a").hasLabel("person").out().as("d")).asAdmin();
+        traversal.setGraph(graph);
+        final List<Traversal.Admin<Object, Object>> patterns = ((MatchStep<?, ?>) traversal.getStartStep()).getGlobalChildren();
+
+        assertEquals(9.0d, MatchStep.Helper.estimateMultiplicity(patterns.get(0), statistics), 0.01d);
+        assertEquals(0.5d, MatchStep.Helper.estimateMultiplicity(patterns.get(1), statistics), 0.01d);
+        assertEquals(1.0d, MatchStep.Helper.estimateMultiplicity(patterns.get(2), statistics), 0.01d);
+
+        // the most selective pattern goes first before anything has been counted
+        final MatchStep.CountMatchAlgorithm countMatchAlgorithm = new MatchStep.CountMatchAlgorithm();
+        countMatchAlgorithm.initialize(false, patterns);
+        assertEquals(patterns.get(1), countMatchAlgorithm.bundles.get(0).traversal);
+        assertEquals(patterns.get(2), countMatchAlgorithm.bundles.get(1).traversal);
+        assertEquals(patterns.get(0), countMatchAlgorithm.bundles.get(2).traversal);
+
+        // counts blend with the estimate rather than replacing it on the first result
+        countMatchAlgorithm.recordStart(EmptyTraverser.instance(), patterns.get(1));
+        countMatchAlgorithm.recordEnd(EmptyTraverser.instance(), patterns.get(1));
+        assertEquals(51.0d / 101.0d, countMatchAlgorithm.getBundle(patterns.get(1)).multiplicity, 0.0001d);
+        assertEquals(patterns.get(1), countMatchAlgorithm.bundles.get(0).traversal);
+
+        // on the computer the statistics are not consulted
+        final MatchStep.CountMatchAlgorithm computerAlgorithm = new MatchStep.CountMatchAlgorithm();
+        computerAlgorithm.initialize(true, patterns);
+        computerAlgorithm.bundles.forEach(bundle -> assertEquals(0.0d, bundle.multiplicity, 0.0d));
+        assertEquals(patterns.get(0), computerAlgorithm.bundles.get(0).traversal);
+    }
+
     @Test
     public void testCountMatchAlgorithm() {
         // MAKE SURE THE SORT ORDER CHANGES AS MORE RESULTS ARE RETURNED BY ONE OR THE OTHER TRAVERSAL
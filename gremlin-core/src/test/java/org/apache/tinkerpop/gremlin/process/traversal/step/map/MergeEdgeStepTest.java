@@ -26,7 +26,9 @@ import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
 import org.apache.tinkerpop.gremlin.process.traversal.step.util.EmptyStep;
 import org.apache.tinkerpop.gremlin.process.traversal.util.DefaultTraversalStrategies;
 import org.apache.tinkerpop.gremlin.structure.Direction;
+import org.apache.tinkerpop.gremlin.structure.Edge;
 import org.apache.tinkerpop.gremlin.structure.T;
+import org.apache.tinkerpop.gremlin.structure.util.CloseableIterator;
 import org.apache.tinkerpop.gremlin.structure.util.reference.ReferenceVertex;
 import org.apache.tinkerpop.gremlin.util.function.TraverserSetSupplier;
 import org.apache.tinkerpop.gremlin.util.CollectionUtil;
@@ -37,6 +39,8 @@ import java.util.LinkedHashMap;
 import java.util.Map;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
@@ -135,4 +139,25 @@ public class MergeEdgeStepTest {
 
         assertEquals(CollectionUtil.asMap("key1", "value1", "key2", "value2"), onCreateMap);
     }
+
+    @Test
+    public void shouldDetectOverriddenSearch() {
+        final Traversal.Admin traversal = mock(Traversal.Admin.class);
+        when(traversal.getTraverserSetSupplier()).thenReturn(TraverserSetSupplier.instance());
+        when(traversal.getParent()).thenReturn(EmptyStep.instance());
+        when(traversal.getStrategies()).thenReturn(new DefaultTraversalStrategies());
+
+        final MergeEdgeStep<Object> step = new MergeEdgeStep<>(traversal, false);
+        assertFalse(step.overrides(MergeEdgeStep.class, "searchEdges", Map.class));
+        assertFalse(step.overrides(MergeStep.class, "searchVertices", Map.class));
+
+        final MergeEdgeStep<Object> providerStep = new MergeEdgeStep<Object>(traversal, false) {
+            @Override
+            protected CloseableIterator<Edge> searchEdges(final Map search) {
+                return CloseableIterator.empty();
+            }
+        };
+        assertTrue(providerStep.overrides(MergeEdgeStep.class, "searchEdges", Map.class));
+        assertFalse(providerStep.overrides(MergeStep.class, "searchVertices", Map.class));
+    }
 }
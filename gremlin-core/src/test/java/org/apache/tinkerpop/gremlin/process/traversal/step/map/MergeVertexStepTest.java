@@ -23,6 +23,7 @@ import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
 import org.apache.tinkerpop.gremlin.process.traversal.TraversalSideEffects;
 import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
 import org.apache.tinkerpop.gremlin.process.traversal.step.util.EmptyStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.WithOptions;
 import org.apache.tinkerpop.gremlin.process.traversal.util.DefaultTraversalStrategies;
 import org.apache.tinkerpop.gremlin.structure.Direction;
 import org.apache.tinkerpop.gremlin.structure.T;
@@ -109,6 +110,33 @@ public class MergeVertexStepTest {
         assertEquals(CollectionUtil.asMap("key1", "value1", "key2", "value2"), onCreateMap);
     }
 
+    @Test
+    public void shouldConfigureBatchSize() {
+        final MergeVertexStep step = new MergeVertexStep(mockTraversal(), false);
+        assertEquals(1, step.getBatchSize());
+        step.configure(WithOptions.mergeBatchSize, 500L);
+        assertEquals(500, step.getBatchSize());
+        assertEquals(500, step.clone().getBatchSize());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldFailToConfigureNonPositiveBatchSize() {
+        new MergeVertexStep(mockTraversal(), false).configure(WithOptions.mergeBatchSize, 0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldFailToConfigureNonNumericBatchSize() {
+        new MergeVertexStep(mockTraversal(), false).configure(WithOptions.mergeBatchSize, "10");
+    }
+
+    private static Traversal.Admin mockTraversal() {
+        final Traversal.Admin traversal = mock(Traversal.Admin.class);
+        when(traversal.getTraverserSetSupplier()).thenReturn(TraverserSetSupplier.instance());
+        when(traversal.getParent()).thenReturn(EmptyStep.instance());
+        when(traversal.getStrategies()).thenReturn(new DefaultTraversalStrategies());
+        return traversal;
+    }
+
     @Test(expected = IllegalArgumentException.class)
     public void shouldFailToValidateWithNullKey() {
         final Map<Object,Object> m = CollectionUtil.asMap("k", "v",
@@ -23,10 +23,15 @@ import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
 import org.apache.tinkerpop.gremlin.process.traversal.step.StepTest;
 import org.junit.Test;
 
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.stream.IntStream;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 
 /**
  * @author Florian Grieskamp
@@ -52,4 +57,60 @@ public class NoOpBarrierStepTest extends StepTest {
         final NoOpBarrierStep<?> barrier = (NoOpBarrierStep<?>) traversal.getStartStep();
         assertEquals(customBarrierSize, barrier.getMaxBarrierSize());
     }
+
+    @Test
+    public void shouldPassThroughWhenNothingBulks() {
+        final Object[] values = IntStream.range(0, 10000).boxed().toArray();
+        final Traversal.Admin<Object, Object> traversal = unbulked(values);
+        final NoOpBarrierStep<Object> barrier = new NoOpBarrierStep<>(traversal, 2500, true);
+        traversal.addStep(barrier);
+
+        final List<Object> results = traversal.toList();
+        assertEquals(10000, results.size());
+        assertEquals(10000, new HashSet<>(results).size());
+        assertTrue(barrier.isPassThrough());
+        assertEquals(1.0d, barrier.getBulkingRatio(), 0.0d);
+    }
+
+    @Test
+    public void shouldKeepBulkingWhenDuplicatesAreHigh() {
+        final Object[] values = IntStream.range(0, 10000).map(i -> i % 10).boxed().toArray();
+        final Traversal.Admin<Object, Object> traversal = unbulked(values);
+        final NoOpBarrierStep<Object> barrier = new NoOpBarrierStep<>(traversal, 2500, true);
+        traversal.addStep(barrier);
+
+        assertEquals(10000, traversal.toList().size());
+        assertFalse(barrier.isPassThrough());
+        assertEquals(1000.0d, barrier.getBulkingRatio(), 0.0d);
+    }
+
+    @Test
+    public void shouldResumeBulkingWhenDuplicatesReappear() {
+        final Object[] values = IntStream.range(0, 20000).map(i -> i < 5000 ? i : i % 10).boxed().toArray();
+        final Traversal.Admin<Object, Object> traversal = unbulked(values);
+        final NoOpBarrierStep<Object> barrier = new NoOpBarrierStep<>(traversal, 2500, true);
+        traversal.addStep(barrier);
+
+        assertEquals(20000, traversal.toList().size());
+        assertFalse(barrier.isPassThrough());
+        assertTrue(barrier.getBulkingRatio() > 1.0d);
+    }
+
+    @Test
+    public void shouldNotAdaptUnlessAsked() {
+        final Object[] values = IntStream.range(0, 10000).boxed().toArray();
+        final Traversal.Admin<Object, Object> traversal = unbulked(values);
+        final NoOpBarrierStep<Object> barrier = new NoOpBarrierStep<>(traversal, 2500);
+        traversal.addStep(barrier);
+
+        assertEquals(10000, traversal.toList().size());
+        assertFalse(barrier.isPassThrough());
+    }
+
+    /**
+     * Streams the values as individual traversers since a start step would bulk them up front.
+     */
+    private static Traversal.Admin<Object, Object> unbulked(final Object[] values) {
+        return __.<Object>inject(0).flatMap(t -> Arrays.asList(values).iterator()).asAdmin();
+    }
 }
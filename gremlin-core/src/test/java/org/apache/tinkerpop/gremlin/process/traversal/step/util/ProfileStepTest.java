@@ -0,0 +1,59 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.step.util;
+
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.util.Metrics;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalMetrics;
+import org.apache.tinkerpop.gremlin.structure.util.empty.EmptyGraph;
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.junit.Assert.assertEquals;
+
+public class ProfileStepTest {
+
+    private static final Integer[] NUMBERS = IntStream.range(0, 99).boxed().toArray(Integer[]::new);
+
+    @Test
+    public void shouldExtrapolateDurationFromSampledRounds() {
+        // every reading of the clock advances it by a microsecond so that each timed call takes exactly that long
+        final AtomicLong readings = new AtomicLong();
+        final Traversal.Admin<Integer, Integer> traversal = EmptyGraph.instance().traversal().inject(NUMBERS).map(t -> t.get()).asAdmin();
+        final ProfileStep<Integer> profileStep = new ProfileStep<>(traversal, () -> readings.incrementAndGet() * 1000);
+        profileStep.setSampleInterval(10);
+        traversal.addStep(profileStep);
+
+        assertEquals(NUMBERS.length, traversal.toList().size());
+        final Metrics metrics = profileStep.getMetrics().get();
+        assertEquals(10, metrics.getAnnotation(ProfileStep.SAMPLE_INTERVAL_KEY));
+        assertEquals(NUMBERS.length, metrics.getCount(TraversalMetrics.TRAVERSER_COUNT_ID).longValue());
+        assertEquals(NUMBERS.length, metrics.getCount(TraversalMetrics.ELEMENT_COUNT_ID).longValue());
+
+        // the traversers and the round that finds the step exhausted make 100 rounds of which every tenth is timed
+        final long sampledDuration = readings.get() / 2 * 1000;
+        assertThat(sampledDuration, greaterThan(0L));
+        assertEquals(sampledDuration * 10, metrics.getDuration(TimeUnit.NANOSECONDS));
+    }
+}
@@ -0,0 +1,124 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.strategy.finalization;
+
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
+import org.apache.tinkerpop.gremlin.process.traversal.step.branch.LocalStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.branch.UnionStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.ProjectStep;
+import org.apache.tinkerpop.gremlin.process.traversal.util.DefaultTraversal;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
+import org.apache.tinkerpop.gremlin.structure.util.empty.EmptyGraph;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.apache.tinkerpop.gremlin.process.traversal.AnonymousTraversalSource.traversal;
+import static org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__.aggregate;
+import static org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__.in;
+import static org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__.out;
+import static org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__.outE;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+public class ParallelBranchStrategyTest {
+
+    private static final GraphTraversalSource g = traversal().withEmbedded(EmptyGraph.instance()).
+            withStrategies(ParallelBranchStrategy.build().parallelism(2).create());
+
+    @Test
+    public void shouldMakeIndependentChildrenConcurrent() {
+        final Traversal.Admin<?, ?> t = g.V().union(out(), in()).
+                local(outE().limit(2)).
+                project("a", "b").by(out().count()).by(in().count()).asAdmin();
+        t.applyStrategies();
+        assertSame(ForkJoinPool.commonPool(), TraversalHelper.getFirstStepOfAssignableClass(UnionStep.class, t).get().getForkJoinPool());
+        assertNotNull(TraversalHelper.getFirstStepOfAssignableClass(LocalStep.class, t).get().getForkJoinPool());
+        assertEquals(2, TraversalHelper.getFirstStepOfAssignableClass(LocalStep.class, t).get().getParallelism());
+        assertNotNull(TraversalHelper.getFirstStepOfAssignableClass(ProjectStep.class, t).get().getForkJoinPool());
+    }
+
+    @Test
+    public void shouldCloseConcurrentChildrenOnClose() throws Exception {
+        final Traversal.Admin<?, ?> t = g.V().union(out(), in()).
+                local(outE().limit(2)).
+                project("a", "b").by(out().count()).by(in().count()).asAdmin();
+        t.applyStrategies();
+        t.close();
+
+        final List<Traversal.Admin<?, ?>> children = new ArrayList<>();
+        children.addAll(TraversalHelper.getFirstStepOfAssignableClass(UnionStep.class, t).get().getGlobalChildren());
+        children.addAll(TraversalHelper.getFirstStepOfAssignableClass(LocalStep.class, t).get().getLocalChildren());
+        children.addAll(TraversalHelper.getFirstStepOfAssignableClass(ProjectStep.class, t).get().getLocalChildren());
+        assertEquals(5, children.size());
+        for (final Traversal.Admin<?, ?> child : children) {
+            assertThat(((DefaultTraversal<?, ?>) child).isClosed(), is(true));
+        }
+    }
+
+    @Test
+    public void shouldUseSuppliedPool() {
+        final ForkJoinPool pool = new ForkJoinPool(2);
+        try {
+            final Traversal.Admin<?, ?> t = g.withStrategies(ParallelBranchStrategy.build().forkJoinPool(pool).create()).
+                    V().union(out(), in()).asAdmin();
+            t.applyStrategies();
+            assertSame(pool, TraversalHelper.getFirstStepOfAssignableClass(UnionStep.class, t).get().getForkJoinPool());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void shouldNotMakeChildrenWithSideEffectsConcurrent() {
+        final Traversal.Admin<?, ?> t = g.V().union(out().aggregate("x"), in()).
+                local(aggregate("y")).
+                project("a", "b").by(out().map(v -> v)).by(in().count()).asAdmin();
+        t.applyStrategies();
+        assertNull(TraversalHelper.getFirstStepOfAssignableClass(UnionStep.class, t).get().getForkJoinPool());
+        assertNull(TraversalHelper.getFirstStepOfAssignableClass(LocalStep.class, t).get().getForkJoinPool());
+        assertNull(TraversalHelper.getFirstStepOfAssignableClass(ProjectStep.class, t).get().getForkJoinPool());
+    }
+
+    @Test
+    public void shouldNotMakeChildrenConcurrentWhenProfiling() {
+        final Traversal.Admin<?, ?> t = g.V().union(out(), in()).profile().asAdmin();
+        t.applyStrategies();
+        assertNull(TraversalHelper.getFirstStepOfAssignableClass(UnionStep.class, t).get().getForkJoinPool());
+    }
+
+    @Test
+    public void shouldRoundTripConfiguration() {
+        final ParallelBranchStrategy strategy = ParallelBranchStrategy.create(
+                ParallelBranchStrategy.build().parallelism(3).create().getConfiguration());
+        assertEquals(3, strategy.getParallelism());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldNotAllowParallelismBelowOne() {
+        ParallelBranchStrategy.build().parallelism(0);
+    }
+}
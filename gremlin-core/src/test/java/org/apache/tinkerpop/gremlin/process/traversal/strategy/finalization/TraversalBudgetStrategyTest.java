@@ -0,0 +1,133 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.strategy.finalization;
+
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
+import org.apache.tinkerpop.gremlin.process.traversal.traverser.TraverserRequirement;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalBudgetExceededException;
+import org.apache.tinkerpop.gremlin.structure.util.empty.EmptyGraph;
+import org.junit.Test;
+
+import java.util.stream.IntStream;
+
+import static org.apache.tinkerpop.gremlin.process.traversal.AnonymousTraversalSource.traversal;
+import static org.apache.tinkerpop.gremlin.process.traversal.Scope.local;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.StringContains.containsString;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+public class TraversalBudgetStrategyTest {
+
+    private static final Integer[] NUMBERS = IntStream.range(0, 100).boxed().toArray(Integer[]::new);
+
+    private static GraphTraversalSource g(final TraversalBudgetStrategy.Builder builder) {
+        return traversal().withEmbedded(EmptyGraph.instance()).withStrategies(builder.create());
+    }
+
+    @Test
+    public void shouldNotFailWithinBudget() {
+        final GraphTraversalSource g = g(TraversalBudgetStrategy.build().maxTraversers(1000).maxBarrierSize(100).
+                maxPathLength(3).maxSideEffectSize(100));
+        assertEquals(100L, g.inject(NUMBERS).aggregate("x").order().fold().unfold().path().count().next().longValue());
+    }
+
+    @Test
+    public void shouldFailWhenTooManyTraversersAreProcessed() {
+        assertBudgetExceeded(() -> g(TraversalBudgetStrategy.build().maxTraversers(150)).inject(NUMBERS).map(t -> t.get()).iterate(),
+                TraversalBudgetStrategy.MAX_TRAVERSERS);
+    }
+
+    @Test
+    public void shouldShareTraverserBudgetWithChildren() {
+        // the 100 traversers that enter local() fit in the budget but the ones in the child do not
+        assertBudgetExceeded(() -> g(TraversalBudgetStrategy.build().maxTraversers(150)).inject(NUMBERS).local(__.identity()).iterate(),
+                TraversalBudgetStrategy.MAX_TRAVERSERS);
+    }
+
+    @Test
+    public void shouldFailWhenCollectingBarrierGrowsTooLarge() {
+        assertBudgetExceeded(() -> g(TraversalBudgetStrategy.build().maxBarrierSize(10)).inject(NUMBERS).order().iterate(),
+                TraversalBudgetStrategy.MAX_BARRIER_SIZE);
+    }
+
+    @Test
+    public void shouldFailWhenReducingBarrierGrowsTooLarge() {
+        assertBudgetExceeded(() -> g(TraversalBudgetStrategy.build().maxBarrierSize(10)).inject(NUMBERS).fold().iterate(),
+                TraversalBudgetStrategy.MAX_BARRIER_SIZE);
+        assertBudgetExceeded(() -> g(TraversalBudgetStrategy.build().maxBarrierSize(10)).inject(NUMBERS).groupCount().iterate(),
+                TraversalBudgetStrategy.MAX_BARRIER_SIZE);
+    }
+
+    @Test
+    public void shouldFailWhenPathGrowsTooLong() {
+        assertBudgetExceeded(() -> g(TraversalBudgetStrategy.build().maxPathLength(3)).inject(1).
+                        repeat(__.map(t -> (int) t.get() + 1)).times(5).path().iterate(),
+                TraversalBudgetStrategy.MAX_PATH_LENGTH);
+    }
+
+    @Test
+    public void shouldBoundLoopsWithoutTrackingPaths() {
+        final GraphTraversalSource g = g(TraversalBudgetStrategy.build().maxPathLength(3));
+        final Traversal.Admin<?, ?> traversal = g.inject(1).repeat(__.map(t -> (int) t.get() + 1)).times(3).asAdmin();
+        traversal.applyStrategies();
+        assertThat(traversal.getTraverserRequirements().contains(TraverserRequirement.PATH), is(false));
+        assertEquals(4, traversal.next());
+
+        assertBudgetExceeded(() -> g.inject(1).repeat(__.map(t -> (int) t.get() + 1)).times(5).iterate(),
+                TraversalBudgetStrategy.MAX_PATH_LENGTH);
+    }
+
+    @Test
+    public void shouldFailWhenSideEffectGrowsTooLarge() {
+        assertBudgetExceeded(() -> g(TraversalBudgetStrategy.build().maxSideEffectSize(10)).inject(NUMBERS).aggregate("x").iterate(),
+                TraversalBudgetStrategy.MAX_SIDE_EFFECT_SIZE);
+        assertBudgetExceeded(() -> g(TraversalBudgetStrategy.build().maxSideEffectSize(10)).inject(NUMBERS).aggregate(local, "x").iterate(),
+                TraversalBudgetStrategy.MAX_SIDE_EFFECT_SIZE);
+        assertBudgetExceeded(() -> g(TraversalBudgetStrategy.build().maxSideEffectSize(10)).inject(NUMBERS).groupCount("x").iterate(),
+                TraversalBudgetStrategy.MAX_SIDE_EFFECT_SIZE);
+    }
+
+    @Test
+    public void shouldRoundTripConfiguration() {
+        final TraversalBudgetStrategy strategy = TraversalBudgetStrategy.create(TraversalBudgetStrategy.build().
+                maxTraversers(1).maxBarrierSize(2).maxPathLength(3).create().getConfiguration());
+        assertEquals(1, strategy.getMaxTraversers());
+        assertEquals(2, strategy.getMaxBarrierSize());
+        assertEquals(3, strategy.getMaxPathLength());
+        assertEquals(Long.MAX_VALUE, strategy.getMaxSideEffectSize());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldNotAllowLimitBelowOne() {
+        TraversalBudgetStrategy.build().maxTraversers(0);
+    }
+
+    private static void assertBudgetExceeded(final Runnable traversal, final String limit) {
+        try {
+            traversal.run();
+            fail("The traversal should have exceeded its budget of " + limit);
+        } catch (TraversalBudgetExceededException ex) {
+            assertThat(ex.getMessage(), containsString(limit));
+        }
+    }
+}
@@ -0,0 +1,254 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.util;
+
+import org.apache.tinkerpop.gremlin.structure.util.CloseableIterator;
+import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
+import org.junit.AfterClass;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.fail;
+
+public class ForkJoinHelperTest {
+
+    private static final ForkJoinPool pool = new ForkJoinPool(4);
+
+    @AfterClass
+    public static void shutdown() {
+        pool.shutdown();
+    }
+
+    @Test
+    public void shouldInvokeAllInOrder() {
+        final List<Supplier<Integer>> tasks = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            final int x = i;
+            tasks.add(() -> x);
+        }
+        assertEquals(Arrays.asList(0, 1, 2, 3, 4, 5, 6, 7, 8, 9), ForkJoinHelper.invokeAll(pool, tasks));
+    }
+
+    @Test
+    public void shouldConcatInOrder() {
+        final List<Iterator<Integer>> sources = Arrays.asList(
+                Arrays.asList(1, 2).iterator(), Collections.<Integer>emptyIterator(), Arrays.asList(3, 4, 5, 6, 7).iterator(), Arrays.asList(8).iterator());
+        assertEquals(Arrays.asList(1, 2, 3, 4, 5, 6, 7, 8), IteratorUtils.list(ForkJoinHelper.concat(pool, sources, 2)));
+    }
+
+    @Test
+    public void shouldOnlyReadAheadOfCaller() {
+        final List<CountingIterator> sources = Arrays.asList(new CountingIterator(), new CountingIterator(), new CountingIterator());
+        final CloseableIterator<Integer> concat = ForkJoinHelper.concat(pool, sources, 8);
+        for (int i = 0; i < 10; i++) {
+            concat.next();
+        }
+        concat.close();
+
+        assertEquals(10, sources.get(0).count.get());
+        assertThat(sources.get(1).count.get(), lessThanOrEqualTo(16 + 1));
+        assertThat(sources.get(2).count.get(), lessThanOrEqualTo(16 + 1));
+        assertFalse(concat.hasNext());
+    }
+
+    @Test
+    public void shouldStopReadingOnClose() throws Exception {
+        final CountDownLatch reading = new CountDownLatch(1);
+        final CountingIterator slow = new CountingIterator() {
+            @Override
+            public Integer next() {
+                reading.countDown();
+                try {
+                    Thread.sleep(10);
+                } catch (InterruptedException ignored) {
+                    // keep going
+                }
+                return super.next();
+            }
+        };
+        final CloseableIterator<Integer> concat = ForkJoinHelper.concat(pool, Arrays.asList(new CountingIterator(), slow), 1000);
+        assertEquals(0, concat.next().intValue());
+        assertThat(reading.await(10, TimeUnit.SECONDS), is(true));
+        concat.close();
+
+        // close() waits for the read in progress to end so nothing is read after it
+        final int read = slow.count.get();
+        Thread.sleep(100);
+        assertEquals(read, slow.count.get());
+        assertThat(read, lessThanOrEqualTo(1000));
+    }
+
+    @Test
+    public void shouldRethrowFailureOfSource() {
+        final Iterator<Integer> failing = new Iterator<Integer>() {
+            @Override
+            public boolean hasNext() {
+                return true;
+            }
+
+            @Override
+            public Integer next() {
+                throw new IllegalStateException("failed");
+            }
+        };
+        final CloseableIterator<Integer> concat = ForkJoinHelper.concat(pool,
+                Arrays.asList(Arrays.asList(1).iterator(), failing), 4);
+        assertEquals(1, concat.next().intValue());
+        try {
+            concat.hasNext();
+            fail("Should have rethrown the failure of the source");
+        } catch (IllegalStateException ex) {
+            // expected
+        }
+        assertFalse(concat.hasNext());
+    }
+
+    @Test
+    public void shouldStopWhenInterrupted() throws Exception {
+        final CountDownLatch never = new CountDownLatch(1);
+        final Iterator<Integer> blocked = new Iterator<Integer>() {
+            @Override
+            public boolean hasNext() {
+                return true;
+            }
+
+            @Override
+            public Integer next() {
+                try {
+                    never.await(100, TimeUnit.MILLISECONDS);
+                } catch (InterruptedException ignored) {
+                    // keep going
+                }
+                return 1;
+            }
+        };
+
+        final CompletableFuture<Throwable> thrown = new CompletableFuture<>();
+        final Thread caller = new Thread(() -> {
+            final CloseableIterator<Integer> concat = ForkJoinHelper.concat(pool,
+                    Arrays.asList(Collections.<Integer>emptyIterator(), blocked), 1000);
+            try {
+                concat.hasNext();
+                thrown.complete(null);
+            } catch (Throwable t) {
+                thrown.complete(t);
+            }
+        });
+        caller.start();
+        Thread.sleep(200);
+        caller.interrupt();
+
+        assertEquals(TraversalInterruptedException.class, thrown.get(10, TimeUnit.SECONDS).getClass());
+    }
+
+    @Test
+    public void shouldInterruptRunningTasksWhenCallerIsInterrupted() throws Exception {
+        final CountDownLatch started = new CountDownLatch(1);
+        final CompletableFuture<Boolean> taskInterrupted = new CompletableFuture<>();
+        final List<Supplier<Integer>> tasks = Arrays.asList(() -> sleepUntilInterrupted(null), () -> {
+            started.countDown();
+            return sleepUntilInterrupted(taskInterrupted);
+        });
+
+        final CompletableFuture<Throwable> thrown = new CompletableFuture<>();
+        final Thread caller = new Thread(() -> {
+            try {
+                ForkJoinHelper.invokeAll(pool, tasks);
+                thrown.complete(null);
+            } catch (Throwable t) {
+                thrown.complete(t);
+            }
+        });
+        caller.start();
+        assertThat(started.await(10, TimeUnit.SECONDS), is(true));
+        caller.interrupt();
+
+        assertEquals(TraversalInterruptedException.class, thrown.get(10, TimeUnit.SECONDS).getClass());
+        assertThat(taskInterrupted.get(10, TimeUnit.SECONDS), is(true));
+    }
+
+    @Test
+    public void shouldInterruptRunningTasksWhenOneFails() throws Exception {
+        final CountDownLatch started = new CountDownLatch(1);
+        final CompletableFuture<Boolean> taskInterrupted = new CompletableFuture<>();
+        final List<Supplier<Integer>> tasks = Arrays.asList(() -> {
+            try {
+                started.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException ignored) {
+                // fail regardless
+            }
+            throw new IllegalStateException("failed");
+        }, () -> {
+            started.countDown();
+            return sleepUntilInterrupted(taskInterrupted);
+        });
+
+        try {
+            ForkJoinHelper.invokeAll(pool, tasks);
+            fail("Should have rethrown the failure of the task");
+        } catch (IllegalStateException ex) {
+            // expected
+        }
+        assertThat(taskInterrupted.get(10, TimeUnit.SECONDS), is(true));
+    }
+
+    /**
+     * Sleeps like a step that takes a long time until its thread is interrupted, or for at most ten seconds.
+     */
+    private static Integer sleepUntilInterrupted(final CompletableFuture<Boolean> interrupted) {
+        try {
+            Thread.sleep(10000);
+        } catch (InterruptedException ie) {
+            if (null != interrupted) interrupted.complete(true);
+            throw new TraversalInterruptedException();
+        }
+        if (null != interrupted) interrupted.complete(false);
+        return 0;
+    }
+
+    private static class CountingIterator implements Iterator<Integer> {
+        final AtomicInteger count = new AtomicInteger();
+
+        @Override
+        public boolean hasNext() {
+            return true;
+        }
+
+        @Override
+        public Integer next() {
+            return count.getAndIncrement();
+        }
+    }
+}
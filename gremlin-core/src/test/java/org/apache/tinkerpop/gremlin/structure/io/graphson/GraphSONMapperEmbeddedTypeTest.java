@@ -25,6 +25,10 @@ import org.apache.tinkerpop.gremlin.process.traversal.P;
 import org.apache.tinkerpop.gremlin.process.traversal.PBiPredicate;
 import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
 import org.apache.tinkerpop.gremlin.process.traversal.step.util.BulkSet;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.TraversalStrategyProxy;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.finalization.BreadthFirstRepeatStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.finalization.ParallelBranchStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.finalization.TraversalBudgetStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalExplanation;
 import org.apache.tinkerpop.gremlin.util.function.Lambda;
 import org.apache.tinkerpop.shaded.jackson.databind.ObjectMapper;
@@ -455,6 +459,41 @@ public class GraphSONMapperEmbeddedTypeTest extends AbstractGraphSONTest {
         assertEquals(o, serializeDeserialize(mapper, o, P.class));
     }
 
+    @Test
+    public void shouldHandleBreadthFirstRepeatStrategy() throws Exception  {
+        assumeThat(version, either(startsWith("v2")).or(startsWith("v3")));
+
+        final BreadthFirstRepeatStrategy o = BreadthFirstRepeatStrategy.build().pruneVisited(true).create();
+        final TraversalStrategyProxy<?> proxy = serializeDeserializeAuto(mapper, o);
+        assertEquals(BreadthFirstRepeatStrategy.class, proxy.getStrategyClass());
+        assertEquals(true, BreadthFirstRepeatStrategy.create(proxy.getConfiguration()).isPruneVisited());
+    }
+
+    @Test
+    public void shouldHandleParallelBranchStrategy() throws Exception  {
+        assumeThat(version, either(startsWith("v2")).or(startsWith("v3")));
+
+        final ParallelBranchStrategy o = ParallelBranchStrategy.build().parallelism(3).create();
+        final TraversalStrategyProxy<?> proxy = serializeDeserializeAuto(mapper, o);
+        assertEquals(ParallelBranchStrategy.class, proxy.getStrategyClass());
+        assertEquals(3, ParallelBranchStrategy.create(proxy.getConfiguration()).getParallelism());
+    }
+
+    @Test
+    public void shouldHandleTraversalBudgetStrategy() throws Exception  {
+        assumeThat(version, either(startsWith("v2")).or(startsWith("v3")));
+
+        final TraversalBudgetStrategy o = TraversalBudgetStrategy.build().maxTraversers(1000).maxPathLength(10).create();
+        final TraversalStrategyProxy<?> proxy = serializeDeserializeAuto(mapper, o);
+        assertEquals(TraversalBudgetStrategy.class, proxy.getStrategyClass());
+
+        final TraversalBudgetStrategy deser = TraversalBudgetStrategy.create(proxy.getConfiguration());
+        assertEquals(1000, deser.getMaxTraversers());
+        assertEquals(10, deser.getMaxPathLength());
+        assertEquals(Long.MAX_VALUE, deser.getMaxBarrierSize());
+        assertEquals(Long.MAX_VALUE, deser.getMaxSideEffectSize());
+    }
+
     public static class PExt<V> extends P<V> {
         public PExt(final PBiPredicate<V, V> biPredicate, final V value) {
             super(biPredicate, value);
@@ -22,6 +22,9 @@ import org.apache.tinkerpop.gremlin.process.remote.traversal.DefaultRemoteTraver
 import org.apache.tinkerpop.gremlin.process.traversal.Bytecode;
 import org.apache.tinkerpop.gremlin.process.traversal.Merge;
 import org.apache.tinkerpop.gremlin.process.traversal.TextP;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.finalization.BreadthFirstRepeatStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.finalization.ParallelBranchStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.finalization.TraversalBudgetStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalExplanation;
 import org.apache.tinkerpop.gremlin.structure.Vertex;
 import org.apache.tinkerpop.gremlin.structure.io.IoX;
@@ -30,6 +33,7 @@ import org.apache.tinkerpop.gremlin.structure.io.IoY;
 import org.apache.tinkerpop.gremlin.structure.io.IoYIoRegistry;
 import org.apache.tinkerpop.gremlin.structure.io.graphson.GraphSONTokens;
 import org.apache.tinkerpop.gremlin.structure.util.detached.DetachedVertex;
+import org.apache.tinkerpop.gremlin.util.function.ObjectLongHashMapSupplier;
 import org.apache.tinkerpop.shaded.kryo.ClassResolver;
 import org.apache.tinkerpop.shaded.kryo.Kryo;
 import org.apache.tinkerpop.shaded.kryo.Registration;
@@ -65,6 +69,7 @@ import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
 import java.util.function.Supplier;
 
 import static org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__.__;
@@ -74,6 +79,7 @@ import static org.hamcrest.core.IsInstanceOf.instanceOf;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.fail;
 
 /**
@@ -393,6 +399,42 @@ public class GryoMapperTest {
         assertEquals(regex, serializeDeserialize(regex, TextP.class));
     }
 
+    @Test
+    public void shouldHandleObjectLongHashMapSupplier() throws Exception {
+        assertSame(ObjectLongHashMapSupplier.instance(), serializeDeserialize(ObjectLongHashMapSupplier.instance(), ObjectLongHashMapSupplier.class));
+    }
+
+    @Test
+    public void shouldHandleBreadthFirstRepeatStrategy() throws Exception {
+        final BreadthFirstRepeatStrategy strategy = BreadthFirstRepeatStrategy.build().pruneVisited(true).create();
+        assertThat(serializeDeserialize(strategy, BreadthFirstRepeatStrategy.class).isPruneVisited(), is(true));
+    }
+
+    @Test
+    public void shouldHandleParallelBranchStrategy() throws Exception {
+        final ForkJoinPool pool = new ForkJoinPool(2);
+        try {
+            final ParallelBranchStrategy strategy = ParallelBranchStrategy.build().parallelism(3).forkJoinPool(pool).create();
+            final ParallelBranchStrategy deser = serializeDeserialize(strategy, ParallelBranchStrategy.class);
+            assertEquals(3, deser.getParallelism());
+
+            // the pool stays where the strategy was built
+            assertSame(ForkJoinPool.commonPool(), deser.getForkJoinPool());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void shouldHandleTraversalBudgetStrategy() throws Exception {
+        final TraversalBudgetStrategy strategy = TraversalBudgetStrategy.build().maxTraversers(1000).maxPathLength(10).create();
+        final TraversalBudgetStrategy deser = serializeDeserialize(strategy, TraversalBudgetStrategy.class);
+        assertEquals(1000, deser.getMaxTraversers());
+        assertEquals(10, deser.getMaxPathLength());
+        assertEquals(Long.MAX_VALUE, deser.getMaxBarrierSize());
+        assertEquals(Long.MAX_VALUE, deser.getMaxSideEffectSize());
+    }
+
     public <T> T serializeDeserialize(final Object o, final Class<T> clazz) throws Exception {
         final Kryo kryo = builder.get().create().createMapper();
         try (final ByteArrayOutputStream stream = new ByteArrayOutputStream()) {
@@ -0,0 +1,86 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.util;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class BloomFilterTest {
+
+    @Test
+    public void shouldNeverReportFalseNegatives() {
+        final BloomFilter filter = new BloomFilter(0.01d);
+        for (long i = 0; i < 100000; i++) {
+            filter.add(BloomFilter.mix(i));
+        }
+        for (long i = 0; i < 100000; i++) {
+            assertTrue(filter.mightContain(BloomFilter.mix(i)));
+            assertFalse(filter.add(BloomFilter.mix(i)));
+        }
+    }
+
+    @Test
+    public void shouldStayUnderFalsePositiveRateAsItGrows() {
+        final double rate = 0.01d;
+        final BloomFilter filter = new BloomFilter(rate);
+        for (long i = 0; i < 200000; i++) {
+            filter.add(BloomFilter.mix(i));
+        }
+        int falsePositives = 0;
+        final int probes = 100000;
+        for (long i = 0; i < probes; i++) {
+            if (filter.mightContain(BloomFilter.mix(-1L - i)))
+                falsePositives++;
+        }
+        assertTrue("false positive rate was " + ((double) falsePositives / probes), falsePositives < probes * rate);
+    }
+
+    @Test
+    public void shouldClear() {
+        final BloomFilter filter = new BloomFilter(0.1d);
+        assertTrue(filter.add(42L));
+        assertFalse(filter.add(42L));
+        filter.clear();
+        assertFalse(filter.mightContain(42L));
+        assertTrue(filter.add(42L));
+    }
+
+    @Test
+    public void shouldBoundMemory() {
+        final long maxBytes = 64 * 1024;
+        final BloomFilter filter = new BloomFilter(0.01d, maxBytes);
+        for (long i = 0; i < 500000; i++) {
+            filter.add(BloomFilter.mix(i));
+            assertTrue(filter.getSizeInBytes() <= maxBytes);
+        }
+        for (long i = 0; i < 500000; i++) {
+            assertTrue(filter.mightContain(BloomFilter.mix(i)));
+        }
+        filter.clear();
+        assertEquals(0, filter.getSizeInBytes());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldNotAllowInvalidRate() {
+        new BloomFilter(0d);
+    }
+}
@@ -0,0 +1,142 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.util;
+
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class ObjectLongHashMapTest {
+
+    @Test
+    public void shouldIncrementInPlace() {
+        final ObjectLongHashMap<String> map = new ObjectLongHashMap<>();
+        assertEquals(1L, map.incr("a", 1L));
+        assertEquals(3L, map.incr("a", 2L));
+        assertEquals(5L, map.incr("b", 5L));
+        assertEquals(2, map.size());
+        assertEquals(3L, map.getLong("a", 0L));
+        assertEquals(0L, map.getLong("c", 0L));
+        assertEquals(Long.valueOf(5L), map.get("b"));
+        assertNull(map.get("c"));
+        assertEquals(8L, map.sum());
+    }
+
+    @Test
+    public void shouldSupportNullKeys() {
+        final ObjectLongHashMap<String> map = new ObjectLongHashMap<>();
+        map.incr(null, 2L);
+        map.incr(null, 2L);
+        assertTrue(map.containsKey(null));
+        assertEquals(4L, map.getLong(null, 0L));
+        assertEquals(Long.valueOf(4L), map.remove(null));
+        assertFalse(map.containsKey(null));
+    }
+
+    @Test
+    public void shouldIterateInInsertionOrder() {
+        final ObjectLongHashMap<Integer> map = new ObjectLongHashMap<>();
+        for (int i = 100; i > 0; i--) {
+            map.incr(i, i);
+        }
+        map.remove(50);
+        map.incr(50, 1L);
+
+        final List<Integer> keys = new ArrayList<>(map.keySet());
+        assertEquals(100, keys.size());
+        assertEquals(Integer.valueOf(100), keys.get(0));
+        assertEquals(Integer.valueOf(1), keys.get(98));
+        assertEquals(Integer.valueOf(50), keys.get(99));
+    }
+
+    @Test
+    public void shouldBehaveLikeHashMapUnderRandomOperations() {
+        final Random random = new Random(123456789L);
+        final ObjectLongHashMap<Integer> map = new ObjectLongHashMap<>();
+        final Map<Integer, Long> expected = new HashMap<>();
+        for (int i = 0; i < 100000; i++) {
+            final int key = random.nextInt(1000);
+            if (random.nextInt(4) == 0) {
+                assertEquals(expected.remove(key), map.remove(key));
+            } else {
+                final long delta = random.nextInt(10);
+                expected.merge(key, delta, Long::sum);
+                map.incr(key, delta);
+            }
+        }
+        assertEquals(expected.size(), map.size());
+        assertEquals(expected, map);
+        assertEquals(map, expected);
+        assertEquals(expected.hashCode(), map.hashCode());
+    }
+
+    @Test
+    public void shouldRemoveThroughIterator() {
+        final ObjectLongHashMap<String> map = new ObjectLongHashMap<>(new HashMap<String, Long>() {{
+            put("a", 1L);
+            put("b", 2L);
+            put("c", 3L);
+        }});
+        final Iterator<Map.Entry<String, Long>> itty = map.entrySet().iterator();
+        while (itty.hasNext()) {
+            if (itty.next().getValue() % 2 == 1)
+                itty.remove();
+        }
+        assertEquals(1, map.size());
+        assertEquals(2L, map.getLong("b", 0L));
+        assertFalse(map.containsKey("a"));
+        assertFalse(map.containsKey("c"));
+    }
+
+    @Test
+    public void shouldSerializeWithJava() throws Exception {
+        final ObjectLongHashMap<String> map = new ObjectLongHashMap<>();
+        for (String s : Arrays.asList("marko", "vadas", "josh", "peter")) {
+            map.incr(s, s.length());
+        }
+        map.remove("josh");
+
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (final ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(map);
+        }
+        try (final ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            final ObjectLongHashMap<String> copy = (ObjectLongHashMap<String>) in.readObject();
+            assertEquals(map, copy);
+            assertEquals(new ArrayList<>(map.keySet()), new ArrayList<>(copy.keySet()));
+            copy.incr("vadas", 1L);
+            assertEquals(6L, copy.getLong("vadas", 0L));
+        }
+    }
+}
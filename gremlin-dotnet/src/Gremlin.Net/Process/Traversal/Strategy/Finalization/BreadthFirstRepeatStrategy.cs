@@ -0,0 +1,52 @@
+﻿#region License
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+#endregion
+
+namespace Gremlin.Net.Process.Traversal.Strategy.Finalization
+{
+    /// <summary>
+    ///     Has repeat() expand its traversers one level at a time rather than depth-first.
+    /// </summary>
+    public class BreadthFirstRepeatStrategy : AbstractTraversalStrategy
+    {
+        private const string JavaFqcn = FinalizationNamespace + nameof(BreadthFirstRepeatStrategy);
+
+        /// <summary>
+        ///     Initializes a new instance of the <see cref="BreadthFirstRepeatStrategy" /> class.
+        /// </summary>
+        public BreadthFirstRepeatStrategy() : base(JavaFqcn)
+        {
+        }
+
+        /// <summary>
+        ///     Initializes a new instance of the <see cref="BreadthFirstRepeatStrategy" /> class.
+        /// </summary>
+        /// <param name="pruneVisited">
+        ///     Determines if traversers arriving at an object that the repeat() already reached are discarded.
+        /// </param>
+        public BreadthFirstRepeatStrategy(bool pruneVisited)
+            : this()
+        {
+            Configuration["pruneVisited"] = pruneVisited;
+        }
+    }
+}
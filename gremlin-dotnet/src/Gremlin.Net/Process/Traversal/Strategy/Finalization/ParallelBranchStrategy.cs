@@ -0,0 +1,51 @@
+﻿#region License
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+#endregion
+
+namespace Gremlin.Net.Process.Traversal.Strategy.Finalization
+{
+    /// <summary>
+    ///     Evaluates the independent child traversals of union(), project().by() and local() concurrently. Results
+    ///     are emitted in the same order as they would be without the strategy.
+    /// </summary>
+    public class ParallelBranchStrategy : AbstractTraversalStrategy
+    {
+        private const string JavaFqcn = FinalizationNamespace + nameof(ParallelBranchStrategy);
+
+        /// <summary>
+        ///     Initializes a new instance of the <see cref="ParallelBranchStrategy" /> class.
+        /// </summary>
+        public ParallelBranchStrategy() : base(JavaFqcn)
+        {
+        }
+
+        /// <summary>
+        ///     Initializes a new instance of the <see cref="ParallelBranchStrategy" /> class.
+        /// </summary>
+        /// <param name="parallelism">The number of traversers to which local() applies its child traversal at once.</param>
+        public ParallelBranchStrategy(int parallelism)
+            : this()
+        {
+            Configuration["parallelism"] = parallelism;
+        }
+    }
+}
@@ -0,0 +1,62 @@
+﻿#region License
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+#endregion
+
+namespace Gremlin.Net.Process.Traversal.Strategy.Finalization
+{
+    /// <summary>
+    ///     Bounds the resources a traversal may consume so that a runaway traversal fails quickly rather than
+    ///     saturating the CPU or the heap until a timeout fires. Limits that are not set are not checked.
+    /// </summary>
+    public class TraversalBudgetStrategy : AbstractTraversalStrategy
+    {
+        private const string JavaFqcn = FinalizationNamespace + nameof(TraversalBudgetStrategy);
+
+        /// <summary>
+        ///     Initializes a new instance of the <see cref="TraversalBudgetStrategy" /> class.
+        /// </summary>
+        public TraversalBudgetStrategy() : base(JavaFqcn)
+        {
+        }
+
+        /// <summary>
+        ///     Initializes a new instance of the <see cref="TraversalBudgetStrategy" /> class.
+        /// </summary>
+        /// <param name="maxTraversers">The number of traversers that all the steps of the traversal may take in total.</param>
+        /// <param name="maxBarrierSize">The number of traversers or values any single barrier may hold.</param>
+        /// <param name="maxPathLength">The length the path of a traverser may grow to.</param>
+        /// <param name="maxSideEffectSize">The number of values any single side-effect may hold.</param>
+        public TraversalBudgetStrategy(long? maxTraversers = null, long? maxBarrierSize = null,
+            long? maxPathLength = null, long? maxSideEffectSize = null)
+            : this()
+        {
+            if (maxTraversers.HasValue)
+                Configuration["maxTraversers"] = maxTraversers.Value;
+            if (maxBarrierSize.HasValue)
+                Configuration["maxBarrierSize"] = maxBarrierSize.Value;
+            if (maxPathLength.HasValue)
+                Configuration["maxPathLength"] = maxPathLength.Value;
+            if (maxSideEffectSize.HasValue)
+                Configuration["maxSideEffectSize"] = maxSideEffectSize.Value;
+        }
+    }
+}
@@ -20,10 +20,11 @@ package org.apache.tinkerpop.gremlin.driver;
 
 import org.apache.tinkerpop.gremlin.driver.exception.ConnectionException;
 import org.apache.tinkerpop.gremlin.driver.handler.HttpGremlinRequestEncoder;
-import org.apache.tinkerpop.gremlin.driver.handler.HttpGremlinResponseDecoder;
+import org.apache.tinkerpop.gremlin.driver.handler.HttpGremlinResponseStreamDecoder;
 import org.apache.tinkerpop.gremlin.driver.handler.WebSocketClientHandler;
 import org.apache.tinkerpop.gremlin.driver.handler.WebSocketGremlinRequestEncoder;
 import org.apache.tinkerpop.gremlin.driver.handler.WebSocketGremlinResponseDecoder;
+import org.apache.tinkerpop.gremlin.util.Tokens;
 import io.netty.channel.Channel;
 import io.netty.channel.ChannelHandler;
 import io.netty.channel.ChannelInitializer;
@@ -250,15 +251,15 @@ public interface Channelizer extends ChannelHandler {
     /**
      * Sends requests over the HTTP endpoint. Client functionality is governed by the limitations of the HTTP endpoint,
      * meaning that sessions are not available and as such {@code tx()} (i.e. transactions) are not available over this
-     * channelizer. Only sessionless requests are possible. Some driver configuration options may not be relevant when
-     * using HTTP, such as {@link Tokens#ARGS_BATCH_SIZE} since HTTP does not stream results back in that fashion.
+     * channelizer. Only sessionless requests are possible. The server is asked to stream results back in batches of
+     * {@link Tokens#ARGS_BATCH_SIZE} which are read as they arrive.
      */
     public final class HttpChannelizer extends AbstractChannelizer {
 
         private HttpClientCodec handler;
 
         private HttpGremlinRequestEncoder gremlinRequestEncoder;
-        private HttpGremlinResponseDecoder gremlinResponseDecoder;
+        private HttpGremlinResponseStreamDecoder gremlinResponseDecoder;
 
         @Override
         public void init(final Connection connection) {
@@ -268,8 +269,11 @@ public interface Channelizer extends ChannelHandler {
             if (connection.getClient() instanceof Client.SessionedClient)
                 throw new IllegalStateException(String.format("Cannot use sessions or tx() with %s", HttpChannelizer.class.getSimpleName()));
 
-            gremlinRequestEncoder = new HttpGremlinRequestEncoder(cluster.getSerializer(), cluster.getRequestInterceptor(), cluster.isUserAgentOnConnectEnabled());
-            gremlinResponseDecoder = new HttpGremlinResponseDecoder(cluster.getSerializer());
+            // a streamed response is a series of length-prefixed response messages so it can be read with any serializer
+            gremlinRequestEncoder = new HttpGremlinRequestEncoder(cluster.getSerializer(), cluster.getRequestInterceptor(),
+                    cluster.isUserAgentOnConnectEnabled(), true);
+            gremlinResponseDecoder = new HttpGremlinResponseStreamDecoder(cluster.getSerializer(),
+                    cluster.connectionPoolSettings().maxContentLength);
         }
 
         @Override
@@ -292,11 +296,10 @@ public interface Channelizer extends ChannelHandler {
             if (!supportsSsl() && "https".equalsIgnoreCase(scheme))
                 throw new IllegalStateException("To use https scheme ensure that enableSsl is set to true in configuration");
 
-            final int maxContentLength = cluster.connectionPoolSettings().maxContentLength;
             handler = new HttpClientCodec();
 
+            // the response is not aggregated so that the batches of a streamed response are read as they arrive
             pipeline.addLast("http-codec", handler);
-            pipeline.addLast("aggregator", new HttpObjectAggregator(maxContentLength));
             pipeline.addLast("gremlin-encoder", gremlinRequestEncoder);
             pipeline.addLast("gremlin-decoder", gremlinResponseDecoder);
         }
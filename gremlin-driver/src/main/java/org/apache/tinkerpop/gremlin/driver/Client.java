@@ -364,6 +364,7 @@ public abstract class Client {
         options.getUserAgent().ifPresent(userAgent -> request.addArg(Tokens.ARGS_USER_AGENT, userAgent));
         options.getLanguage().ifPresent(lang -> request.addArg(Tokens.ARGS_LANGUAGE, lang));
         options.getMaterializeProperties().ifPresent(mp -> request.addArg(Tokens.ARGS_MATERIALIZE_PROPERTIES, mp));
+        options.getPriority().ifPresent(priority -> request.addArg(Tokens.ARGS_PRIORITY, priority));
 
         return submitAsync(request.create());
     }
@@ -662,6 +663,7 @@ public abstract class Client {
                 options.getOverrideRequestId().ifPresent(request::overrideRequestId);
                 options.getUserAgent().ifPresent(userAgent -> request.add(Tokens.ARGS_USER_AGENT, userAgent));
                 options.getMaterializeProperties().ifPresent(mp -> request.addArg(Tokens.ARGS_MATERIALIZE_PROPERTIES, mp));
+                options.getPriority().ifPresent(priority -> request.addArg(Tokens.ARGS_PRIORITY, priority));
 
                 return submitAsync(request.create());
             } catch (RuntimeException re) {
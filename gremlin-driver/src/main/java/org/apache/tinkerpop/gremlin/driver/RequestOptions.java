@@ -42,6 +42,7 @@ public final class RequestOptions {
     private final String userAgent;
     private final String language;
     private final String materializeProperties;
+    private final String priority;
 
     private RequestOptions(final Builder builder) {
         this.aliases = builder.aliases;
@@ -52,6 +53,7 @@ public final class RequestOptions {
         this.userAgent = builder.userAgent;
         this.language = builder.language;
         this.materializeProperties = builder.materializeProperties;
+        this.priority = builder.priority;
     }
 
     public Optional<UUID> getOverrideRequestId() {
@@ -84,6 +86,10 @@ public final class RequestOptions {
 
     public Optional<String> getMaterializeProperties() { return Optional.ofNullable(materializeProperties); }
 
+    public Optional<String> getPriority() {
+        return Optional.ofNullable(priority);
+    }
+
     public static Builder build() {
         return new Builder();
     }
@@ -97,6 +103,7 @@ public final class RequestOptions {
         private String userAgent = null;
         private String materializeProperties = null;
         private String language = null;
+        private String priority = null;
         private boolean maintainStateAfterException = false;
 
         /**
@@ -172,6 +179,15 @@ public final class RequestOptions {
             return this;
         }
 
+        /**
+         * Sets the priority class of the request, one of {@code high}, {@code normal} or {@code low}, which the
+         * server uses when it has admission control enabled.
+         */
+        public Builder priority(final String priority) {
+            this.priority = priority;
+            return this;
+        }
+
         public RequestOptions create() {
             return new RequestOptions(this);
         }
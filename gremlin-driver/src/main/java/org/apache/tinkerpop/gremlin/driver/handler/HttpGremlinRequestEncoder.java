@@ -31,6 +31,7 @@ import org.apache.tinkerpop.gremlin.driver.UserAgent;
 import org.apache.tinkerpop.gremlin.driver.exception.ResponseException;
 import org.apache.tinkerpop.gremlin.process.traversal.Bytecode;
 import org.apache.tinkerpop.gremlin.util.MessageSerializer;
+import org.apache.tinkerpop.gremlin.util.Tokens;
 import org.apache.tinkerpop.gremlin.util.message.RequestMessage;
 import org.apache.tinkerpop.gremlin.util.message.ResponseStatusCode;
 import org.apache.tinkerpop.gremlin.util.ser.SerTokens;
@@ -45,6 +46,7 @@ import java.util.function.UnaryOperator;
 public final class HttpGremlinRequestEncoder extends MessageToMessageEncoder<RequestMessage> {
     private final MessageSerializer<?> serializer;
     private final boolean userAgentEnabled;
+    private final boolean streamResults;
     private final UnaryOperator<FullHttpRequest> interceptor;
 
     @Deprecated
@@ -52,12 +54,24 @@ public final class HttpGremlinRequestEncoder extends MessageToMessageEncoder<Req
         this.serializer = serializer;
         this.interceptor = interceptor;
         this.userAgentEnabled = true;
+        this.streamResults = false;
     }
 
     public HttpGremlinRequestEncoder(final MessageSerializer<?> serializer, final UnaryOperator<FullHttpRequest> interceptor, boolean userAgentEnabled) {
+        this(serializer, interceptor, userAgentEnabled, false);
+    }
+
+    /**
+     * @param streamResults asks the server to stream the result back in batches with
+     *                      {@link Tokens#HEADER_STREAM_RESULTS} which needs a decoder like the
+     *                      {@link HttpGremlinResponseStreamDecoder} to read the response
+     */
+    public HttpGremlinRequestEncoder(final MessageSerializer<?> serializer, final UnaryOperator<FullHttpRequest> interceptor,
+                                     final boolean userAgentEnabled, final boolean streamResults) {
         this.serializer = serializer;
         this.interceptor = interceptor;
         this.userAgentEnabled = userAgentEnabled;
+        this.streamResults = streamResults;
     }
 
     @Override
@@ -81,6 +95,9 @@ public final class HttpGremlinRequestEncoder extends MessageToMessageEncoder<Req
             if (userAgentEnabled) {
                 request.headers().add(HttpHeaderNames.USER_AGENT, UserAgent.USER_AGENT);
             }
+            if (streamResults) {
+                request.headers().add(Tokens.HEADER_STREAM_RESULTS, true);
+            }
             objects.add(interceptor.apply(request));
         } catch (Exception ex) {
             throw new ResponseException(ResponseStatusCode.REQUEST_ERROR_SERIALIZATION, String.format(
@@ -0,0 +1,142 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.driver.handler;
+
+import io.netty.buffer.ByteBufInputStream;
+import io.netty.buffer.CompositeByteBuf;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.handler.codec.CorruptedFrameException;
+import io.netty.handler.codec.MessageToMessageDecoder;
+import io.netty.handler.codec.TooLongFrameException;
+import io.netty.handler.codec.http.HttpContent;
+import io.netty.handler.codec.http.HttpObject;
+import io.netty.handler.codec.http.HttpResponse;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import io.netty.handler.codec.http.LastHttpContent;
+import org.apache.tinkerpop.gremlin.util.MessageSerializer;
+import org.apache.tinkerpop.gremlin.util.Tokens;
+import org.apache.tinkerpop.gremlin.util.message.ResponseMessage;
+import org.apache.tinkerpop.gremlin.util.message.ResponseStatusCode;
+import org.apache.tinkerpop.gremlin.util.ser.SerTokens;
+import org.apache.tinkerpop.shaded.jackson.databind.JsonNode;
+import org.apache.tinkerpop.shaded.jackson.databind.ObjectMapper;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Converts the parts of a {@code HttpResponse} to {@link ResponseMessage} instances as they arrive. A response that
+ * the server streams, as requested with {@link Tokens#HEADER_STREAM_RESULTS}, holds one {@link ResponseMessage} per
+ * batch of results, each preceded by its length as a four byte big-endian integer, and each is passed on as soon as
+ * it has arrived in full. Any other response is read once all of
+ * its content has arrived, like the {@link HttpGremlinResponseDecoder} does. As the decoder holds the content of the
+ * response being read, an instance can only be used by a single channel.
+ */
+public final class HttpGremlinResponseStreamDecoder extends MessageToMessageDecoder<HttpObject> {
+    private final MessageSerializer<?> serializer;
+    private final int maxContentLength;
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    private HttpResponseStatus status;
+    private boolean streamed;
+    private CompositeByteBuf content;
+
+    public HttpGremlinResponseStreamDecoder(final MessageSerializer<?> serializer, final int maxContentLength) {
+        this.serializer = serializer;
+        this.maxContentLength = maxContentLength;
+    }
+
+    @Override
+    protected void decode(final ChannelHandlerContext ctx, final HttpObject msg, final List<Object> objects) throws Exception {
+        if (msg instanceof HttpResponse) {
+            final HttpResponse response = (HttpResponse) msg;
+            status = response.status();
+            streamed = Boolean.parseBoolean(response.headers().get(Tokens.HEADER_STREAM_RESULTS));
+            releaseContent();
+            content = ctx.alloc().compositeBuffer(Integer.MAX_VALUE);
+        }
+
+        if (msg instanceof HttpContent && content != null) {
+            content.addComponent(true, ((HttpContent) msg).content().retain());
+            // like the HttpObjectAggregator the limit applies to a single message rather than the whole stream
+            if (content.readableBytes() > maxContentLength) {
+                releaseContent();
+                throw new TooLongFrameException(String.format("Response content exceeded %s bytes", maxContentLength));
+            }
+
+            final boolean last = msg instanceof LastHttpContent;
+            try {
+                if (status != HttpResponseStatus.OK) {
+                    if (last) objects.add(readError());
+                } else if (streamed) {
+                    readResponses(objects, last);
+                } else if (last) {
+                    objects.add(serializer.deserializeResponse(content));
+                }
+            } finally {
+                if (last) releaseContent();
+            }
+        }
+    }
+
+    @Override
+    public void channelInactive(final ChannelHandlerContext ctx) throws Exception {
+        releaseContent();
+        super.channelInactive(ctx);
+    }
+
+    /**
+     * Reads each of the response messages that have arrived in full, leaving a message that is only partly there
+     * until the rest of it arrives.
+     */
+    private void readResponses(final List<Object> objects, final boolean last) throws Exception {
+        while (content.readableBytes() >= 4) {
+            final int length = content.getInt(content.readerIndex());
+            if (length < 0)
+                throw new CorruptedFrameException(String.format("Streamed response message has a negative length of %s", length));
+            if (length > maxContentLength)
+                throw new TooLongFrameException(String.format("Response content exceeded %s bytes", maxContentLength));
+            if (content.readableBytes() - 4 < length)
+                break;
+
+            content.skipBytes(4);
+            objects.add(serializer.deserializeResponse(content.readSlice(length)));
+            content.discardReadComponents();
+        }
+
+        if (last && content.isReadable())
+            throw new CorruptedFrameException(String.format(
+                    "Streamed response ended with %s bytes of an incomplete message", content.readableBytes()));
+    }
+
+    private ResponseMessage readError() throws Exception {
+        final JsonNode root = mapper.readTree(new ByteBufInputStream(content));
+        return ResponseMessage.build(UUID.fromString(root.get(Tokens.REQUEST_ID).asText()))
+                .code(ResponseStatusCode.SERVER_ERROR)
+                .statusMessage(root.get(SerTokens.TOKEN_MESSAGE).asText())
+                .create();
+    }
+
+    private void releaseContent() {
+        if (content != null) {
+            content.release();
+            content = null;
+        }
+    }
+}
@@ -40,6 +40,7 @@ import java.util.concurrent.CompletableFuture;
 
 import static org.apache.tinkerpop.gremlin.util.Tokens.ARGS_BATCH_SIZE;
 import static org.apache.tinkerpop.gremlin.util.Tokens.ARGS_EVAL_TIMEOUT;
+import static org.apache.tinkerpop.gremlin.util.Tokens.ARGS_PRIORITY;
 import static org.apache.tinkerpop.gremlin.util.Tokens.ARGS_USER_AGENT;
 import static org.apache.tinkerpop.gremlin.util.Tokens.REQUEST_ID;
 import static org.apache.tinkerpop.gremlin.util.Tokens.ARGS_MATERIALIZE_PROPERTIES;
@@ -262,6 +263,8 @@ public class DriverRemoteConnection implements RemoteConnection {
                 builder.userAgent((String) options.get(ARGS_USER_AGENT));
             if (options.containsKey(ARGS_MATERIALIZE_PROPERTIES))
                 builder.materializeProperties((String) options.get(ARGS_MATERIALIZE_PROPERTIES));
+            if (options.containsKey(ARGS_PRIORITY))
+                builder.priority((String) options.get(ARGS_PRIORITY));
         }
         return builder.create();
     }
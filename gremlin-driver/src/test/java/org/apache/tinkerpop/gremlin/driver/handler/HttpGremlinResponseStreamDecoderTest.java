@@ -0,0 +1,167 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.driver.handler;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.handler.codec.CorruptedFrameException;
+import io.netty.handler.codec.TooLongFrameException;
+import io.netty.handler.codec.http.DefaultHttpContent;
+import io.netty.handler.codec.http.DefaultHttpResponse;
+import io.netty.handler.codec.http.DefaultLastHttpContent;
+import io.netty.handler.codec.http.HttpResponse;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import io.netty.handler.codec.http.HttpVersion;
+import io.netty.handler.codec.http.LastHttpContent;
+import io.netty.util.CharsetUtil;
+import org.apache.tinkerpop.gremlin.util.Tokens;
+import org.apache.tinkerpop.gremlin.util.message.ResponseMessage;
+import org.apache.tinkerpop.gremlin.util.message.ResponseStatusCode;
+import org.apache.tinkerpop.gremlin.util.ser.GraphBinaryMessageSerializerV1;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.UUID;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class HttpGremlinResponseStreamDecoderTest {
+
+    private final GraphBinaryMessageSerializerV1 serializer = new GraphBinaryMessageSerializerV1();
+    private final UUID requestId = UUID.randomUUID();
+
+    @Test
+    public void shouldReadStreamedResponsesAsTheyArrive() throws Exception {
+        final ByteBuf content = Unpooled.wrappedBuffer(
+                frame(ResponseStatusCode.PARTIAL_CONTENT, Arrays.asList(1, 2)),
+                frame(ResponseStatusCode.PARTIAL_CONTENT, Arrays.asList("three", "four")),
+                frame(ResponseStatusCode.SUCCESS, Collections.singletonList(5L)));
+        final byte[] bytes = new byte[content.readableBytes()];
+        content.readBytes(bytes);
+
+        // split the content at every possible point to be sure that partly arrived messages wait for the rest
+        for (int split = 1; split < bytes.length; split++) {
+            final EmbeddedChannel channel = new EmbeddedChannel(new HttpGremlinResponseStreamDecoder(serializer, 65536));
+            channel.writeInbound(response(HttpResponseStatus.OK, true));
+            channel.writeInbound(new DefaultHttpContent(Unpooled.wrappedBuffer(bytes, 0, split)));
+            channel.writeInbound(new DefaultLastHttpContent(Unpooled.wrappedBuffer(bytes, split, bytes.length - split)));
+
+            assertResponse(channel.readInbound(), ResponseStatusCode.PARTIAL_CONTENT, Arrays.asList(1, 2));
+            assertResponse(channel.readInbound(), ResponseStatusCode.PARTIAL_CONTENT, Arrays.asList("three", "four"));
+            assertResponse(channel.readInbound(), ResponseStatusCode.SUCCESS, Collections.singletonList(5L));
+            assertNull(channel.readInbound());
+            channel.finishAndReleaseAll();
+        }
+    }
+
+    @Test
+    public void shouldPassOnEachStreamedResponseBeforeTheLastContent() throws Exception {
+        final EmbeddedChannel channel = new EmbeddedChannel(new HttpGremlinResponseStreamDecoder(serializer, 65536));
+        channel.writeInbound(response(HttpResponseStatus.OK, true));
+        channel.writeInbound(new DefaultHttpContent(frame(ResponseStatusCode.PARTIAL_CONTENT, Arrays.asList(1, 2))));
+        assertResponse(channel.readInbound(), ResponseStatusCode.PARTIAL_CONTENT, Arrays.asList(1, 2));
+
+        channel.writeInbound(new DefaultHttpContent(frame(ResponseStatusCode.SUCCESS, Collections.singletonList(3))));
+        assertResponse(channel.readInbound(), ResponseStatusCode.SUCCESS, Collections.singletonList(3));
+
+        channel.writeInbound(LastHttpContent.EMPTY_LAST_CONTENT);
+        assertNull(channel.readInbound());
+        channel.finishAndReleaseAll();
+    }
+
+    @Test(expected = CorruptedFrameException.class)
+    public void shouldFailOnStreamThatEndsWithinMessage() throws Exception {
+        final ByteBuf message = frame(ResponseStatusCode.SUCCESS, Arrays.asList(1, 2, 3));
+        final EmbeddedChannel channel = new EmbeddedChannel(new HttpGremlinResponseStreamDecoder(serializer, 65536));
+        try {
+            channel.writeInbound(response(HttpResponseStatus.OK, true));
+            channel.writeInbound(new DefaultLastHttpContent(message.readRetainedSlice(message.readableBytes() - 1)));
+        } finally {
+            message.release();
+            channel.finishAndReleaseAll();
+        }
+    }
+
+    @Test(expected = TooLongFrameException.class)
+    public void shouldFailOnStreamedMessageLongerThanMaxContentLength() throws Exception {
+        final EmbeddedChannel channel = new EmbeddedChannel(new HttpGremlinResponseStreamDecoder(serializer, 1024));
+        try {
+            channel.writeInbound(response(HttpResponseStatus.OK, true));
+            channel.writeInbound(new DefaultHttpContent(Unpooled.buffer(4).writeInt(4096)));
+        } finally {
+            channel.finishAndReleaseAll();
+        }
+    }
+
+    @Test
+    public void shouldReadResponseThatIsNotStreamedOnceComplete() throws Exception {
+        final ByteBuf message = serialize(ResponseStatusCode.SUCCESS, Arrays.asList(1, 2, 3));
+        final EmbeddedChannel channel = new EmbeddedChannel(new HttpGremlinResponseStreamDecoder(serializer, 65536));
+        channel.writeInbound(response(HttpResponseStatus.OK, false));
+        channel.writeInbound(new DefaultHttpContent(message.readRetainedSlice(10)));
+        assertNull(channel.readInbound());
+
+        channel.writeInbound(new DefaultLastHttpContent(message));
+        assertResponse(channel.readInbound(), ResponseStatusCode.SUCCESS, Arrays.asList(1, 2, 3));
+        channel.finishAndReleaseAll();
+    }
+
+    @Test
+    public void shouldReadErrorResponse() throws Exception {
+        final EmbeddedChannel channel = new EmbeddedChannel(new HttpGremlinResponseStreamDecoder(serializer, 65536));
+        channel.writeInbound(response(HttpResponseStatus.INTERNAL_SERVER_ERROR, false));
+        channel.writeInbound(new DefaultLastHttpContent(Unpooled.copiedBuffer(
+                "{\"message\":\"boom\",\"requestId\":\"" + requestId + "\"}", CharsetUtil.UTF_8)));
+
+        final ResponseMessage response = channel.readInbound();
+        assertEquals(requestId, response.getRequestId());
+        assertEquals(ResponseStatusCode.SERVER_ERROR, response.getStatus().getCode());
+        assertEquals("boom", response.getStatus().getMessage());
+        channel.finishAndReleaseAll();
+    }
+
+    private HttpResponse response(final HttpResponseStatus status, final boolean streamed) {
+        final HttpResponse response = new DefaultHttpResponse(HttpVersion.HTTP_1_1, status);
+        if (streamed) response.headers().set(Tokens.HEADER_STREAM_RESULTS, true);
+        return response;
+    }
+
+    private ByteBuf serialize(final ResponseStatusCode code, final Object result) throws Exception {
+        return serializer.serializeResponseAsBinary(ResponseMessage.build(requestId).code(code).result(result).create(),
+                ByteBufAllocator.DEFAULT);
+    }
+
+    /**
+     * Serializes the response message with the length prefix that precedes each message of a streamed response.
+     */
+    private ByteBuf frame(final ResponseStatusCode code, final Object result) throws Exception {
+        final ByteBuf message = serialize(code, result);
+        return Unpooled.wrappedBuffer(Unpooled.buffer(4).writeInt(message.readableBytes()), message);
+    }
+
+    private void assertResponse(final ResponseMessage response, final ResponseStatusCode code, final Object result) {
+        assertEquals(requestId, response.getRequestId());
+        assertEquals(code, response.getStatus().getCode());
+        assertEquals(result, response.getResult().getData());
+    }
+}
@@ -186,6 +186,19 @@ type VertexProgramStrategyConfig struct {
 
 // Finalization strategies
 
+// BreadthFirstRepeatStrategy has Repeat() expand its traversers one level at a time rather than depth-first.
+// With PruneVisited, traversers that arrive at an object the Repeat() already reached are discarded.
+func BreadthFirstRepeatStrategy(config BreadthFirstRepeatStrategyConfig) TraversalStrategy {
+	configMap := map[string]interface{}{"pruneVisited": config.PruneVisited}
+	return &traversalStrategy{name: finalizationNamespace + "BreadthFirstRepeatStrategy", configuration: configMap}
+}
+
+// BreadthFirstRepeatStrategyConfig provides configuration options for BreadthFirstRepeatStrategy.
+// Zeroed (unset) values are used.
+type BreadthFirstRepeatStrategyConfig struct {
+	PruneVisited bool
+}
+
 func MatchAlgorithmStrategy(config MatchAlgorithmStrategyConfig) TraversalStrategy {
 	configMap := make(map[string]interface{})
 	if config.MatchAlgorithm != "" {
@@ -200,6 +213,50 @@ type MatchAlgorithmStrategyConfig struct {
 	MatchAlgorithm string
 }
 
+// ParallelBranchStrategy evaluates the independent child traversals of Union(), Project().By() and Local()
+// concurrently. Results are emitted in the same order as they would be without the strategy.
+func ParallelBranchStrategy(config ParallelBranchStrategyConfig) TraversalStrategy {
+	configMap := make(map[string]interface{})
+	if config.Parallelism != 0 {
+		configMap["parallelism"] = config.Parallelism
+	}
+	return &traversalStrategy{name: finalizationNamespace + "ParallelBranchStrategy", configuration: configMap}
+}
+
+// ParallelBranchStrategyConfig provides configuration options for ParallelBranchStrategy.
+// Zeroed (unset) values are ignored.
+type ParallelBranchStrategyConfig struct {
+	Parallelism int32
+}
+
+// TraversalBudgetStrategy bounds the resources a Traversal may consume so that a runaway Traversal fails quickly
+// rather than saturating the CPU or the heap until a timeout fires. Limits that are not set are not checked.
+func TraversalBudgetStrategy(config TraversalBudgetStrategyConfig) TraversalStrategy {
+	configMap := make(map[string]interface{})
+	if config.MaxTraversers != 0 {
+		configMap["maxTraversers"] = config.MaxTraversers
+	}
+	if config.MaxBarrierSize != 0 {
+		configMap["maxBarrierSize"] = config.MaxBarrierSize
+	}
+	if config.MaxPathLength != 0 {
+		configMap["maxPathLength"] = config.MaxPathLength
+	}
+	if config.MaxSideEffectSize != 0 {
+		configMap["maxSideEffectSize"] = config.MaxSideEffectSize
+	}
+	return &traversalStrategy{name: finalizationNamespace + "TraversalBudgetStrategy", configuration: configMap}
+}
+
+// TraversalBudgetStrategyConfig provides configuration options for TraversalBudgetStrategy.
+// Zeroed (unset) values are ignored.
+type TraversalBudgetStrategyConfig struct {
+	MaxTraversers     int64
+	MaxBarrierSize    int64
+	MaxPathLength     int64
+	MaxSideEffectSize int64
+}
+
 // Verification strategies
 
 // EdgeLabelVerificationStrategy does not allow Edge traversal steps to have no label specified.
@@ -26,7 +26,10 @@ import org.apache.tinkerpop.gremlin.process.traversal.strategy.decoration.Option
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.decoration.PartitionStrategy
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.decoration.SeedStrategy
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.decoration.SubgraphStrategy
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.finalization.BreadthFirstRepeatStrategy
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.finalization.MatchAlgorithmStrategy
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.finalization.ParallelBranchStrategy
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.finalization.TraversalBudgetStrategy
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.optimization.ProductiveByStrategy
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.verification.EdgeLabelVerificationStrategy
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.verification.ReservedKeysVerificationStrategy
@@ -59,7 +62,10 @@ class StrategyLoader {
         VertexProgramStrategy.metaClass.constructor << { Map conf -> VertexProgramStrategy.create(new MapConfiguration(conf)) }
 
         // finalization
+        BreadthFirstRepeatStrategy.metaClass.constructor << { Map conf -> BreadthFirstRepeatStrategy.create(new MapConfiguration(conf)) }
         MatchAlgorithmStrategy.metaClass.constructor << { Map conf -> MatchAlgorithmStrategy.create(new MapConfiguration(conf)) }
+        ParallelBranchStrategy.metaClass.constructor << { Map conf -> ParallelBranchStrategy.create(new MapConfiguration(conf)) }
+        TraversalBudgetStrategy.metaClass.constructor << { Map conf -> TraversalBudgetStrategy.create(new MapConfiguration(conf)) }
         // # ProfileStrategy is singleton/internal
         // # ReferenceElementStrategy is singleton/internal
         // # ComputerFinalizationStrategy is singleton/internal
@@ -167,6 +167,16 @@ class VertexProgramStrategy extends TraversalStrategy {
   }
 }
 
+class BreadthFirstRepeatStrategy extends TraversalStrategy {
+  /**
+   * @param {Object} [options]
+   * @param {boolean} [options.pruneVisited] determines if traversers arriving at an object that the repeat() already reached are discarded
+   */
+  constructor(options) {
+    super('org.apache.tinkerpop.gremlin.process.traversal.strategy.finalization.BreadthFirstRepeatStrategy', options);
+  }
+}
+
 class MatchAlgorithmStrategy extends TraversalStrategy {
   /**
    * @param matchAlgorithm
@@ -179,6 +189,29 @@ class MatchAlgorithmStrategy extends TraversalStrategy {
   }
 }
 
+class ParallelBranchStrategy extends TraversalStrategy {
+  /**
+   * @param {Object} [options]
+   * @param {number} [options.parallelism] the number of traversers to which local() applies its child traversal at once
+   */
+  constructor(options) {
+    super('org.apache.tinkerpop.gremlin.process.traversal.strategy.finalization.ParallelBranchStrategy', options);
+  }
+}
+
+class TraversalBudgetStrategy extends TraversalStrategy {
+  /**
+   * @param {Object} [options]
+   * @param {number} [options.maxTraversers] the number of traversers that all the steps of the traversal may take in total
+   * @param {number} [options.maxBarrierSize] the number of traversers or values any single barrier may hold
+   * @param {number} [options.maxPathLength] the length the path of a traverser may grow to
+   * @param {number} [options.maxSideEffectSize] the number of values any single side-effect may hold
+   */
+  constructor(options) {
+    super('org.apache.tinkerpop.gremlin.process.traversal.strategy.finalization.TraversalBudgetStrategy', options);
+  }
+}
+
 class AdjacentToIncidentStrategy extends TraversalStrategy {
   constructor() {
     super('org.apache.tinkerpop.gremlin.process.traversal.strategy.optimization.AdjacentToIncidentStrategy');
@@ -328,7 +361,10 @@ module.exports = {
   SubgraphStrategy: SubgraphStrategy,
   VertexProgramStrategy: VertexProgramStrategy,
   // finalization
+  BreadthFirstRepeatStrategy: BreadthFirstRepeatStrategy,
   MatchAlgorithmStrategy: MatchAlgorithmStrategy,
+  ParallelBranchStrategy: ParallelBranchStrategy,
+  TraversalBudgetStrategy: TraversalBudgetStrategy,
   // optimization
   AdjacentToIncidentStrategy: AdjacentToIncidentStrategy,
   FilterRankingStrategy: FilterRankingStrategy,
@@ -114,6 +114,13 @@ class VertexProgramStrategy(TraversalStrategy):
 # FINALIZATION STRATEGIES #
 ###########################
 
+class BreadthFirstRepeatStrategy(TraversalStrategy):
+    def __init__(self, prune_visited=None):
+        TraversalStrategy.__init__(self, fqcn=finalization_namespace + 'BreadthFirstRepeatStrategy')
+        if prune_visited is not None:
+            self.configuration["pruneVisited"] = prune_visited
+
+
 class MatchAlgorithmStrategy(TraversalStrategy):
     def __init__(self, match_algorithm=None):
         TraversalStrategy.__init__(self, fqcn=finalization_namespace + 'MatchAlgorithmStrategy')
@@ -121,6 +128,26 @@ class MatchAlgorithmStrategy(TraversalStrategy):
             self.configuration["matchAlgorithm"] = match_algorithm
 
 
+class ParallelBranchStrategy(TraversalStrategy):
+    def __init__(self, parallelism=None):
+        TraversalStrategy.__init__(self, fqcn=finalization_namespace + 'ParallelBranchStrategy')
+        if parallelism is not None:
+            self.configuration["parallelism"] = parallelism
+
+
+class TraversalBudgetStrategy(TraversalStrategy):
+    def __init__(self, max_traversers=None, max_barrier_size=None, max_path_length=None, max_side_effect_size=None):
+        TraversalStrategy.__init__(self, fqcn=finalization_namespace + 'TraversalBudgetStrategy')
+        if max_traversers is not None:
+            self.configuration["maxTraversers"] = max_traversers
+        if max_barrier_size is not None:
+            self.configuration["maxBarrierSize"] = max_barrier_size
+        if max_path_length is not None:
+            self.configuration["maxPathLength"] = max_path_length
+        if max_side_effect_size is not None:
+            self.configuration["maxSideEffectSize"] = max_side_effect_size
+
+
 ###########################
 # OPTIMIZATION STRATEGIES #
 ###########################
@@ -21,16 +21,24 @@ package org.apache.tinkerpop.gremlin.server;
 import org.apache.tinkerpop.gremlin.process.traversal.traverser.util.AbstractTraverser;
 import org.apache.tinkerpop.gremlin.structure.Element;
 import org.apache.tinkerpop.gremlin.structure.util.reference.ReferenceFactory;
+import org.apache.tinkerpop.gremlin.util.MessageSerializer;
 import org.apache.tinkerpop.gremlin.util.Tokens;
 import org.apache.tinkerpop.gremlin.util.message.RequestMessage;
 import org.apache.tinkerpop.gremlin.util.message.ResponseMessage;
 import org.apache.tinkerpop.gremlin.util.message.ResponseStatusCode;
+import org.apache.tinkerpop.gremlin.util.ser.MessageTextSerializer;
 import org.apache.tinkerpop.gremlin.groovy.engine.GremlinExecutor;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelFuture;
 import io.netty.channel.ChannelHandlerContext;
 import org.apache.tinkerpop.gremlin.jsr223.GremlinScriptChecker;
 import org.apache.tinkerpop.gremlin.process.traversal.Bytecode;
 import org.apache.tinkerpop.gremlin.server.handler.Frame;
+import org.apache.tinkerpop.gremlin.server.handler.GremlinResponseFrameEncoder;
+import org.apache.tinkerpop.gremlin.server.handler.StateKey;
 import org.apache.tinkerpop.gremlin.server.handler.WsUserAgentHandler;
+import org.apache.tinkerpop.gremlin.server.util.ExceptionHelper;
+import org.apache.tinkerpop.gremlin.server.util.RequestTimers;
 import org.apache.tinkerpop.gremlin.structure.Graph;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -64,6 +72,8 @@ public class Context {
     private ScheduledFuture<?> timeoutExecutor = null;
     private boolean timeoutExecutorGrabbed = false;
     private final Object timeoutExecutorLock = new Object();
+    private final long arrivalTime = System.nanoTime();
+    private RequestTimers requestTimers = null;
 
     /**
      * The type of the request as determined by the contents of {@link Tokens#ARGS_GREMLIN}.
@@ -147,6 +157,29 @@ public class Context {
         return gremlinArgument;
     }
 
+    /**
+     * Gets the time, as given by {@code System.nanoTime()}, at which the request was read from the channel.
+     */
+    public long getArrivalTime() {
+        return arrivalTime;
+    }
+
+    /**
+     * Gets the {@link RequestTimers} for the op of the request and the traversal source or graph that it targets.
+     * Only an alias that is known to the {@link GraphManager} names the timers so that requests cannot create them
+     * without bound.
+     */
+    public RequestTimers getRequestTimers() {
+        if (null == requestTimers) {
+            final Optional<Map<String, String>> aliases = requestMessage.optionalArgs(Tokens.ARGS_ALIASES);
+            String alias = aliases.isPresent() && aliases.get().size() == 1 ? aliases.get().values().iterator().next() : null;
+            if (null != alias && !graphManager.getTraversalSourceNames().contains(alias) && !graphManager.getGraphNames().contains(alias))
+                alias = null;
+            requestTimers = new RequestTimers(requestMessage.getOp(), alias);
+        }
+        return requestTimers;
+    }
+
     public ScheduledExecutorService getScheduledExecutorService() {
         return scheduledExecutorService;
     }
@@ -267,7 +300,11 @@ public class Context {
     private void writeAndMaybeFlush(final ResponseStatusCode code, final Object responseMessage, final boolean flush) {
         final boolean messageIsFinal = code.isFinalResponse();
         if (finalResponseWritten.compareAndSet(false, messageIsFinal)) {
-            this.getChannelHandlerContext().write(responseMessage);
+            final Object msg = serializeIfInSession(code, responseMessage);
+            final RequestTimers timers = getRequestTimers();
+            final long writeStart = System.nanoTime();
+            final ChannelFuture future = this.getChannelHandlerContext().write(msg);
+            future.addListener(f -> timers.since(RequestTimers.Phase.WRITE, writeStart));
             if (flush) this.getChannelHandlerContext().flush();
         } else {
             if (responseMessage instanceof Frame) {
@@ -280,6 +317,40 @@ public class Context {
         }
     }
 
+    /**
+     * Results of an in-session request may only be readable on the thread of the session, as is the case for
+     * properties that a graph loads lazily within a transaction, so a successful {@link ResponseMessage} with results
+     * is serialized to a {@link Frame} here by the thread writing it rather than by the
+     * {@link GremlinResponseFrameEncoder} on the event loop. Messages without results are not bound to the session
+     * and are left for the encoder.
+     */
+    private Object serializeIfInSession(final ResponseStatusCode code, final Object responseMessage) {
+        if (!(responseMessage instanceof ResponseMessage) || !code.isSuccess() ||
+                null == ((ResponseMessage) responseMessage).getResult().getData())
+            return responseMessage;
+
+        final Channel channel = this.getChannelHandlerContext().channel();
+        if (null == channel.attr(StateKey.SESSION).get())
+            return responseMessage;
+
+        final ResponseMessage message = (ResponseMessage) responseMessage;
+        final MessageSerializer<?> serializer = channel.attr(StateKey.SERIALIZER).get();
+        try {
+            return channel.attr(StateKey.USE_BINARY).get() ?
+                    new Frame(serializer.serializeResponseAsBinary(message, channel.alloc())) :
+                    new Frame(((MessageTextSerializer<?>) serializer).serializeResponseAsString(message, channel.alloc()));
+        } catch (Exception ex) {
+            // the encoder reports the failure as it would have had it tried to serialize the results itself
+            GremlinResponseFrameEncoder.errorMeter.mark();
+            logger.warn("The result [{}] in the request {} could not be serialized and returned.", message.getResult(), message.getRequestId(), ex);
+            final String errorMessage = String.format("Error during serialization: %s", ExceptionHelper.getMessageFromExceptionOrCause(ex));
+            return ResponseMessage.build(message.getRequestId())
+                    .statusMessage(errorMessage)
+                    .statusAttributeException(ex)
+                    .code(ResponseStatusCode.SERVER_ERROR_SERIALIZATION).create();
+        }
+    }
+
     private RequestContentType determineRequestContents() {
         if (gremlinArgument instanceof Bytecode)
             return RequestContentType.BYTECODE;
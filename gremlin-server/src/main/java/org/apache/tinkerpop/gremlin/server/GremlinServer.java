@@ -34,11 +34,14 @@ import io.netty.util.concurrent.GenericFutureListener;
 import io.netty.util.internal.logging.InternalLoggerFactory;
 import io.netty.util.internal.logging.Slf4JLoggerFactory;
 import org.apache.commons.lang3.SystemUtils;
+import org.apache.tinkerpop.gremlin.server.op.AbstractEvalOpProcessor;
 import org.apache.tinkerpop.gremlin.server.op.OpLoader;
+import org.apache.tinkerpop.gremlin.server.op.traversal.TraversalOpProcessor;
 import org.apache.tinkerpop.gremlin.server.util.LifeCycleHook;
 import org.apache.tinkerpop.gremlin.server.util.MetricManager;
 import org.apache.tinkerpop.gremlin.server.util.ServerGremlinExecutor;
 import org.apache.tinkerpop.gremlin.server.util.ThreadFactoryUtil;
+import org.apache.tinkerpop.gremlin.server.util.UnobservedWriteListener;
 import org.apache.tinkerpop.gremlin.structure.Graph;
 import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerGraph;
 import org.apache.tinkerpop.gremlin.util.Gremlin;
@@ -68,6 +71,7 @@ public class GremlinServer {
 
     private static final String SERVER_THREAD_PREFIX = "gremlin-server-";
     public static final String AUDIT_LOGGER_NAME = "audit.org.apache.tinkerpop.gremlin.server";
+    public static final String PROFILE_LOGGER_NAME = "profile.org.apache.tinkerpop.gremlin.server";
 
     private static final Logger logger = LoggerFactory.getLogger(GremlinServer.class);
     private final Settings settings;
@@ -129,6 +133,16 @@ public class GremlinServer {
 
         // initialize the OpLoader with configurations being passed to each OpProcessor implementation loaded
         OpLoader.init(settings);
+
+        // results cached by the TraversalOpProcessor are discarded when scripts may have changed their graphs
+        final UnobservedWriteListener unobservedWriteListener = OpLoader.getProcessor(TraversalOpProcessor.OP_PROCESSOR_NAME)
+                .filter(p -> p instanceof TraversalOpProcessor)
+                .map(p -> (UnobservedWriteListener) ((TraversalOpProcessor) p).getResultCache())
+                .orElse(UnobservedWriteListener.NONE);
+        serverGremlinExecutor.setUnobservedWriteListener(unobservedWriteListener);
+        OpLoader.getProcessors().values().stream()
+                .filter(p -> p instanceof AbstractEvalOpProcessor)
+                .forEach(p -> ((AbstractEvalOpProcessor) p).setUnobservedWriteListener(unobservedWriteListener));
     }
 
     /**
@@ -101,6 +101,41 @@ public class Settings {
      */
     public int gremlinPool = 0;
 
+    /**
+     * Determines if requests and sessions are executed on virtual threads rather than on the fixed thread pool sized
+     * by {@link #gremlinPool}. Each request or {@link Session} then gets a thread of its own, so the number of
+     * concurrent sessions is no longer capped by the pool size and threads blocked on graph I/O are cheap. The number
+     * of requests that may be evaluated at the same time is instead limited by {@link #maxConcurrentEvaluations}.
+     * Requests that wait for one of those evaluations to finish are bounded by {@link #maxWorkQueueSize} and the
+     * time they wait counts against their timeout. While a client lags behind in reading results, the request gives
+     * up its turn to evaluate and takes it back once the client catches up. Virtual threads require Java 21 or later
+     * and if they are not available on the running JVM this setting is ignored with a warning. As the build of
+     * Gremlin Server runs its tests on Java 17, this mode is not covered by them. Defaults to {@code false}.
+     */
+    public boolean useVirtualThreads = false;
+
+    /**
+     * The maximum number of requests that may be evaluated at the same time when {@link #useVirtualThreads} is
+     * enabled. Requests beyond this number wait for a running evaluation to finish, up to {@link #maxWorkQueueSize}
+     * of them, and further requests are rejected. Defaults to a setting of 0 which indicates the value should be set
+     * to the {@link #gremlinPool} size.
+     */
+    public int maxConcurrentEvaluations = 0;
+
+    /**
+     * Determines if identical read-only bytecode requests that arrive without a session while one of them is being
+     * evaluated share the results of that evaluation rather than each evaluating the traversal. Only applies to the
+     * {@code UnifiedChannelizer}. Defaults to {@code false}.
+     */
+    public boolean coalesceRequests = false;
+
+    /**
+     * The number of results above which a request stops recording its results to share with identical requests when
+     * {@link #coalesceRequests} is enabled, in which case those requests evaluate the traversal themselves. It also
+     * bounds the results a request iterates and holds before it writes the first of them. Defaults to 10000.
+     */
+    public int maxCoalescedResults = 10000;
+
     /**
      * Size of the boss thread pool.  Defaults to 1 and should likely stay at 1.  The bossy thread accepts incoming
      * connections on a port until it is unbound. Once a connection is accepted successfully, the boss thread
@@ -119,6 +154,21 @@ public class Settings {
      */
     public int resultIterationBatchSize = 64;
 
+    /**
+     * The number of serialized bytes that a batch of results should come to. When greater than zero, each batch after
+     * the first, which holds {@link #resultIterationBatchSize} results, is sized from a moving estimate of the bytes
+     * per result of the batches already written for the request. A {@code batchSize} given on the request keeps its
+     * batches fixed. Only applies to the {@link UnifiedChannelizer}. Defaults to 0 which disables adaptive sizing.
+     */
+    public int resultIterationBatchBytes = 0;
+
+    /**
+     * The time in milliseconds after which a partial batch of results is written when
+     * {@link #resultIterationBatchBytes} is enabled so that results that are slow to produce are not held back from
+     * the client. Set to 0 to always wait for a full batch. Defaults to 50.
+     */
+    public long resultIterationBatchDelay = 50;
+
     /**
      * The maximum length of the initial line (e.g. {@code "GET / HTTP/1.0"}) processed in a request, which essentially
      * controls the maximum length of the submitted URI. This setting ties to the Netty {@code HttpRequestDecoder}.
@@ -213,6 +263,28 @@ public class Settings {
      */
     public int maxWorkQueueSize = 8192;
 
+    /**
+     * Determines if the queue of the {@link #gremlinPool} orders the requests that wait for a thread by the priority
+     * given to them with the {@code priority} request argument and, within a priority, takes them in turns between
+     * the traversal source aliases they target. Under overload it sheds requests without a session that are not of
+     * {@code high} priority once they wait longer than {@link #admissionTargetDelay}. Only applies to the
+     * {@link UnifiedChannelizer} and is ignored when {@link #useVirtualThreads} is enabled. Defaults to {@code false}.
+     */
+    public boolean useAdmissionControl = false;
+
+    /**
+     * The time in milliseconds that requests may wait in the queue of the {@link #gremlinPool} before load is shed
+     * when {@link #useAdmissionControl} is enabled. Defaults to 100.
+     */
+    public long admissionTargetDelay = 100;
+
+    /**
+     * The time in milliseconds that requests must wait longer than the {@link #admissionTargetDelay} before load is
+     * shed when {@link #useAdmissionControl} is enabled. It should be about the time it takes to evaluate a typical
+     * request at the tail of the latency distribution. Defaults to 1000.
+     */
+    public long admissionInterval = 1000;
+
     /**
      * Maximum size that an individual {@link Session} can queue requests before starting to reject them. Note that this
      * configuration only applies to the {@link UnifiedChannelizer}. By default this value is set to 4096.
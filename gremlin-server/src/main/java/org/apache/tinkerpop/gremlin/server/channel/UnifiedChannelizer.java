@@ -41,10 +41,12 @@ public class UnifiedChannelizer extends AbstractChannelizer {
         super.init(serverGremlinExecutor);
 
         wsAndHttpChannelizerHandler = new WsAndHttpChannelizerHandler();
-        wsAndHttpChannelizerHandler.init(serverGremlinExecutor, new HttpGremlinEndpointHandler(serializers, gremlinExecutor, graphManager, settings));
+        wsAndHttpChannelizerHandler.init(serverGremlinExecutor, new HttpGremlinEndpointHandler(serializers, gremlinExecutor,
+                graphManager, settings, serverGremlinExecutor.getUnobservedWriteListener()));
 
         // these handlers don't share any state and can thus be initialized once per pipeline
-        unifiedHandler = new UnifiedHandler(settings, graphManager, gremlinExecutor, scheduledExecutorService, this);
+        unifiedHandler = new UnifiedHandler(settings, graphManager, gremlinExecutor, gremlinExecutorService,
+                serverGremlinExecutor.getEvaluationPermits(), scheduledExecutorService, this);
     }
 
     @Override
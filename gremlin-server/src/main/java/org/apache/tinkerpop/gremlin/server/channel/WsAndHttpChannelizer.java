@@ -38,7 +38,8 @@ public class WsAndHttpChannelizer extends AbstractChannelizer {
     public void init(final ServerGremlinExecutor serverGremlinExecutor) {
         super.init(serverGremlinExecutor);
         handler = new WsAndHttpChannelizerHandler();
-        handler.init(serverGremlinExecutor, new HttpGremlinEndpointHandler(serializers, gremlinExecutor, graphManager, settings));
+        handler.init(serverGremlinExecutor, new HttpGremlinEndpointHandler(serializers, gremlinExecutor, graphManager, settings,
+                serverGremlinExecutor.getUnobservedWriteListener()));
     }
 
     @Override
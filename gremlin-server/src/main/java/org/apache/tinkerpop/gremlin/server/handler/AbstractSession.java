@@ -46,6 +46,11 @@ import org.apache.tinkerpop.gremlin.server.GremlinServer;
 import org.apache.tinkerpop.gremlin.server.Settings;
 import org.apache.tinkerpop.gremlin.server.auth.AuthenticatedUser;
 import org.apache.tinkerpop.gremlin.util.ExceptionHelper;
+import org.apache.tinkerpop.gremlin.server.util.AdmissionQueue;
+import org.apache.tinkerpop.gremlin.server.util.BatchSizer;
+import org.apache.tinkerpop.gremlin.server.util.RequestCoalescer;
+import org.apache.tinkerpop.gremlin.server.util.RequestTimers;
+import org.apache.tinkerpop.gremlin.server.util.TraversalResultCache;
 import org.apache.tinkerpop.gremlin.server.util.TraverserIterator;
 import org.apache.tinkerpop.gremlin.structure.Graph;
 import org.apache.tinkerpop.gremlin.structure.Transaction;
@@ -69,9 +74,12 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
 import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicBoolean;
@@ -98,6 +106,8 @@ public abstract class AbstractSession implements Session, AutoCloseable {
     private final String sessionId;
     private final AtomicReference<ScheduledFuture<?>> sessionCancelFuture = new AtomicReference<>();
     private final AtomicReference<Future<?>> sessionFuture = new AtomicReference<>();
+    private final AtomicBoolean iterationSuspended = new AtomicBoolean(false);
+    private volatile ResultIteration suspendedIteration;
     private long actualTimeoutLengthWhenClosed = 0;
 
     /**
@@ -181,6 +191,9 @@ public abstract class AbstractSession implements Session, AutoCloseable {
                 sendTimeoutResponseForUncommencedTask();
             }
         }
+
+        // an iteration waiting on the client is resumed so that it can end with the timeout
+        releaseSuspendedIteration();
     }
 
     public boolean isTransactionManaged() {
@@ -234,7 +247,7 @@ public abstract class AbstractSession implements Session, AutoCloseable {
         // triggering timeout triggers the stop of the session which will end in close()
         // for final cleanup
         final Future<?> f = sessionFuture.get();
-        if (f != null && !f.isDone()) {
+        if (f != null && (!f.isDone() || iterationSuspended.get())) {
             if (closeReason.compareAndSet(null, causedBySession ? CloseReason.SESSION_TIMEOUT : CloseReason.REQUEST_TIMEOUT)) {
                 actualTimeoutLengthWhenClosed = timeout;
 
@@ -268,25 +281,62 @@ public abstract class AbstractSession implements Session, AutoCloseable {
         if (sessionTask.getSettings().strictTransactionManagement)
             msg.optionalArgs(Tokens.ARGS_ALIASES).ifPresent(m -> aliasesUsedBySession.addAll(((Map<String,String>) m).values()));
 
+        final Semaphore evaluationPermits = sessionTask.getEvaluationPermits();
         final Timer.Context timer = getMetricsTimer(sessionTask);
         try {
-            // itty is optional as Bytecode could be a "graph operation" rather than a Traversal. graph operations
-            // don't need to be iterated and handle their own lifecycle
-            final Optional<Iterator<?>> itty = gremlinToExecute instanceof Bytecode ?
-                    fromBytecode(sessionTask, (Bytecode) gremlinToExecute) :
-                    Optional.of(fromScript(sessionTask, (String) gremlinToExecute));
-
-            processAuditLog(sessionTask.getSettings(), sessionTask.getChannelHandlerContext(), gremlinToExecute);
-
-            if (itty.isPresent())
-                handleIterator(sessionTask, itty.get());
+            // a session on a virtual thread holds it for its whole life, so only the evaluation itself is limited
+            // and a session that is idle between requests does not count against the limit
+            if (null != evaluationPermits) acquireEvaluationPermit(sessionTask, evaluationPermits);
+            sessionTask.getRequestTimers().since(RequestTimers.Phase.QUEUE, sessionTask.getArrivalTime());
+            try {
+                // itty is optional as Bytecode could be a "graph operation" rather than a Traversal. graph operations
+                // don't need to be iterated and handle their own lifecycle
+                final Optional<Iterator<?>> itty = gremlinToExecute instanceof Bytecode ?
+                        fromBytecode(sessionTask, (Bytecode) gremlinToExecute) :
+                        Optional.of(fromScript(sessionTask, (String) gremlinToExecute));
+
+                processAuditLog(sessionTask.getSettings(), sessionTask.getChannelHandlerContext(), gremlinToExecute);
+
+                if (itty.isPresent())
+                    handleIterator(sessionTask, itty.get());
+            } finally {
+                if (null != evaluationPermits) evaluationPermits.release();
+            }
         } catch (Throwable t) {
             handleException(sessionTask, t);
         } finally {
-            timer.stop();
+            if (isIterationSuspended())
+                suspendedIteration.timer = timer;
+            else
+                timer.stop();
         }
     }
 
+    /**
+     * Takes one of the permits that limit the number of evaluations on virtual threads. Requests that wait for a
+     * permit are treated like those waiting in the queue of the {@code gremlinPool}, so a request is rejected once
+     * {@link Settings#maxWorkQueueSize} requests are already waiting and the time it waits counts against its timeout.
+     */
+    private static void acquireEvaluationPermit(final SessionTask sessionTask, final Semaphore evaluationPermits)
+            throws InterruptedException, TimeoutException {
+        // a timed tryAcquire() respects the fairness of the semaphore where the untimed one does not
+        if (evaluationPermits.tryAcquire(0, TimeUnit.MILLISECONDS)) return;
+
+        final RequestMessage msg = sessionTask.getRequestMessage();
+        final int maxWorkQueueSize = sessionTask.getSettings().maxWorkQueueSize;
+        if (evaluationPermits.getQueueLength() >= maxWorkQueueSize)
+            throw new RejectedExecutionException(String.format("Request [%s] was rejected as %s requests are already waiting to be evaluated",
+                    msg.getRequestId(), maxWorkQueueSize));
+
+        // the request timeout interrupts the wait once it fires and this only bounds it should it not reach the thread
+        final long timeout = sessionTask.getRequestTimeout();
+        if (timeout <= 0)
+            evaluationPermits.acquire();
+        else if (!evaluationPermits.tryAcquire(timeout, TimeUnit.MILLISECONDS))
+            throw new TimeoutException(String.format("Request [%s] waited longer than its timeout of %s ms to be evaluated",
+                    msg.getRequestId(), timeout));
+    }
+
     protected void handleException(final SessionTask sessionTask, final Throwable t) throws SessionException {
         if (t instanceof SessionException) throw (SessionException) t;
 
@@ -318,6 +368,13 @@ public abstract class AbstractSession implements Session, AutoCloseable {
                     .create());
         }
 
+        if (root instanceof RejectedExecutionException) {
+            throw new SessionException(root.getMessage(), root, ResponseMessage.build(sessionTask.getRequestMessage())
+                    .code(ResponseStatusCode.TOO_MANY_REQUESTS)
+                    .statusMessage("Rate limiting")
+                    .create());
+        }
+
         if (root instanceof TimeoutException) {
             final String errorMessage = String.format("Script evaluation exceeded the configured threshold for request [%s]",
                     sessionTask.getRequestMessage().getRequestId());
@@ -425,8 +482,11 @@ public abstract class AbstractSession implements Session, AutoCloseable {
         final RequestMessage msg = sessionTask.getRequestMessage();
         final Map<String, Object> args = msg.getArgs();
         final String language = args.containsKey(Tokens.ARGS_LANGUAGE) ? (String) args.get(Tokens.ARGS_LANGUAGE) : "gremlin-groovy";
-        return IteratorUtils.asIterator(getScriptEngine(sessionTask, language).eval(
-                script, mergeBindingsFromRequest(sessionTask, getWorkerBindings())));
+        final long start = System.nanoTime();
+        final Object result = getScriptEngine(sessionTask, language).eval(
+                script, mergeBindingsFromRequest(sessionTask, getWorkerBindings()));
+        sessionTask.getRequestTimers().since(RequestTimers.Phase.EVALUATION, start);
+        return IteratorUtils.asIterator(result);
     }
 
     /**
@@ -461,13 +521,33 @@ public abstract class AbstractSession implements Session, AutoCloseable {
                         getEngineByName(lambdaLanguage.get()).eval(bytecode, bindings, traversalSourceName);
             }
 
+            // identical read-only traversals without a session may share the results of one of them that is
+            // already being evaluated, or else this one is evaluated and shares its results with those that follow
+            final RequestCoalescer coalescer = sessionTask.getRequestCoalescer();
+            if (null != coalescer && !msg.optionalArgs(Tokens.ARGS_SESSION).isPresent() &&
+                    RequestCoalescer.isCoalescable(traversal)) {
+                final String materializeProperties = sessionTask.getMaterializeProperties();
+                final TraversalResultCache.Key key = RequestCoalescer.key(traversalSourceName, bytecode, materializeProperties);
+                final List<Object> shared = coalescer.join(key);
+                if (null != shared) return Optional.of(shared.iterator());
+
+                applyStrategies(sessionTask, traversal);
+                return Optional.of(coalescer.lead(key, new TraverserIterator(traversal), materializeProperties));
+            }
+
             // compile the traversal - without it getEndStep() has nothing in it
-            traversal.applyStrategies();
+            applyStrategies(sessionTask, traversal);
 
             return Optional.of(new TraverserIterator(traversal));
         }
     }
 
+    private static void applyStrategies(final SessionTask sessionTask, final Traversal.Admin<?, ?> traversal) {
+        final long start = System.nanoTime();
+        traversal.applyStrategies();
+        sessionTask.getRequestTimers().since(RequestTimers.Phase.STRATEGIES, start);
+    }
+
     protected Bindings getWorkerBindings() throws SessionException {
         return new SimpleBindings(graphManager.getAsBindings());
     }
@@ -521,16 +601,17 @@ public abstract class AbstractSession implements Session, AutoCloseable {
     }
 
     /**
-     * Provides a generic way of iterating a result set back to the client.
+     * Provides a generic way of iterating a result set back to the client. When the client falls behind and
+     * {@link #canSuspendIteration(SessionTask)} allows it, the iteration stops without finishing and
+     * {@link #isIterationSuspended()} turns {@code true} so that the caller can give up its thread by way of
+     * {@link #suspendIteration()}.
      *
      * @param sessionTask The Gremlin Server {@link SessionTask} object containing settings, request message, etc.
      * @param itty The result to iterator
      */
     protected void handleIterator(final SessionTask sessionTask, final Iterator<?> itty) throws InterruptedException {
-        final ChannelHandlerContext nettyContext = sessionTask.getChannelHandlerContext();
         final RequestMessage msg = sessionTask.getRequestMessage();
         final Settings settings = sessionTask.getSettings();
-        boolean warnOnce = false;
 
         // sessionless requests are always transaction managed, but in-session requests are configurable.
         final boolean managedTransactionsForRequest = transactionManaged ?
@@ -551,115 +632,272 @@ public abstract class AbstractSession implements Session, AutoCloseable {
             return;
         }
 
-        // the batch size can be overridden by the request
-        final int resultIterationBatchSize = (Integer) msg.optionalArgs(Tokens.ARGS_BATCH_SIZE)
-                .orElse(settings.resultIterationBatchSize);
-        List<Object> aggregate = new ArrayList<>(resultIterationBatchSize);
+        // the batch size can be overridden by the request, otherwise it may adapt to the size of the results
+        final Optional<Integer> requestedBatchSize = msg.optionalArgs(Tokens.ARGS_BATCH_SIZE);
+        final BatchSizer batchSizer = requestedBatchSize.isPresent() || settings.resultIterationBatchBytes <= 0 ?
+                BatchSizer.fixed(requestedBatchSize.orElse(settings.resultIterationBatchSize)) :
+                new BatchSizer(settings.resultIterationBatchSize, settings.resultIterationBatchBytes,
+                        settings.resultIterationBatchDelay);
+
+        new ResultIteration(sessionTask, itty, batchSizer, managedTransactionsForRequest).iterate();
+    }
+
+    /**
+     * Determines if {@link #handleIterator(SessionTask, Iterator)} may stop and give up its thread while the client
+     * catches up rather than wait on the channel to become writable again. The iteration is resumed on another thread
+     * so this should only be allowed when nothing about the request is bound to the thread that started it. The
+     * default implementation always waits.
+     */
+    protected boolean canSuspendIteration(final SessionTask sessionTask) {
+        return false;
+    }
+
+    /**
+     * Determines if the result iteration of the current request stopped to wait for the client.
+     */
+    protected boolean isIterationSuspended() {
+        return suspendedIteration != null;
+    }
+
+    /**
+     * Releases a suspended iteration to be resumed once the channel is writable again or is closed, or once the
+     * request times out, by submitting this session to the {@code gremlinPool} again where {@link #run()} is expected
+     * to call {@link #resumeIteration(SessionTask)}. This should be the last thing that {@link #run()} does.
+     */
+    protected void suspendIteration() {
+        iterationSuspended.set(true);
+        WritabilityMonitor.of(initialChannel).whenWritable(this::releaseSuspendedIteration);
+
+        // a timeout that fired before the iteration was released would otherwise go unnoticed until the client reads
+        if (closeReason.get() != null) releaseSuspendedIteration();
+    }
+
+    /**
+     * Continues the result iteration that {@link #suspendIteration()} released, which may stop again if the client
+     * falls behind again.
+     */
+    protected void resumeIteration(final SessionTask sessionTask) throws SessionException {
+        final ResultIteration iteration = suspendedIteration;
+        suspendedIteration = null;
+        try {
+            // the request timed out or the channel closed while the iteration waited on the client
+            if (closeReason.get() != null) throw new InterruptedException();
+            iteration.iterate();
+        } catch (Throwable t) {
+            handleException(sessionTask, t);
+        } finally {
+            if (isIterationSuspended())
+                suspendedIteration.timer = iteration.timer;
+            else
+                iteration.timer.stop();
+        }
+    }
+
+    private void releaseSuspendedIteration() {
+        if (!iterationSuspended.compareAndSet(true, false)) return;
+
+        final ResultIteration iteration = suspendedIteration;
+        final ExecutorService executor = iteration.sessionTask.getGremlinExecutor().getExecutorService();
+        try {
+            // a session admitted with a priority and tenant resumes with them so that it is not demoted for having
+            // waited on the client. it already started answering the request so it must not be shed
+            final Future<?> admitted = sessionFuture.get();
+            if (admitted instanceof AdmissionQueue.Task) {
+                final AdmissionQueue.Task task = (AdmissionQueue.Task) admitted;
+                final AdmissionQueue.Task resumed = new AdmissionQueue.Task(this, task.getPriority(), task.getTenant(), null);
+                sessionFuture.set(resumed);
+                executor.execute(resumed);
+            } else {
+                sessionFuture.set(executor.submit(this));
+            }
+        } catch (RejectedExecutionException ree) {
+            logger.warn("Could not resume writing results for {} as the gremlinPool is full", iteration.msg.getRequestId());
+            suspendedIteration = null;
+            iteration.timer.stop();
+            closeReason.compareAndSet(null, CloseReason.PROCESSING_EXCEPTION);
+            iteration.sessionTask.writeAndFlush(ResponseMessage.build(iteration.msg).code(ResponseStatusCode.TOO_MANY_REQUESTS)
+                    .statusMessage("Rate limiting").create());
+            close();
+        }
+    }
+
+    /**
+     * The state of writing the results of a request in batches, which outlives the thread that started it when the
+     * iteration is suspended.
+     */
+    private final class ResultIteration {
+        private final SessionTask sessionTask;
+        private final RequestMessage msg;
+        private final Iterator<?> itty;
+        private final BatchSizer batchSizer;
+        private final boolean managedTransactionsForRequest;
+        private Timer.Context timer;
+        private boolean warnOnce = false;
+        private List<Object> aggregate;
+
+        // time spent producing and serializing results is summed across batches and excludes waiting on the client
+        private long iterationTime = 0;
+        private long serializationTime = 0;
 
         // use an external control to manage the loop as opposed to just checking hasNext() in the while.  this
         // prevent situations where auto transactions create a new transaction after calls to commit() withing
         // the loop on calls to hasNext().
-        boolean hasMore = itty.hasNext();
-
-        while (hasMore) {
-            if (Thread.interrupted()) throw new InterruptedException();
-
-            // check if an implementation needs to force flush the aggregated results before the iteration batch
-            // size is reached.
-            // todo: what implementation does this?! can we kill it going forward - seems always false
-            // final boolean forceFlush = isForceFlushed(nettyContext, msg, itty);
-            final boolean forceFlush = false;
-
-            // have to check the aggregate size because it is possible that the channel is not writeable (below)
-            // so iterating next() if the message is not written and flushed would bump the aggregate size beyond
-            // the expected resultIterationBatchSize.  Total serialization time for the response remains in
-            // effect so if the client is "slow" it may simply timeout.
-            //
-            // there is a need to check hasNext() on the iterator because if the channel is not writeable the
-            // previous pass through the while loop will have next()'d the iterator and if it is "done" then a
-            // NoSuchElementException will raise its head. also need a check to ensure that this iteration doesn't
-            // require a forced flush which can be forced by sub-classes.
-            //
-            // this could be placed inside the isWriteable() portion of the if-then below but it seems better to
-            // allow iteration to continue into a batch if that is possible rather than just doing nothing at all
-            // while waiting for the client to catch up
-            if (aggregate.size() < resultIterationBatchSize && itty.hasNext() && !forceFlush) aggregate.add(itty.next());
-
-            // send back a page of results if batch size is met or if it's the end of the results being iterated.
-            // also check writeability of the channel to prevent OOME for slow clients.
-            //
-            // clients might decide to close the Netty channel to the server with a CloseWebsocketFrame after errors
-            // like CorruptedFrameException. On the server, although the channel gets closed, there might be some
-            // executor threads waiting for watermark to clear which will not clear in these cases since client has
-            // already given up on these requests. This leads to these executors waiting for the client to consume
-            // results till the timeout. checking for isActive() should help prevent that.
-            if (nettyContext.channel().isActive() && nettyContext.channel().isWritable()) {
-                if (forceFlush || aggregate.size() == resultIterationBatchSize || !itty.hasNext()) {
-                    final ResponseStatusCode code = itty.hasNext() ? ResponseStatusCode.PARTIAL_CONTENT : ResponseStatusCode.SUCCESS;
-                    Frame frame = null;
-                    try {
-                        frame = makeFrame(sessionTask, aggregate, code, itty);
-                    } catch (Exception ex) {
-                        // a frame may use a Bytebuf which is a countable release - if it does not get written
-                        // downstream it needs to be released here
-                        if (frame != null) frame.tryRelease();
-
-                        // exception is handled in makeFrame() - serialization error gets written back to driver
-                        // at that point
-                        if (managedTransactionsForRequest)
-                            closeTransaction(sessionTask, Transaction.Status.ROLLBACK);
-                        break;
-                    }
-
-                    // track whether there is anything left in the iterator because it needs to be accessed after
-                    // the transaction could be closed - in that case a call to hasNext() could open a new transaction
-                    // unintentionally
-                    final boolean moreInIterator = itty.hasNext();
+        private boolean hasMore;
+
+        private ResultIteration(final SessionTask sessionTask, final Iterator<?> itty, final BatchSizer batchSizer,
+                                final boolean managedTransactionsForRequest) {
+            this.sessionTask = sessionTask;
+            this.msg = sessionTask.getRequestMessage();
+            this.itty = itty;
+            this.batchSizer = batchSizer;
+            this.managedTransactionsForRequest = managedTransactionsForRequest;
+            this.aggregate = new ArrayList<>(batchSizer.getSize());
+            this.hasMore = itty.hasNext();
+        }
 
-                    try {
-                        // only need to reset the aggregation list if there's more stuff to write
-                        if (moreInIterator)
-                            aggregate = new ArrayList<>(resultIterationBatchSize);
-                        else {
-                            // iteration and serialization are both complete which means this finished successfully. note that
-                            // errors internal to script eval or timeout will rollback given GremlinServer's global configurations.
-                            // local errors will get rolledback below because the exceptions aren't thrown in those cases to be
-                            // caught by the GremlinExecutor for global rollback logic. this only needs to be committed if
-                            // there are no more items to iterate and serialization is complete
+        private void iterate() throws InterruptedException {
+            final ChannelHandlerContext nettyContext = sessionTask.getChannelHandlerContext();
+            long iterationStart = System.nanoTime();
+
+            while (hasMore) {
+                if (Thread.interrupted()) throw new InterruptedException();
+
+                // check if an implementation needs to force flush the aggregated results before the iteration batch
+                // size is reached.
+                // todo: what implementation does this?! can we kill it going forward - seems always false
+                // final boolean forceFlush = isForceFlushed(nettyContext, msg, itty);
+                final boolean forceFlush = false;
+
+                // have to check the aggregate size because it is possible that the channel is not writeable (below)
+                // so iterating next() if the message is not written and flushed would bump the aggregate size beyond
+                // the expected batch size.  Total serialization time for the response remains in
+                // effect so if the client is "slow" it may simply timeout.
+                //
+                // there is a need to check hasNext() on the iterator because if the channel is not writeable the
+                // previous pass through the while loop will have next()'d the iterator and if it is "done" then a
+                // NoSuchElementException will raise its head. also need a check to ensure that this iteration doesn't
+                // require a forced flush which can be forced by sub-classes.
+                //
+                // this could be placed inside the isWriteable() portion of the if-then below but it seems better to
+                // allow iteration to continue into a batch if that is possible rather than just doing nothing at all
+                // while waiting for the client to catch up
+                if (aggregate.size() < batchSizer.getSize() && itty.hasNext() && !forceFlush) aggregate.add(itty.next());
+
+                // send back a page of results if batch size is met or if it's the end of the results being iterated.
+                // also check writeability of the channel to prevent OOME for slow clients.
+                //
+                // clients might decide to close the Netty channel to the server with a CloseWebsocketFrame after errors
+                // like CorruptedFrameException. On the server, although the channel gets closed, there might be some
+                // executor threads waiting for watermark to clear which will not clear in these cases since client has
+                // already given up on these requests. This leads to these executors waiting for the client to consume
+                // results till the timeout. checking for isActive() should help prevent that.
+                if (nettyContext.channel().isActive() && nettyContext.channel().isWritable()) {
+                    if (forceFlush || batchSizer.isDue(aggregate.size()) || !itty.hasNext()) {
+                        final ResponseStatusCode code = itty.hasNext() ? ResponseStatusCode.PARTIAL_CONTENT : ResponseStatusCode.SUCCESS;
+                        final long serializationStart = System.nanoTime();
+                        iterationTime += serializationStart - iterationStart;
+                        Frame frame = null;
+                        try {
+                            frame = makeFrame(sessionTask, aggregate, code, itty);
+                            serializationTime += System.nanoTime() - serializationStart;
+                        } catch (Exception ex) {
+                            // a frame may use a Bytebuf which is a countable release - if it does not get written
+                            // downstream it needs to be released here
+                            if (frame != null) frame.tryRelease();
+
+                            // exception is handled in makeFrame() - serialization error gets written back to driver
+                            // at that point
                             if (managedTransactionsForRequest)
-                                closeTransaction(sessionTask, Transaction.Status.COMMIT);
+                                closeTransaction(sessionTask, Transaction.Status.ROLLBACK);
+                            break;
+                        }
 
-                            // exit the result iteration loop as there are no more results left.  using this external control
-                            // because of the above commit.  some graphs may open a new transaction on the call to
-                            // hasNext()
-                            hasMore = false;
+                        // track whether there is anything left in the iterator because it needs to be accessed after
+                        // the transaction could be closed - in that case a call to hasNext() could open a new transaction
+                        // unintentionally
+                        final boolean moreInIterator = itty.hasNext();
+
+                        try {
+                            // only need to reset the aggregation list if there's more stuff to write
+                            if (moreInIterator) {
+                                batchSizer.written(frame.getSize(), aggregate.size());
+                                aggregate = new ArrayList<>(batchSizer.getSize());
+                            } else {
+                                // iteration and serialization are both complete which means this finished successfully. note that
+                                // errors internal to script eval or timeout will rollback given GremlinServer's global configurations.
+                                // local errors will get rolledback below because the exceptions aren't thrown in those cases to be
+                                // caught by the GremlinExecutor for global rollback logic. this only needs to be committed if
+                                // there are no more items to iterate and serialization is complete
+                                if (managedTransactionsForRequest)
+                                    closeTransaction(sessionTask, Transaction.Status.COMMIT);
+
+                                // exit the result iteration loop as there are no more results left.  using this external control
+                                // because of the above commit.  some graphs may open a new transaction on the call to
+                                // hasNext()
+                                hasMore = false;
+                            }
+                        } catch (Exception ex) {
+                            // a frame may use a Bytebuf which is a countable release - if it does not get written
+                            // downstream it needs to be released here
+                            if (frame != null) frame.tryRelease();
+                            throw ex;
                         }
-                    } catch (Exception ex) {
-                        // a frame may use a Bytebuf which is a countable release - if it does not get written
-                        // downstream it needs to be released here
-                        if (frame != null) frame.tryRelease();
-                        throw ex;
+
+                        if (!moreInIterator) iterateComplete(sessionTask, itty);
+
+                        // the flush is called after the commit has potentially occurred.  in this way, if a commit was
+                        // required then it will be 100% complete before the client receives it. the "frame" at this point
+                        // should have completely detached objects from the transaction (i.e. serialization has occurred)
+                        // so a new one should not be opened on the flush down the netty pipeline
+                        sessionTask.writeAndFlush(code, frame);
+                        iterationStart = System.nanoTime();
+                    }
+                } else {
+                    // keep filling the batch while the client catches up and only wait once there is a frame to write
+                    if (aggregate.size() < batchSizer.getSize() && itty.hasNext()) continue;
+
+                    // don't keep triggering this warning over and over again for the same request
+                    if (!warnOnce) {
+                        logger.warn("Pausing response writing as writeBufferHighWaterMark exceeded on {} - writing will continue once client has caught up", msg);
+                        warnOnce = true;
                     }
 
-                    if (!moreInIterator) iterateComplete(sessionTask, itty);
+                    iterationTime += System.nanoTime() - iterationStart;
 
-                    // the flush is called after the commit has potentially occurred.  in this way, if a commit was
-                    // required then it will be 100% complete before the client receives it. the "frame" at this point
-                    // should have completely detached objects from the transaction (i.e. serialization has occurred)
-                    // so a new one should not be opened on the flush down the netty pipeline
-                    sessionTask.writeAndFlush(code, frame);
-                }
-            } else {
-                // don't keep triggering this warning over and over again for the same request
-                if (!warnOnce) {
-                    logger.warn("Pausing response writing as writeBufferHighWaterMark exceeded on {} - writing will continue once client has caught up", msg);
-                    warnOnce = true;
-                }
+                    // rather than hold a worker while the client is lagging, stop here and let the caller give up the
+                    // thread until the channel signals that it is writable again
+                    if (nettyContext.channel().isActive() && canSuspendIteration(sessionTask)) {
+                        suspendedIteration = this;
+                        return;
+                    }
 
-                // since the client is lagging we can hold here for a period of time for the client to catch up.
-                // this isn't blocking the IO thread - just a worker.
-                TimeUnit.MILLISECONDS.sleep(10);
+                    // otherwise hold here until the channel signals that it is writable again. this isn't blocking
+                    // the IO thread - just a worker. if the channel closes instead there is no one left to write to.
+                    // an evaluation permit is given up while waiting so that a lagging client does not keep other
+                    // requests from being evaluated
+                    final Semaphore evaluationPermits = sessionTask.getEvaluationPermits();
+                    if (null != evaluationPermits) evaluationPermits.release();
+                    final boolean writable;
+                    try {
+                        writable = WritabilityMonitor.of(nettyContext.channel()).awaitWritable();
+                    } finally {
+                        // an interrupt is not lost as it is checked again at the top of the loop
+                        if (null != evaluationPermits) evaluationPermits.acquireUninterruptibly();
+                    }
+
+                    if (!writable) {
+                        logger.debug("Stopping response writing for {} as the channel is no longer active", msg.getRequestId());
+                        if (managedTransactionsForRequest)
+                            closeTransaction(sessionTask, Transaction.Status.ROLLBACK);
+                        break;
+                    }
+                    iterationStart = System.nanoTime();
+                }
             }
+
+            final RequestTimers timers = sessionTask.getRequestTimers();
+            timers.update(RequestTimers.Phase.ITERATION, iterationTime);
+            timers.update(RequestTimers.Phase.SERIALIZATION, serializationTime);
         }
     }
 
@@ -18,6 +18,7 @@
  */
 package org.apache.tinkerpop.gremlin.server.handler;
 
+import io.netty.buffer.ByteBuf;
 import io.netty.util.ReferenceCounted;
 
 /**
@@ -37,6 +38,18 @@ public class Frame {
         return msg;
     }
 
+    /**
+     * Gets the number of bytes in a {@code ByteBuf} message or the number of characters in a {@code String} one.
+     */
+    public int getSize() {
+        if (msg instanceof ByteBuf)
+            return ((ByteBuf) msg).readableBytes();
+        else if (msg instanceof CharSequence)
+            return ((CharSequence) msg).length();
+        else
+            return 0;
+    }
+
     /**
      * If the object contained in the frame is {@code ReferenceCounted} then it may need to be released or else
      * Netty will generate warnings that counted resources are leaking.
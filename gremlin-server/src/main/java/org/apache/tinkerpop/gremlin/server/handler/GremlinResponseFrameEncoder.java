@@ -24,7 +24,6 @@ import org.apache.tinkerpop.gremlin.util.message.ResponseMessage;
 import org.apache.tinkerpop.gremlin.util.message.ResponseStatusCode;
 import org.apache.tinkerpop.gremlin.util.ser.MessageTextSerializer;
 import org.apache.tinkerpop.gremlin.server.GremlinServer;
-import org.apache.tinkerpop.gremlin.server.op.session.Session;
 import org.apache.tinkerpop.gremlin.server.util.ExceptionHelper;
 import org.apache.tinkerpop.gremlin.server.util.MetricManager;
 import io.netty.channel.ChannelHandler;
@@ -47,47 +46,27 @@ import static com.codahale.metrics.MetricRegistry.name;
 @ChannelHandler.Sharable
 public class GremlinResponseFrameEncoder extends MessageToMessageEncoder<ResponseMessage> {
     private static final Logger logger = LoggerFactory.getLogger(GremlinResponseFrameEncoder.class);
-    static final Meter errorMeter = MetricManager.INSTANCE.getMeter(name(GremlinServer.class, "errors"));
+    public static final Meter errorMeter = MetricManager.INSTANCE.getMeter(name(GremlinServer.class, "errors"));
 
     @Override
     protected void encode(final ChannelHandlerContext ctx, final ResponseMessage o, final List<Object> objects) throws Exception {
         final MessageSerializer<?> serializer = ctx.channel().attr(StateKey.SERIALIZER).get();
         final boolean useBinary = ctx.channel().attr(StateKey.USE_BINARY).get();
-        final Session session = ctx.channel().attr(StateKey.SESSION).get();
 
         try {
             if (!o.getStatus().getCode().isSuccess())
                 errorMeter.mark();
 
+            // results of a request that came in on a session are serialized by the session thread that produced them
+            // (see Context) so what arrives here can be serialized on the event loop without waiting on the session
+            // executor, which may be busy with the requests queued behind this one.
             if (useBinary) {
-                final Frame serialized;
-
-                // if the request came in on a session then the serialization must occur in that same thread, except
-                // in the case of an error where we can free the session executor from having to do that job. the
-                // problem here is that if the session executor is used in the case of an error and the executor is
-                // blocked by parallel requests then there is no thread available to serialize the result and send
-                // back the response as the workers get all tied up behind the session executor.
-                if (null == session || !o.getStatus().getCode().isSuccess())
-                    serialized = new Frame(serializer.serializeResponseAsBinary(o, ctx.alloc()));
-                else
-                    serialized = new Frame(session.getExecutor().submit(() -> serializer.serializeResponseAsBinary(o, ctx.alloc())).get());
-
-                objects.add(serialized);
+                objects.add(new Frame(serializer.serializeResponseAsBinary(o, ctx.alloc())));
             } else {
                 // the expectation is that the GremlinTextRequestDecoder will have placed a MessageTextSerializer
                 // instance on the channel.
                 final MessageTextSerializer<?> textSerializer = (MessageTextSerializer<?>) serializer;
-
-                final Frame serialized;
-
-                // if the request came in on a session then the serialization must occur that same thread except
-                // in the case of errors for reasons described above.
-                if (null == session || !o.getStatus().getCode().isSuccess())
-                    serialized = new Frame(textSerializer.serializeResponseAsString(o, ctx.alloc()));
-                else
-                    serialized = new Frame(session.getExecutor().submit(() -> textSerializer.serializeResponseAsString(o, ctx.alloc())).get());
-
-                objects.add(serialized);
+                objects.add(new Frame(textSerializer.serializeResponseAsString(o, ctx.alloc())));
             }
         } catch (Exception ex) {
             errorMeter.mark();
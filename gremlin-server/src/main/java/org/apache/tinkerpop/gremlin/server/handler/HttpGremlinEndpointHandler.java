@@ -21,21 +21,29 @@ package org.apache.tinkerpop.gremlin.server.handler;
 import com.codahale.metrics.Timer;
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.Unpooled;
+import io.netty.channel.ChannelFuture;
+import io.netty.channel.ChannelFutureListener;
 import io.netty.channel.ChannelHandler;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.ChannelInboundHandlerAdapter;
 import io.netty.channel.ChannelPromise;
 import io.netty.handler.codec.TooLongFrameException;
 import io.netty.handler.codec.http.DefaultFullHttpResponse;
+import io.netty.handler.codec.http.DefaultHttpContent;
+import io.netty.handler.codec.http.DefaultHttpResponse;
 import io.netty.handler.codec.http.FullHttpRequest;
 import io.netty.handler.codec.http.FullHttpResponse;
+import io.netty.handler.codec.http.HttpContent;
 import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpResponse;
 import io.netty.handler.codec.http.HttpResponseStatus;
 import io.netty.handler.codec.http.HttpUtil;
+import io.netty.handler.codec.http.LastHttpContent;
 import io.netty.util.ReferenceCountUtil;
 import org.apache.tinkerpop.gremlin.groovy.engine.GremlinExecutor;
 import org.apache.tinkerpop.gremlin.jsr223.GremlinScriptChecker;
 import org.apache.tinkerpop.gremlin.process.remote.traversal.DefaultRemoteTraverser;
+import org.apache.tinkerpop.gremlin.process.traversal.Bytecode;
 import org.apache.tinkerpop.gremlin.process.traversal.TraversalSource;
 import org.apache.tinkerpop.gremlin.process.traversal.traverser.util.AbstractTraverser;
 import org.apache.tinkerpop.gremlin.server.GraphManager;
@@ -44,6 +52,8 @@ import org.apache.tinkerpop.gremlin.server.Settings;
 import org.apache.tinkerpop.gremlin.server.auth.AuthenticatedUser;
 import org.apache.tinkerpop.gremlin.server.util.MetricManager;
 import org.apache.tinkerpop.gremlin.server.util.TextPlainMessageSerializer;
+import org.apache.tinkerpop.gremlin.server.util.TraversalResultCache;
+import org.apache.tinkerpop.gremlin.server.util.UnobservedWriteListener;
 import org.apache.tinkerpop.gremlin.structure.Element;
 import org.apache.tinkerpop.gremlin.structure.Graph;
 import org.apache.tinkerpop.gremlin.structure.util.reference.ReferenceFactory;
@@ -65,13 +75,16 @@ import javax.script.Bindings;
 import javax.script.SimpleBindings;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -114,6 +127,7 @@ public class HttpGremlinEndpointHandler extends ChannelInboundHandlerAdapter {
     private final GremlinExecutor gremlinExecutor;
     private final GraphManager graphManager;
     private final Settings settings;
+    private final UnobservedWriteListener unobservedWriteListener;
 
     private static final Pattern pattern = Pattern.compile("(.*);q=(.*)");
 
@@ -121,10 +135,23 @@ public class HttpGremlinEndpointHandler extends ChannelInboundHandlerAdapter {
                                       final GremlinExecutor gremlinExecutor,
                                       final GraphManager graphManager,
                                       final Settings settings) {
+        this(serializers, gremlinExecutor, graphManager, settings, UnobservedWriteListener.NONE);
+    }
+
+    /**
+     * @param unobservedWriteListener notified of the graphs a request may have changed without raising mutation
+     *                                events once it completes
+     */
+    public HttpGremlinEndpointHandler(final Map<String, MessageSerializer<?>> serializers,
+                                      final GremlinExecutor gremlinExecutor,
+                                      final GraphManager graphManager,
+                                      final Settings settings,
+                                      final UnobservedWriteListener unobservedWriteListener) {
         this.serializers = serializers;
         this.gremlinExecutor = gremlinExecutor;
         this.graphManager = graphManager;
         this.settings = settings;
+        this.unobservedWriteListener = unobservedWriteListener;
     }
 
     @Override
@@ -169,6 +196,7 @@ public class HttpGremlinEndpointHandler extends ChannelInboundHandlerAdapter {
             }
 
             final String origin = req.headers().get(HttpHeaderNames.ORIGIN);
+            final boolean streamResults = Boolean.parseBoolean(req.headers().get(Tokens.HEADER_STREAM_RESULTS));
 
             // not using the req anywhere below here - assume it is safe to release at this point.
             ReferenceCountUtil.release(msg);
@@ -190,10 +218,11 @@ public class HttpGremlinEndpointHandler extends ChannelInboundHandlerAdapter {
                 }
                 final ChannelPromise promise = ctx.channel().newPromise();
                 final AtomicReference<Object> resultHolder = new AtomicReference<>();
+                final AtomicBoolean streamStarted = new AtomicBoolean(false);
                 promise.addListener(future -> {
                     // if failed then the error was already written back to the client as part of the eval future
-                    // processing of the exception
-                    if (future.isSuccess()) {
+                    // processing of the exception. a streamed result was already written as it was iterated
+                    if (future.isSuccess() && !streamResults) {
                         logger.debug("Preparing HTTP response for request with script [{}] and bindings of [{}] with result of [{}] on [{}]",
                                 requestMessage.getArgOrDefault(Tokens.ARGS_GREMLIN, ""),
                                 requestMessage.getArgOrDefault(Tokens.ARGS_BINDINGS, Collections.emptyMap()),
@@ -220,6 +249,13 @@ public class HttpGremlinEndpointHandler extends ChannelInboundHandlerAdapter {
                     return;
                 }
 
+                // bytecode is evaluated here rather than by the TraversalOpProcessor so its mutations are not observed
+                // and, like a script, unless it is known to be read-only it may change the graphs it bound. it is
+                // checked before the eval which may alter the bytecode
+                final Object gremlin = requestMessage.getArg(Tokens.ARGS_GREMLIN);
+                final boolean mayWrite = unobservedWriteListener != UnobservedWriteListener.NONE &&
+                        !(gremlin instanceof Bytecode && TraversalResultCache.isReadOnly((Bytecode) gremlin));
+
                 // provide a transform function to serialize to message - this will force serialization to occur
                 // in the same thread as the eval. after the CompletableFuture is returned from the eval the result
                 // is ready to be written as a ByteBuf directly to the response.  nothing should be blocking here.
@@ -238,6 +274,12 @@ public class HttpGremlinEndpointHandler extends ChannelInboundHandlerAdapter {
                             final Optional<String> mp = requestMessage.getArg(Tokens.ARGS_GREMLIN) instanceof String
                                     ? GremlinScriptChecker.parse(requestMessage.getArg(Tokens.ARGS_GREMLIN)).getMaterializeProperties()
                                     : Optional.empty();
+                            final boolean materializeTokens = mp.isPresent() && mp.get().equals(Tokens.MATERIALIZE_PROPERTIES_TOKENS);
+
+                            if (streamResults) {
+                                streamResults(ctx, requestMessage, serializer, o, materializeTokens, keepAlive, origin, streamStarted);
+                                return null;
+                            }
 
                             // need to replicate what TraversalOpProcessor does with the bytecode op. it converts
                             // results to Traverser so that GLVs can handle the results. don't quite get the same
@@ -247,17 +289,7 @@ public class HttpGremlinEndpointHandler extends ChannelInboundHandlerAdapter {
                                     (List<Object>) IteratorUtils.asList(o).stream().map(r -> new DefaultRemoteTraverser<Object>(r, 1)).collect(Collectors.toList()) :
                                     IteratorUtils.asList(o);
 
-                            if (mp.isPresent() && mp.get().equals(Tokens.MATERIALIZE_PROPERTIES_TOKENS)) {
-                                final Object firstElement = results.get(0);
-
-                                if (firstElement instanceof Element) {
-                                    for (int i = 0; i < results.size(); i++)
-                                        results.set(i, ReferenceFactory.detach((Element) results.get(i)));
-                                } else if (firstElement instanceof AbstractTraverser) {
-                                    for (final Object item : results)
-                                        ((AbstractTraverser) item).detach();
-                                }
-                            }
+                            if (materializeTokens) detachTokens(results);
 
                             final ResponseMessage responseMessage = ResponseMessage.build(requestId)
                                     .code(ResponseStatusCode.SUCCESS)
@@ -289,8 +321,16 @@ public class HttpGremlinEndpointHandler extends ChannelInboundHandlerAdapter {
                             }
                         }));
 
+                if (mayWrite) {
+                    final Map<String, String> aliases = requestMessage.getArg(Tokens.ARGS_ALIASES);
+                    evalFuture.whenComplete((r, t) -> unobservedWriteListener.onWrite(UnobservedWriteListener.graphsOf(graphManager, aliases)));
+                }
+
                 evalFuture.exceptionally(t -> {
-                    if (t.getMessage() != null)
+                    // once the headers of a streamed response are written the error can only end the stream
+                    if (streamStarted.get())
+                        sendStreamError(ctx, requestId, serializer.getValue1(), t, keepAlive);
+                    else if (t.getMessage() != null)
                         HttpHandlerUtil.sendError(ctx, INTERNAL_SERVER_ERROR, requestId, t.getMessage(), Optional.of(t), keepAlive);
                     else
                         HttpHandlerUtil.sendError(ctx, INTERNAL_SERVER_ERROR, requestId, String.format("Error encountered evaluating script: %s",
@@ -321,6 +361,14 @@ public class HttpGremlinEndpointHandler extends ChannelInboundHandlerAdapter {
         }
     }
 
+    @Override
+    public void channelWritabilityChanged(final ChannelHandlerContext ctx) throws Exception {
+        // wake a streamed response that paused while the channel was over its high water mark
+        final WritabilityMonitor monitor = ctx.channel().attr(StateKey.WRITABILITY_MONITOR).get();
+        if (monitor != null) monitor.signal();
+        super.channelWritabilityChanged(ctx);
+    }
+
     @Override
     public void exceptionCaught(final ChannelHandlerContext ctx, final Throwable cause) {
         logger.error("Error processing HTTP Request", cause);
@@ -330,6 +378,114 @@ public class HttpGremlinEndpointHandler extends ChannelInboundHandlerAdapter {
         }
     }
 
+    /**
+     * Writes the result back with chunked transfer encoding as it is iterated, where each chunk is a serialized
+     * {@link ResponseMessage} of up to {@code resultIterationBatchSize} results with a {@code PARTIAL_CONTENT} status
+     * for all but the last one. Each message is preceded by its length as a four byte big-endian integer so that the
+     * client can find where it ends no matter how the content is split on the way. Only a batch of results is held at
+     * once and the first batch reaches the client before the rest of the result is computed. If the client goes away
+     * before the result is written the transaction is rolled back.
+     */
+    private void streamResults(final ChannelHandlerContext ctx, final RequestMessage requestMessage,
+                               final Pair<String, MessageTextSerializer<?>> serializer, final Object result,
+                               final boolean materializeTokens, final boolean keepAlive, final String origin,
+                               final AtomicBoolean streamStarted) throws Exception {
+        final UUID requestId = requestMessage.getRequestId();
+        final boolean bytecode = requestMessage.getOp().equals(Tokens.OPS_BYTECODE);
+        final int batchSize = (Integer) requestMessage.optionalArgs(Tokens.ARGS_BATCH_SIZE).orElse(settings.resultIterationBatchSize);
+        final Iterator<?> itty = IteratorUtils.asIterator(result);
+        final WritabilityMonitor monitor = WritabilityMonitor.of(ctx.channel());
+
+        final HttpResponse response = new DefaultHttpResponse(HTTP_1_1, OK);
+        response.headers().set(HttpHeaderNames.CONTENT_TYPE, serializer.getValue0());
+        response.headers().set(Tokens.HEADER_STREAM_RESULTS, true);
+        if (origin != null) response.headers().set(HttpHeaderNames.ACCESS_CONTROL_ALLOW_ORIGIN, origin);
+        HttpUtil.setTransferEncodingChunked(response, true);
+        HttpUtil.setKeepAlive(response, keepAlive);
+        ctx.write(response);
+        streamStarted.set(true);
+
+        // use an external control to manage the loop as the transaction is committed before the last batch is written
+        // and a call to hasNext() after that could open a new one
+        boolean hasMore = itty.hasNext();
+        do {
+            if (Thread.interrupted()) throw new InterruptedException();
+
+            final List<Object> aggregate = new ArrayList<>(batchSize);
+            while (aggregate.size() < batchSize && itty.hasNext()) {
+                final Object o = itty.next();
+                aggregate.add(bytecode ? new DefaultRemoteTraverser<>(o, 1) : o);
+            }
+            hasMore = itty.hasNext();
+            if (materializeTokens) detachTokens(aggregate);
+
+            // like the non-streamed response the commit occurs before the final batch is serialized
+            if (!hasMore) attemptCommit(requestMessage.getArg(Tokens.ARGS_ALIASES), graphManager, settings.strictTransactionManagement);
+
+            final ByteBuf chunk = serializer.getValue1().serializeResponseAsBinary(ResponseMessage.build(requestId)
+                    .code(hasMore ? ResponseStatusCode.PARTIAL_CONTENT : ResponseStatusCode.SUCCESS)
+                    .result(aggregate).create(), ctx.alloc());
+
+            // hold the batch until the client catches up rather than queuing the whole result in the channel
+            if (!ctx.channel().isWritable() && !monitor.awaitWritable()) {
+                logger.debug("Stopping the streamed response for {} as the channel is no longer active", requestId);
+                chunk.release();
+                attemptRollback(requestMessage.getArg(Tokens.ARGS_ALIASES), graphManager, settings.strictTransactionManagement);
+                return;
+            }
+            ctx.writeAndFlush(lengthPrefixed(ctx, chunk));
+        } while (hasMore);
+
+        final ChannelFuture lastFuture = ctx.writeAndFlush(LastHttpContent.EMPTY_LAST_CONTENT);
+        if (!keepAlive) lastFuture.addListener(ChannelFutureListener.CLOSE);
+    }
+
+    /**
+     * Ends a streamed response with a {@link ResponseMessage} that carries the error as there is no way to change
+     * the HTTP status once the headers are written.
+     */
+    private static void sendStreamError(final ChannelHandlerContext ctx, final UUID requestId,
+                                        final MessageTextSerializer<?> serializer, final Throwable t,
+                                        final boolean keepAlive) {
+        final Throwable root = ExceptionHelper.getRootCause(t);
+        logger.warn(String.format("Error while streaming the result for request %s", requestId), t);
+        try {
+            final ByteBuf chunk = serializer.serializeResponseAsBinary(ResponseMessage.build(requestId)
+                    .code(ResponseStatusCode.SERVER_ERROR)
+                    .statusMessage(null == root.getMessage() ? root.getClass().getName() : root.getMessage())
+                    .statusAttributeException(root).create(), ctx.alloc());
+            ctx.write(lengthPrefixed(ctx, chunk));
+            final ChannelFuture lastFuture = ctx.writeAndFlush(LastHttpContent.EMPTY_LAST_CONTENT);
+            if (!keepAlive) lastFuture.addListener(ChannelFutureListener.CLOSE);
+        } catch (Exception ex) {
+            // the client can only tell that the response is incomplete from the connection closing
+            logger.warn(String.format("Could not serialize the error for request %s", requestId), ex);
+            ctx.close();
+        }
+    }
+
+    /**
+     * Wraps a serialized {@link ResponseMessage} of a streamed response as the content of a chunk that starts with
+     * the length of the message.
+     */
+    private static HttpContent lengthPrefixed(final ChannelHandlerContext ctx, final ByteBuf message) {
+        final ByteBuf length = ctx.alloc().buffer(4).writeInt(message.readableBytes());
+        return new DefaultHttpContent(ctx.alloc().compositeBuffer(2).addComponents(true, length, message));
+    }
+
+    private static void detachTokens(final List<Object> results) {
+        if (results.isEmpty()) return;
+        final Object firstElement = results.get(0);
+
+        if (firstElement instanceof Element) {
+            for (int i = 0; i < results.size(); i++)
+                results.set(i, ReferenceFactory.detach((Element) results.get(i)));
+        } else if (firstElement instanceof AbstractTraverser) {
+            for (final Object item : results)
+                ((AbstractTraverser) item).detach();
+        }
+    }
+
     private Bindings createBindings(final Map<String, Object> bindingMap, final Map<String, String> rebindingMap) {
         final Bindings bindings = new SimpleBindings();
 
@@ -393,4 +549,11 @@ public class HttpGremlinEndpointHandler extends ChannelInboundHandlerAdapter {
         else
             graphManager.commitAll();
     }
+
+    private static void attemptRollback(final Map<String, String> aliases, final GraphManager graphManager, final boolean strict) {
+        if (strict)
+            graphManager.rollback(new HashSet<>(aliases.values()));
+        else
+            graphManager.rollbackAll();
+    }
 }
@@ -25,18 +25,58 @@ import org.apache.tinkerpop.gremlin.server.Context;
 import org.apache.tinkerpop.gremlin.server.GraphManager;
 import org.apache.tinkerpop.gremlin.server.OpProcessor;
 import org.apache.tinkerpop.gremlin.server.Settings;
+import org.apache.tinkerpop.gremlin.server.util.RequestCoalescer;
 
 import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
 
 /**
  * A {@code SessionTask} equates to a particular incoming request to the {@link UnifiedHandler} and is analogous to
  * a {@link Context} in the {@link OpProcessor} approach to handling requests to the server.
  */
 public class SessionTask extends Context {
+    private final Semaphore evaluationPermits;
+    private final RequestCoalescer requestCoalescer;
+
     public SessionTask(final RequestMessage requestMessage, final ChannelHandlerContext ctx,
                        final Settings settings, final GraphManager graphManager,
                        final GremlinExecutor gremlinExecutor,
                        final ScheduledExecutorService scheduledExecutorService) {
+        this(requestMessage, ctx, settings, graphManager, gremlinExecutor, scheduledExecutorService, null);
+    }
+
+    public SessionTask(final RequestMessage requestMessage, final ChannelHandlerContext ctx,
+                       final Settings settings, final GraphManager graphManager,
+                       final GremlinExecutor gremlinExecutor,
+                       final ScheduledExecutorService scheduledExecutorService,
+                       final Semaphore evaluationPermits) {
+        this(requestMessage, ctx, settings, graphManager, gremlinExecutor, scheduledExecutorService, evaluationPermits, null);
+    }
+
+    public SessionTask(final RequestMessage requestMessage, final ChannelHandlerContext ctx,
+                       final Settings settings, final GraphManager graphManager,
+                       final GremlinExecutor gremlinExecutor,
+                       final ScheduledExecutorService scheduledExecutorService,
+                       final Semaphore evaluationPermits,
+                       final RequestCoalescer requestCoalescer) {
         super(requestMessage, ctx, settings, graphManager, gremlinExecutor, scheduledExecutorService);
+        this.evaluationPermits = evaluationPermits;
+        this.requestCoalescer = requestCoalescer;
+    }
+
+    /**
+     * Gets the permits of which one must be held while this task is evaluated or {@code null} if evaluation is not
+     * limited in that way.
+     */
+    public Semaphore getEvaluationPermits() {
+        return evaluationPermits;
+    }
+
+    /**
+     * Gets the {@link RequestCoalescer} through which this task may share the results of its traversal with identical
+     * ones or {@code null} if requests are not coalesced.
+     */
+    public RequestCoalescer getRequestCoalescer() {
+        return requestCoalescer;
     }
 }
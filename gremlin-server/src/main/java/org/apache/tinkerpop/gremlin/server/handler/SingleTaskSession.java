@@ -73,8 +73,12 @@ public class SingleTaskSession extends AbstractSession {
         this.sessionThread = Thread.currentThread();
 
         try {
-            startTransaction(onlySessionTask);
-            process(onlySessionTask);
+            if (isIterationSuspended()) {
+                resumeIteration(onlySessionTask);
+            } else {
+                startTransaction(onlySessionTask);
+                process(onlySessionTask);
+            }
         } catch (SessionException we) {
             // if the close reason isn't already set then things stopped during gremlin execution somewhere and not
             // more external issues like channel close or timeouts.
@@ -87,11 +91,26 @@ public class SingleTaskSession extends AbstractSession {
 
             onlySessionTask.writeAndFlush(we.getResponseMessage());
         } finally {
-            closeReason.compareAndSet(null, CloseReason.EXIT_PROCESSING);
-            close();
+            // give up the thread while a lagging client catches up and finish on another one once it has
+            if (isIterationSuspended()) {
+                suspendIteration();
+            } else {
+                closeReason.compareAndSet(null, CloseReason.EXIT_PROCESSING);
+                close();
+            }
         }
     }
 
+    /**
+     * A request without a session can resume its result iteration on another thread as long as it holds no
+     * transaction, as those are generally bound to the thread that opened them, and as long as it does not hold one
+     * of the limited evaluation permits that are taken on virtual threads.
+     */
+    @Override
+    protected boolean canSuspendIteration(final SessionTask sessionTask) {
+        return null == sessionTask.getEvaluationPermits() && !graphManager.hasAnyOpenTransactions();
+    }
+
     @Override
     public String toString() {
         return String.format("%s - session: %s", SingleTaskSession.class.getSimpleName(), getSessionId());
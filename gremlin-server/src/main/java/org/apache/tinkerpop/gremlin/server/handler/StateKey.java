@@ -63,4 +63,9 @@ public final class StateKey {
      * The key for the current {@link AuthenticatedUser}.
      */
     public static final AttributeKey<AuthenticatedUser> AUTHENTICATED_USER = AttributeKey.valueOf("authenticatedUser");
+
+    /**
+     * The key for the {@link WritabilityMonitor} of the channel.
+     */
+    public static final AttributeKey<WritabilityMonitor> WRITABILITY_MONITOR = AttributeKey.valueOf("writabilityMonitor");
 }
@@ -38,6 +38,8 @@ import org.apache.tinkerpop.gremlin.server.Channelizer;
 import org.apache.tinkerpop.gremlin.server.GraphManager;
 import org.apache.tinkerpop.gremlin.server.Settings;
 import org.apache.tinkerpop.gremlin.server.channel.UnifiedChannelizer;
+import org.apache.tinkerpop.gremlin.server.util.AdmissionQueue;
+import org.apache.tinkerpop.gremlin.server.util.RequestCoalescer;
 import org.apache.tinkerpop.gremlin.structure.Column;
 import org.apache.tinkerpop.gremlin.structure.T;
 import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
@@ -56,6 +58,7 @@ import java.util.concurrent.Future;
 import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -70,6 +73,8 @@ public class UnifiedHandler extends SimpleChannelInboundHandler<RequestMessage>
     protected final GremlinExecutor gremlinExecutor;
     protected final ScheduledExecutorService scheduledExecutorService;
     protected final ExecutorService sessionExecutor;
+    protected final Semaphore evaluationPermits;
+    protected final RequestCoalescer requestCoalescer;
     protected final Channelizer channelizer;
 
     protected final ConcurrentMap<String, Session> sessions = new ConcurrentHashMap<>();
@@ -118,12 +123,29 @@ public class UnifiedHandler extends SimpleChannelInboundHandler<RequestMessage>
                           final GremlinExecutor gremlinExecutor,
                           final ScheduledExecutorService scheduledExecutorService,
                           final Channelizer channelizer) {
+        this(settings, graphManager, gremlinExecutor, gremlinExecutor.getExecutorService(), null,
+                scheduledExecutorService, channelizer);
+    }
+
+    /**
+     * Creates a handler that runs sessions on the given {@code ExecutorService} and which, when the
+     * {@code evaluationPermits} are not {@code null}, has each session take a permit for each request it evaluates.
+     * This is how sessions are run on virtual threads where a session holds its thread for its whole life.
+     */
+    public UnifiedHandler(final Settings settings, final GraphManager graphManager,
+                          final GremlinExecutor gremlinExecutor,
+                          final ExecutorService sessionExecutor,
+                          final Semaphore evaluationPermits,
+                          final ScheduledExecutorService scheduledExecutorService,
+                          final Channelizer channelizer) {
         this.settings = settings;
         this.graphManager = graphManager;
         this.gremlinExecutor = gremlinExecutor;
         this.scheduledExecutorService = scheduledExecutorService;
         this.channelizer = channelizer;
-        this.sessionExecutor = gremlinExecutor.getExecutorService();
+        this.sessionExecutor = sessionExecutor;
+        this.evaluationPermits = evaluationPermits;
+        this.requestCoalescer = settings.coalesceRequests ? new RequestCoalescer(settings.maxCoalescedResults) : null;
     }
 
     @Override
@@ -154,7 +176,7 @@ public class UnifiedHandler extends SimpleChannelInboundHandler<RequestMessage>
             // we have here. when we drop OpProcessor stuff and rid ourselves of GremlinExecutor then we can probably
             // pare down the constructor for SessionTask further.
             final SessionTask sessionTask = new SessionTask(msg, ctx, settings, graphManager,
-                    gremlinExecutor, scheduledExecutorService);
+                    gremlinExecutor, scheduledExecutorService, evaluationPermits, requestCoalescer);
 
             if (sessions.containsKey(sessionId)) {
                 final Session session = sessions.get(sessionId);
@@ -183,10 +205,24 @@ public class UnifiedHandler extends SimpleChannelInboundHandler<RequestMessage>
                         createMultiTaskSession(sessionTask, sessionId) :
                         createSingleTaskSession(sessionTask, sessionId);
 
-                // queue the session to startup when a thread is ready to take it
-                final Future<?> sessionFuture = sessionExecutor.submit(session);
-                session.setSessionFuture(sessionFuture);
-                sessions.put(sessionId, session);
+                // queue the session to startup when a thread is ready to take it. with admission control the session
+                // is registered before it is queued as it may be shed from the queue at any time after
+                if (settings.useAdmissionControl) {
+                    final AdmissionQueue.Task task = createAdmissionTask(session, sessionTask, sessionId,
+                            optMultiTaskSession.isPresent());
+                    session.setSessionFuture(task);
+                    sessions.put(sessionId, session);
+                    try {
+                        sessionExecutor.execute(task);
+                    } catch (RejectedExecutionException ree) {
+                        sessions.remove(sessionId);
+                        throw ree;
+                    }
+                } else {
+                    final Future<?> sessionFuture = sessionExecutor.submit(session);
+                    session.setSessionFuture(sessionFuture);
+                    sessions.put(sessionId, session);
+                }
 
                 // determine the max session life. for multi that's going to be "session life" and for single that
                 // will be the span of the request timeout
@@ -270,6 +306,17 @@ public class UnifiedHandler extends SimpleChannelInboundHandler<RequestMessage>
             }
         }
 
+        final Optional<Object> priority = message.optionalArgs(Tokens.ARGS_PRIORITY);
+        if (priority.isPresent()) {
+            try {
+                AdmissionQueue.Priority.of(priority.get().toString());
+            } catch (IllegalArgumentException iae) {
+                final String msg = String.format("%s argument must be one of %s", Tokens.ARGS_PRIORITY,
+                        Arrays.toString(AdmissionQueue.Priority.values()).toLowerCase());
+                throw new SessionException(msg, ResponseMessage.build(message).code(ResponseStatusCode.REQUEST_ERROR_INVALID_REQUEST_ARGUMENTS).statusMessage(msg).create());
+            }
+        }
+
         // validations for specific op codes
         if (message.getOp().equals(Tokens.OPS_EVAL)) {
             // eval must have gremlin that is type of String
@@ -309,6 +356,14 @@ public class UnifiedHandler extends SimpleChannelInboundHandler<RequestMessage>
         }
     }
 
+    @Override
+    public void channelWritabilityChanged(final ChannelHandlerContext ctx) throws Exception {
+        // wake any session that paused writing results while the channel was over its high water mark
+        final WritabilityMonitor monitor = ctx.channel().attr(StateKey.WRITABILITY_MONITOR).get();
+        if (monitor != null) monitor.signal();
+        super.channelWritabilityChanged(ctx);
+    }
+
     @Override
     public void userEventTriggered(final ChannelHandlerContext ctx, final Object evt) throws Exception {
         // only need to handle this event if the idle monitor is on
@@ -346,6 +401,28 @@ public class UnifiedHandler extends SimpleChannelInboundHandler<RequestMessage>
         return new MultiTaskSession(sessionTask, sessionId, sessions);
     }
 
+    /**
+     * Called when admission control is enabled to wrap the {@link Session} in the task that is queued for the
+     * {@code gremlinPool}. The task takes its priority from the request and uses the traversal source alias that the
+     * request targets as its tenant. A request without a session may be shed from the queue under overload, in which
+     * case it is answered with {@link ResponseStatusCode#TOO_MANY_REQUESTS}, but a session that may already have more
+     * requests waiting on it is never shed.
+     */
+    protected AdmissionQueue.Task createAdmissionTask(final Session session, final SessionTask sessionTask,
+                                                      final String sessionId, final boolean multiTask) {
+        final RequestMessage msg = sessionTask.getRequestMessage();
+        final AdmissionQueue.Priority priority = msg.optionalArgs(Tokens.ARGS_PRIORITY).
+                map(p -> AdmissionQueue.Priority.of(p.toString())).orElse(AdmissionQueue.Priority.NORMAL);
+        final String tenant = msg.<Map<String, String>>optionalArgs(Tokens.ARGS_ALIASES).
+                flatMap(aliases -> aliases.values().stream().findFirst()).orElse("");
+        final Runnable onShed = multiTask ? null : () -> {
+            sessions.remove(sessionId, session);
+            sessionTask.writeAndFlush(ResponseMessage.build(msg).code(ResponseStatusCode.TOO_MANY_REQUESTS)
+                    .statusMessage("Rate limiting - the request waited too long to be evaluated").create());
+        };
+        return new AdmissionQueue.Task(session, priority, tenant, onShed);
+    }
+
     public boolean isActiveSession(final String sessionId) {
         return sessions.containsKey(sessionId);
     }
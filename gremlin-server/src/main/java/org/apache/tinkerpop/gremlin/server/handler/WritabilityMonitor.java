@@ -0,0 +1,102 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.server.handler;
+
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelInboundHandler;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lets a thread that writes results to a {@link Channel} wait for the channel to become writable again after its
+ * {@code writeBufferHighWaterMark} is exceeded. The wait ends when {@link #signal()} is called, which the
+ * {@link UnifiedHandler} does on {@link ChannelInboundHandler#channelWritabilityChanged}, or when the channel closes,
+ * so that writing resumes as soon as the client catches up rather than on the next poll of the channel.
+ */
+public final class WritabilityMonitor {
+
+    /**
+     * The writability is checked again at this interval in case an event was not delivered to the handler.
+     */
+    private static final long RECHECK_INTERVAL_MS = 1000;
+
+    private final Channel channel;
+    private final Queue<Runnable> actions = new ConcurrentLinkedQueue<>();
+
+    private WritabilityMonitor(final Channel channel) {
+        this.channel = channel;
+    }
+
+    /**
+     * Gets the monitor for the channel, creating it on first use.
+     */
+    public static WritabilityMonitor of(final Channel channel) {
+        final WritabilityMonitor monitor = channel.attr(StateKey.WRITABILITY_MONITOR).get();
+        if (monitor != null) return monitor;
+
+        final WritabilityMonitor created = new WritabilityMonitor(channel);
+        final WritabilityMonitor existing = channel.attr(StateKey.WRITABILITY_MONITOR).setIfAbsent(created);
+        if (existing != null) return existing;
+
+        channel.closeFuture().addListener(f -> created.signal());
+        return created;
+    }
+
+    /**
+     * Wakes the threads waiting on the channel so that they check its writability and runs the actions registered
+     * with {@link #whenWritable(Runnable)} if the channel is writable or no longer active.
+     */
+    public void signal() {
+        synchronized (this) {
+            notifyAll();
+        }
+        if (!channel.isActive() || channel.isWritable()) runActions();
+    }
+
+    /**
+     * Runs the action once the channel is writable or no longer active, right away if it already is. This lets a
+     * caller give up its thread rather than wait in {@link #awaitWritable()}. The action is run at most once, by
+     * whichever thread finds the channel ready, which may be the event loop, so it must not block.
+     */
+    public void whenWritable(final Runnable action) {
+        actions.add(action);
+        if (!channel.isActive() || channel.isWritable()) runActions();
+    }
+
+    private void runActions() {
+        Runnable action;
+        while ((action = actions.poll()) != null) {
+            action.run();
+        }
+    }
+
+    /**
+     * Blocks until the channel is writable or no longer active.
+     *
+     * @return {@code true} if the channel is writable and {@code false} if it is no longer active
+     */
+    public synchronized boolean awaitWritable() throws InterruptedException {
+        while (channel.isActive() && !channel.isWritable()) {
+            TimeUnit.MILLISECONDS.timedWait(this, RECHECK_INTERVAL_MS);
+        }
+        return channel.isActive();
+    }
+}
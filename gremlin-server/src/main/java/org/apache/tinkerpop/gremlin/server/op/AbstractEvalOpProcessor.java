@@ -40,6 +40,7 @@ import org.apache.tinkerpop.gremlin.server.GremlinServer;
 import org.apache.tinkerpop.gremlin.server.GraphManager;
 import org.apache.tinkerpop.gremlin.server.Settings;
 import org.apache.tinkerpop.gremlin.server.util.MetricManager;
+import org.apache.tinkerpop.gremlin.server.util.UnobservedWriteListener;
 import org.apache.tinkerpop.gremlin.structure.util.TemporaryException;
 import org.apache.tinkerpop.gremlin.util.function.ThrowingConsumer;
 import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
@@ -84,6 +85,11 @@ public abstract class AbstractEvalOpProcessor extends AbstractOpProcessor {
 
     protected int maxParameters = DEFAULT_MAX_PARAMETERS;
 
+    /**
+     * Notified of the graphs a script may have changed once its evaluation completes.
+     */
+    protected UnobservedWriteListener unobservedWriteListener = UnobservedWriteListener.NONE;
+
     /**
      * This may or may not be the full set of invalid binding keys.  It is dependent on the static imports made to
      * Gremlin Server.  This should get rid of the worst offenders though and provide a good message back to the
@@ -128,6 +134,10 @@ public abstract class AbstractEvalOpProcessor extends AbstractOpProcessor {
         super(manageTransactions);
     }
 
+    public void setUnobservedWriteListener(final UnobservedWriteListener unobservedWriteListener) {
+        this.unobservedWriteListener = null == unobservedWriteListener ? UnobservedWriteListener.NONE : unobservedWriteListener;
+    }
+
     /**
      * Provides an operation for evaluating a Gremlin script.
      * @return
@@ -281,6 +291,10 @@ public abstract class AbstractEvalOpProcessor extends AbstractOpProcessor {
             evalFuture.handle((v, t) -> {
                 timerContext.stop();
 
+                // a script may have changed the graphs it bound without raising mutation events
+                unobservedWriteListener.onWrite(UnobservedWriteListener.graphsOf(graphManager,
+                        (Map<String, String>) args.get(Tokens.ARGS_ALIASES)));
+
                 if (t != null) {
                     // if any exception in the chain is TemporaryException or Failure then we should respond with the
                     // right error code so that the client knows to retry
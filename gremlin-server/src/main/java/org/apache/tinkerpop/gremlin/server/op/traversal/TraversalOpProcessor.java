@@ -18,6 +18,7 @@
  */
 package org.apache.tinkerpop.gremlin.server.op.traversal;
 
+import com.codahale.metrics.Meter;
 import com.codahale.metrics.Timer;
 import io.netty.channel.ChannelException;
 import io.netty.channel.ChannelHandlerContext;
@@ -29,10 +30,16 @@ import org.apache.tinkerpop.gremlin.util.message.ResponseStatusCode;
 import org.apache.tinkerpop.gremlin.jsr223.JavaTranslator;
 import org.apache.tinkerpop.gremlin.process.traversal.Bytecode;
 import org.apache.tinkerpop.gremlin.process.traversal.Failure;
+import org.apache.tinkerpop.gremlin.process.traversal.Step;
 import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
 import org.apache.tinkerpop.gremlin.process.traversal.TraversalSource;
+import org.apache.tinkerpop.gremlin.process.traversal.step.sideEffect.ProfileSideEffectStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.ProfileStep;
 import org.apache.tinkerpop.gremlin.process.traversal.util.BytecodeHelper;
+import org.apache.tinkerpop.gremlin.process.traversal.util.DefaultTraversalMetrics;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
 import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalInterruptedException;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalMetrics;
 import org.apache.tinkerpop.gremlin.server.Context;
 import org.apache.tinkerpop.gremlin.server.GraphManager;
 import org.apache.tinkerpop.gremlin.server.GremlinServer;
@@ -44,6 +51,8 @@ import org.apache.tinkerpop.gremlin.server.handler.StateKey;
 import org.apache.tinkerpop.gremlin.server.op.AbstractOpProcessor;
 import org.apache.tinkerpop.gremlin.server.op.OpProcessorException;
 import org.apache.tinkerpop.gremlin.server.util.MetricManager;
+import org.apache.tinkerpop.gremlin.server.util.RequestTimers;
+import org.apache.tinkerpop.gremlin.server.util.TraversalResultCache;
 import org.apache.tinkerpop.gremlin.server.util.TraverserIterator;
 import org.apache.tinkerpop.gremlin.structure.Graph;
 import org.apache.tinkerpop.gremlin.structure.util.TemporaryException;
@@ -56,6 +65,7 @@ import javax.script.ScriptException;
 import javax.script.SimpleBindings;
 import java.lang.reflect.UndeclaredThrowableException;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
@@ -64,6 +74,7 @@ import java.util.concurrent.Future;
 import java.util.concurrent.FutureTask;
 import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.TimeUnit;
 
 import static com.codahale.metrics.MetricRegistry.name;
@@ -76,15 +87,155 @@ import static com.codahale.metrics.MetricRegistry.name;
 public class TraversalOpProcessor extends AbstractOpProcessor {
     private static final Logger logger = LoggerFactory.getLogger(TraversalOpProcessor.class);
     private static final Logger auditLogger = LoggerFactory.getLogger(GremlinServer.AUDIT_LOGGER_NAME);
+    private static final Logger profileLogger = LoggerFactory.getLogger(GremlinServer.PROFILE_LOGGER_NAME);
     public static final String OP_PROCESSOR_NAME = "traversal";
     public static final Timer traversalOpTimer = MetricManager.INSTANCE.getTimer(name(GremlinServer.class, "op", "traversal"));
+    private static final Meter traversalProfiledMeter = MetricManager.INSTANCE.getMeter(name(GremlinServer.class, "op", "traversal", "profiled"));
+    private static final String STEP_METRIC_PREFIX = name(GremlinServer.class, "op", "traversal", "step");
 
     private static final Bindings EMPTY_BINDINGS = new SimpleBindings();
 
+    /**
+     * Configuration setting for the total number of results that the result cache may hold across all traversals.
+     * The result cache is disabled when this value is zero.
+     */
+    public static final String CONFIG_RESULT_CACHE_MAX_SIZE = "resultCacheMaxSize";
+
+    /**
+     * Configuration setting for the number of results above which the results of a traversal are not cached.
+     */
+    public static final String CONFIG_RESULT_CACHE_MAX_RESULTS = "resultCacheMaxResults";
+
+    /**
+     * Configuration setting for the time in milliseconds after which cached results are evicted even if the graph
+     * they came from was not mutated by a traversal.
+     */
+    public static final String CONFIG_RESULT_CACHE_EXPIRATION_TIME = "resultCacheExpirationTime";
+
+    /**
+     * Default size of the result cache which means that it is disabled.
+     */
+    public static final long DEFAULT_RESULT_CACHE_MAX_SIZE = 0;
+
+    /**
+     * Default number of results above which the results of a traversal are not cached.
+     */
+    public static final int DEFAULT_RESULT_CACHE_MAX_RESULTS = 1000;
+
+    /**
+     * Default time after which cached results are evicted which is ten minutes.
+     */
+    public static final long DEFAULT_RESULT_CACHE_EXPIRATION_TIME = 600000;
+
+    /**
+     * Configuration setting for the fraction of traversals, between 0 and 1, that are profiled with a sampling
+     * {@code profile()} while they are processed. Their metrics are logged at INFO level to the
+     * {@link GremlinServer#PROFILE_LOGGER_NAME} logger and the results returned to the client are unaffected.
+     */
+    public static final String CONFIG_PROFILE_SAMPLE_RATE = "profileSampleRate";
+
+    /**
+     * Configuration setting for the number of traversers of each step of a profiled traversal for which one is timed.
+     */
+    public static final String CONFIG_PROFILE_SAMPLE_INTERVAL = "profileSampleInterval";
+
+    /**
+     * Default fraction of traversals to profile which means that none are.
+     */
+    public static final double DEFAULT_PROFILE_SAMPLE_RATE = 0d;
+
+    /**
+     * Default number of traversers of each step of a profiled traversal for which one is timed.
+     */
+    public static final int DEFAULT_PROFILE_SAMPLE_INTERVAL = 100;
+
+    private static final String PROFILE_SIDE_EFFECT_KEY = Graph.Hidden.hide("gremlin.server.profile");
+
+    static final Settings.ProcessorSettings DEFAULT_SETTINGS = new Settings.ProcessorSettings();
+
+    static {
+        DEFAULT_SETTINGS.className = TraversalOpProcessor.class.getCanonicalName();
+        DEFAULT_SETTINGS.config = new HashMap<String, Object>() {{
+            put(CONFIG_RESULT_CACHE_MAX_SIZE, DEFAULT_RESULT_CACHE_MAX_SIZE);
+            put(CONFIG_RESULT_CACHE_MAX_RESULTS, DEFAULT_RESULT_CACHE_MAX_RESULTS);
+            put(CONFIG_RESULT_CACHE_EXPIRATION_TIME, DEFAULT_RESULT_CACHE_EXPIRATION_TIME);
+            put(CONFIG_PROFILE_SAMPLE_RATE, DEFAULT_PROFILE_SAMPLE_RATE);
+            put(CONFIG_PROFILE_SAMPLE_INTERVAL, DEFAULT_PROFILE_SAMPLE_INTERVAL);
+        }};
+    }
+
+    private TraversalResultCache resultCache = null;
+    private double profileSampleRate = DEFAULT_PROFILE_SAMPLE_RATE;
+    private int profileSampleInterval = DEFAULT_PROFILE_SAMPLE_INTERVAL;
+
     public TraversalOpProcessor() {
         super(false);
     }
 
+    @Override
+    public void init(final Settings settings) {
+        final Settings.ProcessorSettings processorSettings = settings.optionalProcessor(TraversalOpProcessor.class).orElse(DEFAULT_SETTINGS);
+        final Map<String, Object> config = null == processorSettings.config ? DEFAULT_SETTINGS.config : processorSettings.config;
+        final long maxSize = ((Number) config.getOrDefault(CONFIG_RESULT_CACHE_MAX_SIZE, DEFAULT_RESULT_CACHE_MAX_SIZE)).longValue();
+        if (maxSize > 0) {
+            final int maxResults = ((Number) config.getOrDefault(CONFIG_RESULT_CACHE_MAX_RESULTS, DEFAULT_RESULT_CACHE_MAX_RESULTS)).intValue();
+            final long expirationTime = ((Number) config.getOrDefault(CONFIG_RESULT_CACHE_EXPIRATION_TIME, DEFAULT_RESULT_CACHE_EXPIRATION_TIME)).longValue();
+            resultCache = new TraversalResultCache(maxSize, maxResults, expirationTime);
+        }
+
+        profileSampleRate = ((Number) config.getOrDefault(CONFIG_PROFILE_SAMPLE_RATE, DEFAULT_PROFILE_SAMPLE_RATE)).doubleValue();
+        profileSampleInterval = ((Number) config.getOrDefault(CONFIG_PROFILE_SAMPLE_INTERVAL, DEFAULT_PROFILE_SAMPLE_INTERVAL)).intValue();
+        if (profileSampleRate < 0d || profileSampleRate > 1d)
+            throw new IllegalArgumentException(String.format("The %s must be between 0 and 1 - found: %s", CONFIG_PROFILE_SAMPLE_RATE, profileSampleRate));
+        if (profileSampleInterval < 1)
+            throw new IllegalArgumentException(String.format("The %s must be greater than zero - found: %s", CONFIG_PROFILE_SAMPLE_INTERVAL, profileSampleInterval));
+    }
+
+    /**
+     * Appends a sampling {@link ProfileSideEffectStep} to the traversal if it was chosen to be profiled.
+     *
+     * @return the side-effect key that will hold the metrics of the traversal or {@code null} if it is not profiled
+     */
+    private String profileIfSampled(final Traversal.Admin<?, ?> traversal) {
+        if (profileSampleRate <= 0d || ThreadLocalRandom.current().nextDouble() >= profileSampleRate ||
+                TraversalHelper.hasStepOfAssignableClassRecursively(ProfileSideEffectStep.class, traversal))
+            return null;
+
+        final ProfileSideEffectStep<?> profileStep = new ProfileSideEffectStep<>(traversal, PROFILE_SIDE_EFFECT_KEY);
+        profileStep.setSampleInterval(profileSampleInterval);
+        traversal.addStep(profileStep);
+        return PROFILE_SIDE_EFFECT_KEY;
+    }
+
+    private static void logProfile(final Traversal.Admin<?, ?> traversal, final String profileKey, final RequestMessage msg) {
+        // metrics are only complete if the traversal was iterated to the end
+        final TraversalMetrics metrics = traversal.getSideEffects().get(profileKey);
+        if (!((DefaultTraversalMetrics) metrics).isFinalized()) return;
+
+        traversalProfiledMeter.mark();
+
+        // once the metrics are final the duration of each step excludes that of the steps before it. anonymous step
+        // classes have no simple name so they are timed under their full class name
+        for (final ProfileStep<?> profileStep : TraversalHelper.getStepsOfAssignableClassRecursively(ProfileStep.class, traversal)) {
+            final Step<?, ?> step = profileStep.getPreviousStep();
+            if (step instanceof ProfileSideEffectStep) continue;
+            final String stepName = step.getClass().isAnonymousClass() ? step.getClass().getName() : step.getClass().getSimpleName();
+            profileStep.getMetrics().ifPresent(m -> MetricManager.INSTANCE.getTimer(STEP_METRIC_PREFIX,
+                    stepName).update(m.getDuration(TimeUnit.NANOSECONDS), TimeUnit.NANOSECONDS));
+        }
+
+        if (profileLogger.isInfoEnabled())
+            profileLogger.info("Profile of request {} for {}{}{}", msg.getRequestId(), msg.getArgs().get(Tokens.ARGS_GREMLIN),
+                    System.lineSeparator(), metrics);
+    }
+
+    /**
+     * Gets the cache of traversal results which is {@code null} if it was not enabled in the configuration.
+     */
+    public TraversalResultCache getResultCache() {
+        return resultCache;
+    }
+
     @Override
     public String getName() {
         return OP_PROCESSOR_NAME;
@@ -211,16 +362,48 @@ public class TraversalOpProcessor extends AbstractOpProcessor {
 
         final Timer.Context timerContext = traversalOpTimer.time();
         final FutureTask<Void> evalFuture = new FutureTask<>(() -> {
+            context.getRequestTimers().since(RequestTimers.Phase.QUEUE, context.getArrivalTime());
             context.setStartedResponse();
             final Graph graph = g.getGraph();
+            Runnable afterMutation = null;
 
             try {
                 beforeProcessing(graph, context);
 
                 try {
-                    // compile the traversal - without it getEndStep() has nothing in it
-                    traversal.applyStrategies();
-                    handleIterator(context, new TraverserIterator(traversal), graph);
+                    TraversalResultCache.Key key = null;
+                    long version = 0;
+                    List<Object> cached = null;
+                    if (null != resultCache && TraversalResultCache.isCacheable(traversal)) {
+                        // the version is taken before iteration so that results which raced with a mutation are
+                        // stale as soon as they are cached
+                        key = TraversalResultCache.key(traversalSourceName, bytecode);
+                        version = resultCache.version(graph);
+                        cached = resultCache.get(key, graph);
+                    } else if (null != resultCache) {
+                        afterMutation = resultCache.invalidateAfter(traversal, graph);
+                    }
+
+                    if (null != cached) {
+                        handleIterator(context, cached.iterator(), graph);
+                    } else {
+                        final String profileKey = profileIfSampled(traversal);
+
+                        // compile the traversal - without it getEndStep() has nothing in it
+                        final long strategiesStart = System.nanoTime();
+                        traversal.applyStrategies();
+                        context.getRequestTimers().since(RequestTimers.Phase.STRATEGIES, strategiesStart);
+                        final Iterator<?> itty = null == key ?
+                                new TraverserIterator(traversal) :
+                                new TraversalResultCache.RecordingIterator(new TraverserIterator(traversal), resultCache.getMaxResultsPerEntry());
+                        handleIterator(context, itty, graph);
+
+                        if (null != key) {
+                            final List<Object> results = ((TraversalResultCache.RecordingIterator) itty).getResults();
+                            if (null != results) resultCache.put(key, graph, version, results);
+                        }
+                        if (null != profileKey) logProfile(traversal, profileKey, msg);
+                    }
                 } catch (Exception ex) {
                     Throwable t = ex;
                     if (ex instanceof UndeclaredThrowableException)
@@ -288,6 +471,11 @@ public class TraversalOpProcessor extends AbstractOpProcessor {
             } finally {
                 timerContext.stop();
 
+                // a traversal that is not read-only invalidates cached results again once it is done, whether it
+                // committed or rolled back, as the changes of a transaction only become visible to other requests on
+                // commit
+                if (null != afterMutation) afterMutation.run();
+
                 // There is a race condition that this query may have finished before the timeoutFuture was created,
                 // though this is very unlikely. This is handled in the settor, if this has already been grabbed.
                 // If we passed this point and the setter hasn't been called, it will cancel the timeoutFuture inside
@@ -365,6 +553,11 @@ public class TraversalOpProcessor extends AbstractOpProcessor {
                 .orElse(settings.resultIterationBatchSize);
         List<Object> aggregate = new ArrayList<>(resultIterationBatchSize);
 
+        // time spent producing and serializing results is summed across batches and excludes waiting on the client
+        long iterationStart = System.nanoTime();
+        long iterationTime = 0;
+        long serializationTime = 0;
+
         // use an external control to manage the loop as opposed to just checking hasNext() in the while.  this
         // prevent situations where auto transactions create a new transaction after calls to commit() withing
         // the loop on calls to hasNext().
@@ -416,10 +609,13 @@ public class TraversalOpProcessor extends AbstractOpProcessor {
                     // thread that processed the eval of the script so, we have to push serialization down into that
                     final Map<String, Object> metadata = generateResultMetaData(nettyContext, msg, code, itty, settings);
                     final Map<String, Object> statusAttrb = generateStatusAttributes(nettyContext, msg, code, itty, settings);
+                    final long serializationStart = System.nanoTime();
+                    iterationTime += serializationStart - iterationStart;
                     Frame frame = null;
                     try {
                         frame = makeFrame(context, msg, serializer, useBinary, aggregate, code,
                                           metadata, statusAttrb);
+                        serializationTime += System.nanoTime() - serializationStart;
                     } catch (Exception ex) {
                         // a frame may use a Bytebuf which is a countable release - if it does not get written
                         // downstream it needs to be released here
@@ -462,6 +658,7 @@ public class TraversalOpProcessor extends AbstractOpProcessor {
                     // should have completely detached objects from the transaction (i.e. serialization has occurred)
                     // so a new one should not be opened on the flush down the netty pipeline
                     context.writeAndFlush(code, frame);
+                    iterationStart = System.nanoTime();
                 }
             } else {
                 // don't keep triggering this warning over and over again for the same request
@@ -472,8 +669,14 @@ public class TraversalOpProcessor extends AbstractOpProcessor {
 
                 // since the client is lagging we can hold here for a period of time for the client to catch up.
                 // this isn't blocking the IO thread - just a worker.
+                iterationTime += System.nanoTime() - iterationStart;
                 TimeUnit.MILLISECONDS.sleep(10);
+                iterationStart = System.nanoTime();
             }
         }
+
+        final RequestTimers timers = context.getRequestTimers();
+        timers.update(RequestTimers.Phase.ITERATION, iterationTime);
+        timers.update(RequestTimers.Phase.SERIALIZATION, serializationTime);
     }
 }
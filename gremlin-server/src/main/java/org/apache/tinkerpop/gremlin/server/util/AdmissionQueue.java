@@ -0,0 +1,494 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.server.util;
+
+import com.codahale.metrics.Meter;
+import com.codahale.metrics.Timer;
+import org.apache.tinkerpop.gremlin.server.GremlinServer;
+
+import java.util.AbstractQueue;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
+
+import static com.codahale.metrics.MetricRegistry.name;
+
+/**
+ * A bounded work queue for the {@code ThreadPoolExecutor} of the {@code gremlinPool} that decides which request is
+ * evaluated next when all threads are busy. Requests are taken by {@link Priority} first and, within a priority, in
+ * turns between tenants so that a tenant with many queued requests does not hold back the others. Runnables that are
+ * not a {@link Task} are queued with {@link Priority#NORMAL} priority for an unnamed tenant.
+ * <p/>
+ * Load is shed the way CoDel manages a network queue. Once requests have waited longer than the target delay for a
+ * whole interval, the queue starts dropping {@link Task#isSheddable() sheddable} tasks as they are taken, at a rate
+ * that grows with the square root of the number of drops until the delay falls back under the target. A dropped task
+ * is cancelled and told it was {@link Task#shed() shed} so that it can respond to its client. Requests of
+ * {@link Priority#HIGH} priority are never dropped.
+ */
+public class AdmissionQueue extends AbstractQueue<Runnable> implements BlockingQueue<Runnable> {
+
+    private static final String METRIC_PREFIX = name(GremlinServer.class, "admission");
+
+    /**
+     * The priority classes of requests where higher ones are always taken from the queue before lower ones.
+     */
+    public enum Priority {
+        HIGH, NORMAL, LOW;
+
+        /**
+         * Gets the priority from its name, ignoring case.
+         *
+         * @throws IllegalArgumentException if the name is not one of a priority
+         */
+        public static Priority of(final String name) {
+            return Priority.valueOf(name.toUpperCase());
+        }
+    }
+
+    /**
+     * A task that is queued with the {@link Priority} and tenant of the request that it evaluates.
+     */
+    public static class Task extends FutureTask<Void> {
+        private final Priority priority;
+        private final String tenant;
+        private final Runnable onShed;
+
+        /**
+         * @param onShed called when the task is dropped from the queue or {@code null} if it must not be dropped
+         */
+        public Task(final Runnable runnable, final Priority priority, final String tenant, final Runnable onShed) {
+            super(runnable, null);
+            this.priority = priority;
+            this.tenant = tenant;
+            this.onShed = onShed;
+        }
+
+        public Priority getPriority() {
+            return priority;
+        }
+
+        public String getTenant() {
+            return tenant;
+        }
+
+        public boolean isSheddable() {
+            return null != onShed && priority != Priority.HIGH;
+        }
+
+        /**
+         * Cancels the task as it was dropped from the queue without being run.
+         */
+        public void shed() {
+            if (cancel(false)) onShed.run();
+        }
+    }
+
+    private final int capacity;
+    private final long targetDelay;
+    private final long interval;
+    private final LongSupplier clock;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notEmpty = lock.newCondition();
+    private final Condition notFull = lock.newCondition();
+    private final Map<Priority, Tenants> queues = new EnumMap<>(Priority.class);
+    private int count = 0;
+
+    // CoDel state
+    private long firstAboveTime = 0;
+    private long dropNext = 0;
+    private int dropCount = 0;
+    private boolean dropping = false;
+
+    private final Timer queueDelay = MetricManager.INSTANCE.getTimer(METRIC_PREFIX, "queueDelay");
+    private final Meter shedRequests = MetricManager.INSTANCE.getMeter(METRIC_PREFIX, "shed");
+
+    /**
+     * @param capacity the number of runnables that may be queued after which offers fail
+     * @param targetDelay the time in milliseconds that requests may wait in the queue without load being shed
+     * @param interval the time in milliseconds that the delay must stay above the target before load is shed
+     */
+    public AdmissionQueue(final int capacity, final long targetDelay, final long interval) {
+        this(capacity, targetDelay, interval, System::nanoTime);
+    }
+
+    AdmissionQueue(final int capacity, final long targetDelay, final long interval, final LongSupplier clock) {
+        if (capacity <= 0)
+            throw new IllegalArgumentException("The capacity of the queue must be greater than zero");
+        if (targetDelay <= 0 || interval <= 0)
+            throw new IllegalArgumentException("The target delay and interval must be greater than zero");
+
+        this.capacity = capacity;
+        this.targetDelay = TimeUnit.MILLISECONDS.toNanos(targetDelay);
+        this.interval = TimeUnit.MILLISECONDS.toNanos(interval);
+        this.clock = clock;
+        for (Priority priority : Priority.values()) {
+            this.queues.put(priority, new Tenants());
+        }
+    }
+
+    @Override
+    public boolean offer(final Runnable runnable) {
+        if (null == runnable) throw new NullPointerException();
+
+        lock.lock();
+        try {
+            if (count == capacity) return false;
+
+            final Entry entry = new Entry(runnable, clock.getAsLong());
+            queues.get(entry.priority).add(entry);
+            count++;
+            notEmpty.signal();
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void put(final Runnable runnable) throws InterruptedException {
+        offer(runnable, Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public boolean offer(final Runnable runnable, final long timeout, final TimeUnit unit) throws InterruptedException {
+        long nanos = unit.toNanos(timeout);
+        lock.lockInterruptibly();
+        try {
+            while (count == capacity) {
+                if (nanos <= 0) return false;
+                nanos = notFull.awaitNanos(nanos);
+            }
+            return offer(runnable);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public Runnable poll() {
+        final List<Task> shed = new ArrayList<>();
+        lock.lock();
+        try {
+            return dequeue(shed);
+        } finally {
+            lock.unlock();
+            shed(shed);
+        }
+    }
+
+    @Override
+    public Runnable take() throws InterruptedException {
+        final List<Task> shed = new ArrayList<>();
+        lock.lockInterruptibly();
+        try {
+            Runnable runnable;
+            while (null == (runnable = dequeue(shed))) {
+                notEmpty.await();
+            }
+            return runnable;
+        } finally {
+            lock.unlock();
+            shed(shed);
+        }
+    }
+
+    @Override
+    public Runnable poll(final long timeout, final TimeUnit unit) throws InterruptedException {
+        final List<Task> shed = new ArrayList<>();
+        long nanos = unit.toNanos(timeout);
+        lock.lockInterruptibly();
+        try {
+            Runnable runnable;
+            while (null == (runnable = dequeue(shed))) {
+                if (nanos <= 0) return null;
+                nanos = notEmpty.awaitNanos(nanos);
+            }
+            return runnable;
+        } finally {
+            lock.unlock();
+            shed(shed);
+        }
+    }
+
+    @Override
+    public Runnable peek() {
+        lock.lock();
+        try {
+            for (Tenants tenants : queues.values()) {
+                final Entry entry = tenants.peek();
+                if (null != entry) return entry.runnable;
+            }
+            return null;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public boolean remove(final Object o) {
+        lock.lock();
+        try {
+            for (Tenants tenants : queues.values()) {
+                if (tenants.remove(o)) {
+                    count--;
+                    notFull.signal();
+                    return true;
+                }
+            }
+            return false;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public int size() {
+        lock.lock();
+        try {
+            return count;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public int remainingCapacity() {
+        lock.lock();
+        try {
+            return capacity - count;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public int drainTo(final Collection<? super Runnable> c) {
+        return drainTo(c, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public int drainTo(final Collection<? super Runnable> c, final int maxElements) {
+        if (c == this) throw new IllegalArgumentException();
+
+        lock.lock();
+        try {
+            int drained = 0;
+            for (Tenants tenants : queues.values()) {
+                Entry entry;
+                while (drained < maxElements && null != (entry = tenants.poll())) {
+                    c.add(entry.runnable);
+                    count--;
+                    drained++;
+                }
+            }
+            if (drained > 0) notFull.signalAll();
+            return drained;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Gets a snapshot of the queued runnables.
+     */
+    @Override
+    public Iterator<Runnable> iterator() {
+        lock.lock();
+        try {
+            final List<Runnable> snapshot = new ArrayList<>(count);
+            for (Tenants tenants : queues.values()) {
+                tenants.forEach(e -> snapshot.add(e.runnable));
+            }
+            return snapshot.iterator();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Takes the next runnable to run while deciding which tasks to drop along the way, which are to be shed once the
+     * lock is released.
+     */
+    private Runnable dequeue(final List<Task> shed) {
+        while (true) {
+            Entry entry = null;
+            for (Tenants tenants : queues.values()) {
+                entry = tenants.poll();
+                if (null != entry) break;
+            }
+            if (null == entry) return null;
+            count--;
+            notFull.signal();
+
+            final long now = clock.getAsLong();
+            final long sojourn = now - entry.enqueued;
+            if (shouldDrop(entry, sojourn, now)) {
+                shed.add((Task) entry.runnable);
+                continue;
+            }
+
+            queueDelay.update(sojourn, TimeUnit.NANOSECONDS);
+            return entry.runnable;
+        }
+    }
+
+    /**
+     * The CoDel control law: drop once the delay has been above target for an interval and then drop again after
+     * successively shorter intervals while it stays above it.
+     */
+    private boolean shouldDrop(final Entry entry, final long sojourn, final long now) {
+        final boolean okToDrop;
+        if (sojourn < targetDelay || 0 == count) {
+            firstAboveTime = 0;
+            okToDrop = false;
+        } else if (0 == firstAboveTime) {
+            firstAboveTime = now + interval;
+            okToDrop = false;
+        } else {
+            okToDrop = now >= firstAboveTime;
+        }
+
+        if (!okToDrop) {
+            dropping = false;
+            return false;
+        }
+
+        if (!entry.sheddable) return false;
+
+        if (dropping) {
+            if (now < dropNext) return false;
+            dropCount++;
+            dropNext = controlLaw(dropNext);
+            return true;
+        }
+
+        // start dropping again at close to the rate it last stopped at if that was not long ago
+        dropping = true;
+        dropCount = dropCount > 2 && now - dropNext < 16 * interval ? dropCount - 2 : 1;
+        dropNext = controlLaw(now);
+        return true;
+    }
+
+    private long controlLaw(final long t) {
+        return t + (long) (interval / Math.sqrt(dropCount));
+    }
+
+    private void shed(final List<Task> tasks) {
+        for (Task task : tasks) {
+            shedRequests.mark();
+            task.shed();
+        }
+    }
+
+    private static final class Entry {
+        private final Runnable runnable;
+        private final Priority priority;
+        private final String tenant;
+        private final boolean sheddable;
+        private final long enqueued;
+
+        private Entry(final Runnable runnable, final long enqueued) {
+            this.runnable = runnable;
+            this.enqueued = enqueued;
+            if (runnable instanceof Task) {
+                final Task task = (Task) runnable;
+                this.priority = task.getPriority();
+                this.tenant = task.getTenant();
+                this.sheddable = task.isSheddable();
+            } else {
+                this.priority = Priority.NORMAL;
+                this.tenant = "";
+                this.sheddable = false;
+            }
+        }
+    }
+
+    /**
+     * The entries of one priority held in a queue per tenant, where tenants take turns in the order they queued.
+     */
+    private static final class Tenants {
+        private final Map<String, Queue<Entry>> byTenant = new HashMap<>();
+        private final Queue<String> turns = new ArrayDeque<>();
+
+        private void add(final Entry entry) {
+            Queue<Entry> queue = byTenant.get(entry.tenant);
+            if (null == queue) {
+                queue = new ArrayDeque<>();
+                byTenant.put(entry.tenant, queue);
+                turns.add(entry.tenant);
+            }
+            queue.add(entry);
+        }
+
+        private Entry peek() {
+            final String tenant = turns.peek();
+            return null == tenant ? null : byTenant.get(tenant).peek();
+        }
+
+        private Entry poll() {
+            final String tenant = turns.poll();
+            if (null == tenant) return null;
+
+            final Queue<Entry> queue = byTenant.get(tenant);
+            final Entry entry = queue.poll();
+            if (queue.isEmpty())
+                byTenant.remove(tenant);
+            else
+                turns.add(tenant);
+            return entry;
+        }
+
+        private boolean remove(final Object runnable) {
+            for (Map.Entry<String, Queue<Entry>> e : byTenant.entrySet()) {
+                final Iterator<Entry> itty = e.getValue().iterator();
+                while (itty.hasNext()) {
+                    if (itty.next().runnable.equals(runnable)) {
+                        itty.remove();
+                        if (e.getValue().isEmpty()) {
+                            byTenant.remove(e.getKey());
+                            turns.remove(e.getKey());
+                        }
+                        return true;
+                    }
+                }
+            }
+            return false;
+        }
+
+        private void forEach(final Consumer<Entry> consumer) {
+            for (String tenant : turns) {
+                byTenant.get(tenant).forEach(consumer);
+            }
+        }
+    }
+}
@@ -0,0 +1,108 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.server.util;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Decides when a batch of results being iterated for a request is large enough to be written back to the client. A
+ * fixed sizer holds each batch to the same number of results. An adaptive sizer starts from that number and then
+ * keeps a moving estimate of the bytes that each result serializes to, sizing the batches that follow so that they
+ * come close to a target number of bytes. It also lets a batch go early once the time since the last one was written
+ * passes a limit so that results that are slow to produce are not held back from the client. Instances are not
+ * thread-safe and are meant to be used for the iteration of a single request.
+ */
+public class BatchSizer {
+
+    /**
+     * The weight given to the bytes per result of the latest batch in the moving estimate.
+     */
+    private static final double WEIGHT = 0.5d;
+
+    private final int targetBytes;
+    private final long maxDelay;
+    private final LongSupplier clock;
+
+    private int size;
+    private double bytesPerResult = 0d;
+    private long lastWrite;
+
+    /**
+     * @param initialSize the number of results in the first batch
+     * @param targetBytes the number of serialized bytes that a batch should come to or zero to keep batches at the
+     *                    initial size
+     * @param maxDelay the time in milliseconds after which a partial batch is due or zero to always wait for a full one
+     */
+    public BatchSizer(final int initialSize, final int targetBytes, final long maxDelay) {
+        this(initialSize, targetBytes, maxDelay, System::nanoTime);
+    }
+
+    BatchSizer(final int initialSize, final int targetBytes, final long maxDelay, final LongSupplier clock) {
+        if (initialSize < 1)
+            throw new IllegalArgumentException("initialSize must be greater than zero");
+
+        this.size = initialSize;
+        this.targetBytes = targetBytes;
+        this.maxDelay = TimeUnit.MILLISECONDS.toNanos(maxDelay);
+        this.clock = clock;
+        this.lastWrite = clock.getAsLong();
+    }
+
+    /**
+     * Creates a sizer that holds every batch to the same number of results.
+     */
+    public static BatchSizer fixed(final int size) {
+        return new BatchSizer(size, 0, 0);
+    }
+
+    /**
+     * Gets the number of results that the current batch may hold.
+     */
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * Gets the moving estimate of the bytes that a result serializes to which is zero until a batch is written.
+     */
+    public double getBytesPerResult() {
+        return bytesPerResult;
+    }
+
+    /**
+     * Determines if a batch holding the given number of results should be written.
+     */
+    public boolean isDue(final int results) {
+        return results >= size || (results > 0 && maxDelay > 0 && clock.getAsLong() - lastWrite >= maxDelay);
+    }
+
+    /**
+     * Records that a batch of results was serialized to the given number of bytes and resizes the batches that
+     * follow when the sizer is adaptive.
+     */
+    public void written(final long bytes, final int results) {
+        lastWrite = clock.getAsLong();
+        if (targetBytes <= 0 || results <= 0) return;
+
+        final double observed = (double) bytes / results;
+        bytesPerResult = bytesPerResult == 0d ? observed : WEIGHT * observed + (1d - WEIGHT) * bytesPerResult;
+        size = (int) Math.max(1L, Math.min(targetBytes, Math.round(targetBytes / Math.max(bytesPerResult, 1d))));
+    }
+}
@@ -0,0 +1,113 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.server.util;
+
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * An {@code ExecutorService} that runs tasks on another {@code ExecutorService} but only lets as many of them run at
+ * the same time as there are permits in a {@code Semaphore}. Tasks beyond that wait for a permit on the thread they
+ * were given, which is cheap when that is a virtual thread, and once too many tasks are waiting new ones are rejected
+ * as they would be by a {@code ThreadPoolExecutor} whose queue is full.
+ */
+public final class PermitLimitedExecutorService extends AbstractExecutorService {
+
+    private final ExecutorService executorService;
+    private final Semaphore permits;
+    private final int maxWaiting;
+    private final AtomicInteger waiting = new AtomicInteger();
+
+    public PermitLimitedExecutorService(final ExecutorService executorService, final Semaphore permits) {
+        this(executorService, permits, Integer.MAX_VALUE);
+    }
+
+    /**
+     * @param maxWaiting the number of tasks that may wait for a permit before new ones are rejected
+     */
+    public PermitLimitedExecutorService(final ExecutorService executorService, final Semaphore permits,
+                                        final int maxWaiting) {
+        this.executorService = executorService;
+        this.permits = permits;
+        this.maxWaiting = maxWaiting;
+    }
+
+    @Override
+    public void execute(final Runnable command) {
+        if (this.waiting.incrementAndGet() > this.maxWaiting) {
+            this.waiting.decrementAndGet();
+            throw new RejectedExecutionException(String.format("Task was rejected as %s tasks are already waiting to run", this.maxWaiting));
+        }
+
+        try {
+            this.executorService.execute(() -> run(command));
+        } catch (RejectedExecutionException ree) {
+            this.waiting.decrementAndGet();
+            throw ree;
+        }
+    }
+
+    private void run(final Runnable command) {
+        try {
+            this.permits.acquire();
+        } catch (InterruptedException ie) {
+            // the task was cancelled while it waited, so it never gets to run
+            Thread.currentThread().interrupt();
+            return;
+        } finally {
+            this.waiting.decrementAndGet();
+        }
+
+        try {
+            command.run();
+        } finally {
+            this.permits.release();
+        }
+    }
+
+    @Override
+    public void shutdown() {
+        this.executorService.shutdown();
+    }
+
+    @Override
+    public List<Runnable> shutdownNow() {
+        return this.executorService.shutdownNow();
+    }
+
+    @Override
+    public boolean isShutdown() {
+        return this.executorService.isShutdown();
+    }
+
+    @Override
+    public boolean isTerminated() {
+        return this.executorService.isTerminated();
+    }
+
+    @Override
+    public boolean awaitTermination(final long timeout, final TimeUnit unit) throws InterruptedException {
+        return this.executorService.awaitTermination(timeout, unit);
+    }
+}
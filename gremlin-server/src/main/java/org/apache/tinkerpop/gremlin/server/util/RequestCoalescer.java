@@ -0,0 +1,168 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.server.util;
+
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.Meter;
+import com.codahale.metrics.MetricRegistry;
+import org.apache.tinkerpop.gremlin.process.remote.traversal.DefaultRemoteTraverser;
+import org.apache.tinkerpop.gremlin.process.traversal.Bytecode;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
+import org.apache.tinkerpop.gremlin.server.GremlinServer;
+import org.apache.tinkerpop.gremlin.structure.util.detached.DetachedFactory;
+import org.apache.tinkerpop.gremlin.structure.util.reference.ReferenceFactory;
+import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
+import org.apache.tinkerpop.gremlin.util.Tokens;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+
+import static com.codahale.metrics.MetricRegistry.name;
+
+/**
+ * Lets identical read-only {@link Bytecode} traversals that arrive while one of them is being evaluated share the
+ * results of that evaluation rather than each evaluating the traversal again. The first request for a traversal
+ * leads the "flight" and iterates its results before it writes any of them, recording detached copies as it goes, so
+ * the flight lands as soon as the traversal is done and the requests that joined it never wait on how fast the client
+ * of the leader reads. Requests that arrive after the flight landed start a new one, so results are never served from
+ * an earlier flight as they would be from the {@link TraversalResultCache}.
+ * <p/>
+ * A flight that fails or produces more than the maximum number of results to share lands without results and the
+ * requests that joined it then evaluate the traversal themselves.
+ */
+public class RequestCoalescer {
+
+    private static final String METRIC_PREFIX = name(GremlinServer.class, "coalescer");
+
+    private final ConcurrentMap<TraversalResultCache.Key, CompletableFuture<List<Object>>> flights = new ConcurrentHashMap<>();
+    private final int maxResults;
+
+    private final Meter coalesced = MetricManager.INSTANCE.getMeter(METRIC_PREFIX, "coalesced");
+
+    /**
+     * @param maxResults the number of results above which a flight no longer records results to share
+     */
+    public RequestCoalescer(final int maxResults) {
+        if (maxResults <= 0)
+            throw new IllegalArgumentException("The maximum number of results to share must be greater than zero");
+
+        this.maxResults = maxResults;
+
+        final MetricRegistry registry = MetricManager.INSTANCE.getRegistry();
+        final String inFlight = name(METRIC_PREFIX, "inFlight");
+        registry.remove(inFlight);
+        registry.register(inFlight, (Gauge<Integer>) this.flights::size);
+    }
+
+    /**
+     * Determines if the traversal may share its results with identical ones, which is only the case for the same
+     * traversals whose results may be cached by the {@link TraversalResultCache}.
+     */
+    public static boolean isCoalescable(final Traversal.Admin<?, ?> traversal) {
+        return TraversalResultCache.isCacheable(traversal);
+    }
+
+    /**
+     * Identifies a traversal submitted to a traversal source, where the way the properties of its elements are
+     * materialized is part of the identity as it changes the results that are returned.
+     */
+    public static TraversalResultCache.Key key(final String traversalSourceName, final Bytecode bytecode,
+                                        final String materializeProperties) {
+        return TraversalResultCache.key(traversalSourceName + ":" + materializeProperties, bytecode);
+    }
+
+    /**
+     * Joins the flight of the traversal with the given key if there is one and waits for it to land, which is no
+     * longer than it takes the leader to evaluate the traversal. Returns the shared results or {@code null} if there
+     * was no flight or it landed without results, in which case the caller must evaluate the traversal itself and
+     * lead a flight of its own with {@link #lead(TraversalResultCache.Key, Iterator, String)}.
+     */
+    public List<Object> join(final TraversalResultCache.Key key) throws InterruptedException {
+        final CompletableFuture<List<Object>> flight = getFlight(key);
+        if (null == flight) return null;
+
+        try {
+            final List<Object> results = flight.get();
+            if (null != results) this.coalesced.mark();
+            return results;
+        } catch (ExecutionException ex) {
+            return null;
+        }
+    }
+
+    CompletableFuture<List<Object>> getFlight(final TraversalResultCache.Key key) {
+        return this.flights.get(key);
+    }
+
+    /**
+     * Leads a flight for the traversal with the given key by iterating up to the maximum number of results to share
+     * from the iterator of its results and lands it before returning. Returns an iterator over the same results as
+     * the given one, which is that iterator unchanged if an identical traversal started a flight in the meantime.
+     */
+    public Iterator<?> lead(final TraversalResultCache.Key key, final Iterator<?> results,
+                            final String materializeProperties) {
+        final CompletableFuture<List<Object>> flight = new CompletableFuture<>();
+        if (null != this.flights.putIfAbsent(key, flight))
+            return results;
+
+        final boolean withProperties = materializeProperties.equals(Tokens.MATERIALIZE_PROPERTIES_ALL);
+        final List<Object> iterated = new ArrayList<>();
+        List<Object> shared = null;
+        try {
+            while (iterated.size() < this.maxResults && results.hasNext()) {
+                iterated.add(results.next());
+            }
+
+            // too many to share lets the requests that joined evaluate the traversal on their own
+            if (!results.hasNext()) {
+                shared = new ArrayList<>(iterated.size());
+                for (final Object result : iterated) {
+                    shared.add(detach(result, withProperties));
+                }
+            }
+        } finally {
+            this.flights.remove(key, flight);
+            flight.complete(shared);
+        }
+
+        return null == shared ? IteratorUtils.concat(iterated.iterator(), (Iterator<Object>) results) : iterated.iterator();
+    }
+
+    /**
+     * Detaches the result the way it would be for the requests that join the flight, so that detaching it again
+     * for each of them while it is serialized leaves it as it is.
+     */
+    private static Object detach(final Object result, final boolean withProperties) {
+        if (result instanceof Traverser) {
+            final Traverser<?> traverser = (Traverser<?>) result;
+            return new DefaultRemoteTraverser<>(detachValue(traverser.get(), withProperties), traverser.bulk());
+        }
+        return detachValue(result, withProperties);
+    }
+
+    private static Object detachValue(final Object value, final boolean withProperties) {
+        return withProperties ? DetachedFactory.detach(value, true) : ReferenceFactory.detach(value);
+    }
+}
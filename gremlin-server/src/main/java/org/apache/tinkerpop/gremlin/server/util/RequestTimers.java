@@ -0,0 +1,117 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.server.util;
+
+import com.codahale.metrics.Timer;
+import org.apache.tinkerpop.gremlin.server.GremlinServer;
+import org.apache.tinkerpop.gremlin.util.Tokens;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import static com.codahale.metrics.MetricRegistry.name;
+
+/**
+ * The timers that break the processing of a request down into its phases. They are named for the op of the request
+ * and the traversal source or graph it targets as {@code GremlinServer.request.<op>.<alias>.<phase>}, leaving out the
+ * alias when there is none, and are kept by the {@link MetricManager} so that the configured reporters export them
+ * along with the other metrics of the server. The op is given by the client, so only the ops that Gremlin Server
+ * knows name their own timers and all others share the {@link #OTHER_OP} timers.
+ */
+public class RequestTimers {
+
+    public enum Phase {
+        /**
+         * The time from the request being read from the channel until its evaluation starts.
+         */
+        QUEUE,
+
+        /**
+         * The time taken to evaluate a script to its result.
+         */
+        EVALUATION,
+
+        /**
+         * The time taken to apply the strategies of a traversal.
+         */
+        STRATEGIES,
+
+        /**
+         * The time spent producing the results of the request across all of its batches.
+         */
+        ITERATION,
+
+        /**
+         * The time spent serializing the batches of results of the request.
+         */
+        SERIALIZATION,
+
+        /**
+         * The time from a response being written to the channel until it is written to the socket, which is recorded
+         * for each response.
+         */
+        WRITE;
+
+        private final String metricName = name().toLowerCase();
+    }
+
+    /**
+     * The name that stands in for any op that is not one of {@link #KNOWN_OPS}.
+     */
+    public static final String OTHER_OP = "other";
+
+    /**
+     * The ops that name their own timers.
+     */
+    public static final Set<String> KNOWN_OPS = Collections.unmodifiableSet(new HashSet<>(Arrays.asList(
+            Tokens.OPS_EVAL, Tokens.OPS_BYTECODE, Tokens.OPS_AUTHENTICATION, Tokens.OPS_CLOSE, Tokens.OPS_INVALID)));
+
+    private final String prefix;
+    private final Timer[] timers = new Timer[Phase.values().length];
+
+    public RequestTimers(final String op, final String alias) {
+        this.prefix = name(GremlinServer.class, "request", KNOWN_OPS.contains(op) ? op : OTHER_OP, alias);
+    }
+
+    public Timer getTimer(final Phase phase) {
+        Timer timer = timers[phase.ordinal()];
+        if (null == timer) {
+            timer = MetricManager.INSTANCE.getTimer(prefix, phase.metricName);
+            timers[phase.ordinal()] = timer;
+        }
+        return timer;
+    }
+
+    /**
+     * Records the time that a phase took in nanoseconds.
+     */
+    public void update(final Phase phase, final long duration) {
+        getTimer(phase).update(duration, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Records the time that a phase took from its start, as given by {@code System.nanoTime()}, until now.
+     */
+    public void since(final Phase phase, final long startTime) {
+        update(phase, System.nanoTime() - startTime);
+    }
+}
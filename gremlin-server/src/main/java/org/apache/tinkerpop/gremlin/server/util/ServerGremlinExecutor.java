@@ -42,6 +42,7 @@ import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
@@ -66,10 +67,13 @@ public class ServerGremlinExecutor {
 
     private final ScheduledExecutorService scheduledExecutorService;
     private final ExecutorService gremlinExecutorService;
+    private final Semaphore evaluationPermits;
     private final GremlinExecutor gremlinExecutor;
 
     private final Map<String,Object> hostOptions = new ConcurrentHashMap<>();
 
+    private UnobservedWriteListener unobservedWriteListener = UnobservedWriteListener.NONE;
+
     /**
      * Create a new object from {@link Settings} where thread pools are externally assigned. Note that if the
      * {@code scheduleExecutorServiceClass} is set to {@code null} it will be created via
@@ -97,14 +101,37 @@ public class ServerGremlinExecutor {
             throw new RuntimeException(e);
         }
 
-        if (null == gremlinExecutorService) {
-            final ThreadFactory threadFactoryGremlin = ThreadFactoryUtil.create("exec-%d");
-            final BlockingQueue<Runnable> queue = new ArrayBlockingQueue<>(settings.maxWorkQueueSize);
-            this.gremlinExecutorService = new ThreadPoolExecutor(settings.gremlinPool, settings.gremlinPool,
-                    0L, TimeUnit.MILLISECONDS, queue, threadFactoryGremlin,
-                    new ThreadPoolExecutor.AbortPolicy());
+        if (null == gremlinExecutorService && settings.useVirtualThreads && VirtualThreads.isSupported()) {
+            // each request and session gets a virtual thread of its own so that there is no cap on sessions, but
+            // the evaluations they run are still limited to keep the CPU from being oversubscribed. requests that
+            // wait for a permit are bounded by maxWorkQueueSize as they would be in the queue of the gremlinPool.
+            // note that the build runs its tests on a JVM without virtual threads so this path is not covered there
+            this.gremlinExecutorService = VirtualThreads.newThreadPerTaskExecutor("exec-vt-");
+            this.evaluationPermits = new Semaphore(settings.maxConcurrentEvaluations > 0 ?
+                    settings.maxConcurrentEvaluations : settings.gremlinPool, true);
+            if (settings.useAdmissionControl)
+                logger.warn("The useAdmissionControl setting is ignored as requests run on virtual threads");
         } else {
-            this.gremlinExecutorService = gremlinExecutorService;
+            if (settings.useVirtualThreads) {
+                logger.warn(null == gremlinExecutorService ?
+                        "The useVirtualThreads setting is ignored as virtual threads are not supported by this JVM" :
+                        "The useVirtualThreads setting is ignored as an ExecutorService was supplied to Gremlin Server");
+            }
+
+            if (null == gremlinExecutorService) {
+                final ThreadFactory threadFactoryGremlin = ThreadFactoryUtil.create("exec-%d");
+                final BlockingQueue<Runnable> queue = settings.useAdmissionControl ?
+                        new AdmissionQueue(settings.maxWorkQueueSize, settings.admissionTargetDelay, settings.admissionInterval) :
+                        new ArrayBlockingQueue<>(settings.maxWorkQueueSize);
+                this.gremlinExecutorService = new ThreadPoolExecutor(settings.gremlinPool, settings.gremlinPool,
+                        0L, TimeUnit.MILLISECONDS, queue, threadFactoryGremlin,
+                        new ThreadPoolExecutor.AbortPolicy());
+            } else {
+                if (settings.useAdmissionControl)
+                    logger.warn("The useAdmissionControl setting is ignored as an ExecutorService was supplied to Gremlin Server");
+                this.gremlinExecutorService = gremlinExecutorService;
+            }
+            this.evaluationPermits = null;
         }
 
         if (null == scheduledExecutorService) {
@@ -122,7 +149,9 @@ public class ServerGremlinExecutor {
                 .beforeEval(b -> this.graphManager.rollbackAll())
                 .afterTimeout((b, e) -> this.graphManager.rollbackAll())
                 .globalBindings(this.graphManager.getAsBindings())
-                .executorService(this.gremlinExecutorService)
+                .executorService(null == this.evaluationPermits ?
+                        this.gremlinExecutorService :
+                        new PermitLimitedExecutorService(this.gremlinExecutorService, this.evaluationPermits, settings.maxWorkQueueSize))
                 .scheduledExecutorService(this.scheduledExecutorService);
 
         settings.scriptEngines.forEach((k, v) -> {
@@ -184,7 +213,8 @@ public class ServerGremlinExecutor {
 
     private void registerMetrics(final String engineName) {
         final GremlinScriptEngine engine = gremlinExecutor.getScriptEngineManager().getEngineByName(engineName);
-        MetricManager.INSTANCE.registerGremlinScriptEngineMetrics(engine, engineName, "sessionless", "class-cache");
+        MetricManager.INSTANCE.registerGremlinScriptEngineMetrics(engine, engineName, "sessionless",
+                engine instanceof GremlinLangScriptEngine ? "parse-cache" : "class-cache");
     }
 
     public void addHostOption(final String key, final Object value) {
@@ -215,6 +245,16 @@ public class ServerGremlinExecutor {
         return gremlinExecutorService;
     }
 
+    /**
+     * Gets the permits that limit the number of requests evaluated at the same time when requests run on virtual
+     * threads. The {@code ExecutorService} of the {@link GremlinExecutor} already holds a permit for each task it
+     * runs, but a {@code Session} run directly on the {@link #getGremlinExecutorService()} must take one for each
+     * request it evaluates. Returns {@code null} when the number of evaluations is bounded by the thread pool itself.
+     */
+    public Semaphore getEvaluationPermits() {
+        return evaluationPermits;
+    }
+
     public GraphManager getGraphManager() {
         return graphManager;
     }
@@ -226,4 +266,16 @@ public class ServerGremlinExecutor {
     public List<LifeCycleHook> getHooks() {
         return hooks;
     }
+
+    /**
+     * Gets the listener to notify of the graphs changed by requests whose writes raise no mutation events, like
+     * scripts, which is {@link UnobservedWriteListener#NONE} unless something depends on them.
+     */
+    public UnobservedWriteListener getUnobservedWriteListener() {
+        return unobservedWriteListener;
+    }
+
+    public void setUnobservedWriteListener(final UnobservedWriteListener unobservedWriteListener) {
+        this.unobservedWriteListener = null == unobservedWriteListener ? UnobservedWriteListener.NONE : unobservedWriteListener;
+    }
 }
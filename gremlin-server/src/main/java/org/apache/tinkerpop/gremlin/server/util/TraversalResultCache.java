@@ -0,0 +1,461 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.server.util;
+
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.Meter;
+import com.codahale.metrics.MetricRegistry;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.apache.tinkerpop.gremlin.process.traversal.Bytecode;
+import org.apache.tinkerpop.gremlin.process.traversal.Order;
+import org.apache.tinkerpop.gremlin.process.traversal.Step;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.step.ComparatorHolder;
+import org.apache.tinkerpop.gremlin.process.traversal.step.LambdaHolder;
+import org.apache.tinkerpop.gremlin.process.traversal.step.Mutating;
+import org.apache.tinkerpop.gremlin.process.traversal.step.Seedable;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.CallStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.sideEffect.IoStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.sideEffect.ProfileSideEffectStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.ProfileStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.event.MutationListener;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.decoration.EventStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.util.BytecodeHelper;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
+import org.apache.tinkerpop.gremlin.server.GremlinServer;
+import org.apache.tinkerpop.gremlin.structure.Edge;
+import org.apache.tinkerpop.gremlin.structure.Graph;
+import org.apache.tinkerpop.gremlin.structure.Property;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.structure.VertexProperty;
+import org.apache.tinkerpop.gremlin.util.function.Lambda;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.codahale.metrics.MetricRegistry.name;
+
+/**
+ * A cache of the results of read-only {@link Bytecode} traversals keyed by the traversal source they were submitted
+ * to and their bytecode, where bindings are replaced by their values so that the same traversal with different
+ * binding names shares a result. The cache is bounded by the total number of results it holds and results are only
+ * served while the graph they came from has not been mutated since they were computed.
+ * <p/>
+ * Mutations are observed through an {@link EventStrategy} that is added to every mutating traversal processed with
+ * {@link #invalidateOnMutation(Traversal.Admin, Graph)}. Each mutation event, and the completion of a traversal that
+ * raised one, moves the graph to a new version which leaves all results computed against earlier versions stale.
+ * Traversals with lambdas, {@code io()} or {@code call()} may change the graph without raising events, so their
+ * completion always moves the graph to a new version. As an {@link UnobservedWriteListener} the cache is also told
+ * of requests that may write without raising events, like scripts, and moves the graphs they bound to a new version
+ * once they complete. Changes that are not made through Gremlin Server, like those of an embedded graph or of a
+ * script that reaches graphs it did not bind, are not observed and need a call to {@link #invalidate(Graph)} or must
+ * be tolerated up to the expiration time.
+ */
+public class TraversalResultCache implements UnobservedWriteListener {
+
+    private static final String METRIC_PREFIX = name(GremlinServer.class, "resultCache");
+
+    private final Cache<Key, Entry> cache;
+    private final Map<Graph, AtomicLong> versions = new ConcurrentHashMap<>();
+    private final int maxResultsPerEntry;
+
+    private final Meter hits = MetricManager.INSTANCE.getMeter(METRIC_PREFIX, "hits");
+    private final Meter misses = MetricManager.INSTANCE.getMeter(METRIC_PREFIX, "misses");
+    private final Meter evictions = MetricManager.INSTANCE.getMeter(METRIC_PREFIX, "evictions");
+    private final Meter invalidations = MetricManager.INSTANCE.getMeter(METRIC_PREFIX, "invalidations");
+
+    /**
+     * @param maxSize the total number of results that may be cached across all traversals
+     * @param maxResultsPerEntry the number of results above which the results of a traversal are not cached
+     * @param expirationTime the time in milliseconds after which results are evicted regardless of mutations
+     */
+    public TraversalResultCache(final long maxSize, final int maxResultsPerEntry, final long expirationTime) {
+        if (maxSize <= 0)
+            throw new IllegalArgumentException("The maximum size of the result cache must be greater than zero");
+        if (maxResultsPerEntry <= 0)
+            throw new IllegalArgumentException("The maximum number of results per entry must be greater than zero");
+
+        this.maxResultsPerEntry = maxResultsPerEntry;
+        final Caffeine<Key, Entry> builder = Caffeine.newBuilder()
+                .maximumWeight(maxSize)
+                .weigher((Key k, Entry e) -> e.results.size() + 1)
+                .removalListener((Key k, Entry e, com.github.benmanes.caffeine.cache.RemovalCause cause) -> {
+                    if (cause.wasEvicted()) this.evictions.mark();
+                });
+        this.cache = (expirationTime > 0 ? builder.expireAfterWrite(expirationTime, TimeUnit.MILLISECONDS) : builder).build();
+
+        registerGauge(name(METRIC_PREFIX, "size"), this.cache::estimatedSize);
+        registerGauge(name(METRIC_PREFIX, "hitRatio"), this::getHitRatio);
+    }
+
+    /**
+     * Determines if the results of the traversal can be cached, which is not the case for traversals that mutate
+     * the graph or whose results may differ between two executions over the same data, such as those with lambdas,
+     * random steps, service calls or {@code profile()}. An {@code order()} is only random when it sorts with
+     * {@link Order#shuffle} and otherwise does not prevent caching.
+     */
+    public static boolean isCacheable(final Traversal.Admin<?, ?> traversal) {
+        return !TraversalHelper.anyStepRecursively(s -> s instanceof Mutating || isUnobservable(s) || isRandom(s) ||
+                s instanceof ProfileSideEffectStep || s instanceof ProfileStep, traversal);
+    }
+
+    public static boolean isMutating(final Traversal.Admin<?, ?> traversal) {
+        return TraversalHelper.anyStepRecursively(s -> s instanceof Mutating, traversal);
+    }
+
+    /**
+     * Determines if the traversal is known not to change the graph, which is not the case if it has {@link Mutating}
+     * steps or steps like lambdas, {@code io()} or {@code call()} whose changes raise no mutation events.
+     */
+    public static boolean isReadOnly(final Traversal.Admin<?, ?> traversal) {
+        return !TraversalHelper.anyStepRecursively(s -> s instanceof Mutating || isUnobservable(s), traversal);
+    }
+
+    /**
+     * Determines if the bytecode is known not to change the graph before it is turned into a traversal, which is not
+     * the case if any of its instructions, including those of its child traversals, may add a {@link Mutating} step,
+     * {@code io()} or {@code call()}, takes a {@link Lambda} or is not a known step.
+     */
+    public static boolean isReadOnly(final Bytecode bytecode) {
+        for (final Bytecode.Instruction instruction : bytecode.getInstructions()) {
+            final List<Class<? extends Step>> steps;
+            try {
+                steps = BytecodeHelper.findPossibleTraversalSteps(instruction.getOperator());
+            } catch (IllegalArgumentException iae) {
+                return false;
+            }
+
+            if (steps.stream().anyMatch(s -> Mutating.class.isAssignableFrom(s) || CallStep.class.isAssignableFrom(s) ||
+                    IoStep.class.isAssignableFrom(s)))
+                return false;
+
+            for (final Object arg : instruction.getArguments()) {
+                if (arg instanceof Lambda || (arg instanceof Bytecode && !isReadOnly((Bytecode) arg)))
+                    return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isUnobservable(final Step<?, ?> step) {
+        return step instanceof LambdaHolder || step instanceof CallStep || step instanceof IoStep;
+    }
+
+    private static boolean isRandom(final Step<?, ?> step) {
+        if (!(step instanceof Seedable)) return false;
+        if (step instanceof ComparatorHolder)
+            return ((ComparatorHolder<?, ?>) step).getComparators().stream().anyMatch(p -> (Comparator) p.getValue1() == Order.shuffle);
+        return true;
+    }
+
+    /**
+     * Identifies the traversal submitted to the traversal source.
+     */
+    public static Key key(final String traversalSourceName, final Bytecode bytecode) {
+        return new Key(traversalSourceName, normalize(bytecode));
+    }
+
+    /**
+     * Gets the current version of the graph which is to be given to {@link #put(Key, Graph, long, List)} for results
+     * computed after this call.
+     */
+    public long version(final Graph graph) {
+        return this.versions.computeIfAbsent(graph, g -> new AtomicLong()).get();
+    }
+
+    /**
+     * Gets the results for the key if they were computed against the current version of the graph.
+     */
+    public List<Object> get(final Key key, final Graph graph) {
+        final Entry entry = this.cache.getIfPresent(key);
+        if (null != entry && entry.version == version(graph)) {
+            this.hits.mark();
+            return entry.results;
+        }
+
+        if (null != entry) this.cache.invalidate(key);
+        this.misses.mark();
+        return null;
+    }
+
+    /**
+     * Caches the results unless there are too many of them. The version is the one of the graph before the
+     * traversal started, so results that raced with a mutation are never served.
+     */
+    public void put(final Key key, final Graph graph, final long version, final List<Object> results) {
+        if (results.size() <= this.maxResultsPerEntry)
+            this.cache.put(key, new Entry(version, Collections.unmodifiableList(new ArrayList<>(results))));
+    }
+
+    /**
+     * Makes all results computed against the graph stale.
+     */
+    public void invalidate(final Graph graph) {
+        this.versions.computeIfAbsent(graph, g -> new AtomicLong()).incrementAndGet();
+        this.invalidations.mark();
+    }
+
+    /**
+     * Makes all results computed against the graphs stale once a request that may have changed them without
+     * raising mutation events completes.
+     */
+    @Override
+    public void onWrite(final Set<Graph> graphs) {
+        graphs.forEach(this::invalidate);
+    }
+
+    public void invalidateAll() {
+        this.versions.values().forEach(AtomicLong::incrementAndGet);
+        this.cache.invalidateAll();
+        this.invalidations.mark();
+    }
+
+    /**
+     * Prepares the invalidation of the results of the graph for a traversal that is not {@link #isReadOnly read-only}.
+     * The returned {@code Runnable} is to be called once the traversal completes, whether it succeeded or not, and is
+     * {@code null} for a read-only traversal. Mutations of {@link Mutating} steps are observed with
+     * {@link #invalidateOnMutation(Traversal.Admin, Graph)} while a traversal with lambdas, {@code io()} or
+     * {@code call()} always invalidates the results once it completes as its changes cannot be observed.
+     */
+    public Runnable invalidateAfter(final Traversal.Admin<?, ?> traversal, final Graph graph) {
+        if (isReadOnly(traversal)) return null;
+
+        final Runnable onMutation = isMutating(traversal) ? invalidateOnMutation(traversal, graph) : null;
+        return TraversalHelper.anyStepRecursively(TraversalResultCache::isUnobservable, traversal) ?
+                () -> invalidate(graph) : onMutation;
+    }
+
+    /**
+     * Adds an {@link EventStrategy} to the traversal that invalidates the results of the graph on each mutation it
+     * makes. The returned {@code Runnable} is to be called once the traversal completes, whether it succeeded or not,
+     * to invalidate them again if anything was mutated, which accounts for transactions that only make their
+     * changes visible on commit.
+     */
+    public Runnable invalidateOnMutation(final Traversal.Admin<?, ?> traversal, final Graph graph) {
+        final InvalidatingListener listener = new InvalidatingListener(graph);
+        traversal.setStrategies(traversal.getStrategies().clone().addStrategies(
+                EventStrategy.build().addListener(listener).detach(EventStrategy.Detachment.NONE).create()));
+        return () -> {
+            if (listener.mutated.get()) invalidate(graph);
+        };
+    }
+
+    public int getMaxResultsPerEntry() {
+        return this.maxResultsPerEntry;
+    }
+
+    public double getHitRatio() {
+        final long hitCount = this.hits.getCount();
+        final long total = hitCount + this.misses.getCount();
+        return 0 == total ? 0d : (double) hitCount / total;
+    }
+
+    private static void registerGauge(final String name, final Gauge<?> gauge) {
+        final MetricRegistry registry = MetricManager.INSTANCE.getRegistry();
+        registry.remove(name);
+        registry.register(name, gauge);
+    }
+
+    /**
+     * Converts the bytecode to nested lists of operators and arguments with the bindings replaced by their values.
+     */
+    private static Object normalize(final Object arg) {
+        if (arg instanceof Bytecode) {
+            final Bytecode bytecode = (Bytecode) arg;
+            return Arrays.asList(normalize(bytecode.getSourceInstructions()), normalize(bytecode.getStepInstructions()));
+        } else if (arg instanceof List) {
+            final List<Object> normalized = new ArrayList<>(((List<?>) arg).size());
+            for (final Object o : (List<?>) arg) {
+                normalized.add(normalize(o));
+            }
+            return normalized;
+        } else if (arg instanceof Bytecode.Instruction) {
+            final Bytecode.Instruction instruction = (Bytecode.Instruction) arg;
+            final List<Object> normalized = new ArrayList<>(instruction.getArguments().length + 1);
+            normalized.add(instruction.getOperator());
+            for (final Object o : instruction.getArguments()) {
+                normalized.add(normalize(o));
+            }
+            return normalized;
+        } else if (arg instanceof Bytecode.Binding) {
+            return normalize(((Bytecode.Binding<?>) arg).value());
+        } else if (arg instanceof Object[]) {
+            return normalize(Arrays.asList((Object[]) arg));
+        } else {
+            return arg;
+        }
+    }
+
+    /**
+     * Identifies the results of a traversal submitted to a traversal source.
+     */
+    public static final class Key {
+        private final String traversalSourceName;
+        private final Object bytecode;
+        private final int hashCode;
+
+        private Key(final String traversalSourceName, final Object bytecode) {
+            this.traversalSourceName = traversalSourceName;
+            this.bytecode = bytecode;
+            this.hashCode = Objects.hash(traversalSourceName, bytecode);
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key)) return false;
+            final Key key = (Key) o;
+            return this.hashCode == key.hashCode &&
+                    this.traversalSourceName.equals(key.traversalSourceName) &&
+                    this.bytecode.equals(key.bytecode);
+        }
+
+        @Override
+        public int hashCode() {
+            return this.hashCode;
+        }
+    }
+
+    private static final class Entry {
+        private final long version;
+        private final List<Object> results;
+
+        private Entry(final long version, final List<Object> results) {
+            this.version = version;
+            this.results = results;
+        }
+    }
+
+    /**
+     * Wraps the iterator of the results of a traversal to record them as they are iterated.
+     */
+    public static final class RecordingIterator implements Iterator<Object> {
+        private final Iterator<?> iterator;
+        private final int limit;
+        private List<Object> results = new ArrayList<>();
+        private boolean exhausted = false;
+
+        public RecordingIterator(final Iterator<?> iterator, final int limit) {
+            this.iterator = iterator;
+            this.limit = limit;
+        }
+
+        @Override
+        public boolean hasNext() {
+            final boolean hasNext = this.iterator.hasNext();
+            if (!hasNext) this.exhausted = true;
+            return hasNext;
+        }
+
+        @Override
+        public Object next() {
+            final Object result = this.iterator.next();
+            if (null != this.results) {
+                if (this.results.size() < this.limit)
+                    this.results.add(result);
+                else
+                    this.results = null;
+            }
+            return result;
+        }
+
+        /**
+         * Gets all the results if the iterator was exhausted without exceeding the limit and {@code null} otherwise.
+         */
+        public List<Object> getResults() {
+            return this.exhausted ? this.results : null;
+        }
+    }
+
+    private final class InvalidatingListener implements MutationListener {
+        private final Graph graph;
+        private final AtomicBoolean mutated = new AtomicBoolean(false);
+
+        private InvalidatingListener(final Graph graph) {
+            this.graph = graph;
+        }
+
+        private void mutated() {
+            this.mutated.set(true);
+            invalidate(this.graph);
+        }
+
+        @Override
+        public void vertexAdded(final Vertex vertex) {
+            mutated();
+        }
+
+        @Override
+        public void vertexRemoved(final Vertex vertex) {
+            mutated();
+        }
+
+        @Override
+        public void vertexPropertyChanged(final Vertex element, final VertexProperty oldValue, final Object setValue, final Object... vertexPropertyKeyValues) {
+            mutated();
+        }
+
+        @Override
+        public void vertexPropertyRemoved(final VertexProperty vertexProperty) {
+            mutated();
+        }
+
+        @Override
+        public void edgeAdded(final Edge edge) {
+            mutated();
+        }
+
+        @Override
+        public void edgeRemoved(final Edge edge) {
+            mutated();
+        }
+
+        @Override
+        public void edgePropertyChanged(final Edge element, final Property oldValue, final Object setValue) {
+            mutated();
+        }
+
+        @Override
+        public void edgePropertyRemoved(final Edge element, final Property property) {
+            mutated();
+        }
+
+        @Override
+        public void vertexPropertyPropertyChanged(final VertexProperty element, final Property oldValue, final Object setValue) {
+            mutated();
+        }
+
+        @Override
+        public void vertexPropertyPropertyRemoved(final VertexProperty element, final Property property) {
+            mutated();
+        }
+    }
+}
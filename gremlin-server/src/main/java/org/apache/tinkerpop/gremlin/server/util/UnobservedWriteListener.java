@@ -0,0 +1,68 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.server.util;
+
+import org.apache.tinkerpop.gremlin.process.traversal.TraversalSource;
+import org.apache.tinkerpop.gremlin.server.GraphManager;
+import org.apache.tinkerpop.gremlin.structure.Graph;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Notified when a request completes that may have changed graphs without raising mutation events, like the
+ * evaluation of a script, so that state derived from those graphs, like the {@link TraversalResultCache}, can be
+ * discarded.
+ */
+@FunctionalInterface
+public interface UnobservedWriteListener {
+
+    /**
+     * A listener that ignores all writes which is used when nothing depends on them.
+     */
+    UnobservedWriteListener NONE = graphs -> {};
+
+    /**
+     * Called once the request completed, whether it succeeded or not, with the graphs it may have changed.
+     */
+    void onWrite(final Set<Graph> graphs);
+
+    /**
+     * Resolves the graphs a request may have changed from the aliases it bound, where each alias names either a
+     * graph or a traversal source. A request that bound no aliases could have reached any graph so all of them are
+     * returned.
+     */
+    static Set<Graph> graphsOf(final GraphManager graphManager, final Map<String, String> aliases) {
+        final Collection<String> names = null == aliases || aliases.isEmpty() ?
+                graphManager.getGraphNames() : aliases.values();
+        final Set<Graph> graphs = new HashSet<>();
+        for (final String name : names) {
+            final Graph graph = graphManager.getGraph(name);
+            if (null != graph) {
+                graphs.add(graph);
+            } else {
+                final TraversalSource g = graphManager.getTraversalSource(name);
+                if (null != g) graphs.add(g.getGraph());
+            }
+        }
+        return graphs;
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.server.util;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Access to the virtual threads of Java 21 and later. Gremlin Server still builds for older versions of Java, so the
+ * virtual thread API is resolved reflectively and is only usable when {@link #isSupported()} is {@code true}.
+ */
+public final class VirtualThreads {
+    private static final String SERVER_THREAD_PREFIX = "gremlin-server-";
+
+    private static final Method OF_VIRTUAL;
+    private static final Method NAME;
+    private static final Method FACTORY;
+    private static final Method NEW_THREAD_PER_TASK_EXECUTOR;
+
+    static {
+        Method ofVirtual = null;
+        Method name = null;
+        Method factory = null;
+        Method newThreadPerTaskExecutor = null;
+        try {
+            final Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+            ofVirtual = Thread.class.getMethod("ofVirtual");
+            name = builderClass.getMethod("name", String.class, long.class);
+            factory = builderClass.getMethod("factory");
+            newThreadPerTaskExecutor = Executors.class.getMethod("newThreadPerTaskExecutor", ThreadFactory.class);
+
+            // virtual threads were a preview feature before Java 21 and fail to build without --enable-preview
+            ofVirtual.invoke(null);
+        } catch (Exception ex) {
+            ofVirtual = null;
+        }
+
+        OF_VIRTUAL = ofVirtual;
+        NAME = name;
+        FACTORY = factory;
+        NEW_THREAD_PER_TASK_EXECUTOR = newThreadPerTaskExecutor;
+    }
+
+    private VirtualThreads() {}
+
+    /**
+     * Determines if the running JVM can create virtual threads.
+     */
+    public static boolean isSupported() {
+        return OF_VIRTUAL != null;
+    }
+
+    /**
+     * Creates an {@code ExecutorService} that starts a new virtual thread for each task, where the threads are named
+     * with the given pattern (e.g. {@code "exec-vt-"}) followed by a counter.
+     *
+     * @throws UnsupportedOperationException if virtual threads are not supported by the running JVM
+     */
+    public static ExecutorService newThreadPerTaskExecutor(final String pattern) {
+        if (!isSupported())
+            throw new UnsupportedOperationException("Virtual threads require Java 21 or later");
+
+        try {
+            final Object builder = NAME.invoke(OF_VIRTUAL.invoke(null), SERVER_THREAD_PREFIX + pattern, 0L);
+            return (ExecutorService) NEW_THREAD_PER_TASK_EXECUTOR.invoke(null, FACTORY.invoke(builder));
+        } catch (Exception ex) {
+            throw new IllegalStateException("Could not create an ExecutorService for virtual threads", ex);
+        }
+    }
+}
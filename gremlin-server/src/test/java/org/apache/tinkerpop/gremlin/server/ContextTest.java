@@ -18,19 +18,25 @@
  */
 package org.apache.tinkerpop.gremlin.server;
 
+import io.netty.channel.ChannelFuture;
 import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.embedded.EmbeddedChannel;
 import nl.altindag.log.LogCaptor;
 import org.apache.tinkerpop.gremlin.util.Tokens;
 import org.apache.tinkerpop.gremlin.util.message.RequestMessage;
 import org.apache.tinkerpop.gremlin.util.message.ResponseMessage;
 import org.apache.tinkerpop.gremlin.util.message.ResponseStatusCode;
 import org.apache.tinkerpop.gremlin.server.handler.Frame;
+import org.apache.tinkerpop.gremlin.server.handler.StateKey;
+import org.apache.tinkerpop.gremlin.server.op.session.Session;
+import org.apache.tinkerpop.gremlin.util.ser.GraphBinaryMessageSerializerV1;
 import org.junit.AfterClass;
 import org.junit.Before;
 import org.junit.BeforeClass;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.junit.runners.Parameterized;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mockito;
 
 import java.util.Arrays;
@@ -59,6 +65,7 @@ public class ContextTest {
     @Before
     public void setupForEachTest() {
         logCaptor.clearLogs();
+        Mockito.when(ctx.write(Mockito.any())).thenReturn(Mockito.mock(ChannelFuture.class));
     }
 
     @Parameterized.Parameter(value = 0)
@@ -178,6 +185,40 @@ public class ContextTest {
         Mockito.verify(ctx, Mockito.times(1)).flush();
     }
 
+    @Test
+    public void shouldSerializeResultsOfSessionRequestOnWritingThread() {
+        final EmbeddedChannel channel = new EmbeddedChannel();
+        channel.attr(StateKey.SERIALIZER).set(new GraphBinaryMessageSerializerV1());
+        channel.attr(StateKey.USE_BINARY).set(true);
+        final ChannelHandlerContext ctx = Mockito.mock(ChannelHandlerContext.class);
+        Mockito.when(ctx.channel()).thenReturn(channel);
+        Mockito.when(ctx.write(Mockito.any())).thenReturn(Mockito.mock(ChannelFuture.class));
+
+        // sessionless results are left for the encoder
+        new Context(request, ctx, settings, null, null, null).writeAndFlush(
+                ResponseMessage.build(request).code(ResponseStatusCode.SUCCESS).result(Arrays.asList(1, 2)).create());
+        Mockito.verify(ctx, Mockito.times(1)).write(Mockito.any(ResponseMessage.class));
+
+        channel.attr(StateKey.SESSION).set(Mockito.mock(Session.class));
+
+        // results in a session are serialized before they reach the event loop
+        new Context(request, ctx, settings, null, null, null).writeAndFlush(
+                ResponseMessage.build(request).code(ResponseStatusCode.SUCCESS).result(Arrays.asList(1, 2)).create());
+        final ArgumentCaptor<Object> written = ArgumentCaptor.forClass(Object.class);
+        Mockito.verify(ctx, Mockito.times(2)).write(written.capture());
+        assertThat(written.getValue() instanceof Frame, is(true));
+        ((Frame) written.getValue()).tryRelease();
+
+        // but messages without results or with errors are not bound to the session
+        new Context(request, ctx, settings, null, null, null).writeAndFlush(
+                ResponseMessage.build(request).code(ResponseStatusCode.NO_CONTENT).create());
+        new Context(request, ctx, settings, null, null, null).writeAndFlush(
+                ResponseMessage.build(request).code(ResponseStatusCode.SERVER_ERROR).statusMessage("oops").create());
+        Mockito.verify(ctx, Mockito.times(3)).write(Mockito.any(ResponseMessage.class));
+
+        channel.finishAndReleaseAll();
+    }
+
     @Test
     public void shouldParseParametersFromScriptRequest()
     {
@@ -52,7 +52,9 @@ import org.apache.tinkerpop.shaded.jackson.databind.ObjectMapper;
 import org.junit.Test;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.Base64;
 import java.util.HashMap;
 import java.util.List;
@@ -70,6 +72,7 @@ import static org.hamcrest.core.StringContains.containsString;
 import static org.hamcrest.core.StringRegularExpression.matchesRegex;
 import static org.hamcrest.core.StringStartsWith.startsWith;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 
 /**
  * Integration tests for server-side settings and processing.
@@ -92,6 +95,10 @@ public class GremlinServerHttpIntegrateTest extends AbstractGremlinServerIntegra
             case "should413OnPostWithResultTooLarge":
                 settings.maxContentLength = 31;
                 break;
+            case "should200OnPOSTWithStreamedResults":
+            case "should200OnPOSTWithStreamedResultsEndingInError":
+                settings.resultIterationBatchSize = 2;
+                break;
             case "should200OnPOSTTransactionalGraph":
                 useTinkerTransactionGraph(settings);
                 break;
@@ -638,6 +645,62 @@ public class GremlinServerHttpIntegrateTest extends AbstractGremlinServerIntegra
         }
     }
 
+    @Test
+    public void should200OnPOSTWithStreamedResults() throws Exception {
+        final CloseableHttpClient httpclient = HttpClients.createDefault();
+        final HttpPost httppost = new HttpPost(TestClientFactory.createURLString());
+        httppost.addHeader("Content-Type", "application/json");
+        httppost.addHeader(Tokens.HEADER_STREAM_RESULTS, "true");
+        httppost.setEntity(new StringEntity("{\"gremlin\":\"gclassic.V()\"}", Consts.UTF_8));
+
+        try (final CloseableHttpResponse response = httpclient.execute(httppost)) {
+            assertEquals(200, response.getStatusLine().getStatusCode());
+            assertEquals("true", response.getFirstHeader(Tokens.HEADER_STREAM_RESULTS).getValue());
+            assertTrue(response.getEntity().isChunked());
+
+            // the six vertices come back as a response message for each batch of two
+            final List<JsonNode> messages = readStreamedMessages(response.getEntity());
+            assertEquals(3, messages.size());
+            for (int i = 0; i < messages.size(); i++) {
+                assertEquals(i < 2 ? 206 : 200, messages.get(i).get("status").get("code").asInt());
+                assertEquals(2, messages.get(i).get("result").get("data").get(GraphSONTokens.VALUEPROP).size());
+            }
+        }
+    }
+
+    @Test
+    public void should200OnPOSTWithStreamedResultsEndingInError() throws Exception {
+        final CloseableHttpClient httpclient = HttpClients.createDefault();
+        final HttpPost httppost = new HttpPost(TestClientFactory.createURLString());
+        httppost.addHeader("Content-Type", "application/json");
+        httppost.addHeader(Tokens.HEADER_STREAM_RESULTS, "true");
+        httppost.setEntity(new StringEntity("{\"gremlin\":\"g.inject(1,2,3,0).map{6.intdiv(it.get())}\"}", Consts.UTF_8));
+
+        try (final CloseableHttpResponse response = httpclient.execute(httppost)) {
+            // the status of the response is sent before the error occurs so the error ends the stream instead
+            assertEquals(200, response.getStatusLine().getStatusCode());
+            final List<JsonNode> messages = readStreamedMessages(response.getEntity());
+            assertEquals(2, messages.size());
+            assertEquals(206, messages.get(0).get("status").get("code").asInt());
+            assertEquals(500, messages.get(1).get("status").get("code").asInt());
+            assertThat(messages.get(1).get("status").get("message").asText(), containsString("by zero"));
+        }
+    }
+
+    /**
+     * Reads the response messages of a streamed response, each of which is preceded by its length.
+     */
+    private List<JsonNode> readStreamedMessages(final HttpEntity entity) throws Exception {
+        final ByteBuffer content = ByteBuffer.wrap(EntityUtils.toByteArray(entity));
+        final List<JsonNode> messages = new ArrayList<>();
+        while (content.hasRemaining()) {
+            final byte[] message = new byte[content.getInt()];
+            content.get(message);
+            messages.add(mapper.readTree(message));
+        }
+        return messages;
+    }
+
     @Test
     public void should200OnPOSTWithGremlinJsonEndcodedBodyWithTinkerGraphResult() throws Exception {
         final CloseableHttpClient httpclient = HttpClients.createDefault();
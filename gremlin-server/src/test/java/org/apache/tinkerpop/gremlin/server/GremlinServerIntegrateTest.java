@@ -20,6 +20,10 @@ package org.apache.tinkerpop.gremlin.server;
 
 import ch.qos.logback.classic.Level;
 import ch.qos.logback.classic.Logger;
+import com.codahale.metrics.Meter;
+import com.codahale.metrics.Timer;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.UnpooledByteBufAllocator;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.util.AttributeKey;
 import nl.altindag.log.LogCaptor;
@@ -44,6 +48,7 @@ import org.apache.tinkerpop.gremlin.util.message.RequestMessage;
 import org.apache.tinkerpop.gremlin.util.message.ResponseMessage;
 import org.apache.tinkerpop.gremlin.util.message.ResponseStatusCode;
 import org.apache.tinkerpop.gremlin.driver.remote.DriverRemoteConnection;
+import org.apache.tinkerpop.gremlin.util.ser.GraphBinaryMessageSerializerV1;
 import org.apache.tinkerpop.gremlin.util.ser.Serializers;
 import org.apache.tinkerpop.gremlin.driver.simple.SimpleClient;
 import org.apache.tinkerpop.gremlin.driver.UserAgent;
@@ -59,6 +64,8 @@ import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSo
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
 import org.apache.tinkerpop.gremlin.server.op.AbstractEvalOpProcessor;
 import org.apache.tinkerpop.gremlin.server.op.standard.StandardOpProcessor;
+import org.apache.tinkerpop.gremlin.server.op.traversal.TraversalOpProcessor;
+import org.apache.tinkerpop.gremlin.server.util.MetricManager;
 import org.apache.tinkerpop.gremlin.server.handler.WsUserAgentHandler;
 import org.apache.tinkerpop.gremlin.structure.Graph;
 import org.apache.tinkerpop.gremlin.structure.T;
@@ -74,7 +81,13 @@ import org.junit.Test;
 
 import org.slf4j.LoggerFactory;
 
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
@@ -91,16 +104,19 @@ import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
 import static org.apache.tinkerpop.gremlin.util.Tokens.ARGS_EVAL_TIMEOUT;
 import static org.apache.tinkerpop.gremlin.groovy.jsr223.GroovyCompilerGremlinPlugin.Compilation.COMPILE_STATIC;
 import static org.apache.tinkerpop.gremlin.process.remote.RemoteConnection.GREMLIN_REMOTE;
 import static org.apache.tinkerpop.gremlin.process.remote.RemoteConnection.GREMLIN_REMOTE_CONNECTION_CLASS;
+import static com.codahale.metrics.MetricRegistry.name;
 import static org.apache.tinkerpop.gremlin.process.traversal.AnonymousTraversalSource.traversal;
 import static org.hamcrest.CoreMatchers.containsString;
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.core.AllOf.allOf;
+import static org.hamcrest.number.OrderingComparison.lessThan;
 import static org.hamcrest.core.IsInstanceOf.instanceOf;
 import static org.hamcrest.core.IsNot.not;
 import static org.hamcrest.core.StringStartsWith.startsWith;
@@ -242,12 +258,35 @@ public class GremlinServerIntegrateTest extends AbstractGremlinServerIntegration
             case "shouldTimeOutRemoteTraversal":
                 settings.evaluationTimeout = 500;
                 break;
+            case "shouldProfileSampledRemoteTraversals":
+                final Settings.ProcessorSettings processorSettingsProfile = new Settings.ProcessorSettings();
+                processorSettingsProfile.className = TraversalOpProcessor.class.getName();
+                processorSettingsProfile.config = new HashMap<String,Object>() {{
+                    put(TraversalOpProcessor.CONFIG_PROFILE_SAMPLE_RATE, 1.0d);
+                    put(TraversalOpProcessor.CONFIG_PROFILE_SAMPLE_INTERVAL, 2);
+                }};
+                settings.processors.add(processorSettingsProfile);
+                break;
+            case "shouldEvaluateRequestsByPriorityWithAdmissionControl":
+                settings.useAdmissionControl = true;
+                break;
+            case "shouldAdaptBatchSizeToSerializedResults":
+                settings.resultIterationBatchSize = 4;
+                settings.resultIterationBatchBytes = 1024;
+                settings.resultIterationBatchDelay = 0;
+                break;
+            case "shouldCoalesceIdenticalRemoteTraversals":
+                settings.coalesceRequests = true;
+                break;
             case "shouldPingChannelIfClientDies":
                 settings.keepAliveInterval = 1000;
                 break;
             case "shouldCloseChannelIfClientDoesntRespond":
                 settings.idleConnectionTimeout = 1000;
                 break;
+            case "shouldNotHoldGremlinPoolThreadWhileClientLags":
+                settings.gremlinPool = 1;
+                break;
             case "shouldBlowTheWorkQueueSize":
                 settings.gremlinPool = 1;
                 settings.maxWorkQueueSize = 1;
@@ -514,6 +553,84 @@ public class GremlinServerIntegrateTest extends AbstractGremlinServerIntegration
                 ".*Checking channel - sending ping to client after idle period of .*$")), is(true));
     }
 
+    @Test
+    public void shouldProfileSampledRemoteTraversals() throws Exception {
+        assumeThat("Must use OpProcessor", isUsingUnifiedChannelizer(), is(false));
+
+        final Meter profiled = MetricManager.INSTANCE.getMeter(name(GremlinServer.class, "op", "traversal", "profiled"));
+        final long profiledBefore = profiled.getCount();
+        final Timer injectStep = MetricManager.INSTANCE.getTimer(name(GremlinServer.class, "op", "traversal", "step"), "InjectStep");
+        final long injectStepBefore = injectStep.getCount();
+        final GraphTraversalSource g = traversal().withRemote(conf);
+
+        // profiling is invisible to the client
+        assertEquals(Arrays.asList(1, 2, 3), g.inject(1, 2, 3).toList());
+        assertEquals(profiledBefore + 1, profiled.getCount());
+
+        // and the time of each step is recorded by the class of the step once the final response is written
+        final long deadline = System.currentTimeMillis() + 10000;
+        while (injectStep.getCount() == injectStepBefore && System.currentTimeMillis() < deadline) Thread.sleep(10);
+        assertEquals(injectStepBefore + 1, injectStep.getCount());
+    }
+
+    @Test
+    public void shouldRecordRequestPhaseTimers() throws Exception {
+        final String prefix = name(GremlinServer.class, "request", Tokens.OPS_BYTECODE, "g");
+        final List<Timer> timers = Stream.of("queue", "strategies", "iteration", "serialization", "write").
+                map(phase -> MetricManager.INSTANCE.getTimer(prefix, phase)).collect(Collectors.toList());
+        final List<Long> before = timers.stream().map(Timer::getCount).collect(Collectors.toList());
+        final GraphTraversalSource g = traversal().withRemote(conf);
+
+        assertEquals(Arrays.asList(1, 2, 3), g.inject(1, 2, 3).toList());
+
+        // the last phases are recorded once the final response is written so they may trail the client a bit
+        for (int ix = 0; ix < timers.size(); ix++) {
+            final Timer timer = timers.get(ix);
+            final long expected = before.get(ix) + 1;
+            final long deadline = System.currentTimeMillis() + 10000;
+            while (timer.getCount() < expected && System.currentTimeMillis() < deadline) Thread.sleep(10);
+            assertEquals(expected, timer.getCount());
+        }
+
+        g.close();
+    }
+
+    @Test
+    public void shouldCoalesceIdenticalRemoteTraversals() throws Exception {
+        assumeThat("Must use UnifiedChannelizer", isUsingUnifiedChannelizer(), is(true));
+
+        final GraphTraversalSource g = traversal().withRemote(conf);
+        final List<CompletableFuture<List<Integer>>> futures = new ArrayList<>();
+        for (int i = 0; i < 16; i++) {
+            futures.add(g.inject(1, 2, 3).promise(Traversal::toList));
+        }
+
+        // whether a traversal shares the results of another one or not is invisible to the client
+        for (final CompletableFuture<List<Integer>> future : futures) {
+            assertEquals(Arrays.asList(1, 2, 3), future.get(30, TimeUnit.SECONDS));
+        }
+
+        g.close();
+    }
+
+    @Test
+    public void shouldEvaluateRequestsByPriorityWithAdmissionControl() throws Exception {
+        assumeThat("Must use UnifiedChannelizer", isUsingUnifiedChannelizer(), is(true));
+
+        final GraphTraversalSource g = traversal().withRemote(conf);
+        assertEquals(Arrays.asList(1, 2, 3), g.with(Tokens.ARGS_PRIORITY, "high").inject(1, 2, 3).toList());
+        assertEquals(Arrays.asList(1, 2, 3), g.with(Tokens.ARGS_PRIORITY, "low").inject(1, 2, 3).toList());
+        g.close();
+
+        try (SimpleClient client = TestClientFactory.createWebSocketClient()) {
+            final RequestMessage request = RequestMessage.build(Tokens.OPS_EVAL)
+                    .addArg(Tokens.ARGS_GREMLIN, "1+1")
+                    .addArg(Tokens.ARGS_PRIORITY, "urgent").create();
+            final List<ResponseMessage> responses = client.submit(request);
+            assertEquals(ResponseStatusCode.REQUEST_ERROR_INVALID_REQUEST_ARGUMENTS, responses.get(0).getStatus().getCode());
+        }
+    }
+
     @Test
     public void shouldTimeOutRemoteTraversal() throws Exception {
         final GraphTraversalSource g = traversal().withRemote(conf);
@@ -735,6 +852,53 @@ public class GremlinServerIntegrateTest extends AbstractGremlinServerIntegration
         }
     }
 
+    @Test
+    public void shouldNotHoldGremlinPoolThreadWhileClientLags() throws Exception {
+        assumeThat("Must use UnifiedChannelizer", isUsingUnifiedChannelizer(), is(true));
+
+        // a client that asks for far more results than the network buffers hold and then never reads them
+        try (Socket lagging = new Socket()) {
+            lagging.setReceiveBufferSize(4096);
+            lagging.connect(new InetSocketAddress("localhost", TestClientFactory.PORT));
+            final OutputStream out = lagging.getOutputStream();
+            out.write(("GET /gremlin HTTP/1.1\r\nHost: localhost:" + TestClientFactory.PORT + "\r\n" +
+                    "Upgrade: websocket\r\nConnection: Upgrade\r\n" +
+                    "Sec-WebSocket-Key: dGhlIHNhbXBsZSBub25jZQ==\r\nSec-WebSocket-Version: 13\r\n\r\n").getBytes(StandardCharsets.US_ASCII));
+            final InputStream in = lagging.getInputStream();
+            int matched = 0;
+            while (matched < 4) {
+                final int b = in.read();
+                assertThat(b, is(not(-1)));
+                matched = b == (matched % 2 == 0 ? '\r' : '\n') ? matched + 1 : 0;
+            }
+
+            final RequestMessage request = RequestMessage.build(Tokens.OPS_EVAL)
+                    .addArg(Tokens.ARGS_GREMLIN, "['x' * 1000] * 100000").create();
+            final ByteBuf buf = new GraphBinaryMessageSerializerV1().serializeRequestAsBinary(request, UnpooledByteBufAllocator.DEFAULT);
+            final byte[] payload = new byte[buf.readableBytes()];
+            buf.readBytes(payload);
+            buf.release();
+
+            // a masked binary websocket frame where the mask of zeros leaves the payload as it is
+            assertThat(payload.length < 126, is(true));
+            out.write(new byte[] {(byte) 0x82, (byte) (0x80 | payload.length), 0, 0, 0, 0});
+            out.write(payload);
+            out.flush();
+
+            // give the server time to fill the buffers of the lagging client
+            Thread.sleep(2000);
+
+            // with a gremlinPool of one the request can only be evaluated if the lagging one gave up its thread
+            final Cluster cluster = TestClientFactory.open();
+            try {
+                final Client client = cluster.connect();
+                assertEquals(2, client.submit("1+1").all().get(10, TimeUnit.SECONDS).get(0).getInt());
+            } finally {
+                cluster.close();
+            }
+        }
+    }
+
     @Test
     public void shouldReturnInvalidRequestArgsWhenGremlinArgIsNotSupplied() throws Exception {
         try (SimpleClient client = TestClientFactory.createWebSocketClient()) {
@@ -903,6 +1067,32 @@ public class GremlinServerIntegrateTest extends AbstractGremlinServerIntegration
         }
     }
 
+    @Test
+    @SuppressWarnings("unchecked")
+    public void shouldAdaptBatchSizeToSerializedResults() throws Exception {
+        assumeThat("Must use UnifiedChannelizer", isUsingUnifiedChannelizer(), is(true));
+
+        try (SimpleClient client = TestClientFactory.createWebSocketClient()) {
+            final RequestMessage request = RequestMessage.build(Tokens.OPS_EVAL)
+                    .addArg(Tokens.ARGS_GREMLIN, "(0..<1000).toList()").create();
+
+            // batches of 4 would take 250 frames but small integers let the batches grow after the first
+            final List<ResponseMessage> msgs = client.submit(request);
+            assertEquals(4, ((List<Integer>) msgs.get(0).getResult().getData()).size());
+            assertThat(msgs.size(), lessThan(50));
+
+            final List<Integer> results = msgs.stream().
+                    flatMap(m -> ((List<Integer>) m.getResult().getData()).stream()).collect(Collectors.toList());
+            assertEquals(IntStream.range(0, 1000).boxed().collect(Collectors.toList()), results);
+
+            // a batch size on the request keeps the batches fixed
+            final RequestMessage fixed = RequestMessage.build(Tokens.OPS_EVAL)
+                    .addArg(Tokens.ARGS_GREMLIN, "(0..<1000).toList()")
+                    .addArg(Tokens.ARGS_BATCH_SIZE, 100).create();
+            assertEquals(10, client.submit(fixed).size());
+        }
+    }
+
 //    @Test
 //    public void shouldBatchResultsByTwosWithDriver() throws Exception {
 //        final Cluster cluster = TestClientFactory.build().create();
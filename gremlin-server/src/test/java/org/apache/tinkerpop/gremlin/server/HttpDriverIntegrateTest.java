@@ -22,6 +22,8 @@ import io.netty.handler.codec.EncoderException;
 import org.apache.commons.lang3.exception.ExceptionUtils;
 import org.apache.tinkerpop.gremlin.driver.Channelizer;
 import org.apache.tinkerpop.gremlin.driver.Client;
+import org.apache.tinkerpop.gremlin.driver.RequestOptions;
+import org.apache.tinkerpop.gremlin.driver.Result;
 import org.apache.tinkerpop.gremlin.driver.Cluster;
 import org.apache.tinkerpop.gremlin.driver.remote.DriverRemoteConnection;
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
@@ -30,6 +32,9 @@ import org.apache.tinkerpop.gremlin.structure.Transaction;
 import org.apache.tinkerpop.gremlin.util.ser.Serializers;
 import org.junit.Test;
 
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+
 import static org.apache.tinkerpop.gremlin.process.traversal.AnonymousTraversalSource.traversal;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.core.AllOf.allOf;
@@ -77,6 +82,55 @@ public class HttpDriverIntegrateTest extends AbstractGremlinServerIntegrationTes
         }
     }
 
+    @Test
+    public void shouldStreamResultsInBatchesWithGraphBinary() throws Exception {
+        final Cluster cluster = TestClientFactory.build()
+                .channelizer(Channelizer.HttpChannelizer.class)
+                .serializer(Serializers.GRAPHBINARY_V1)
+                .create();
+        try {
+            final Client client = cluster.connect();
+            final List<Result> results = client.submit("(1..1000).iterator()",
+                    RequestOptions.build().batchSize(7).create()).all().get();
+            assertEquals(1000, results.size());
+            for (int i = 0; i < results.size(); i++) {
+                assertEquals(i + 1, results.get(i).getInt());
+            }
+
+            // an error after some of the batches were streamed still reaches the client
+            try {
+                client.submit("g.inject(1,2,3,0).map{6.intdiv(it.get())}", RequestOptions.build().batchSize(2).create()).all().get();
+                fail("Exception expected");
+            } catch (ExecutionException ex) {
+                assertThat(ex.getCause().getMessage(), containsString("by zero"));
+            }
+
+            // and the connection is left in a state to take another request
+            assertEquals(2, client.submit("1+1").all().get().get(0).getInt());
+        } finally {
+            cluster.close();
+        }
+    }
+
+    @Test
+    public void shouldStreamResultsInBatchesWithGraphSON() throws Exception {
+        final Cluster cluster = TestClientFactory.build()
+                .channelizer(Channelizer.HttpChannelizer.class)
+                .serializer(Serializers.GRAPHSON_V3)
+                .create();
+        try {
+            final Client client = cluster.connect();
+            final List<Result> results = client.submit("(1..1000).iterator()",
+                    RequestOptions.build().batchSize(7).create()).all().get();
+            assertEquals(1000, results.size());
+            for (int i = 0; i < results.size(); i++) {
+                assertEquals(i + 1, results.get(i).getInt());
+            }
+        } finally {
+            cluster.close();
+        }
+    }
+
     @Test
     public void shouldSubmitBytecodeWithGraphSON() throws Exception {
         final Cluster cluster = TestClientFactory.build()
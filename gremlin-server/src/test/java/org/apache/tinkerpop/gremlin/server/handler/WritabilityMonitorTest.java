@@ -0,0 +1,140 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.server.handler;
+
+import io.netty.buffer.Unpooled;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.channel.WriteBufferWaterMark;
+import io.netty.channel.embedded.EmbeddedChannel;
+import org.junit.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class WritabilityMonitorTest {
+
+    @Test
+    public void shouldReturnImmediatelyWhenWritable() throws Exception {
+        final EmbeddedChannel channel = new EmbeddedChannel();
+        assertSame(WritabilityMonitor.of(channel), WritabilityMonitor.of(channel));
+        assertTrue(WritabilityMonitor.of(channel).awaitWritable());
+    }
+
+    @Test
+    public void shouldResumeWhenWritabilityChanges() throws Exception {
+        final EmbeddedChannel channel = createUnwritableChannel();
+        final CompletableFuture<Boolean> writable = awaitWritable(channel);
+
+        TimeUnit.MILLISECONDS.sleep(100);
+        assertFalse(writable.isDone());
+
+        // flushing drains the outbound buffer which fires the writability change that signals the monitor. the
+        // wait should end well before the monitor would check the channel again on its own
+        channel.flush();
+        channel.runPendingTasks();
+        assertEquals(true, writable.get(500, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    public void shouldStopWaitingWhenChannelCloses() throws Exception {
+        final EmbeddedChannel channel = createUnwritableChannel();
+        final CompletableFuture<Boolean> writable = awaitWritable(channel);
+
+        TimeUnit.MILLISECONDS.sleep(100);
+        assertFalse(writable.isDone());
+
+        channel.close();
+        channel.runPendingTasks();
+        assertEquals(false, writable.get(500, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    public void shouldRunActionImmediatelyWhenWritable() {
+        final EmbeddedChannel channel = new EmbeddedChannel();
+        final AtomicInteger runs = new AtomicInteger();
+        WritabilityMonitor.of(channel).whenWritable(runs::incrementAndGet);
+        assertEquals(1, runs.get());
+    }
+
+    @Test
+    public void shouldRunActionOnceWhenWritabilityChanges() {
+        final EmbeddedChannel channel = createUnwritableChannel();
+        final AtomicInteger runs = new AtomicInteger();
+        WritabilityMonitor.of(channel).whenWritable(runs::incrementAndGet);
+        assertEquals(0, runs.get());
+
+        channel.flush();
+        channel.runPendingTasks();
+        assertEquals(1, runs.get());
+
+        // later changes in writability do not run it again
+        channel.write(Unpooled.wrappedBuffer(new byte[64]));
+        channel.flush();
+        channel.runPendingTasks();
+        assertEquals(1, runs.get());
+    }
+
+    @Test
+    public void shouldRunActionWhenChannelCloses() {
+        final EmbeddedChannel channel = createUnwritableChannel();
+        final AtomicInteger runs = new AtomicInteger();
+        WritabilityMonitor.of(channel).whenWritable(runs::incrementAndGet);
+
+        channel.close();
+        channel.runPendingTasks();
+        assertEquals(1, runs.get());
+    }
+
+    private static EmbeddedChannel createUnwritableChannel() {
+        final EmbeddedChannel channel = new EmbeddedChannel(new ChannelInboundHandlerAdapter() {
+            @Override
+            public void channelWritabilityChanged(final ChannelHandlerContext ctx) {
+                // does what the UnifiedHandler does
+                WritabilityMonitor.of(ctx.channel()).signal();
+                ctx.fireChannelWritabilityChanged();
+            }
+        });
+        channel.config().setWriteBufferWaterMark(new WriteBufferWaterMark(8, 16));
+        channel.write(Unpooled.wrappedBuffer(new byte[64]));
+        assertFalse(channel.isWritable());
+        return channel;
+    }
+
+    private static CompletableFuture<Boolean> awaitWritable(final EmbeddedChannel channel) {
+        final WritabilityMonitor monitor = WritabilityMonitor.of(channel);
+        final CompletableFuture<Boolean> writable = new CompletableFuture<>();
+        final Thread waiter = new Thread(() -> {
+            try {
+                writable.complete(monitor.awaitWritable());
+            } catch (InterruptedException ex) {
+                writable.completeExceptionally(ex);
+            }
+        });
+        waiter.setDaemon(true);
+        waiter.start();
+        return writable;
+    }
+}
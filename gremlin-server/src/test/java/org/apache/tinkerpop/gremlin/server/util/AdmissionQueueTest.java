@@ -0,0 +1,198 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.server.util;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+public class AdmissionQueueTest {
+
+    private final AtomicLong now = new AtomicLong();
+    private final AtomicInteger shed = new AtomicInteger();
+
+    @Test
+    public void shouldTakeByPriority() {
+        final AdmissionQueue queue = new AdmissionQueue(10, 10, 100, now::get);
+        final AdmissionQueue.Task low = task(AdmissionQueue.Priority.LOW, "g");
+        final AdmissionQueue.Task normal = task(AdmissionQueue.Priority.NORMAL, "g");
+        final AdmissionQueue.Task high = task(AdmissionQueue.Priority.HIGH, "g");
+        final Runnable plain = () -> {};
+        queue.offer(low);
+        queue.offer(normal);
+        queue.offer(plain);
+        queue.offer(high);
+
+        assertEquals(4, queue.size());
+        assertSame(high, queue.peek());
+        assertSame(high, queue.poll());
+        assertSame(normal, queue.poll());
+        assertSame(plain, queue.poll());
+        assertSame(low, queue.poll());
+        assertNull(queue.poll());
+    }
+
+    @Test
+    public void shouldTakeTurnsBetweenTenants() {
+        final AdmissionQueue queue = new AdmissionQueue(10, 10, 100, now::get);
+        final AdmissionQueue.Task a1 = task(AdmissionQueue.Priority.NORMAL, "a");
+        final AdmissionQueue.Task a2 = task(AdmissionQueue.Priority.NORMAL, "a");
+        final AdmissionQueue.Task a3 = task(AdmissionQueue.Priority.NORMAL, "a");
+        final AdmissionQueue.Task b1 = task(AdmissionQueue.Priority.NORMAL, "b");
+        queue.offer(a1);
+        queue.offer(a2);
+        queue.offer(a3);
+        queue.offer(b1);
+
+        assertSame(a1, queue.poll());
+        assertSame(b1, queue.poll());
+        assertSame(a2, queue.poll());
+        assertSame(a3, queue.poll());
+    }
+
+    @Test
+    public void shouldRejectWhenFull() throws Exception {
+        final AdmissionQueue queue = new AdmissionQueue(2, 10, 100, now::get);
+        assertThat(queue.offer(task(AdmissionQueue.Priority.NORMAL, "g")), is(true));
+        assertThat(queue.offer(task(AdmissionQueue.Priority.HIGH, "g")), is(true));
+        assertEquals(0, queue.remainingCapacity());
+        assertThat(queue.offer(task(AdmissionQueue.Priority.HIGH, "g")), is(false));
+        assertThat(queue.offer(task(AdmissionQueue.Priority.HIGH, "g"), 10, TimeUnit.MILLISECONDS), is(false));
+
+        final AdmissionQueue.Task task = task(AdmissionQueue.Priority.LOW, "g");
+        queue.poll();
+        assertThat(queue.offer(task), is(true));
+        assertThat(queue.remove(task), is(true));
+        assertEquals(1, queue.size());
+
+        final List<Runnable> drained = new ArrayList<>();
+        assertEquals(1, queue.drainTo(drained));
+        assertThat(queue.isEmpty(), is(true));
+    }
+
+    @Test
+    public void shouldShedOnlyOnceDelayStaysAboveTargetForAnInterval() {
+        final AdmissionQueue queue = new AdmissionQueue(10, 10, 100, now::get);
+        final List<AdmissionQueue.Task> tasks = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            final AdmissionQueue.Task task = task(AdmissionQueue.Priority.NORMAL, "g");
+            tasks.add(task);
+            queue.offer(task);
+        }
+
+        // above target but not yet for an interval
+        advance(50);
+        assertSame(tasks.get(0), queue.poll());
+        assertEquals(0, shed.get());
+
+        // above target for an interval so the next is dropped while the one after it is not
+        advance(100);
+        assertSame(tasks.get(2), queue.poll());
+        assertEquals(1, shed.get());
+        assertThat(tasks.get(1).isCancelled(), is(true));
+
+        // nothing more is dropped until an interval after the first drop
+        advance(80);
+        assertSame(tasks.get(3), queue.poll());
+        assertEquals(1, shed.get());
+        advance(20);
+        assertSame(tasks.get(5), queue.poll());
+        assertEquals(2, shed.get());
+        assertThat(tasks.get(4).isCancelled(), is(true));
+
+        // and then drops come sooner than an interval apart
+        advance(71);
+        assertSame(tasks.get(7), queue.poll());
+        assertEquals(3, shed.get());
+    }
+
+    @Test
+    public void shouldNotShedHighPriorityOrUnsheddableTasks() {
+        final AdmissionQueue queue = new AdmissionQueue(10, 10, 100, now::get);
+        final AdmissionQueue.Task first = task(AdmissionQueue.Priority.HIGH, "g");
+        final AdmissionQueue.Task high = task(AdmissionQueue.Priority.HIGH, "g");
+        final AdmissionQueue.Task session = new AdmissionQueue.Task(() -> {}, AdmissionQueue.Priority.NORMAL, "g", null);
+        final Runnable plain = () -> {};
+        queue.offer(first);
+        queue.offer(high);
+        queue.offer(session);
+        queue.offer(plain);
+        queue.offer(task(AdmissionQueue.Priority.NORMAL, "g"));
+
+        advance(50);
+        assertSame(first, queue.poll());
+        advance(100);
+        assertSame(high, queue.poll());
+        assertSame(session, queue.poll());
+        assertSame(plain, queue.poll());
+        assertEquals(0, shed.get());
+    }
+
+    @Test
+    public void shouldStopSheddingOnceDelayFallsUnderTarget() {
+        final AdmissionQueue queue = new AdmissionQueue(10, 10, 100, now::get);
+        for (int i = 0; i < 3; i++) {
+            queue.offer(task(AdmissionQueue.Priority.NORMAL, "g"));
+        }
+
+        advance(50);
+        queue.poll();
+        advance(100);
+        queue.poll();
+        assertEquals(1, shed.get());
+
+        // requests that arrive once the backlog is gone are taken without waiting
+        queue.poll();
+        final AdmissionQueue.Task fresh = task(AdmissionQueue.Priority.NORMAL, "g");
+        queue.offer(fresh);
+        queue.offer(task(AdmissionQueue.Priority.NORMAL, "g"));
+        advance(1);
+        assertSame(fresh, queue.poll());
+        assertEquals(1, shed.get());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldNotParseUnknownPriority() {
+        AdmissionQueue.Priority.of("urgent");
+    }
+
+    @Test
+    public void shouldParsePriorityIgnoringCase() {
+        assertEquals(AdmissionQueue.Priority.HIGH, AdmissionQueue.Priority.of("high"));
+        assertEquals(AdmissionQueue.Priority.LOW, AdmissionQueue.Priority.of("LOW"));
+    }
+
+    private AdmissionQueue.Task task(final AdmissionQueue.Priority priority, final String tenant) {
+        return new AdmissionQueue.Task(() -> {}, priority, tenant, shed::incrementAndGet);
+    }
+
+    private void advance(final long millis) {
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(millis));
+    }
+}
@@ -0,0 +1,99 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.server.util;
+
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertEquals;
+
+public class BatchSizerTest {
+
+    private final AtomicLong now = new AtomicLong();
+
+    @Test
+    public void shouldKeepFixedSize() {
+        final BatchSizer sizer = BatchSizer.fixed(64);
+        assertThat(sizer.isDue(63), is(false));
+        assertThat(sizer.isDue(64), is(true));
+
+        sizer.written(64, 64);
+        assertEquals(64, sizer.getSize());
+        assertEquals(0d, sizer.getBytesPerResult(), 0d);
+    }
+
+    @Test
+    public void shouldGrowForSmallResults() {
+        final BatchSizer sizer = new BatchSizer(64, 64 * 1024, 0, now::get);
+        sizer.written(64 * 8, 64);
+
+        assertEquals(8d, sizer.getBytesPerResult(), 0d);
+        assertEquals(8192, sizer.getSize());
+    }
+
+    @Test
+    public void shouldShrinkForLargeResults() {
+        final BatchSizer sizer = new BatchSizer(64, 64 * 1024, 0, now::get);
+        sizer.written(64 * 16 * 1024, 64);
+        assertEquals(4, sizer.getSize());
+
+        // a result larger than the target still goes one at a time
+        sizer.written(4 * 1024 * 1024, 4);
+        assertEquals(1, sizer.getSize());
+    }
+
+    @Test
+    public void shouldMoveEstimateTowardsLatestBatch() {
+        final BatchSizer sizer = new BatchSizer(64, 1024, 0, now::get);
+        sizer.written(64 * 8, 64);
+        assertEquals(128, sizer.getSize());
+
+        sizer.written(128 * 24, 128);
+        assertEquals(16d, sizer.getBytesPerResult(), 0d);
+        assertEquals(64, sizer.getSize());
+    }
+
+    @Test
+    public void shouldIgnoreEmptyBatch() {
+        final BatchSizer sizer = new BatchSizer(64, 1024, 0, now::get);
+        sizer.written(0, 0);
+        assertEquals(64, sizer.getSize());
+        assertEquals(0d, sizer.getBytesPerResult(), 0d);
+    }
+
+    @Test
+    public void shouldBeDueAfterDelay() {
+        final BatchSizer sizer = new BatchSizer(64, 1024, 50, now::get);
+        assertThat(sizer.isDue(1), is(false));
+
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(50));
+        assertThat(sizer.isDue(0), is(false));
+        assertThat(sizer.isDue(1), is(true));
+
+        // the delay starts over once a batch is written
+        sizer.written(8, 1);
+        assertThat(sizer.isDue(1), is(false));
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(49));
+        assertThat(sizer.isDue(1), is(false));
+    }
+}
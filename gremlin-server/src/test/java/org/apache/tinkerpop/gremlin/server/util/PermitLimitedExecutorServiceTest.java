@@ -0,0 +1,151 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.server.util;
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class PermitLimitedExecutorServiceTest {
+
+    private final ExecutorService unbounded = Executors.newCachedThreadPool();
+
+    @After
+    public void tearDown() {
+        unbounded.shutdownNow();
+    }
+
+    @Test
+    public void shouldRunNoMoreTasksAtOnceThanThereArePermits() throws Exception {
+        final ExecutorService executor = new PermitLimitedExecutorService(unbounded, new Semaphore(2));
+        final AtomicInteger running = new AtomicInteger();
+        final AtomicInteger maxRunning = new AtomicInteger();
+
+        final List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            futures.add(executor.submit(() -> {
+                maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                try {
+                    Thread.sleep(10);
+                } catch (InterruptedException ie) {
+                    throw new RuntimeException(ie);
+                }
+                running.decrementAndGet();
+            }));
+        }
+
+        for (Future<?> f : futures) {
+            f.get(30, TimeUnit.SECONDS);
+        }
+
+        assertThat(maxRunning.get(), lessThanOrEqualTo(2));
+    }
+
+    @Test
+    public void shouldReleasePermitWhenTaskFails() throws Exception {
+        final Semaphore permits = new Semaphore(1);
+        final ExecutorService executor = new PermitLimitedExecutorService(unbounded, permits);
+
+        final Future<?> failed = executor.submit(() -> { throw new IllegalStateException("fail"); });
+        try {
+            failed.get(30, TimeUnit.SECONDS);
+        } catch (Exception ignored) {
+            // expected
+        }
+
+        assertEquals("ok", executor.submit(() -> "ok").get(30, TimeUnit.SECONDS));
+        assertEquals(1, permits.availablePermits());
+    }
+
+    @Test
+    public void shouldRejectTasksOnceTooManyAreWaitingForPermit() throws Exception {
+        final Semaphore permits = new Semaphore(1);
+        final ExecutorService executor = new PermitLimitedExecutorService(unbounded, permits, 1);
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+
+        final List<Future<?>> futures = new ArrayList<>();
+        futures.add(executor.submit(() -> {
+            started.countDown();
+            release.await();
+            return null;
+        }));
+        assertTrue(started.await(30, TimeUnit.SECONDS));
+        futures.add(executor.submit(() -> null));
+        try {
+            executor.submit(() -> null);
+            fail("Should have rejected the task as one is already waiting for a permit");
+        } catch (RejectedExecutionException ree) {
+            // expected
+        }
+
+        release.countDown();
+        for (Future<?> f : futures) {
+            f.get(30, TimeUnit.SECONDS);
+        }
+
+        // the tasks that got to run no longer count as waiting
+        executor.submit(() -> null).get(30, TimeUnit.SECONDS);
+        executor.submit(() -> null).get(30, TimeUnit.SECONDS);
+        assertEquals(1, permits.availablePermits());
+    }
+
+    @Test
+    public void shouldNotRunTaskCancelledWhileWaitingForPermit() throws Exception {
+        final Semaphore permits = new Semaphore(1);
+        final ExecutorService executor = new PermitLimitedExecutorService(unbounded, permits);
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final AtomicInteger ran = new AtomicInteger();
+
+        final Future<?> holding = executor.submit(() -> {
+            started.countDown();
+            release.await();
+            return null;
+        });
+        assertTrue(started.await(30, TimeUnit.SECONDS));
+
+        final Future<?> waiting = executor.submit(ran::incrementAndGet);
+        assertThat(waiting.cancel(true), is(true));
+
+        release.countDown();
+        holding.get(30, TimeUnit.SECONDS);
+        executor.submit(() -> null).get(30, TimeUnit.SECONDS);
+
+        assertEquals(0, ran.get());
+        assertEquals(1, permits.availablePermits());
+    }
+}
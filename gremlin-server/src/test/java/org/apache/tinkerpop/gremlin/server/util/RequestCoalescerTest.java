@@ -0,0 +1,208 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.server.util;
+
+import org.apache.tinkerpop.gremlin.process.traversal.Bytecode;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.structure.util.detached.DetachedVertex;
+import org.apache.tinkerpop.gremlin.structure.util.reference.ReferenceVertex;
+import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerFactory;
+import org.apache.tinkerpop.gremlin.util.Tokens;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsInstanceOf.instanceOf;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+public class RequestCoalescerTest {
+
+    private final GraphTraversalSource g = TinkerFactory.createModern().traversal();
+
+    @Test
+    public void shouldKeyOnMaterializePropertiesAsWellAsBytecode() {
+        final Bytecode bytecode = g.V().values("name").asAdmin().getBytecode();
+        assertEquals(RequestCoalescer.key("g", bytecode, Tokens.MATERIALIZE_PROPERTIES_ALL),
+                RequestCoalescer.key("g", bytecode, Tokens.MATERIALIZE_PROPERTIES_ALL));
+        assertNotEquals(RequestCoalescer.key("g", bytecode, Tokens.MATERIALIZE_PROPERTIES_ALL),
+                RequestCoalescer.key("g", bytecode, Tokens.MATERIALIZE_PROPERTIES_TOKENS));
+    }
+
+    @Test
+    public void shouldNotJoinWithoutFlight() throws Exception {
+        final RequestCoalescer coalescer = new RequestCoalescer(10);
+        assertNull(coalescer.join(RequestCoalescer.key("g", g.V().asAdmin().getBytecode(), Tokens.MATERIALIZE_PROPERTIES_ALL)));
+    }
+
+    @Test
+    public void shouldShareResultsOfFlightWithThoseThatJoinIt() throws Exception {
+        final RequestCoalescer coalescer = new RequestCoalescer(10);
+        final TraversalResultCache.Key key = RequestCoalescer.key("g", g.V().asAdmin().getBytecode(), Tokens.MATERIALIZE_PROPERTIES_ALL);
+        final List<CompletableFuture<List<Object>>> joined = new ArrayList<>();
+        final Iterator<Vertex> vertices = g.V().toList().iterator();
+        final Iterator<Vertex> results = new Iterator<Vertex>() {
+            @Override
+            public boolean hasNext() {
+                return vertices.hasNext();
+            }
+
+            @Override
+            public Vertex next() {
+                // an identical traversal that arrives while the first one is in flight does not lead one of its own
+                final Iterator<?> other = g.V().toList().iterator();
+                assertSame(other, coalescer.lead(key, other, Tokens.MATERIALIZE_PROPERTIES_ALL));
+                joined.add(coalescer.getFlight(key));
+                return vertices.next();
+            }
+        };
+
+        final List<Object> led = new ArrayList<>();
+        coalescer.lead(key, results, Tokens.MATERIALIZE_PROPERTIES_ALL).forEachRemaining(led::add);
+        assertEquals(6, led.size());
+
+        final List<Object> shared = joined.get(0).get(10, TimeUnit.SECONDS);
+        assertEquals(led, shared);
+        assertThat(shared.get(0), instanceOf(DetachedVertex.class));
+        assertThat(((Vertex) shared.get(0)).properties().hasNext(), is(true));
+
+        // the flight landed so there is nothing left to join
+        assertNull(coalescer.join(key));
+    }
+
+    @Test
+    public void shouldLandBeforeLeaderReturnsResults() throws Exception {
+        final RequestCoalescer coalescer = new RequestCoalescer(10);
+        final TraversalResultCache.Key key = RequestCoalescer.key("g", g.V().asAdmin().getBytecode(), Tokens.MATERIALIZE_PROPERTIES_ALL);
+        final List<CompletableFuture<List<Object>>> joined = new ArrayList<>();
+        final Iterator<Integer> numbers = Arrays.asList(1, 2, 3).iterator();
+        final Iterator<?> led = coalescer.lead(key, new Iterator<Integer>() {
+            @Override
+            public boolean hasNext() {
+                return numbers.hasNext();
+            }
+
+            @Override
+            public Integer next() {
+                joined.add(coalescer.getFlight(key));
+                return numbers.next();
+            }
+        }, Tokens.MATERIALIZE_PROPERTIES_ALL);
+
+        // those that joined need not wait for the leader to write its results to its client
+        assertThat(joined.get(0).isDone(), is(true));
+        assertEquals(Arrays.asList(1, 2, 3), joined.get(0).get());
+        assertNull(coalescer.getFlight(key));
+
+        final List<Object> results = new ArrayList<>();
+        led.forEachRemaining(results::add);
+        assertEquals(Arrays.asList(1, 2, 3), results);
+    }
+
+    @Test
+    public void shouldShareReferencesWhenOnlyTokensAreMaterialized() throws Exception {
+        final RequestCoalescer coalescer = new RequestCoalescer(10);
+        final TraversalResultCache.Key key = RequestCoalescer.key("g", g.V().asAdmin().getBytecode(), Tokens.MATERIALIZE_PROPERTIES_TOKENS);
+        final List<CompletableFuture<List<Object>>> joined = new ArrayList<>();
+        final Iterator<Vertex> vertices = g.V().toList().iterator();
+        coalescer.lead(key, new Iterator<Vertex>() {
+            @Override
+            public boolean hasNext() {
+                return vertices.hasNext();
+            }
+
+            @Override
+            public Vertex next() {
+                joined.add(coalescer.getFlight(key));
+                return vertices.next();
+            }
+        }, Tokens.MATERIALIZE_PROPERTIES_TOKENS);
+
+        final List<Object> shared = joined.get(0).get(10, TimeUnit.SECONDS);
+        assertEquals(6, shared.size());
+        assertThat(shared.get(0), instanceOf(ReferenceVertex.class));
+    }
+
+    @Test
+    public void shouldLandWithoutResultsIfFlightFails() throws Exception {
+        final RequestCoalescer coalescer = new RequestCoalescer(10);
+        final TraversalResultCache.Key key = RequestCoalescer.key("g", g.V().asAdmin().getBytecode(), Tokens.MATERIALIZE_PROPERTIES_ALL);
+        final List<CompletableFuture<List<Object>>> joined = new ArrayList<>();
+        try {
+            coalescer.lead(key, new Iterator<Integer>() {
+                @Override
+                public boolean hasNext() {
+                    return true;
+                }
+
+                @Override
+                public Integer next() {
+                    joined.add(coalescer.getFlight(key));
+                    throw new IllegalStateException("failed");
+                }
+            }, Tokens.MATERIALIZE_PROPERTIES_ALL);
+            fail("Should have rethrown the failure of the traversal");
+        } catch (IllegalStateException ex) {
+            // expected
+        }
+
+        assertNull(joined.get(0).get(10, TimeUnit.SECONDS));
+        assertNull(coalescer.getFlight(key));
+    }
+
+    @Test
+    public void shouldLandWithoutResultsIfThereAreTooManyToShare() throws Exception {
+        final RequestCoalescer coalescer = new RequestCoalescer(2);
+        final TraversalResultCache.Key key = RequestCoalescer.key("g", g.V().asAdmin().getBytecode(), Tokens.MATERIALIZE_PROPERTIES_ALL);
+        final List<CompletableFuture<List<Object>>> joined = new ArrayList<>();
+        final Iterator<Integer> numbers = Arrays.asList(1, 2, 3, 4).iterator();
+        final Iterator<?> led = coalescer.lead(key, new Iterator<Integer>() {
+            @Override
+            public boolean hasNext() {
+                return numbers.hasNext();
+            }
+
+            @Override
+            public Integer next() {
+                joined.add(coalescer.getFlight(key));
+                return numbers.next();
+            }
+        }, Tokens.MATERIALIZE_PROPERTIES_ALL);
+
+        // the leader only iterated as many as it could share and those that joined evaluate on their own
+        assertEquals(2, joined.size());
+        assertNull(joined.get(0).get(10, TimeUnit.SECONDS));
+
+        final List<Object> results = new ArrayList<>();
+        led.forEachRemaining(results::add);
+        assertEquals(Arrays.asList(1, 2, 3, 4), results);
+        assertNull(coalescer.join(key));
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.server.util;
+
+import com.codahale.metrics.Timer;
+import org.apache.tinkerpop.gremlin.server.GremlinServer;
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static com.codahale.metrics.MetricRegistry.name;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+public class RequestTimersTest {
+
+    @Test
+    public void shouldNameTimersForOpAndAlias() {
+        final RequestTimers timers = new RequestTimers("eval", "g");
+        assertSame(MetricManager.INSTANCE.getTimer(name(GremlinServer.class, "request", "eval", "g", "queue")),
+                timers.getTimer(RequestTimers.Phase.QUEUE));
+        assertSame(MetricManager.INSTANCE.getTimer(name(GremlinServer.class, "request", "eval", "g", "serialization")),
+                timers.getTimer(RequestTimers.Phase.SERIALIZATION));
+    }
+
+    @Test
+    public void shouldShareTimersForUnknownOps() {
+        final Timer timer = MetricManager.INSTANCE.getTimer(name(GremlinServer.class, "request", RequestTimers.OTHER_OP, "g", "queue"));
+        assertSame(timer, new RequestTimers("made-up", "g").getTimer(RequestTimers.Phase.QUEUE));
+        assertSame(timer, new RequestTimers("another-made-up", "g").getTimer(RequestTimers.Phase.QUEUE));
+        assertSame(timer, new RequestTimers(null, "g").getTimer(RequestTimers.Phase.QUEUE));
+    }
+
+    @Test
+    public void shouldLeaveOutMissingAlias() {
+        final RequestTimers timers = new RequestTimers("bytecode", null);
+        assertSame(MetricManager.INSTANCE.getTimer(name(GremlinServer.class, "request", "bytecode", "evaluation")),
+                timers.getTimer(RequestTimers.Phase.EVALUATION));
+    }
+
+    @Test
+    public void shouldRecordPhase() {
+        final RequestTimers timers = new RequestTimers("eval", "recorded");
+        final Timer timer = timers.getTimer(RequestTimers.Phase.ITERATION);
+        final long before = timer.getCount();
+
+        timers.update(RequestTimers.Phase.ITERATION, TimeUnit.MILLISECONDS.toNanos(5));
+        timers.since(RequestTimers.Phase.ITERATION, System.nanoTime() - TimeUnit.MILLISECONDS.toNanos(5));
+
+        assertEquals(before + 2, timer.getCount());
+        assertThat(timer.getSnapshot().getMin() >= TimeUnit.MILLISECONDS.toNanos(5), is(true));
+    }
+}
@@ -0,0 +1,239 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.server.util;
+
+import org.apache.tinkerpop.gremlin.process.traversal.Bytecode;
+import org.apache.tinkerpop.gremlin.process.traversal.Order;
+import org.apache.tinkerpop.gremlin.process.traversal.Scope;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
+import org.apache.tinkerpop.gremlin.server.GraphManager;
+import org.apache.tinkerpop.gremlin.server.Settings;
+import org.apache.tinkerpop.gremlin.structure.Graph;
+import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerFactory;
+import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerGraph;
+import org.apache.tinkerpop.gremlin.util.function.Lambda;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class TraversalResultCacheTest {
+
+    @Test
+    public void shouldKeyOnBindingValuesRatherThanNames() {
+        final TraversalResultCache cache = new TraversalResultCache(100, 10, 0);
+        final Bytecode x = new Bytecode();
+        x.addStep("V");
+        x.addStep("has", "name", new Bytecode.Binding<>("x", "marko"));
+        final Bytecode y = new Bytecode();
+        y.addStep("V");
+        y.addStep("has", "name", new Bytecode.Binding<>("y", "marko"));
+        final Bytecode z = new Bytecode();
+        z.addStep("V");
+        z.addStep("has", "name", new Bytecode.Binding<>("x", "vadas"));
+
+        assertEquals(cache.key("g", x), cache.key("g", y));
+        assertEquals(cache.key("g", x).hashCode(), cache.key("g", y).hashCode());
+        assertThat(cache.key("g", x).equals(cache.key("g", z)), is(false));
+        assertThat(cache.key("g", x).equals(cache.key("h", x)), is(false));
+    }
+
+    @Test
+    public void shouldOnlyCacheReadOnlyDeterministicTraversals() {
+        final GraphTraversalSource g = TinkerGraph.open().traversal();
+        assertThat(TraversalResultCache.isCacheable(g.V().out().values("name").asAdmin()), is(true));
+        assertThat(TraversalResultCache.isCacheable(g.V().addV().asAdmin()), is(false));
+        assertThat(TraversalResultCache.isCacheable(g.V().union(__.out(), __.drop()).asAdmin()), is(false));
+        assertThat(TraversalResultCache.isCacheable(g.V().coin(0.5).asAdmin()), is(false));
+        assertThat(TraversalResultCache.isCacheable(g.V().map(t -> t.get()).asAdmin()), is(false));
+        assertThat(TraversalResultCache.isCacheable(g.V().profile().asAdmin()), is(false));
+        assertThat(TraversalResultCache.isMutating(g.V().union(__.out(), __.drop()).asAdmin()), is(true));
+        assertThat(TraversalResultCache.isMutating(g.V().coin(0.5).asAdmin()), is(false));
+    }
+
+    @Test
+    public void shouldOnlyTreatShuffledOrderAsRandom() {
+        final GraphTraversalSource g = TinkerGraph.open().traversal();
+        assertThat(TraversalResultCache.isCacheable(g.V().order().by("name").asAdmin()), is(true));
+        assertThat(TraversalResultCache.isCacheable(g.V().fold().order(Scope.local).asAdmin()), is(true));
+        assertThat(TraversalResultCache.isCacheable(g.V().order().by(Order.shuffle).asAdmin()), is(false));
+        assertThat(TraversalResultCache.isCacheable(g.V().order().by("name").by(Order.shuffle).asAdmin()), is(false));
+        assertThat(TraversalResultCache.isCacheable(g.V().sample(1).asAdmin()), is(false));
+    }
+
+    @Test
+    public void shouldInvalidateAfterTraversalsThatAreNotReadOnly() {
+        final Graph graph = TinkerFactory.createModern();
+        final GraphTraversalSource g = graph.traversal();
+        final TraversalResultCache cache = new TraversalResultCache(100, 10, 0);
+        final TraversalResultCache.Key key = cache.key("g", g.V().values("name").asAdmin().getBytecode());
+        final List<Object> results = g.V().values("name").toList();
+
+        // random and profiled traversals are not cached but cannot change the graph
+        assertNull(cache.invalidateAfter(g.V().coin(0.5).asAdmin(), graph));
+        assertNull(cache.invalidateAfter(g.V().profile().asAdmin(), graph));
+
+        // a lambda may change the graph without raising mutation events
+        cache.put(key, graph, cache.version(graph), results);
+        final Traversal.Admin<?, ?> lambda = g.V().sideEffect(t -> {}).asAdmin();
+        assertThat(TraversalResultCache.isReadOnly(lambda), is(false));
+        final Runnable afterLambda = cache.invalidateAfter(lambda, graph);
+        lambda.iterate();
+        assertEquals(results, cache.get(key, graph));
+        afterLambda.run();
+        assertNull(cache.get(key, graph));
+
+        // a mutating traversal that changes nothing leaves the results alone
+        cache.put(key, graph, cache.version(graph), results);
+        final Traversal.Admin<?, ?> noop = g.V().has("name", "nobody").drop().asAdmin();
+        final Runnable afterNoop = cache.invalidateAfter(noop, graph);
+        noop.iterate();
+        afterNoop.run();
+        assertEquals(results, cache.get(key, graph));
+    }
+
+    @Test
+    public void shouldOnlyTreatBytecodeWithoutWritesAsReadOnly() {
+        final GraphTraversalSource g = TinkerGraph.open().traversal();
+        assertThat(TraversalResultCache.isReadOnly(g.V().out().values("name").asAdmin().getBytecode()), is(true));
+        assertThat(TraversalResultCache.isReadOnly(g.V().order().by("name").asAdmin().getBytecode()), is(true));
+        assertThat(TraversalResultCache.isReadOnly(g.addV("person").asAdmin().getBytecode()), is(false));
+        assertThat(TraversalResultCache.isReadOnly(g.V().union(__.out(), __.drop()).asAdmin().getBytecode()), is(false));
+        assertThat(TraversalResultCache.isReadOnly(g.V().map(Lambda.function("it.get()")).asAdmin().getBytecode()), is(false));
+        assertThat(TraversalResultCache.isReadOnly(g.call("tinker.search").asAdmin().getBytecode()), is(false));
+        assertThat(TraversalResultCache.isReadOnly(g.io("graph.kryo").asAdmin().getBytecode()), is(false));
+
+        final Bytecode unknown = new Bytecode();
+        unknown.addStep("unknown");
+        assertThat(TraversalResultCache.isReadOnly(unknown), is(false));
+    }
+
+    @Test
+    public void shouldInvalidateGraphsOfUnobservedWrites() {
+        final Graph modern = TinkerFactory.createModern();
+        final Graph crew = TinkerFactory.createTheCrew();
+        final GraphManager graphManager = new DefaultGraphManager(new Settings());
+        graphManager.putGraph("modern", modern);
+        graphManager.putGraph("crew", crew);
+        graphManager.putTraversalSource("gmodern", modern.traversal());
+
+        final TraversalResultCache cache = new TraversalResultCache(100, 10, 0);
+        final TraversalResultCache.Key modernKey = cache.key("gmodern", modern.traversal().V().asAdmin().getBytecode());
+        final TraversalResultCache.Key crewKey = cache.key("crew", crew.traversal().V().asAdmin().getBytecode());
+        cache.put(modernKey, modern, cache.version(modern), Collections.singletonList(1));
+        cache.put(crewKey, crew, cache.version(crew), Collections.singletonList(2));
+
+        // a request that bound a traversal source only invalidates the results of its graph
+        cache.onWrite(UnobservedWriteListener.graphsOf(graphManager, Collections.singletonMap("g", "gmodern")));
+        assertNull(cache.get(modernKey, modern));
+        assertEquals(Collections.singletonList(2), cache.get(crewKey, crew));
+
+        // a request that bound nothing may have reached any graph
+        cache.put(modernKey, modern, cache.version(modern), Collections.singletonList(1));
+        cache.onWrite(UnobservedWriteListener.graphsOf(graphManager, Collections.emptyMap()));
+        assertNull(cache.get(modernKey, modern));
+        assertNull(cache.get(crewKey, crew));
+    }
+
+    @Test
+    public void shouldServeResultsUntilGraphIsMutated() {
+        final Graph graph = TinkerFactory.createModern();
+        final GraphTraversalSource g = graph.traversal();
+        final TraversalResultCache cache = new TraversalResultCache(100, 10, 0);
+        final Bytecode bytecode = g.V().values("name").asAdmin().getBytecode();
+        final TraversalResultCache.Key key = cache.key("g", bytecode);
+
+        assertNull(cache.get(key, graph));
+        final long version = cache.version(graph);
+        final List<Object> results = g.V().values("name").toList();
+        cache.put(key, graph, version, results);
+        assertEquals(results, cache.get(key, graph));
+
+        // reading does not invalidate
+        final Traversal.Admin<?, ?> read = g.V().has("name", "marko").asAdmin();
+        cache.invalidateOnMutation(read, graph).run();
+        read.iterate();
+        assertEquals(results, cache.get(key, graph));
+
+        final Traversal.Admin<?, ?> write = g.V().has("name", "marko").property("age", 30).asAdmin();
+        final Runnable afterMutation = cache.invalidateOnMutation(write, graph);
+        write.iterate();
+        assertNull(cache.get(key, graph));
+
+        // results computed while the mutation was in flight are never served
+        cache.put(key, graph, version, results);
+        assertNull(cache.get(key, graph));
+
+        cache.put(key, graph, cache.version(graph), results);
+        afterMutation.run();
+        assertNull(cache.get(key, graph));
+    }
+
+    @Test
+    public void shouldKeepVersionsPerGraph() {
+        final Graph modern = TinkerFactory.createModern();
+        final Graph crew = TinkerFactory.createTheCrew();
+        final TraversalResultCache cache = new TraversalResultCache(100, 10, 0);
+        final TraversalResultCache.Key modernKey = cache.key("modern", modern.traversal().V().asAdmin().getBytecode());
+        final TraversalResultCache.Key crewKey = cache.key("crew", crew.traversal().V().asAdmin().getBytecode());
+        cache.put(modernKey, modern, cache.version(modern), Collections.singletonList(1));
+        cache.put(crewKey, crew, cache.version(crew), Collections.singletonList(2));
+
+        final Traversal.Admin<?, ?> write = modern.traversal().addV("person").asAdmin();
+        cache.invalidateOnMutation(write, modern);
+        write.iterate();
+
+        assertNull(cache.get(modernKey, modern));
+        assertEquals(Collections.singletonList(2), cache.get(crewKey, crew));
+    }
+
+    @Test
+    public void shouldNotCacheTooManyResults() {
+        final Graph graph = TinkerGraph.open();
+        final TraversalResultCache cache = new TraversalResultCache(100, 2, 0);
+        final TraversalResultCache.Key key = cache.key("g", graph.traversal().V().asAdmin().getBytecode());
+        cache.put(key, graph, cache.version(graph), Arrays.asList(1, 2, 3));
+        assertNull(cache.get(key, graph));
+        cache.put(key, graph, cache.version(graph), Arrays.asList(1, 2));
+        assertEquals(Arrays.asList(1, 2), cache.get(key, graph));
+    }
+
+    @Test
+    public void shouldRecordOnlyExhaustedIterationsWithinLimit() {
+        final TraversalResultCache.RecordingIterator all = new TraversalResultCache.RecordingIterator(Arrays.asList(1, 2, 3).iterator(), 3);
+        while (all.hasNext()) all.next();
+        assertEquals(Arrays.asList(1, 2, 3), all.getResults());
+
+        final TraversalResultCache.RecordingIterator partial = new TraversalResultCache.RecordingIterator(Arrays.asList(1, 2, 3).iterator(), 3);
+        partial.next();
+        assertNull(partial.getResults());
+
+        final TraversalResultCache.RecordingIterator tooMany = new TraversalResultCache.RecordingIterator(Arrays.asList(1, 2, 3).iterator(), 2);
+        while (tooMany.hasNext()) tooMany.next();
+        assertNull(tooMany.getResults());
+    }
+}
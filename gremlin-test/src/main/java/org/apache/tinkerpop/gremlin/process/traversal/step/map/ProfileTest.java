@@ -33,6 +33,7 @@ import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
 import org.apache.tinkerpop.gremlin.process.traversal.step.Profiling;
 import org.apache.tinkerpop.gremlin.process.traversal.step.util.ProfileStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.WithOptions;
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.optimization.CountStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.optimization.LazyBarrierStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.optimization.RepeatUnrollStrategy;
@@ -97,6 +98,8 @@ public abstract class ProfileTest extends AbstractGremlinProcessTest {
 
     public abstract Traversal<Vertex, TraversalMetrics> get_g_V_groupXmX_profile();
 
+    public abstract Traversal<Vertex, TraversalMetrics> get_g_withXprofileSampleInterval_2X_V_out_out_profile();
+
     @Override
     protected void afterLoadGraphWith(final Graph graph) throws Exception {
         // profile() does some explicit counting which goes off with LazyBarrierStrategy in place.
@@ -120,6 +123,23 @@ public abstract class ProfileTest extends AbstractGremlinProcessTest {
         validate_g_V_out_out_profile_modern(traversal, traversal.asAdmin().getSideEffects().get(METRICS_KEY));
     }
 
+    @Test
+    @LoadGraphWith(MODERN)
+    public void g_withXprofileSampleInterval_2X_V_out_out_profile() {
+        final Traversal<Vertex, TraversalMetrics> traversal = get_g_withXprofileSampleInterval_2X_V_out_out_profile();
+        printTraversalForm(traversal);
+        final TraversalMetrics traversalMetrics = traversal.next();
+        validate_g_V_out_out_profile_modern(traversal, traversalMetrics);
+
+        // sampling only applies to OLTP where the counts are kept exactly and the durations are estimated
+        if (!onGraphComputer(traversal.asAdmin())) {
+            for (Metrics metrics : traversalMetrics.getMetrics()) {
+                assertEquals(2, metrics.getAnnotation(ProfileStep.SAMPLE_INTERVAL_KEY));
+                assertTrue(metrics.getDuration(TimeUnit.NANOSECONDS) >= 0);
+            }
+        }
+    }
+
     private void validate_g_V_out_out_profile_modern(final Traversal traversal, final TraversalMetrics traversalMetrics) {
         traversalMetrics.toString(); // ensure no exceptions are thrown
 
@@ -548,5 +568,10 @@ public abstract class ProfileTest extends AbstractGremlinProcessTest {
         public Traversal<Vertex, TraversalMetrics> get_g_V_groupXmX_profile() {
             return g.V().group("m").profile();
         }
+
+        @Override
+        public Traversal<Vertex, TraversalMetrics> get_g_withXprofileSampleInterval_2X_V_out_out_profile() {
+            return g.with(WithOptions.profileSampleInterval, 2).V().out().out().profile();
+        }
     }
 }
@@ -111,6 +111,21 @@ public final class Tokens {
      */
     public static final String ARGS_USER_AGENT = "userAgent";
 
+    /**
+     * Argument name for the priority class of a request, one of {@code high}, {@code normal} or {@code low}, which
+     * a server with admission control uses to decide which queued request is evaluated next and which it may shed
+     * under overload.
+     */
+    public static final String ARGS_PRIORITY = "priority";
+
+    /**
+     * The HTTP header that a client sets to {@code true} on a request to the HTTP endpoint to have the result
+     * streamed back with chunked transfer encoding as a series of response messages, one per batch of results, rather
+     * than as a single response message once the whole result is ready. Each message is preceded by its length as a
+     * four byte big-endian integer. The server sets the same header on a response that it streams.
+     */
+    public static final String HEADER_STREAM_RESULTS = "Gremlin-Stream-Results";
+
     public static final String VAL_TRAVERSAL_SOURCE_ALIAS = "g";
 
     /**
@@ -31,10 +31,12 @@ import org.apache.tinkerpop.gremlin.util.ser.binary.RequestMessageSerializer;
 import org.apache.tinkerpop.gremlin.util.ser.binary.ResponseMessageSerializer;
 import org.apache.tinkerpop.gremlin.structure.io.binary.TypeSerializerRegistry;
 import org.apache.tinkerpop.gremlin.structure.io.binary.types.CustomTypeSerializer;
+import org.apache.tinkerpop.gremlin.structure.io.binary.types.ListSerializer;
 import org.apache.tinkerpop.gremlin.structure.Graph;
 import org.apache.tinkerpop.gremlin.structure.io.IoRegistry;
 import org.javatuples.Pair;
 
+import java.io.IOException;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Method;
 import java.util.Base64;
@@ -64,6 +66,7 @@ public class GraphBinaryMessageSerializerV1 extends AbstractMessageSerializer<Gr
     private RequestMessageSerializer requestSerializer;
     private ResponseMessageSerializer responseSerializer;
     private GraphBinaryMapper mapper;
+    private TypeSerializerRegistry registry;
 
     /**
      * Creates a new instance of the message serializer using the default type serializers.
@@ -73,6 +76,7 @@ public class GraphBinaryMessageSerializerV1 extends AbstractMessageSerializer<Gr
     }
 
     public GraphBinaryMessageSerializerV1(final TypeSerializerRegistry registry) {
+        this.registry = registry;
         reader = new GraphBinaryReader(registry);
         writer = new GraphBinaryWriter(registry);
         mapper = new GraphBinaryMapper(writer, reader);
@@ -131,7 +135,7 @@ public class GraphBinaryMessageSerializerV1 extends AbstractMessageSerializer<Gr
         this.serializeToString = Boolean.parseBoolean(config.getOrDefault(TOKEN_SERIALIZE_RESULT_TO_STRING, "false").toString());
         this.header = this.serializeToString ? MIME_TYPE_STRINGD.getBytes(UTF_8) : MIME_TYPE.getBytes(UTF_8);
 
-        final TypeSerializerRegistry registry = builder.create();
+        registry = builder.create();
         reader = new GraphBinaryReader(registry);
         writer = new GraphBinaryWriter(registry);
 
@@ -141,6 +145,10 @@ public class GraphBinaryMessageSerializerV1 extends AbstractMessageSerializer<Gr
 
     @Override
     public ByteBuf serializeResponseAsBinary(final ResponseMessage responseMessage, final ByteBufAllocator allocator) throws SerializationException {
+        // batches of results are written in chunks rather than to one buffer that keeps growing
+        if (!serializeToString && isList(responseMessage.getResult().getData()))
+            return responseSerializer.writeValue(responseMessage, allocator, writer);
+
         final ByteBuf buffer = allocator.buffer();
 
         try {
@@ -220,6 +228,18 @@ public class GraphBinaryMessageSerializerV1 extends AbstractMessageSerializer<Gr
         return deserializeResponse(convertToByteBuf(msg));
     }
 
+    /**
+     * Determines if the data is serialized as a GraphBinary list, which is not the case when a custom serializer was
+     * registered for its type.
+     */
+    private boolean isList(final Object data) {
+        try {
+            return data instanceof List && registry.getSerializer(data.getClass()) instanceof ListSerializer;
+        } catch (IOException ex) {
+            return false;
+        }
+    }
+
     private byte[] convertToBytes(final ByteBuf bb) {
         byte[] bytes = new byte[bb.readableBytes()];
         bb.getBytes(bb.readerIndex(), bytes);
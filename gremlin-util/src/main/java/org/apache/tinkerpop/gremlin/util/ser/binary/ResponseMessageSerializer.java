@@ -19,6 +19,8 @@
 package org.apache.tinkerpop.gremlin.util.ser.binary;
 
 import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.CompositeByteBuf;
 import org.apache.tinkerpop.gremlin.util.ser.NettyBufferFactory;
 import org.apache.tinkerpop.gremlin.util.message.ResponseMessage;
 import org.apache.tinkerpop.gremlin.util.message.ResponseResult;
@@ -26,16 +28,33 @@ import org.apache.tinkerpop.gremlin.util.message.ResponseStatus;
 import org.apache.tinkerpop.gremlin.util.message.ResponseStatusCode;
 import org.apache.tinkerpop.gremlin.util.ser.SerializationException;
 import org.apache.tinkerpop.gremlin.structure.io.Buffer;
+import org.apache.tinkerpop.gremlin.structure.io.binary.DataType;
 import org.apache.tinkerpop.gremlin.structure.io.binary.GraphBinaryReader;
 import org.apache.tinkerpop.gremlin.structure.io.binary.GraphBinaryWriter;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 
 public class ResponseMessageSerializer {
     private static final NettyBufferFactory bufferFactory = new NettyBufferFactory();
 
+    /**
+     * The number of bytes after which results stop being written to a buffer and a new one is started.
+     */
+    public static final int CHUNK_SIZE = 64 * 1024;
+
+    private static final int MIN_CAPACITY = 256;
+    private static final byte[] listTypeCode = new byte[] { DataType.LIST.getCodeByte() };
+
+    /**
+     * The bytes per result of the messages serialized by each thread, which is used to size the buffers of the next
+     * message written by that thread so that they rarely need to grow.
+     */
+    private final ThreadLocal<SizeEstimate> sizeEstimates = ThreadLocal.withInitial(SizeEstimate::new);
+
     public ResponseMessage readValue(final ByteBuf byteBuf, final GraphBinaryReader context) throws SerializationException {
         // Wrap netty's buffer
         final Buffer buffer = bufferFactory.create(byteBuf);
@@ -65,25 +84,103 @@ public class ResponseMessageSerializer {
         final Buffer buffer = bufferFactory.create(byteBuf);
 
         final ResponseResult result = value.getResult();
-        final ResponseStatus status = value.getStatus();
 
         try {
-            // Version
-            buffer.writeByte(GraphBinaryWriter.VERSION_BYTE);
-            // Nullable request id
-            context.writeValue(value.getRequestId(), buffer, true);
-            // Status code
-            context.writeValue(status.getCode().getValue(), buffer, false);
-            // Nullable status message
-            context.writeValue(status.getMessage(), buffer, true);
-            // Status attributes
-            context.writeValue(status.getAttributes(), buffer, false);
-            // Result meta
-            context.writeValue(result.getMeta(), buffer, false);
+            writeHeader(value, buffer, context);
             // Fully-qualified value
             context.write(result.getData(), buffer);
         } catch (IOException ex) {
             throw new SerializationException(ex);
         }
     }
+
+    /**
+     * Writes a message whose result data is a {@code List} serialized as a GraphBinary list to buffers taken from
+     * the allocator. Results are written whole to a buffer until it holds {@link #CHUNK_SIZE} bytes and then to a new
+     * one, so a large batch never grows and copies one buffer over and over. The buffers are returned as a
+     * {@code CompositeByteBuf} that is written to the channel without copying them together, or as the only buffer
+     * when the message fits in one.
+     */
+    public ByteBuf writeValue(final ResponseMessage value, final ByteBufAllocator allocator,
+                              final GraphBinaryWriter context) throws SerializationException {
+        final List<?> data = (List<?>) value.getResult().getData();
+        final SizeEstimate estimate = sizeEstimates.get();
+        final List<ByteBuf> chunks = new ArrayList<>();
+
+        try {
+            ByteBuf chunk = allocator.buffer(estimate.capacityFor(data.size()));
+            chunks.add(chunk);
+            Buffer buffer = bufferFactory.create(chunk);
+
+            writeHeader(value, buffer, context);
+            buffer.writeBytes(listTypeCode);
+            context.writeValueFlagNone(buffer);
+            buffer.writeInt(data.size());
+            final int headerSize = chunk.readableBytes();
+
+            int remaining = data.size();
+            for (Object item : data) {
+                if (chunk.readableBytes() >= CHUNK_SIZE) {
+                    chunk = allocator.buffer(estimate.capacityFor(remaining));
+                    chunks.add(chunk);
+                    buffer = bufferFactory.create(chunk);
+                }
+                context.write(item, buffer);
+                remaining--;
+            }
+
+            long size = -headerSize;
+            for (ByteBuf c : chunks) {
+                size += c.readableBytes();
+            }
+            estimate.update(size, data.size());
+        } catch (Exception ex) {
+            chunks.forEach(ByteBuf::release);
+            throw ex instanceof SerializationException ? (SerializationException) ex : new SerializationException(ex);
+        }
+
+        if (chunks.size() == 1) return chunks.get(0);
+
+        final CompositeByteBuf composite = allocator.compositeBuffer(chunks.size());
+        composite.addComponents(true, chunks);
+        return composite;
+    }
+
+    private static void writeHeader(final ResponseMessage value, final Buffer buffer,
+                                    final GraphBinaryWriter context) throws IOException {
+        final ResponseResult result = value.getResult();
+        final ResponseStatus status = value.getStatus();
+
+        // Version
+        buffer.writeByte(GraphBinaryWriter.VERSION_BYTE);
+        // Nullable request id
+        context.writeValue(value.getRequestId(), buffer, true);
+        // Status code
+        context.writeValue(status.getCode().getValue(), buffer, false);
+        // Nullable status message
+        context.writeValue(status.getMessage(), buffer, true);
+        // Status attributes
+        context.writeValue(status.getAttributes(), buffer, false);
+        // Result meta
+        context.writeValue(result.getMeta(), buffer, false);
+    }
+
+    /**
+     * A moving average of the bytes per result of the messages written by one thread.
+     */
+    private static final class SizeEstimate {
+        private static final int HEADER_SIZE = 64;
+
+        private double bytesPerResult = 0;
+
+        private int capacityFor(final int results) {
+            return (int) Math.max(MIN_CAPACITY, Math.min(CHUNK_SIZE, HEADER_SIZE + bytesPerResult * results));
+        }
+
+        private void update(final long size, final int results) {
+            if (0 == results) return;
+            final double observed = (double) size / results;
+            bytesPerResult = 0 == bytesPerResult ? observed : (bytesPerResult * 7 + observed) / 8;
+        }
+    }
 }
@@ -20,6 +20,7 @@ package org.apache.tinkerpop.gremlin.util.ser.binary;
 
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.CompositeByteBuf;
 import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
 import org.apache.tinkerpop.gremlin.util.Tokens;
@@ -28,21 +29,29 @@ import org.apache.tinkerpop.gremlin.util.message.ResponseMessage;
 import org.apache.tinkerpop.gremlin.util.message.ResponseStatusCode;
 import org.apache.tinkerpop.gremlin.util.ser.GraphBinaryMessageSerializerV1;
 import org.apache.tinkerpop.gremlin.util.ser.SerializationException;
+import org.apache.tinkerpop.gremlin.structure.io.binary.GraphBinaryWriter;
 import org.apache.tinkerpop.gremlin.structure.io.binary.TypeSerializerRegistry;
 import org.apache.tinkerpop.gremlin.structure.util.empty.EmptyGraph;
 import org.junit.Test;
 
 import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import static org.apache.tinkerpop.gremlin.util.MockitoHamcrestMatcherAdapter.reflectionEquals;
 import static org.junit.Assert.assertEquals;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.hasItemInArray;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
 
 public class GraphBinaryMessageSerializerV1Test {
     private final ByteBufAllocator allocator = ByteBufAllocator.DEFAULT;
@@ -129,6 +138,44 @@ public class GraphBinaryMessageSerializerV1Test {
         assertResponseEquals(response, deserialized);
     }
 
+    @Test
+    public void shouldSerializeLargeBatchOfResultsInChunks() throws SerializationException {
+        final List<String> results = IntStream.range(0, 10000).mapToObj(i -> "result number " + i).collect(Collectors.toList());
+        final ResponseMessage response = ResponseMessage.build(UUID.randomUUID())
+                .code(ResponseStatusCode.PARTIAL_CONTENT)
+                .result(results)
+                .create();
+
+        final ByteBuf buffer = serializer.serializeResponseAsBinary(response, allocator);
+        assertThat(buffer, instanceOf(CompositeByteBuf.class));
+        assertThat(((CompositeByteBuf) buffer).numComponents() > 1, is(true));
+
+        // the chunks hold the same bytes as a single buffer would
+        final ByteBuf expected = allocator.buffer();
+        new ResponseMessageSerializer().writeValue(response, expected, new GraphBinaryWriter());
+        assertEquals(expected, buffer);
+        expected.release();
+
+        final ResponseMessage deserialized = serializer.deserializeResponse(buffer);
+        assertResponseEquals(response, deserialized);
+        assertEquals(results, deserialized.getResult().getData());
+    }
+
+    @Test
+    public void shouldSerializeSmallBatchOfResultsToOneBuffer() throws SerializationException {
+        final ResponseMessage response = ResponseMessage.build(UUID.randomUUID())
+                .code(ResponseStatusCode.SUCCESS)
+                .result(Arrays.asList(1, "two", 3L))
+                .create();
+
+        final ByteBuf buffer = serializer.serializeResponseAsBinary(response, allocator);
+        assertThat(buffer, not(instanceOf(CompositeByteBuf.class)));
+
+        final ResponseMessage deserialized = serializer.deserializeResponse(buffer);
+        assertResponseEquals(response, deserialized);
+        assertEquals(Arrays.asList(1, "two", 3L), deserialized.getResult().getData());
+    }
+
     @Test
     public void shouldSerializeAndDeserializeResponseOverText() throws SerializationException {
         final ResponseMessage response = ResponseMessage.build(UUID.randomUUID())
@@ -0,0 +1,100 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.tinkergraph.process.traversal.step.map;
+
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.VertexStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.AbstractStep;
+import org.apache.tinkerpop.gremlin.process.traversal.traverser.TraverserRequirement;
+import org.apache.tinkerpop.gremlin.structure.Direction;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.structure.util.StringFactory;
+import org.apache.tinkerpop.gremlin.tinkergraph.process.traversal.strategy.optimization.TinkerDegreeCountStrategy;
+import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerHelper;
+import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerVertex;
+import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Takes the place of a {@link VertexStep} whose adjacent elements are only counted, as found by the
+ * {@link TinkerDegreeCountStrategy}. Rather than emitting each adjacent element, the vertex is passed on with its bulk
+ * multiplied by its degree, which is read from the size of its adjacency with {@link TinkerHelper#degree}. Vertices
+ * without any adjacent elements are filtered.
+ */
+public final class TinkerDegreeStep extends AbstractStep<Vertex, Vertex> {
+
+    private final Direction direction;
+    private final String[] edgeLabels;
+
+    public TinkerDegreeStep(final Traversal.Admin traversal, final Direction direction, final String... edgeLabels) {
+        super(traversal);
+        this.direction = direction;
+        this.edgeLabels = edgeLabels;
+    }
+
+    @Override
+    protected Traverser.Admin<Vertex> processNextStart() throws NoSuchElementException {
+        while (true) {
+            final Traverser.Admin<Vertex> traverser = this.starts.next();
+            final Vertex vertex = traverser.get();
+            final long degree = vertex instanceof TinkerVertex ?
+                    TinkerHelper.degree((TinkerVertex) vertex, this.direction, this.edgeLabels) :
+                    IteratorUtils.count(vertex.edges(this.direction, this.edgeLabels));
+            if (degree > 0) {
+                final Traverser.Admin<Vertex> split = traverser.split(vertex, this);
+                split.setBulk(traverser.bulk() * degree);
+                return split;
+            }
+        }
+    }
+
+    public Direction getDirection() {
+        return this.direction;
+    }
+
+    public String[] getEdgeLabels() {
+        return this.edgeLabels;
+    }
+
+    @Override
+    public Set<TraverserRequirement> getRequirements() {
+        return Collections.singleton(TraverserRequirement.BULK);
+    }
+
+    @Override
+    public String toString() {
+        return StringFactory.stepString(this, this.direction, Arrays.asList(this.edgeLabels));
+    }
+
+    @Override
+    public int hashCode() {
+        int result = Objects.hash(super.hashCode(), this.direction);
+        // like VertexStep the order of the edge labels does not matter
+        for (final String edgeLabel : this.edgeLabels) {
+            result = result + 31 * Objects.hashCode(edgeLabel);
+        }
+        return result;
+    }
+}
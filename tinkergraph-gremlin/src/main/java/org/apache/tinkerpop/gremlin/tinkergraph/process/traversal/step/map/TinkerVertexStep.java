@@ -0,0 +1,134 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.tinkergraph.process.traversal.step.map;
+
+import org.apache.tinkerpop.gremlin.process.traversal.GremlinTypeErrorException;
+import org.apache.tinkerpop.gremlin.process.traversal.P;
+import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
+import org.apache.tinkerpop.gremlin.process.traversal.step.HasContainerHolder;
+import org.apache.tinkerpop.gremlin.process.traversal.step.LambdaHolder;
+import org.apache.tinkerpop.gremlin.process.traversal.step.Mutating;
+import org.apache.tinkerpop.gremlin.process.traversal.step.filter.FilterStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.VertexStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.HasContainer;
+import org.apache.tinkerpop.gremlin.process.traversal.util.AndP;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
+import org.apache.tinkerpop.gremlin.structure.Element;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.structure.util.StringFactory;
+import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerGraph;
+import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerHelper;
+import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerVertex;
+import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * A {@link VertexStep} that filters the adjacent edges or vertices with the {@link HasContainer} instances of the
+ * {@code has()} steps that followed it, testing them while the adjacency of the {@link TinkerVertex} is read rather
+ * than on each traverser afterward. Comparisons on edge property keys with an adjacency index, as created with
+ * {@link TinkerGraph#createAdjacencyIndex(String)}, only read the edges within range.
+ */
+public final class TinkerVertexStep<E extends Element> extends VertexStep<E> implements HasContainerHolder {
+
+    private List<HasContainer> hasContainers = new ArrayList<>();
+
+    /**
+     * Whether the traversal is known not to modify the graph, which is determined when the step is first iterated as
+     * the traversal may still be changed by strategies before.
+     */
+    private Boolean readOnly = null;
+
+    public TinkerVertexStep(final VertexStep<E> originalVertexStep) {
+        super(originalVertexStep.getTraversal(), originalVertexStep.getReturnClass(), originalVertexStep.getDirection(), originalVertexStep.getEdgeLabels());
+        originalVertexStep.getLabels().forEach(this::addLabel);
+        this.parameters = originalVertexStep.getParameters();
+    }
+
+    @Override
+    protected Iterator<E> flatMap(final Traverser.Admin<Vertex> traverser) {
+        if (this.hasContainers.isEmpty())
+            return super.flatMap(traverser);
+
+        final Vertex vertex = traverser.get();
+        if (null == this.readOnly) {
+            // a lambda could modify the graph as well as a step that mutates
+            this.readOnly = !TraversalHelper.hasStepOfAssignableClassRecursively(Arrays.asList(Mutating.class, LambdaHolder.class),
+                    TraversalHelper.getRootTraversal(this.getTraversal()));
+        }
+
+        // the adjacency of a TinkerTransactionGraph or of a graph computer view isn't indexed
+        final Iterator<E> adjacent = this.returnsEdge() && vertex instanceof TinkerVertex && vertex.graph() instanceof TinkerGraph &&
+                !TinkerHelper.inComputerMode((TinkerGraph) vertex.graph()) ?
+                (Iterator<E>) TinkerHelper.getEdgeCandidates((TinkerVertex) vertex, this.getDirection(), this.hasContainers, this.readOnly, this.getEdgeLabels()) :
+                super.flatMap(traverser);
+        return IteratorUtils.filter(adjacent, this::test);
+    }
+
+    private boolean test(final E element) {
+        try {
+            return HasContainer.testAll(element, this.hasContainers);
+        } catch (GremlinTypeErrorException ex) {
+            // reduce the ERROR to FALSE like FilterStep does unless the parent is a FilterStep that expects the ERROR
+            if (getTraversal().isRoot() || !(getTraversal().getParent() instanceof FilterStep))
+                return false;
+            else
+                throw ex;
+        }
+    }
+
+    @Override
+    public List<HasContainer> getHasContainers() {
+        return Collections.unmodifiableList(this.hasContainers);
+    }
+
+    @Override
+    public void addHasContainer(final HasContainer hasContainer) {
+        if (hasContainer.getPredicate() instanceof AndP) {
+            for (final P<?> predicate : ((AndP<?>) hasContainer.getPredicate()).getPredicates()) {
+                this.addHasContainer(new HasContainer(hasContainer.getKey(), predicate));
+            }
+        } else
+            this.hasContainers.add(hasContainer);
+    }
+
+    @Override
+    public TinkerVertexStep<E> clone() {
+        final TinkerVertexStep<E> clone = (TinkerVertexStep<E>) super.clone();
+        clone.hasContainers = new ArrayList<>(this.hasContainers);
+        clone.readOnly = null;
+        return clone;
+    }
+
+    @Override
+    public String toString() {
+        return this.hasContainers.isEmpty() ?
+                super.toString() :
+                StringFactory.stepString(this, this.getDirection(), Arrays.asList(this.getEdgeLabels()), this.getReturnClass().getSimpleName().toLowerCase(), this.hasContainers);
+    }
+
+    @Override
+    public int hashCode() {
+        return super.hashCode() ^ this.hasContainers.hashCode();
+    }
+}
@@ -42,6 +42,7 @@ import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
@@ -76,12 +77,14 @@ public final class TinkerGraphStep<S, E extends Element> extends GraphStep<S, E>
             iterator = Collections.emptyIterator();
         else if (this.ids.length > 0)
             iterator = this.iteratorList(graph.edges(this.ids));
-        else
-            iterator = null == indexedContainer ?
-                    this.iteratorList(graph.edges()) :
-                    TinkerIndexHelper.queryEdgeIndex(graph, indexedContainer.getKey(), indexedContainer.getPredicate().getValue()).stream()
+        else if (null != indexedContainer)
+            iterator = TinkerIndexHelper.queryEdgeIndex(graph, indexedContainer.getKey(), indexedContainer.getPredicate().getValue()).stream()
                                 .filter(edge -> HasContainer.testAll(edge, this.hasContainers))
                                 .collect(Collectors.<Edge>toList()).iterator();
+        else {
+            final List<? extends Edge> candidates = getTextIndexCandidates(c -> TinkerIndexHelper.queryEdgeTextIndex(graph, c));
+            iterator = this.iteratorList(null == candidates ? graph.edges() : (Iterator<Edge>) candidates.iterator());
+        }
 
 
         iterators.add(iterator);
@@ -98,11 +101,13 @@ public final class TinkerGraphStep<S, E extends Element> extends GraphStep<S, E>
             iterator = Collections.emptyIterator();
         else if (this.ids.length > 0)
             iterator = this.iteratorList(graph.vertices(this.ids));
-        else
-            iterator = (null == indexedContainer ?
-                    this.iteratorList(graph.vertices()) :
-                    IteratorUtils.filter(TinkerIndexHelper.queryVertexIndex(graph, indexedContainer.getKey(), indexedContainer.getPredicate().getValue()).iterator(),
-                                         vertex -> HasContainer.testAll(vertex, this.hasContainers)));
+        else if (null != indexedContainer)
+            iterator = IteratorUtils.filter(TinkerIndexHelper.queryVertexIndex(graph, indexedContainer.getKey(), indexedContainer.getPredicate().getValue()).iterator(),
+                                         vertex -> HasContainer.testAll(vertex, this.hasContainers));
+        else {
+            final List<? extends Vertex> candidates = getTextIndexCandidates(c -> TinkerIndexHelper.queryVertexTextIndex(graph, c));
+            iterator = this.iteratorList(null == candidates ? graph.vertices() : (Iterator<Vertex>) candidates.iterator());
+        }
 
         iterators.add(iterator);
 
@@ -118,6 +123,18 @@ public final class TinkerGraphStep<S, E extends Element> extends GraphStep<S, E>
 
     }
 
+    /**
+     * Gets the elements that may satisfy the first {@link HasContainer} with a {@code TextP} that a full text index
+     * can help with, or {@code null} if there is no such filter.
+     */
+    private <T extends Element> List<T> getTextIndexCandidates(final Function<HasContainer, List<T>> query) {
+        for (final HasContainer hasContainer : this.hasContainers) {
+            final List<T> candidates = query.apply(hasContainer);
+            if (null != candidates) return candidates;
+        }
+        return null;
+    }
+
     @Override
     public String toString() {
         if (this.hasContainers.isEmpty())
@@ -0,0 +1,102 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.tinkergraph.process.traversal.strategy.optimization;
+
+import org.apache.tinkerpop.gremlin.process.traversal.Step;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.TraversalStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.step.filter.RangeGlobalStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.CountGlobalStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.NoOpBarrierStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.VertexStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.RequirementsStep;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.AbstractTraversalStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.traverser.TraverserRequirement;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
+import org.apache.tinkerpop.gremlin.tinkergraph.process.traversal.step.map.TinkerDegreeStep;
+
+import java.util.List;
+
+/**
+ * This strategy replaces a {@link VertexStep} whose adjacent edges or vertices are only counted with a
+ * {@link TinkerDegreeStep} so that the count is taken from the size of the adjacency of each vertex rather than by
+ * iterating it. The {@code limit()} that {@code CountStrategy} places before a {@code count()} may sit in between.
+ * Traversals with bulking turned off, as with {@code withBulk(false)}, are left alone as their traversers cannot carry
+ * the degree in their bulk.
+ *
+ * @example <pre>
+ * g.V().outE('knows').count()                   // is replaced by TinkerDegreeStep
+ * g.V().where(both().count().is(gt(10)))        // is replaced by TinkerDegreeStep
+ * g.V().local(inE().count())                    // is replaced by TinkerDegreeStep
+ * </pre>
+ */
+public final class TinkerDegreeCountStrategy extends AbstractTraversalStrategy<TraversalStrategy.ProviderOptimizationStrategy> implements TraversalStrategy.ProviderOptimizationStrategy {
+
+    private static final TinkerDegreeCountStrategy INSTANCE = new TinkerDegreeCountStrategy();
+
+    private TinkerDegreeCountStrategy() {
+    }
+
+    @Override
+    public void apply(final Traversal.Admin<?, ?> traversal) {
+        if (TraversalHelper.onGraphComputer(traversal) || isOneBulk(traversal))
+            return;
+
+        final List<Step> steps = traversal.getSteps();
+        for (int i = 0; i < steps.size() - 1; i++) {
+            final Step step = steps.get(i);
+            // a labelled step or a TinkerVertexStep with has() filters needs the adjacent elements themselves
+            if (step.getClass() != VertexStep.class || !step.getLabels().isEmpty() || !isCounted(steps, i + 1))
+                continue;
+
+            final VertexStep<?> vertexStep = (VertexStep<?>) step;
+            TraversalHelper.replaceStep((Step) vertexStep,
+                    new TinkerDegreeStep(traversal, vertexStep.getDirection(), vertexStep.getEdgeLabels()), traversal);
+        }
+    }
+
+    /**
+     * Determines if {@code withBulk(false)} placed a {@link RequirementsStep} on the root traversal, whose traverser
+     * generator is shared by all of its children. Only that step is checked as asking the root for all of its
+     * requirements would fix them before the remaining strategies are applied.
+     */
+    private static boolean isOneBulk(final Traversal.Admin<?, ?> traversal) {
+        for (final Step<?, ?> step : TraversalHelper.getRootTraversal(traversal).getSteps()) {
+            if (step instanceof RequirementsStep && step.getRequirements().contains(TraverserRequirement.ONE_BULK))
+                return true;
+        }
+        return false;
+    }
+
+    private static boolean isCounted(final List<Step> steps, final int index) {
+        for (int i = index; i < steps.size(); i++) {
+            final Step step = steps.get(i);
+            if (step instanceof CountGlobalStep)
+                return true;
+            // neither step looks at its traversers beyond their bulk
+            if (!(step instanceof NoOpBarrierStep || step instanceof RangeGlobalStep) || !step.getLabels().isEmpty())
+                return false;
+        }
+        return false;
+    }
+
+    public static TinkerDegreeCountStrategy instance() {
+        return INSTANCE;
+    }
+}
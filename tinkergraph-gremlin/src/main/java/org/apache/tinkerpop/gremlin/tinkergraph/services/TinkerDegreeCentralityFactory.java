@@ -22,22 +22,30 @@ import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
 import org.apache.tinkerpop.gremlin.structure.Direction;
 import org.apache.tinkerpop.gremlin.structure.Edge;
 import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.structure.service.AsyncService;
 import org.apache.tinkerpop.gremlin.structure.service.Service;
 import org.apache.tinkerpop.gremlin.structure.util.CloseableIterator;
 import org.apache.tinkerpop.gremlin.tinkergraph.structure.AbstractTinkerGraph;
+import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerHelper;
+import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerVertex;
 import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
 
 import java.util.Collections;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
 import java.util.stream.LongStream;
 
 import static org.apache.tinkerpop.gremlin.util.CollectionUtil.asMap;
 
 /**
- * Count the IN/OUT/BOTH edges for a set of vertices. Demonstrates a {@link Service.Type#Streaming} service.
+ * Count the IN/OUT/BOTH edges for a set of vertices. Demonstrates a {@link Service.Type#Streaming} service and an
+ * {@link AsyncService} which completes immediately. The degree of a {@link TinkerVertex} is read from the size of its
+ * adjacency with {@link TinkerHelper#degree}, which is cheaper than handing the call to another thread and must be
+ * done on the traversal thread as the adjacency of a vertex is not safe to read while it is being mutated.
  */
-public class TinkerDegreeCentralityFactory extends TinkerServiceRegistry.TinkerServiceFactory<Vertex,Long> implements Service<Vertex, Long> {
+public class TinkerDegreeCentralityFactory extends TinkerServiceRegistry.TinkerServiceFactory<Vertex,Long> implements AsyncService<Vertex, Long> {
 
     public static final String NAME = "tinker.degree.centrality";
 
@@ -80,16 +88,19 @@ public class TinkerDegreeCentralityFactory extends TinkerServiceRegistry.TinkerS
     }
 
     @Override
-    public CloseableIterator<Long> execute(final ServiceCallContext ctx, final Traverser.Admin<Vertex> in, final Map params) {
+    public CompletionStage<CloseableIterator<Long>> executeAsync(final ServiceCallContext ctx, final Traverser.Admin<Vertex> in, final Map params) {
         final Direction direction = (Direction) params.getOrDefault(Params.DIRECTION, Direction.IN);
-
         final Vertex v = in.get();
         final long count;
-        try (CloseableIterator<Edge> it = CloseableIterator.of(v.edges(direction))) {
-            count = IteratorUtils.count(it);
-        };
+        if (v instanceof TinkerVertex) {
+            count = TinkerHelper.degree((TinkerVertex) v, direction);
+        } else {
+            try (CloseableIterator<Edge> it = CloseableIterator.of(v.edges(direction))) {
+                count = IteratorUtils.count(it);
+            }
+        }
 
-        return CloseableIterator.of(LongStream.range(0, in.bulk()).map(i -> count).iterator());
+        return CompletableFuture.completedFuture(CloseableIterator.of(LongStream.range(0, in.bulk()).map(i -> count).iterator()));
     }
 
     @Override
@@ -22,24 +22,31 @@ import org.apache.tinkerpop.gremlin.structure.Edge;
 import org.apache.tinkerpop.gremlin.structure.Property;
 import org.apache.tinkerpop.gremlin.structure.Vertex;
 import org.apache.tinkerpop.gremlin.structure.VertexProperty;
+import org.apache.tinkerpop.gremlin.structure.service.AsyncService;
 import org.apache.tinkerpop.gremlin.structure.service.Service;
 import org.apache.tinkerpop.gremlin.structure.util.CloseableIterator;
 import org.apache.tinkerpop.gremlin.tinkergraph.structure.AbstractTinkerGraph;
+import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerGraph;
 import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerHelper;
+import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerTextIndex;
 
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
 
 import static org.apache.tinkerpop.gremlin.util.CollectionUtil.asMap;
 
 /**
- * Inefficient text search implementation (scan+filter), searches for {@link Property}s by token/regex.
- * Demonstrates a {@link Service.Type#Start} service.
+ * Text search for {@link Property}s, either by a regex with a scan+filter or by a tokenized query which uses the full
+ * text index of the key when one was created with {@link TinkerGraph#createTextIndex(String, Class)}.
+ * Demonstrates a {@link Service.Type#Start} service and an {@link AsyncService} which completes immediately with a lazy
+ * iterator of its results.
  */
-public class TinkerTextSearchFactory<I, R> extends TinkerServiceRegistry.TinkerServiceFactory<I, R> implements Service<I, R> {
+public class TinkerTextSearchFactory<I, R> extends TinkerServiceRegistry.TinkerServiceFactory<I, R> implements AsyncService<I, R> {
 
     public static final String NAME = "tinker.search";
 
@@ -56,13 +63,39 @@ public class TinkerTextSearchFactory<I, R> extends TinkerServiceRegistry.TinkerS
          * Specify the type of Element to search for (optional)
          */
         String TYPE = "type";
+        /**
+         * Specify a tokenized query, matched against the tokens of the property values
+         */
+        String QUERY = "query";
+        /**
+         * Specify how the query is matched, one of term/prefix/phrase/fuzzy (optional)
+         */
+        String MODE = "mode";
+        /**
+         * Specify the property key to search (optional)
+         */
+        String KEY = "key";
 
         Map DESCRIBE = asMap(
                 SEARCH, "Specify a search term - will be converted to regex via .*(search).*",
                 REGEX, "Directly specify the regex",
-                TYPE, "Specify the type of Element to search for, one of Vertex/Edge/VertexProperty (optional)"
+                TYPE, "Specify the type of Element to search for, one of Vertex/Edge/VertexProperty (optional)",
+                QUERY, "Specify a tokenized query, matched against the tokens of the property values and answered by the text index of the key if there is one",
+                MODE, "Specify how the query is matched, one of term/prefix/phrase/fuzzy (optional), default is term",
+                KEY, "Specify the property key to search (optional), required for the text index to be used"
         );
 
+        static TinkerTextIndex.Mode mode(final String mode) {
+            if (mode == null)
+                return TinkerTextIndex.Mode.term;
+
+            try {
+                return TinkerTextIndex.Mode.valueOf(mode);
+            } catch (IllegalArgumentException iae) {
+                throw new IllegalArgumentException("Mode must be one of term/prefix/phrase/fuzzy: " + mode);
+            }
+        }
+
         static Class type(final String type) {
             if (type == null)
                 return null;
@@ -107,18 +140,27 @@ public class TinkerTextSearchFactory<I, R> extends TinkerServiceRegistry.TinkerS
     }
 
     @Override
-    public CloseableIterator<R> execute(final ServiceCallContext ctx, final Map params) {
+    public CompletionStage<CloseableIterator<R>> executeAsync(final ServiceCallContext ctx, final Map params) {
+        final Class type = Params.type((String) params.get(Params.TYPE));
+        if (params.containsKey(Params.QUERY)) {
+            final String query = (String) params.get(Params.QUERY);
+            final TinkerTextIndex.Mode mode = Params.mode((String) params.get(Params.MODE));
+            final String key = (String) params.get(Params.KEY);
+            return CompletableFuture.completedFuture(
+                    CloseableIterator.of((Iterator<R>) TinkerHelper.search(graph, query, mode, key, Optional.ofNullable(type))));
+        }
+
         final String regex;
         if (params.containsKey(Params.REGEX)) {
             regex = (String) params.get(Params.REGEX);
         } else if (params.containsKey(Params.SEARCH)) {
             regex = ".*(" + params.get(Params.SEARCH) + ").*";
         } else {
-            throw new IllegalStateException("Missing search/regex parameter");
+            throw new IllegalStateException("Missing search/regex/query parameter");
         }
-        final Class type = Params.type((String) params.get(Params.TYPE));
 
-        return CloseableIterator.of((Iterator<R>) TinkerHelper.search(graph, regex, Optional.ofNullable(type)));
+        return CompletableFuture.completedFuture(
+                CloseableIterator.of((Iterator<R>) TinkerHelper.search(graph, regex, Optional.ofNullable(type))));
     }
 
     @Override
@@ -0,0 +1,263 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.tinkergraph.structure;
+
+import org.apache.tinkerpop.gremlin.process.traversal.Compare;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.HasContainer;
+import org.apache.tinkerpop.gremlin.structure.Direction;
+import org.apache.tinkerpop.gremlin.structure.Edge;
+import org.apache.tinkerpop.gremlin.structure.Property;
+import org.apache.tinkerpop.gremlin.util.NumberHelper;
+
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * A sorted index over the edges of a single {@link TinkerVertex} that share a direction and a label, keyed by the
+ * values of the edge properties registered with {@link TinkerGraph#createAdjacencyIndex(String)}. It is only built for
+ * vertices whose degree for that label reaches {@link AbstractTinkerGraph#GREMLIN_TINKERGRAPH_ADJACENCY_INDEX_THRESHOLD} and
+ * once built it is kept up to date as edges and their properties change, so that a range filter over the edges of a
+ * supernode reads a slice of the index rather than every edge.
+ * <p/>
+ * Values are only sorted against values of the same kind (numbers, strings, dates) and any other value is kept aside
+ * and always returned as a candidate. Callers must still test the candidates against the full set of filters.
+ */
+final class TinkerAdjacencyIndex {
+
+    private final Set<Edge> edges;
+    private final Map<String, KeyIndex> keyIndices = new ConcurrentHashMap<>();
+
+    private TinkerAdjacencyIndex(final Set<Edge> edges) {
+        this.edges = edges;
+    }
+
+    /**
+     * Gets the edges that may satisfy the {@link HasContainer} filters using the adjacency index of the vertex if one
+     * of the filters is a comparison on an indexed key and the vertex has enough edges to warrant an index. Otherwise
+     * the full set of edges with the label is returned.
+     */
+    static Collection<Edge> candidates(final TinkerVertex vertex, final Direction direction, final String label,
+                                       final Set<Edge> edges, final List<HasContainer> hasContainers) {
+        if (!(vertex.graph instanceof TinkerGraph))
+            return edges;
+        final TinkerGraph graph = (TinkerGraph) vertex.graph;
+        if (graph.adjacencyIndexedKeys.isEmpty() || edges.size() < graph.adjacencyIndexThreshold)
+            return edges;
+
+        for (final HasContainer hasContainer : hasContainers) {
+            if (graph.adjacencyIndexedKeys.contains(hasContainer.getKey()) && isRangeable(hasContainer)) {
+                Map<String, TinkerAdjacencyIndex> indices = Direction.OUT == direction ? vertex.outAdjacencyIndices : vertex.inAdjacencyIndices;
+                if (null == indices) {
+                    indices = new ConcurrentHashMap<>();
+                    if (Direction.OUT == direction)
+                        vertex.outAdjacencyIndices = indices;
+                    else
+                        vertex.inAdjacencyIndices = indices;
+                }
+                final TinkerAdjacencyIndex index = indices.computeIfAbsent(label, k -> new TinkerAdjacencyIndex(edges));
+                return index.keyIndices.computeIfAbsent(hasContainer.getKey(), index::build).slice(hasContainer.getKey(), hasContainers);
+            }
+        }
+        return edges;
+    }
+
+    static void addEdge(final TinkerVertex vertex, final Direction direction, final String label, final Edge edge) {
+        final TinkerAdjacencyIndex index = get(vertex, direction, label);
+        if (null != index)
+            index.keyIndices.forEach((key, keyIndex) -> edge.property(key).ifPresent(value -> keyIndex.add(value, edge)));
+    }
+
+    static void removeEdge(final TinkerVertex vertex, final Direction direction, final String label, final Edge edge) {
+        final TinkerAdjacencyIndex index = get(vertex, direction, label);
+        if (null != index)
+            index.keyIndices.forEach((key, keyIndex) -> edge.property(key).ifPresent(value -> keyIndex.remove(value, edge)));
+    }
+
+    /**
+     * Moves the edge within the indices of both of its vertices after the value of one of its properties changed.
+     * Edges which are not yet part of the adjacency of their vertices, as is the case while their properties are
+     * attached on creation, are left alone and get indexed when they are added.
+     */
+    static void updateEdge(final TinkerEdge edge, final String key, final Property<?> oldProperty, final Property<?> newProperty) {
+        if (!(edge.graph() instanceof TinkerGraph)) return;
+        for (final Direction direction : Direction.proper) {
+            final TinkerVertex vertex = (TinkerVertex) (Direction.OUT == direction ? edge.outVertex : edge.inVertex);
+            final TinkerAdjacencyIndex index = null == vertex ? null : get(vertex, direction, edge.label());
+            if (null == index || !index.edges.contains(edge)) continue;
+            final KeyIndex keyIndex = index.keyIndices.get(key);
+            if (null == keyIndex) continue;
+            if (oldProperty.isPresent()) keyIndex.remove(oldProperty.value(), edge);
+            if (newProperty.isPresent()) keyIndex.add(newProperty.value(), edge);
+        }
+    }
+
+    static void dropKey(final TinkerVertex vertex, final String key) {
+        if (null != vertex.outAdjacencyIndices)
+            vertex.outAdjacencyIndices.values().forEach(index -> index.keyIndices.remove(key));
+        if (null != vertex.inAdjacencyIndices)
+            vertex.inAdjacencyIndices.values().forEach(index -> index.keyIndices.remove(key));
+    }
+
+    private static TinkerAdjacencyIndex get(final TinkerVertex vertex, final Direction direction, final String label) {
+        final Map<String, TinkerAdjacencyIndex> indices = Direction.OUT == direction ? vertex.outAdjacencyIndices : vertex.inAdjacencyIndices;
+        return null == indices ? null : indices.get(label);
+    }
+
+    private KeyIndex build(final String key) {
+        final KeyIndex keyIndex = new KeyIndex();
+        for (final Edge edge : this.edges) {
+            edge.property(key).ifPresent(value -> keyIndex.add(value, edge));
+        }
+        return keyIndex;
+    }
+
+    private static boolean isRangeable(final HasContainer hasContainer) {
+        final Object value = hasContainer.getPredicate().getValue();
+        return hasContainer.getBiPredicate() instanceof Compare &&
+                Compare.neq != hasContainer.getBiPredicate() &&
+                null != kindOf(value);
+    }
+
+    /**
+     * Gets the class that values must share in order to be sorted against the supplied one or {@code null} if the
+     * value is not sorted at all.
+     */
+    private static Class<?> kindOf(final Object value) {
+        if (value instanceof Number)
+            return Number.class;
+        else if (value instanceof String || value instanceof Date || value instanceof OffsetDateTime)
+            return value.getClass();
+        else
+            return null;
+    }
+
+    private static Comparator<Object> comparatorOf(final Class<?> kind) {
+        return Number.class == kind ?
+                (a, b) -> NumberHelper.compare((Number) a, (Number) b) :
+                (a, b) -> ((Comparable) a).compareTo(b);
+    }
+
+    /**
+     * The edges of the index sorted by the value of a single property key. Traversals may read it while another
+     * thread changes the edges, so the sorted values and their edges are held in concurrent collections.
+     */
+    private static final class KeyIndex {
+        private final Map<Class<?>, NavigableMap<Object, Set<Edge>>> sorted = new ConcurrentHashMap<>();
+        private final Set<Edge> unsorted = ConcurrentHashMap.newKeySet();
+
+        private void add(final Object value, final Edge edge) {
+            final Class<?> kind = kindOf(value);
+            if (null == kind)
+                this.unsorted.add(edge);
+            else
+                this.sorted.computeIfAbsent(kind, k -> new ConcurrentSkipListMap<>(comparatorOf(k))).compute(value, (v, edges) -> {
+                    final Set<Edge> matches = null == edges ? ConcurrentHashMap.newKeySet() : edges;
+                    matches.add(edge);
+                    return matches;
+                });
+        }
+
+        private void remove(final Object value, final Edge edge) {
+            final Class<?> kind = kindOf(value);
+            if (null == kind) {
+                this.unsorted.remove(edge);
+                return;
+            }
+
+            final NavigableMap<Object, Set<Edge>> values = this.sorted.get(kind);
+            if (null != values) {
+                values.computeIfPresent(value, (v, matches) -> {
+                    matches.remove(edge);
+                    return matches.isEmpty() ? null : matches;
+                });
+            }
+        }
+
+        /**
+         * Narrows the edges down to those whose value for the key falls within the bounds of every comparison on
+         * that key which shares the kind of the first one.
+         */
+        private Collection<Edge> slice(final String key, final List<HasContainer> hasContainers) {
+            Class<?> kind = null;
+            Object equal = null;
+            Object from = null, to = null;
+            boolean fromInclusive = true, toInclusive = true;
+            Comparator<Object> comparator = null;
+            for (final HasContainer hasContainer : hasContainers) {
+                if (!key.equals(hasContainer.getKey()) || !isRangeable(hasContainer)) continue;
+                final Object value = hasContainer.getPredicate().getValue();
+                if (null == kind) {
+                    kind = kindOf(value);
+                    comparator = comparatorOf(kind);
+                } else if (kind != kindOf(value))
+                    continue;
+
+                final Compare compare = (Compare) hasContainer.getBiPredicate();
+                if (Compare.eq == compare) {
+                    if (null == equal) equal = value;
+                } else if (Compare.gt == compare || Compare.gte == compare) {
+                    final int c = null == from ? 1 : comparator.compare(value, from);
+                    if (c > 0 || (0 == c && Compare.gt == compare)) {
+                        from = value;
+                        fromInclusive = Compare.gte == compare;
+                    }
+                } else if (Compare.lt == compare || Compare.lte == compare) {
+                    final int c = null == to ? -1 : comparator.compare(value, to);
+                    if (c < 0 || (0 == c && Compare.lt == compare)) {
+                        to = value;
+                        toInclusive = Compare.lte == compare;
+                    }
+                }
+            }
+
+            final List<Edge> candidates = new ArrayList<>(this.unsorted);
+            final NavigableMap<Object, Set<Edge>> values = this.sorted.get(kind);
+            if (null == values)
+                return candidates;
+
+            if (null != equal) {
+                final Set<Edge> matches = values.get(equal);
+                if (null != matches) candidates.addAll(matches);
+            } else {
+                final NavigableMap<Object, Set<Edge>> range;
+                if (null != from && null != to) {
+                    // bounds that cross can match nothing and would make subMap() complain
+                    if (comparator.compare(from, to) > 0) return candidates;
+                    range = values.subMap(from, fromInclusive, to, toInclusive);
+                } else if (null != from)
+                    range = values.tailMap(from, fromInclusive);
+                else if (null != to)
+                    range = values.headMap(to, toInclusive);
+                else
+                    range = values;
+                range.values().forEach(candidates::addAll);
+            }
+            return candidates;
+        }
+    }
+}
@@ -20,31 +20,42 @@ package org.apache.tinkerpop.gremlin.tinkergraph.structure;
 
 import org.apache.commons.configuration2.BaseConfiguration;
 import org.apache.commons.configuration2.Configuration;
+import org.apache.tinkerpop.gremlin.process.traversal.TextP;
 import org.apache.tinkerpop.gremlin.process.traversal.TraversalStrategies;
+import org.apache.tinkerpop.gremlin.structure.Direction;
 import org.apache.tinkerpop.gremlin.structure.Edge;
 import org.apache.tinkerpop.gremlin.structure.Element;
 import org.apache.tinkerpop.gremlin.structure.Graph;
+import org.apache.tinkerpop.gremlin.structure.T;
 import org.apache.tinkerpop.gremlin.structure.Transaction;
 import org.apache.tinkerpop.gremlin.structure.Vertex;
 import org.apache.tinkerpop.gremlin.structure.VertexProperty;
+import org.apache.tinkerpop.gremlin.structure.util.BatchVertexLookup;
 import org.apache.tinkerpop.gremlin.structure.util.ElementHelper;
 import org.apache.tinkerpop.gremlin.structure.util.GraphFactory;
+import org.apache.tinkerpop.gremlin.structure.util.GraphStatistics;
 import org.apache.tinkerpop.gremlin.structure.util.StringFactory;
+import org.apache.tinkerpop.gremlin.tinkergraph.process.traversal.strategy.optimization.TinkerDegreeCountStrategy;
 import org.apache.tinkerpop.gremlin.tinkergraph.process.traversal.strategy.optimization.TinkerGraphCountStrategy;
 import org.apache.tinkerpop.gremlin.tinkergraph.process.traversal.strategy.optimization.TinkerGraphStepStrategy;
+import org.apache.tinkerpop.gremlin.tinkergraph.process.traversal.strategy.optimization.TinkerVertexStepStrategy;
 import org.apache.tinkerpop.gremlin.tinkergraph.services.TinkerServiceRegistry;
 import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * An in-memory (with optional persistence on calls to {@link #close()}), reference implementation of the property
@@ -59,12 +70,14 @@ import java.util.concurrent.ConcurrentHashMap;
 @Graph.OptIn(Graph.OptIn.SUITE_PROCESS_COMPUTER)
 @Graph.OptIn(Graph.OptIn.SUITE_PROCESS_LIMITED_STANDARD)
 @Graph.OptIn(Graph.OptIn.SUITE_PROCESS_LIMITED_COMPUTER)
-public class TinkerGraph extends AbstractTinkerGraph {
+public class TinkerGraph extends AbstractTinkerGraph implements GraphStatistics, BatchVertexLookup {
 
     static {
         TraversalStrategies.GlobalCache.registerStrategies(TinkerGraph.class, TraversalStrategies.GlobalCache.getStrategies(Graph.class).clone().addStrategies(
                 TinkerGraphStepStrategy.instance(),
-                TinkerGraphCountStrategy.instance()));
+                TinkerVertexStepStrategy.instance(),
+                TinkerGraphCountStrategy.instance(),
+                TinkerDegreeCountStrategy.instance()));
     }
 
     private static final Configuration EMPTY_CONFIGURATION = new BaseConfiguration() {{
@@ -76,6 +89,26 @@ public class TinkerGraph extends AbstractTinkerGraph {
     protected Map<Object, Vertex> vertices = new ConcurrentHashMap<>();
     protected Map<Object, Edge> edges = new ConcurrentHashMap<>();
 
+    /**
+     * The number of vertices and edges with each label, maintained as elements are added and removed so that the
+     * {@link GraphStatistics} are available without a scan.
+     */
+    protected Map<String, AtomicLong> vertexLabelCounts = new ConcurrentHashMap<>();
+    protected Map<String, AtomicLong> edgeLabelCounts = new ConcurrentHashMap<>();
+
+    /**
+     * The edge property keys by which the adjacency of vertices with at least {@link #adjacencyIndexThreshold} edges
+     * of a label is sorted.
+     */
+    protected Set<String> adjacencyIndexedKeys = ConcurrentHashMap.newKeySet();
+    protected int adjacencyIndexThreshold;
+
+    /**
+     * The full text indices over the string property values of vertices and edges.
+     */
+    protected TinkerTextIndex<TinkerVertex> vertexTextIndex = null;
+    protected TinkerTextIndex<TinkerEdge> edgeTextIndex = null;
+
     /**
      * An empty private constructor that initializes {@link TinkerGraph}.
      */
@@ -87,6 +120,9 @@ public class TinkerGraph extends AbstractTinkerGraph {
         defaultVertexPropertyCardinality = VertexProperty.Cardinality.valueOf(
                 configuration.getString(GREMLIN_TINKERGRAPH_DEFAULT_VERTEX_PROPERTY_CARDINALITY, VertexProperty.Cardinality.single.name()));
         allowNullPropertyValues = configuration.getBoolean(GREMLIN_TINKERGRAPH_ALLOW_NULL_PROPERTY_VALUES, false);
+        adjacencyIndexThreshold = configuration.getInt(GREMLIN_TINKERGRAPH_ADJACENCY_INDEX_THRESHOLD, 1000);
+        if (adjacencyIndexThreshold < 1)
+            throw new IllegalStateException(String.format("The %s must be a positive integer", GREMLIN_TINKERGRAPH_ADJACENCY_INDEX_THRESHOLD));
 
         graphLocation = configuration.getString(GREMLIN_TINKERGRAPH_GRAPH_LOCATION, null);
         graphFormat = configuration.getString(GREMLIN_TINKERGRAPH_GRAPH_FORMAT, null);
@@ -149,6 +185,7 @@ public class TinkerGraph extends AbstractTinkerGraph {
         final Vertex vertex = createTinkerVertex(idValue, label, this);
         ElementHelper.attachProperties(vertex, VertexProperty.Cardinality.list, keyValues);
         this.vertices.put(vertex.id(), vertex);
+        incrementLabelCount(this.vertexLabelCounts, label, 1L);
 
         return vertex;
     }
@@ -156,7 +193,9 @@ public class TinkerGraph extends AbstractTinkerGraph {
     @Override
     public void removeVertex(final Object vertexId)
     {
-        this.vertices.remove(vertexId);
+        final Vertex vertex = this.vertices.remove(vertexId);
+        if (null != vertex)
+            incrementLabelCount(this.vertexLabelCounts, vertex.label(), -1L);
     }
 
     @Override
@@ -177,6 +216,7 @@ public class TinkerGraph extends AbstractTinkerGraph {
         edge = new TinkerEdge(idValue, outVertex, label, inVertex);
         ElementHelper.attachProperties(edge, keyValues);
         edges.put(edge.id(), edge);
+        incrementLabelCount(this.edgeLabelCounts, label, 1L);
         addOutEdge(outVertex, label, edge);
         addInEdge(inVertex, label, edge);
         return edge;
@@ -195,14 +235,17 @@ public class TinkerGraph extends AbstractTinkerGraph {
             final Set<Edge> edges = outVertex.outEdges.get(edge.label());
             if (null != edges)
                 edges.removeIf(e -> e.id() == edgeId);
+            TinkerAdjacencyIndex.removeEdge(outVertex, Direction.OUT, edge.label(), edge);
         }
         if (null != inVertex && null != inVertex.inEdges) {
             final Set<Edge> edges = inVertex.inEdges.get(edge.label());
             if (null != edges)
                 edges.removeIf(e -> e.id() == edgeId);
+            TinkerAdjacencyIndex.removeEdge(inVertex, Direction.IN, edge.label(), edge);
         }
 
-        this.edges.remove(edgeId);
+        if (null != this.edges.remove(edgeId))
+            incrementLabelCount(this.edgeLabelCounts, edge.label(), -1L);
     }
 
     @Override
@@ -210,6 +253,101 @@ public class TinkerGraph extends AbstractTinkerGraph {
         super.clear();
         this.vertices.clear();
         this.edges.clear();
+        this.vertexLabelCounts.clear();
+        this.edgeLabelCounts.clear();
+        this.adjacencyIndexedKeys.clear();
+        this.vertexTextIndex = null;
+        this.edgeTextIndex = null;
+    }
+
+    private static void incrementLabelCount(final Map<String, AtomicLong> labelCounts, final String label, final long delta) {
+        labelCounts.computeIfAbsent(label, k -> new AtomicLong()).addAndGet(delta);
+    }
+
+    ////////////// GRAPH STATISTICS //////////////////
+
+    @Override
+    public <E extends Element> long count(final Class<E> elementClass) {
+        return Vertex.class.isAssignableFrom(elementClass) ? this.vertices.size() : this.edges.size();
+    }
+
+    @Override
+    public <E extends Element> Optional<Long> countByLabel(final Class<E> elementClass, final String label) {
+        final AtomicLong count = (Vertex.class.isAssignableFrom(elementClass) ? this.vertexLabelCounts : this.edgeLabelCounts).get(label);
+        return Optional.of(null == count ? 0L : count.get());
+    }
+
+    /**
+     * Counts the elements with the property from the index if the key is indexed. Unindexed keys cannot be estimated.
+     */
+    @Override
+    public <E extends Element> Optional<Long> countByProperty(final Class<E> elementClass, final String key, final Object value) {
+        final AbstractTinkerIndex<?> index = Vertex.class.isAssignableFrom(elementClass) ? this.vertexIndex : this.edgeIndex;
+        return null != index && index.getIndexedKeys().contains(key) ?
+                Optional.of(index.count(key, value)) :
+                Optional.empty();
+    }
+
+    ////////////// BATCH VERTEX LOOKUP //////////////////
+
+    /**
+     * Resolves searches by id directly and searches on an indexed key from the index. All other searches share a
+     * single pass over the vertices, in which each vertex is only tested against the searches whose first property
+     * value (or label, where there are no properties) it has.
+     */
+    @Override
+    public List<List<Vertex>> lookupVertices(final List<Map<?, ?>> searches) {
+        final List<List<Vertex>> results = new ArrayList<>(searches.size());
+        final Map<Object, Map<Object, List<Integer>>> scans = new HashMap<>();
+        for (int i = 0; i < searches.size(); i++) {
+            final Map<?, ?> search = searches.get(i);
+            final List<Vertex> result = new ArrayList<>();
+            results.add(result);
+
+            if (search.get(T.id) != null) {
+                vertices(search.get(T.id)).forEachRemaining(v -> {
+                    if (BatchVertexLookup.matches(v, search)) result.add(v);
+                });
+                continue;
+            }
+
+            final String indexedKey = null == this.vertexIndex ? null : search.keySet().stream().
+                    filter(k -> k instanceof String && this.vertexIndex.getIndexedKeys().contains(k)).
+                    map(k -> (String) k).findFirst().orElse(null);
+            if (indexedKey != null) {
+                this.vertexIndex.get(indexedKey, search.get(indexedKey)).forEach(v -> {
+                    if (BatchVertexLookup.matches(v, search)) result.add(v);
+                });
+                continue;
+            }
+
+            final Object probe = search.keySet().stream().filter(k -> k instanceof String).map(k -> (Object) k).findFirst().
+                    orElse(search.containsKey(T.label) ? T.label : null);
+            scans.computeIfAbsent(probe, k -> new HashMap<>()).
+                    computeIfAbsent(null == probe ? null : BatchVertexLookup.bucketOf(search.get(probe)), k -> new ArrayList<>()).
+                    add(i);
+        }
+
+        if (!scans.isEmpty()) {
+            final Set<Integer> tests = new LinkedHashSet<>();
+            for (final Vertex v : this.vertices.values()) {
+                tests.clear();
+                scans.forEach((probe, buckets) -> {
+                    if (null == probe)
+                        tests.addAll(buckets.get(null));
+                    else if (probe == T.label)
+                        tests.addAll(buckets.getOrDefault(v.label(), Collections.emptyList()));
+                    else
+                        v.values((String) probe).forEachRemaining(value ->
+                                tests.addAll(buckets.getOrDefault(BatchVertexLookup.bucketOf(value), Collections.emptyList())));
+                });
+                for (final Integer i : tests) {
+                    if (BatchVertexLookup.matches(v, searches.get(i))) results.get(i).add(v);
+                }
+            }
+        }
+
+        return results;
     }
 
     @Override
@@ -291,6 +429,7 @@ public class TinkerGraph extends AbstractTinkerGraph {
             vertex.outEdges.put(label, edges);
         }
         edges.add(edge);
+        TinkerAdjacencyIndex.addEdge(vertex, Direction.OUT, label, edge);
     }
 
     @Override
@@ -302,6 +441,7 @@ public class TinkerGraph extends AbstractTinkerGraph {
             vertex.inEdges.put(label, edges);
         }
         edges.add(edge);
+        TinkerAdjacencyIndex.addEdge(vertex, Direction.IN, label, edge);
     }
 
     /**
@@ -413,4 +553,84 @@ public class TinkerGraph extends AbstractTinkerGraph {
             throw new IllegalArgumentException("Class is not indexable: " + elementClass);
         }
     }
+
+    /**
+     * Create a full text index for said element class ({@link Vertex} or {@link Edge}) and said property key. String
+     * values of the key are split into tokens which are indexed so that the {@code tinker.search} service can answer
+     * term, prefix, phrase and fuzzy queries on the key and so that {@link TextP} filters on the key in a
+     * {@code has()} following {@code V()} or {@code E()} only test the elements that may match. When the index is
+     * created, all existing elements are indexed and it is then updated whenever the key is mutated.
+     *
+     * @param key          the property key to index
+     * @param elementClass the element class to index
+     * @param <E>          The type of the element class
+     */
+    public <E extends Element> void createTextIndex(final String key, final Class<E> elementClass) {
+        if (Vertex.class.isAssignableFrom(elementClass)) {
+            if (null == this.vertexTextIndex) this.vertexTextIndex = new TinkerTextIndex<>(TinkerVertex.class);
+            this.vertexTextIndex.createKeyIndex(key, this.vertices.values());
+        } else if (Edge.class.isAssignableFrom(elementClass)) {
+            if (null == this.edgeTextIndex) this.edgeTextIndex = new TinkerTextIndex<>(TinkerEdge.class);
+            this.edgeTextIndex.createKeyIndex(key, this.edges.values());
+        } else {
+            throw new IllegalArgumentException("Class is not indexable: " + elementClass);
+        }
+    }
+
+    /**
+     * Drop the full text index for the specified element class ({@link Vertex} or {@link Edge}) and key.
+     *
+     * @param key          the property key to stop indexing
+     * @param elementClass the element class of the index to drop
+     * @param <E>          The type of the element class
+     */
+    public <E extends Element> void dropTextIndex(final String key, final Class<E> elementClass) {
+        if (Vertex.class.isAssignableFrom(elementClass)) {
+            if (null != this.vertexTextIndex) this.vertexTextIndex.dropKeyIndex(key);
+        } else if (Edge.class.isAssignableFrom(elementClass)) {
+            if (null != this.edgeTextIndex) this.edgeTextIndex.dropKeyIndex(key);
+        } else {
+            throw new IllegalArgumentException("Class is not indexable: " + elementClass);
+        }
+    }
+
+    /**
+     * Return all the property keys with a full text index for the specified element class ({@link Vertex} or
+     * {@link Edge}).
+     */
+    public <E extends Element> Set<String> getTextIndexedKeys(final Class<E> elementClass) {
+        final TinkerTextIndex<?> index = Vertex.class.isAssignableFrom(elementClass) ? this.vertexTextIndex : this.edgeTextIndex;
+        return null == index ? Collections.emptySet() : index.getIndexedKeys();
+    }
+
+    /**
+     * Create an adjacency index for the specified edge property key. Vertices with at least as many edges of a label
+     * in a direction as configured by {@code gremlin.tinkergraph.adjacencyIndexThreshold} keep those edges sorted by
+     * the value of the key, so that a traversal like {@code outE('bought').has('ts', gt(x))} only reads the edges in
+     * range. The sorted edges of a vertex are built the first time they are needed and maintained from then on.
+     *
+     * @param key the edge property key to index
+     */
+    public void createAdjacencyIndex(final String key) {
+        if (null == key || key.isEmpty())
+            throw new IllegalArgumentException("The key for an adjacency index cannot be null or empty");
+        this.adjacencyIndexedKeys.add(key);
+    }
+
+    /**
+     * Drop the adjacency index for the specified edge property key.
+     *
+     * @param key the edge property key to stop indexing
+     */
+    public void dropAdjacencyIndex(final String key) {
+        if (this.adjacencyIndexedKeys.remove(key))
+            this.vertices.values().forEach(vertex -> TinkerAdjacencyIndex.dropKey((TinkerVertex) vertex, key));
+    }
+
+    /**
+     * Return all the edge property keys with an adjacency index.
+     */
+    public Set<String> getAdjacencyIndexedKeys() {
+        return Collections.unmodifiableSet(this.adjacencyIndexedKeys);
+    }
 }
@@ -20,6 +20,7 @@ package org.apache.tinkerpop.gremlin.tinkergraph.structure;
 
 import org.apache.tinkerpop.gremlin.process.computer.GraphFilter;
 import org.apache.tinkerpop.gremlin.process.computer.VertexComputeKey;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.HasContainer;
 import org.apache.tinkerpop.gremlin.structure.Direction;
 import org.apache.tinkerpop.gremlin.structure.Edge;
 import org.apache.tinkerpop.gremlin.structure.Element;
@@ -30,6 +31,8 @@ import org.apache.tinkerpop.gremlin.tinkergraph.process.computer.TinkerGraphComp
 import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.Iterator;
@@ -95,6 +98,74 @@ public final class TinkerHelper {
         return (Iterator) edges.iterator();
     }
 
+    /**
+     * Gets the number of edges of the vertex in the given direction with any of the given labels, which is the number
+     * that {@link Vertex#edges(Direction, String...)} would return. The adjacency of a {@link TinkerGraph} is grouped
+     * by label so the sizes of those groups are summed rather than the edges counted. The adjacency of a
+     * {@link TinkerTransactionGraph} or of a graph computer view is iterated instead.
+     */
+    public static long degree(final TinkerVertex vertex, final Direction direction, final String... edgeLabels) {
+        if (vertex.graph instanceof TinkerTransactionGraph || inComputerMode(vertex.graph))
+            return IteratorUtils.count(vertex.edges(direction, edgeLabels));
+
+        long degree = 0;
+        if (direction.equals(Direction.OUT) || direction.equals(Direction.BOTH))
+            degree += degree(vertex.outEdges, edgeLabels);
+        if (direction.equals(Direction.IN) || direction.equals(Direction.BOTH))
+            degree += degree(vertex.inEdges, edgeLabels);
+        return degree;
+    }
+
+    private static long degree(final Map<String, Set<Edge>> adjacency, final String[] edgeLabels) {
+        if (null == adjacency) return 0;
+        long degree = 0;
+        if (edgeLabels.length == 0) {
+            for (final Set<Edge> edges : adjacency.values()) {
+                degree += edges.size();
+            }
+        } else {
+            for (final String label : edgeLabels) {
+                final Set<Edge> edges = adjacency.get(label);
+                if (null != edges) degree += edges.size();
+            }
+        }
+        return degree;
+    }
+
+    /**
+     * Gets the edges of the vertex that may satisfy the {@link HasContainer} filters, which are all of them unless an
+     * adjacency index applies to one of the filters and narrows them down. The edges returned still need to be tested
+     * against the filters. Edges that are not narrowed down by an index are read from the adjacency as they are
+     * iterated if the caller does not modify the graph while iterating them and are otherwise copied first as they
+     * are by {@link #getEdges(TinkerVertex, Direction, String...)}.
+     */
+    public static Iterator<TinkerEdge> getEdgeCandidates(final TinkerVertex vertex, final Direction direction,
+                                                         final List<HasContainer> hasContainers, final boolean readOnly,
+                                                         final String... edgeLabels) {
+        if (direction.equals(Direction.OUT))
+            return (Iterator) getEdgeCandidates(vertex, Direction.OUT, vertex.outEdges, hasContainers, readOnly, edgeLabels);
+        else if (direction.equals(Direction.IN))
+            return (Iterator) getEdgeCandidates(vertex, Direction.IN, vertex.inEdges, hasContainers, readOnly, edgeLabels);
+        else
+            return (Iterator) IteratorUtils.concat(
+                    getEdgeCandidates(vertex, Direction.OUT, vertex.outEdges, hasContainers, readOnly, edgeLabels),
+                    getEdgeCandidates(vertex, Direction.IN, vertex.inEdges, hasContainers, readOnly, edgeLabels));
+    }
+
+    private static Iterator<Edge> getEdgeCandidates(final TinkerVertex vertex, final Direction direction, final Map<String, Set<Edge>> adjacency,
+                                                    final List<HasContainer> hasContainers, final boolean readOnly, final String[] edgeLabels) {
+        if (null == adjacency) return Collections.emptyIterator();
+        final Collection<String> labels = edgeLabels.length > 0 ? Arrays.asList(edgeLabels) :
+                readOnly ? adjacency.keySet() : new ArrayList<>(adjacency.keySet());
+        return IteratorUtils.flatMap(labels.iterator(), label -> {
+            final Set<Edge> edges = adjacency.get(label);
+            if (null == edges || edges.isEmpty()) return Collections.emptyIterator();
+            final Collection<Edge> candidates = TinkerAdjacencyIndex.candidates(vertex, direction, label, edges, hasContainers);
+            // the candidates of an index are already a copy
+            return readOnly || candidates != edges ? candidates.iterator() : new ArrayList<>(candidates).iterator();
+        });
+    }
+
     public static Iterator<TinkerEdge> getEdgesTx(final TinkerVertex vertex, final Direction direction, final String... edgeLabels) {
         final List<Object> outEdgeIds = new ArrayList<>();
         if (direction.equals(Direction.OUT) || direction.equals(Direction.BOTH)) {
@@ -242,6 +313,52 @@ public final class TinkerHelper {
         return it;
     }
 
+    /**
+     * Search for {@link Property}s of the supplied key (or of any key if {@code null}) attached to {@link Element}s of
+     * the supplied element type whose values match the query in the supplied {@link TinkerTextIndex.Mode}. When the
+     * key has a full text index for vertices or edges the index provides the candidates, otherwise the elements are
+     * scanned. Properties of {@link VertexProperty}s are always scanned.
+     */
+    public static <E extends Element> Iterator<Property> search(final AbstractTinkerGraph graph, final String query,
+                                                                final TinkerTextIndex.Mode mode, final String key,
+                                                                final Optional<Class<E>> type) {
+        final TinkerTextIndex<TinkerVertex> vertexTextIndex = graph instanceof TinkerGraph ? ((TinkerGraph) graph).vertexTextIndex : null;
+        final TinkerTextIndex<TinkerEdge> edgeTextIndex = graph instanceof TinkerGraph ? ((TinkerGraph) graph).edgeTextIndex : null;
+
+        final Supplier<Iterator<Element>> vertices = () -> null != key && null != vertexTextIndex && vertexTextIndex.getIndexedKeys().contains(key) ?
+                IteratorUtils.cast(vertexTextIndex.search(key, query, mode).iterator()) :
+                IteratorUtils.cast(graph.vertices());
+        final Supplier<Iterator<Element>> edges = () -> null != key && null != edgeTextIndex && edgeTextIndex.getIndexedKeys().contains(key) ?
+                IteratorUtils.cast(edgeTextIndex.search(key, query, mode).iterator()) :
+                IteratorUtils.cast(graph.edges());
+        final Supplier<Iterator<Element>> vertexProperties =
+                () -> IteratorUtils.flatMap(graph.vertices(), v -> IteratorUtils.cast(v.properties()));
+
+        Iterator it;
+        if (!type.isPresent()) {
+            it = IteratorUtils.concat(vertices.get(), edges.get(), vertexProperties.get());
+        } else switch (type.get().getSimpleName()) {
+            case "Edge":
+                it = edges.get();
+                break;
+            case "Vertex":
+                it = vertices.get();
+                break;
+            case "VertexProperty":
+                it = vertexProperties.get();
+                break;
+            default:
+                it = IteratorUtils.concat(vertices.get(), edges.get(), vertexProperties.get());
+        }
+
+        // get properties
+        it = IteratorUtils.<Element, Property>flatMap(it, e -> null == key ? IteratorUtils.cast(e.properties()) : IteratorUtils.cast(e.properties(key)));
+        // filter by query
+        it = IteratorUtils.<Property>filter(it, p -> TinkerTextIndex.matches(p.value(), query, mode));
+
+        return it;
+    }
+
     /**
      * Search for {@link Property}s attached to any {@link Element} using the supplied regex. This
      * is a basic scan+filter operation, not a full text search against an index.
@@ -18,6 +18,8 @@
  */
 package org.apache.tinkerpop.gremlin.tinkergraph.structure;
 
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.HasContainer;
+
 import java.util.Collections;
 import java.util.List;
 
@@ -34,39 +36,83 @@ public final class TinkerIndexHelper {
         return null == graph.edgeIndex ? Collections.emptyList() : graph.edgeIndex.get(key, value);
     }
 
+    /**
+     * Gets the vertices that may satisfy the {@link HasContainer} from the full text index of the key, or {@code null}
+     * if the key has no full text index or the predicate is not one that it can help with.
+     */
+    public static List<TinkerVertex> queryVertexTextIndex(final AbstractTinkerGraph graph, final HasContainer hasContainer) {
+        final TinkerTextIndex<TinkerVertex> index = vertexTextIndex(graph);
+        return null == index ? null : index.candidates(hasContainer.getKey(), hasContainer.getPredicate());
+    }
+
+    /**
+     * Gets the edges that may satisfy the {@link HasContainer} from the full text index of the key, or {@code null}
+     * if the key has no full text index or the predicate is not one that it can help with.
+     */
+    public static List<TinkerEdge> queryEdgeTextIndex(final AbstractTinkerGraph graph, final HasContainer hasContainer) {
+        final TinkerTextIndex<TinkerEdge> index = edgeTextIndex(graph);
+        return null == index ? null : index.candidates(hasContainer.getKey(), hasContainer.getPredicate());
+    }
+
     public static void autoUpdateIndex(final TinkerEdge edge, final String key, final Object newValue, final Object oldValue) {
         final AbstractTinkerGraph graph = (AbstractTinkerGraph) edge.graph();
         if (graph.edgeIndex != null)
             graph.edgeIndex.autoUpdate(key, newValue, oldValue, edge);
+        final TinkerTextIndex<TinkerEdge> textIndex = edgeTextIndex(graph);
+        if (textIndex != null)
+            textIndex.update(key, oldValue, edge);
     }
 
     public static void autoUpdateIndex(final TinkerVertex vertex, final String key, final Object newValue, final Object oldValue) {
         final AbstractTinkerGraph graph = (AbstractTinkerGraph) vertex.graph();
         if (graph.vertexIndex != null)
             graph.vertexIndex.autoUpdate(key, newValue, oldValue, vertex);
+        final TinkerTextIndex<TinkerVertex> textIndex = vertexTextIndex(graph);
+        if (textIndex != null)
+            textIndex.update(key, oldValue, vertex);
     }
 
     public static void removeElementIndex(final TinkerVertex vertex) {
         final AbstractTinkerGraph graph = (AbstractTinkerGraph) vertex.graph();
         if (graph.vertexIndex != null)
             graph.vertexIndex.removeElement(vertex);
+        final TinkerTextIndex<TinkerVertex> textIndex = vertexTextIndex(graph);
+        if (textIndex != null)
+            textIndex.removeElement(vertex);
     }
 
     public static void removeElementIndex(final TinkerEdge edge) {
         final AbstractTinkerGraph graph = (AbstractTinkerGraph) edge.graph();
         if (graph.edgeIndex != null)
             graph.edgeIndex.removeElement(edge);
+        final TinkerTextIndex<TinkerEdge> textIndex = edgeTextIndex(graph);
+        if (textIndex != null)
+            textIndex.removeElement(edge);
     }
 
     public static void removeIndex(final TinkerVertex vertex, final String key, final Object value) {
         final AbstractTinkerGraph graph = (AbstractTinkerGraph) vertex.graph();
         if (graph.vertexIndex != null)
             graph.vertexIndex.remove(key, value, vertex);
+        final TinkerTextIndex<TinkerVertex> textIndex = vertexTextIndex(graph);
+        if (textIndex != null)
+            textIndex.update(key, value, vertex);
     }
 
     public static void removeIndex(final TinkerEdge edge, final String key, final Object value) {
         final AbstractTinkerGraph graph = (AbstractTinkerGraph) edge.graph();
         if (graph.edgeIndex != null)
             graph.edgeIndex.remove(key, value, edge);
+        final TinkerTextIndex<TinkerEdge> textIndex = edgeTextIndex(graph);
+        if (textIndex != null)
+            textIndex.update(key, value, edge);
+    }
+
+    private static TinkerTextIndex<TinkerVertex> vertexTextIndex(final AbstractTinkerGraph graph) {
+        return graph instanceof TinkerGraph ? ((TinkerGraph) graph).vertexTextIndex : null;
+    }
+
+    private static TinkerTextIndex<TinkerEdge> edgeTextIndex(final AbstractTinkerGraph graph) {
+        return graph instanceof TinkerGraph ? ((TinkerGraph) graph).edgeTextIndex : null;
     }
 }
@@ -83,6 +83,7 @@ public final class TinkerProperty<V> implements Property<V> {
             ((AbstractTinkerGraph) this.element.graph()).touch((TinkerEdge) this.element);
             ((TinkerEdge) this.element).properties.remove(this.key);
             TinkerIndexHelper.removeIndex((TinkerEdge) this.element, this.key, this.value);
+            TinkerAdjacencyIndex.updateEdge((TinkerEdge) this.element, this.key, this, Property.empty());
         } else {
             final TinkerVertex vertex = (TinkerVertex) ((TinkerVertexProperty) this.element).element();
             ((AbstractTinkerGraph) vertex.graph()).touch(vertex);
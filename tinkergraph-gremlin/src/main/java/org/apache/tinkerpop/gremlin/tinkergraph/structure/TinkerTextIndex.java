@@ -0,0 +1,575 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.tinkergraph.structure;
+
+import org.apache.tinkerpop.gremlin.process.traversal.P;
+import org.apache.tinkerpop.gremlin.process.traversal.Text;
+import org.apache.tinkerpop.gremlin.process.traversal.TextP;
+import org.apache.tinkerpop.gremlin.structure.Element;
+import org.apache.tinkerpop.gremlin.structure.Graph;
+import org.apache.tinkerpop.gremlin.structure.Property;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * A tokenized inverted index over the string values of the properties of {@link TinkerGraph} elements, registered
+ * with {@link TinkerGraph#createTextIndex(String, Class)}. Values are split into lower case tokens of letters and
+ * digits and each token maps to the elements whose values for the key contain it. Elements are numbered densely as
+ * they are first indexed, reusing the numbers of removed elements, and the postings for a token hold those numbers as
+ * a delta encoded list of variable length integers, which for the common case of a new element is appended to.
+ * <p/>
+ * The index is kept up to date as properties change and is used to answer {@link Mode term, prefix, phrase and fuzzy}
+ * queries from the {@code tinker.search} service and to find candidates for {@link TextP} filters on an indexed key.
+ * The elements it returns are candidates only and callers must still test the values themselves.
+ */
+public final class TinkerTextIndex<T extends Element> {
+
+    /**
+     * The ways in which the tokens of a query can match the tokens of a value.
+     */
+    public enum Mode {
+        /**
+         * Every token of the query is a token of the value.
+         */
+        term,
+
+        /**
+         * Every token of the query is the prefix of a token of the value.
+         */
+        prefix,
+
+        /**
+         * The tokens of the query appear consecutively in the value.
+         */
+        phrase,
+
+        /**
+         * Every token of the query is within a small edit distance of a token of the value. Tokens of up to two
+         * characters must match exactly, those of up to five may differ by one edit and longer ones by two, where
+         * swapping two adjacent characters counts as one edit.
+         */
+        fuzzy
+    }
+
+    private final Class<T> indexClass;
+    private final Map<String, NavigableMap<String, Postings>> index = new HashMap<>();
+    private final Map<T, Integer> ordinals = new HashMap<>();
+    private final List<T> elements = new ArrayList<>();
+
+    /**
+     * The ordinals of removed elements that are below the size of {@link #elements} and may be given to new ones.
+     */
+    private final BitSet freeOrdinals = new BitSet();
+
+    TinkerTextIndex(final Class<T> indexClass) {
+        this.indexClass = indexClass;
+    }
+
+    /**
+     * Gets the elements with a value for the key that may match the query.
+     */
+    public synchronized List<T> search(final String key, final String query, final Mode mode) {
+        final NavigableMap<String, Postings> terms = this.index.get(key);
+        final List<String> tokens = tokenize(query);
+        if (null == terms || tokens.isEmpty())
+            return Collections.emptyList();
+
+        BitSet matches = null;
+        for (final String token : tokens) {
+            final BitSet tokenMatches = new BitSet();
+            switch (mode) {
+                case prefix:
+                    terms.subMap(token, true, token + Character.MAX_VALUE, false).values().forEach(p -> p.addTo(tokenMatches));
+                    break;
+                case fuzzy:
+                    final int maxEdits = maxEdits(token);
+                    for (final Map.Entry<String, Postings> term : terms.entrySet()) {
+                        if (withinEdits(token, term.getKey(), maxEdits))
+                            term.getValue().addTo(tokenMatches);
+                    }
+                    break;
+                default:
+                    final Postings postings = terms.get(token);
+                    if (null != postings) postings.addTo(tokenMatches);
+            }
+
+            if (null == matches)
+                matches = tokenMatches;
+            else
+                matches.and(tokenMatches);
+            if (matches.isEmpty())
+                return Collections.emptyList();
+        }
+        return elementsOf(matches);
+    }
+
+    /**
+     * Gets the elements with a value for the key that may satisfy the {@link TextP}, or {@code null} if the predicate
+     * is not one the index can help with.
+     */
+    public synchronized List<T> candidates(final String key, final P<?> predicate) {
+        final NavigableMap<String, Postings> terms = this.index.get(key);
+        if (null == terms || !isIndexable(predicate))
+            return null;
+
+        // each token of the text is part of a token of the value. where the text has a separator or the start or
+        // end of the value on a side of a token, the token of the value also ends there.
+        final String text = (String) predicate.getValue();
+        final Object biPredicate = predicate.getBiPredicate();
+        BitSet matches = null;
+        int start = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            final boolean tokenChar = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+            if (tokenChar && start < 0) {
+                start = i;
+            } else if (!tokenChar && start >= 0) {
+                final String token = text.substring(start, i).toLowerCase(Locale.ROOT);
+                final boolean wholeStart = start > 0 || biPredicate == Text.startingWith;
+                final boolean wholeEnd = i < text.length() || biPredicate == Text.endingWith;
+                final BitSet tokenMatches = new BitSet();
+                if (wholeStart && wholeEnd) {
+                    final Postings postings = terms.get(token);
+                    if (null != postings) postings.addTo(tokenMatches);
+                } else if (wholeStart) {
+                    terms.subMap(token, true, token + Character.MAX_VALUE, false).values().forEach(p -> p.addTo(tokenMatches));
+                } else {
+                    for (final Map.Entry<String, Postings> term : terms.entrySet()) {
+                        if (wholeEnd ? term.getKey().endsWith(token) : term.getKey().contains(token))
+                            term.getValue().addTo(tokenMatches);
+                    }
+                }
+
+                if (null == matches)
+                    matches = tokenMatches;
+                else
+                    matches.and(tokenMatches);
+                if (matches.isEmpty())
+                    return Collections.emptyList();
+                start = -1;
+            }
+        }
+        return elementsOf(matches);
+    }
+
+    /**
+     * Determines if the index can find candidates for the predicate, which must be a {@link TextP} that looks for
+     * text containing at least one letter or digit within a value.
+     */
+    public static boolean isIndexable(final P<?> predicate) {
+        if (!(predicate instanceof TextP) || !(predicate.getValue() instanceof String))
+            return false;
+        final Object biPredicate = predicate.getBiPredicate();
+        return (biPredicate == Text.containing || biPredicate == Text.startingWith || biPredicate == Text.endingWith) &&
+                !tokenize((String) predicate.getValue()).isEmpty();
+    }
+
+    /**
+     * Determines if the value matches the query.
+     */
+    public static boolean matches(final Object value, final String query, final Mode mode) {
+        if (!(value instanceof String))
+            return false;
+        final List<String> tokens = tokenize((String) value);
+        final List<String> queryTokens = tokenize(query);
+        if (queryTokens.isEmpty())
+            return false;
+
+        switch (mode) {
+            case phrase:
+                return Collections.indexOfSubList(tokens, queryTokens) >= 0;
+            case prefix:
+                return queryTokens.stream().allMatch(q -> tokens.stream().anyMatch(t -> t.startsWith(q)));
+            case fuzzy:
+                return queryTokens.stream().allMatch(q -> tokens.stream().anyMatch(t -> withinEdits(q, t, maxEdits(q))));
+            default:
+                return tokens.containsAll(queryTokens);
+        }
+    }
+
+    /**
+     * Splits the text into lower case tokens of letters and digits.
+     */
+    public static List<String> tokenize(final String text) {
+        final List<String> tokens = new ArrayList<>();
+        int start = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            final boolean tokenChar = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+            if (tokenChar && start < 0)
+                start = i;
+            else if (!tokenChar && start >= 0) {
+                tokens.add(text.substring(start, i).toLowerCase(Locale.ROOT));
+                start = -1;
+            }
+        }
+        return tokens;
+    }
+
+    public synchronized Set<String> getIndexedKeys() {
+        return Collections.unmodifiableSet(new HashSet<>(this.index.keySet()));
+    }
+
+    /**
+     * Gets the number of ordinals in use or free for reuse, which is the most elements that were indexed at once.
+     */
+    synchronized int ordinalCount() {
+        return this.elements.size();
+    }
+
+    synchronized void createKeyIndex(final String key, final Collection<? extends Element> elements) {
+        if (null == key)
+            throw Graph.Exceptions.argumentCanNotBeNull("key");
+        if (key.isEmpty())
+            throw new IllegalArgumentException("The key for the index cannot be an empty string");
+        if (this.index.containsKey(key))
+            return;
+
+        this.index.put(key, new TreeMap<>());
+        for (final Element element : elements) {
+            add(key, (T) element);
+        }
+    }
+
+    synchronized void dropKeyIndex(final String key) {
+        this.index.remove(key);
+        if (this.index.isEmpty()) {
+            this.ordinals.clear();
+            this.elements.clear();
+            this.freeOrdinals.clear();
+        }
+    }
+
+    /**
+     * Updates the index after the values of the key were changed on the element, where the removed value is the one
+     * that was replaced or removed, if any.
+     */
+    synchronized void update(final String key, final Object removedValue, final T element) {
+        if (!this.indexClass.isAssignableFrom(element.getClass()) || !this.index.containsKey(key))
+            return;
+        if (removedValue instanceof String)
+            remove(key, tokenize((String) removedValue), element);
+        add(key, element);
+    }
+
+    synchronized void removeElement(final T element) {
+        if (!this.indexClass.isAssignableFrom(element.getClass()))
+            return;
+        final Integer ordinal = this.ordinals.remove(element);
+        if (null == ordinal)
+            return;
+
+        for (final String key : this.index.keySet()) {
+            final NavigableMap<String, Postings> terms = this.index.get(key);
+            element.properties(key).forEachRemaining(p -> {
+                if (p.value() instanceof String) {
+                    for (final String token : tokenize((String) p.value())) {
+                        removePosting(terms, token, ordinal);
+                    }
+                }
+            });
+        }
+        releaseOrdinal(ordinal);
+    }
+
+    private void add(final String key, final T element) {
+        final NavigableMap<String, Postings> terms = this.index.get(key);
+        final Iterator<? extends Property<Object>> properties = element.properties(key);
+        while (properties.hasNext()) {
+            final Object value = properties.next().value();
+            if (value instanceof String) {
+                final int ordinal = ordinal(element);
+                for (final String token : tokenize((String) value)) {
+                    terms.computeIfAbsent(token, t -> new Postings()).add(ordinal);
+                }
+            }
+        }
+    }
+
+    private void remove(final String key, final List<String> tokens, final T element) {
+        final Integer ordinal = this.ordinals.get(element);
+        if (null == ordinal)
+            return;
+        final NavigableMap<String, Postings> terms = this.index.get(key);
+        for (final String token : tokens) {
+            removePosting(terms, token, ordinal);
+        }
+    }
+
+    private static void removePosting(final NavigableMap<String, Postings> terms, final String token, final int ordinal) {
+        final Postings postings = terms.get(token);
+        if (null != postings) {
+            postings.remove(ordinal);
+            if (postings.isEmpty())
+                terms.remove(token);
+        }
+    }
+
+    private int ordinal(final T element) {
+        return this.ordinals.computeIfAbsent(element, e -> {
+            final int free = this.freeOrdinals.nextSetBit(0);
+            if (free >= 0) {
+                this.freeOrdinals.clear(free);
+                this.elements.set(free, e);
+                return free;
+            }
+            this.elements.add(e);
+            return this.elements.size() - 1;
+        });
+    }
+
+    /**
+     * Frees the ordinal of a removed element for reuse, trimming the elements when it was the last of them so that
+     * they only grow to the most elements that were indexed at once.
+     */
+    private void releaseOrdinal(final int ordinal) {
+        if (ordinal < this.elements.size() - 1) {
+            this.elements.set(ordinal, null);
+            this.freeOrdinals.set(ordinal);
+            return;
+        }
+
+        this.elements.remove(ordinal);
+        int last = this.elements.size() - 1;
+        while (last >= 0 && this.freeOrdinals.get(last)) {
+            this.elements.remove(last);
+            this.freeOrdinals.clear(last);
+            last--;
+        }
+    }
+
+    private List<T> elementsOf(final BitSet ordinals) {
+        final List<T> list = new ArrayList<>(ordinals.cardinality());
+        for (int i = ordinals.nextSetBit(0); i >= 0; i = ordinals.nextSetBit(i + 1)) {
+            final T element = this.elements.get(i);
+            if (null != element) list.add(element);
+        }
+        return list;
+    }
+
+    private static int maxEdits(final String token) {
+        return token.length() <= 2 ? 0 : token.length() <= 5 ? 1 : 2;
+    }
+
+    /**
+     * Determines if the edit distance between the two strings is at most the given number of edits, where an edit is
+     * the insertion, deletion or substitution of a character or the transposition of two adjacent characters.
+     */
+    private static boolean withinEdits(final String a, final String b, final int maxEdits) {
+        if (Math.abs(a.length() - b.length()) > maxEdits)
+            return false;
+        if (0 == maxEdits)
+            return a.equals(b);
+
+        int[] beforePrevious = new int[b.length() + 1];
+        int[] previous = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) previous[j] = j;
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            int rowMin = current[0];
+            for (int j = 1; j <= b.length(); j++) {
+                final int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                current[j] = Math.min(Math.min(current[j - 1] + 1, previous[j] + 1), previous[j - 1] + cost);
+                if (i > 1 && j > 1 && a.charAt(i - 1) == b.charAt(j - 2) && a.charAt(i - 2) == b.charAt(j - 1))
+                    current[j] = Math.min(current[j], beforePrevious[j - 2] + 1);
+                rowMin = Math.min(rowMin, current[j]);
+            }
+            if (rowMin > maxEdits)
+                return false;
+            final int[] swap = beforePrevious;
+            beforePrevious = previous;
+            previous = current;
+            current = swap;
+        }
+        return previous[b.length()] <= maxEdits;
+    }
+
+    /**
+     * A sorted set of element ordinals stored as the variable length encoded differences between them. Ordinals are
+     * added and removed in place by rewriting the differences around them and shifting the bytes that follow.
+     */
+    static final class Postings {
+        private byte[] bytes = new byte[4];
+        private int length = 0;
+        private int size = 0;
+        private int last = 0;
+
+        void add(final int ordinal) {
+            if (0 == this.size || ordinal > this.last) {
+                ensureCapacity(5);
+                this.length = write(ordinal - this.last, this.length);
+                this.last = ordinal;
+                this.size++;
+                return;
+            }
+
+            // the ordinal goes before the first one that is greater, whose difference is split in two around it
+            int position = 0;
+            int previous = 0;
+            while (true) {
+                final int start = position;
+                int delta = 0;
+                int shift = 0;
+                byte b;
+                do {
+                    b = this.bytes[position++];
+                    delta |= (b & 0x7F) << shift;
+                    shift += 7;
+                } while ((b & 0x80) != 0);
+                final int value = previous + delta;
+                if (value == ordinal)
+                    return;
+                if (value > ordinal) {
+                    replace(start, position, ordinal - previous, value - ordinal);
+                    this.size++;
+                    return;
+                }
+                previous = value;
+            }
+        }
+
+        void remove(final int ordinal) {
+            if (0 == this.size || ordinal > this.last)
+                return;
+
+            // the difference of the ordinal and the one after it are joined into the difference of the one after it
+            int position = 0;
+            int previous = 0;
+            int removedStart = -1;
+            int removed = 0;
+            for (int i = 0; i < this.size; i++) {
+                final int start = position;
+                int delta = 0;
+                int shift = 0;
+                byte b;
+                do {
+                    b = this.bytes[position++];
+                    delta |= (b & 0x7F) << shift;
+                    shift += 7;
+                } while ((b & 0x80) != 0);
+                final int value = previous + delta;
+                if (removedStart >= 0) {
+                    replace(removedStart, position, value - removed);
+                    this.size--;
+                    return;
+                }
+                if (value > ordinal)
+                    return;
+                if (value == ordinal) {
+                    removedStart = start;
+                    removed = previous;
+                }
+                previous = value;
+            }
+
+            // the last ordinal was removed
+            if (removedStart >= 0) {
+                this.length = removedStart;
+                this.last = removed;
+                this.size--;
+            }
+        }
+
+        boolean isEmpty() {
+            return 0 == this.size;
+        }
+
+        int size() {
+            return this.size;
+        }
+
+        int[] toArray() {
+            final int[] ordinals = new int[this.size];
+            int position = 0;
+            int value = 0;
+            for (int i = 0; i < this.size; i++) {
+                int delta = 0;
+                int shift = 0;
+                byte b;
+                do {
+                    b = this.bytes[position++];
+                    delta |= (b & 0x7F) << shift;
+                    shift += 7;
+                } while ((b & 0x80) != 0);
+                value += delta;
+                ordinals[i] = value;
+            }
+            return ordinals;
+        }
+
+        private void addTo(final BitSet bitSet) {
+            for (final int ordinal : toArray()) {
+                bitSet.set(ordinal);
+            }
+        }
+
+        /**
+         * Replaces the bytes from start to end with the encoded differences and shifts the bytes after them.
+         */
+        private void replace(final int start, final int end, final int... deltas) {
+            int replacementLength = 0;
+            for (final int delta : deltas) {
+                replacementLength += encodedLength(delta);
+            }
+            final int shift = replacementLength - (end - start);
+            ensureCapacity(shift);
+            System.arraycopy(this.bytes, end, this.bytes, end + shift, this.length - end);
+            this.length += shift;
+
+            int position = start;
+            for (final int delta : deltas) {
+                position = write(delta, position);
+            }
+        }
+
+        private void ensureCapacity(final int additional) {
+            if (this.length + additional > this.bytes.length)
+                this.bytes = Arrays.copyOf(this.bytes, Math.max(this.bytes.length * 2, this.length + additional));
+        }
+
+        private int write(int delta, int position) {
+            while ((delta & ~0x7F) != 0) {
+                this.bytes[position++] = (byte) ((delta & 0x7F) | 0x80);
+                delta >>>= 7;
+            }
+            this.bytes[position++] = (byte) delta;
+            return position;
+        }
+
+        private static int encodedLength(final int delta) {
+            int length = 1;
+            for (int remaining = delta >>> 7; remaining != 0; remaining >>>= 7) {
+                length++;
+            }
+            return length;
+        }
+    }
+}
@@ -50,6 +50,9 @@ public class TinkerVertex extends TinkerElement implements Vertex {
     // Edge ids are for transactional Graph
     protected Map<String, Set<Object>> outEdgesId;
     protected Map<String, Set<Object>> inEdgesId;
+    // Sorted adjacency indices by edge label, only built for vertices with many edges
+    Map<String, TinkerAdjacencyIndex> outAdjacencyIndices;
+    Map<String, TinkerAdjacencyIndex> inAdjacencyIndices;
     protected final AbstractTinkerGraph graph;
     private boolean allowNullPropertyValues;
     private final boolean isTxMode;
@@ -0,0 +1,88 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.tinkergraph.process.traversal.strategy.finalization;
+
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
+import org.apache.tinkerpop.gremlin.process.traversal.step.branch.RepeatStep;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.finalization.BreadthFirstRepeatStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
+import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerFactory;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.function.Function;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class BreadthFirstRepeatStrategyTest {
+
+    private static final GraphTraversalSource g = TinkerFactory.createModern().traversal();
+    private static final GraphTraversalSource gbfs = g.withStrategies(BreadthFirstRepeatStrategy.build().create());
+    private static final GraphTraversalSource gvisited = g.withStrategies(BreadthFirstRepeatStrategy.build().pruneVisited(true).create());
+
+    @Test
+    public void shouldProduceSameResultsAsDepthFirst() {
+        final List<Function<GraphTraversalSource, Traversal<?, ?>>> queries = Arrays.asList(
+                s -> s.V().repeat(__.both()).emit().times(3).values("name"),
+                s -> s.V(1).repeat(__.out()).until(__.outE().count().is(0)).path(),
+                s -> s.V().emit().repeat(__.out()).values("name"),
+                s -> s.V().until(__.hasLabel("software")).repeat(__.out()).values("name"),
+                s -> s.V().repeat(__.out().repeat(__.in()).emit().times(2)).emit().times(2).values("name"),
+                s -> s.V().repeat(__.both()).emit().times(8).count());
+        for (final Function<GraphTraversalSource, Traversal<?, ?>> query : queries) {
+            final List<?> expected = query.apply(g).toList();
+            final List<?> actual = query.apply(gbfs).toList();
+            assertThat(actual, containsInAnyOrder(expected.toArray()));
+        }
+    }
+
+    @Test
+    public void shouldExpandOneLevelAtATime() {
+        final Traversal.Admin<?, ?> t = gbfs.V(1).repeat(__.out()).emit().values("name").asAdmin();
+        t.applyStrategies();
+        assertTrue(TraversalHelper.getFirstStepOfAssignableClass(RepeatStep.class, t).get().isBreadthFirst());
+
+        final List<?> names = t.toList();
+        assertEquals(5, names.size());
+        assertEquals(new HashSet<>(Arrays.asList("vadas", "lop", "josh")), new HashSet<>(names.subList(0, 3)));
+        assertEquals(new HashSet<>(Arrays.asList("ripple", "lop")), new HashSet<>(names.subList(3, 5)));
+    }
+
+    @Test
+    public void shouldPruneVisitedObjects() {
+        assertThat(gvisited.V(1).repeat(__.both()).emit().times(5).values("name").toList(),
+                containsInAnyOrder("vadas", "lop", "josh", "ripple", "peter"));
+        assertEquals(1L, gvisited.V(1).repeat(__.both()).until(__.has("name", "ripple")).count().next().longValue());
+        assertTrue(g.V(1).repeat(__.both()).emit().times(5).count().next() > 5L);
+    }
+
+    @Test
+    public void shouldRoundTripConfiguration() {
+        final BreadthFirstRepeatStrategy strategy = BreadthFirstRepeatStrategy.create(
+                BreadthFirstRepeatStrategy.build().pruneVisited(true).create().getConfiguration());
+        assertTrue(strategy.isPruneVisited());
+    }
+}
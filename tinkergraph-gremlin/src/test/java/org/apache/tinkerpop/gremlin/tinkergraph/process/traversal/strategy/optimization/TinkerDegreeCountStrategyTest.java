@@ -0,0 +1,106 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.tinkergraph.process.traversal.strategy.optimization;
+
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.TraversalStrategies;
+import org.apache.tinkerpop.gremlin.process.traversal.TraversalStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversal;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.RequirementsStep;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.optimization.CountStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.traverser.TraverserRequirement;
+import org.apache.tinkerpop.gremlin.process.traversal.util.DefaultTraversalStrategies;
+import org.apache.tinkerpop.gremlin.structure.Direction;
+import org.apache.tinkerpop.gremlin.tinkergraph.process.traversal.step.map.TinkerDegreeStep;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumSet;
+
+import static org.apache.tinkerpop.gremlin.process.traversal.P.gt;
+import static org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__.outE;
+import static org.junit.Assert.assertEquals;
+
+@RunWith(Parameterized.class)
+public class TinkerDegreeCountStrategyTest {
+
+    @Parameterized.Parameter(value = 0)
+    public Traversal original;
+
+    @Parameterized.Parameter(value = 1)
+    public Traversal optimized;
+
+    @Parameterized.Parameter(value = 2)
+    public Collection<TraversalStrategy> otherStrategies;
+
+    @Test
+    public void doTest() {
+        final TraversalStrategies strategies = new DefaultTraversalStrategies();
+        strategies.addStrategies(TinkerDegreeCountStrategy.instance());
+        for (final TraversalStrategy strategy : this.otherStrategies) {
+            strategies.addStrategies(strategy);
+        }
+        this.original.asAdmin().setStrategies(strategies);
+        this.original.asAdmin().applyStrategies();
+        assertEquals(this.optimized, this.original);
+    }
+
+    private static GraphTraversal.Admin<?, ?> degreeStep(final GraphTraversal.Admin<?, ?> traversal, final Direction direction,
+                                                         final String... edgeLabels) {
+        return (GraphTraversal.Admin<?, ?>) traversal.addStep(new TinkerDegreeStep(traversal, direction, edgeLabels));
+    }
+
+    /**
+     * Adds the step that {@code withBulk(false)} places at the end of a traversal.
+     */
+    private static GraphTraversal.Admin<?, ?> oneBulk(final GraphTraversal.Admin<?, ?> traversal) {
+        return (GraphTraversal.Admin<?, ?>) traversal.addStep(
+                new RequirementsStep<>(traversal, EnumSet.of(TraverserRequirement.ONE_BULK)));
+    }
+
+    @Parameterized.Parameters(name = "{0}")
+    public static Iterable<Object[]> generateTestParameters() {
+        return Arrays.asList(new Object[][]{
+                {__.outE("knows").count(), degreeStep(__.start().asAdmin(), Direction.OUT, "knows").count(), Collections.emptyList()},
+                {__.out().count(), degreeStep(__.start().asAdmin(), Direction.OUT).count(), Collections.emptyList()},
+                {__.bothE("knows", "created").count(), degreeStep(__.start().asAdmin(), Direction.BOTH, "knows", "created").count(), Collections.emptyList()},
+                {__.out().in().count(), degreeStep(__.out().asAdmin(), Direction.IN).count(), Collections.emptyList()},
+                {__.inE().barrier().limit(10).count(), degreeStep(__.start().asAdmin(), Direction.IN).barrier().limit(10).count(), Collections.emptyList()},
+                {__.outE().count().is(gt(10)),
+                        degreeStep(__.start().asAdmin(), Direction.OUT).limit(11).count().is(gt(10)), Collections.singletonList(CountStrategy.instance())},
+                {__.where(outE().count().is(gt(10))),
+                        __.where(degreeStep(__.start().asAdmin(), Direction.OUT).count().is(gt(10))), Collections.emptyList()},
+                {__.local(__.inE("knows").count()),
+                        __.local(degreeStep(__.start().asAdmin(), Direction.IN, "knows").count()), Collections.emptyList()},
+                {__.outE().as("e").count(), __.outE().as("e").count(), Collections.emptyList()},
+                {__.outE().has("weight", gt(0.5)).count(), __.outE().has("weight", gt(0.5)).count(), Collections.emptyList()},
+                {__.out().dedup().count(), __.out().dedup().count(), Collections.emptyList()},
+                {__.out().limit(1).as("a").count(), __.out().limit(1).as("a").count(), Collections.emptyList()},
+                {__.out().fold(), __.out().fold(), Collections.emptyList()},
+                {oneBulk(__.out().count().asAdmin()), oneBulk(__.out().count().asAdmin()), Collections.emptyList()},
+                {oneBulk(__.where(outE().count().is(gt(10))).asAdmin()),
+                        oneBulk(__.where(outE().count().is(gt(10))).asAdmin()), Collections.emptyList()},
+        });
+    }
+}
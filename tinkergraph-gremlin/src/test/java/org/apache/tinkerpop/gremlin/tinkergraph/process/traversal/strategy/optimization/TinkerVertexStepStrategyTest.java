@@ -0,0 +1,115 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.tinkergraph.process.traversal.strategy.optimization;
+
+import org.apache.tinkerpop.gremlin.process.traversal.P;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.TraversalStrategies;
+import org.apache.tinkerpop.gremlin.process.traversal.TraversalStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversal;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.VertexStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.HasContainer;
+import org.apache.tinkerpop.gremlin.process.traversal.util.DefaultTraversalStrategies;
+import org.apache.tinkerpop.gremlin.structure.Direction;
+import org.apache.tinkerpop.gremlin.structure.Edge;
+import org.apache.tinkerpop.gremlin.structure.Element;
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.tinkergraph.process.traversal.step.map.TinkerVertexStep;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+
+import static org.apache.tinkerpop.gremlin.process.traversal.P.eq;
+import static org.apache.tinkerpop.gremlin.process.traversal.P.gt;
+import static org.apache.tinkerpop.gremlin.process.traversal.P.gte;
+import static org.apache.tinkerpop.gremlin.process.traversal.P.lt;
+import static org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__.outE;
+import static org.junit.Assert.assertEquals;
+
+@RunWith(Parameterized.class)
+public class TinkerVertexStepStrategyTest {
+
+    @Parameterized.Parameter(value = 0)
+    public Traversal original;
+
+    @Parameterized.Parameter(value = 1)
+    public Traversal optimized;
+
+    @Parameterized.Parameter(value = 2)
+    public Collection<TraversalStrategy> otherStrategies;
+
+    @Test
+    public void doTest() {
+        final TraversalStrategies strategies = new DefaultTraversalStrategies();
+        strategies.addStrategies(TinkerVertexStepStrategy.instance());
+        for (final TraversalStrategy strategy : this.otherStrategies) {
+            strategies.addStrategies(strategy);
+        }
+        this.original.asAdmin().setStrategies(strategies);
+        this.original.asAdmin().applyStrategies();
+        assertEquals(this.optimized, this.original);
+    }
+
+    private static <E extends Element> GraphTraversal.Admin<?, ?> vertexStep(final GraphTraversal.Admin<?, ?> traversal, final Class<E> returnClass,
+                                                                             final Direction direction, final String[] edgeLabels,
+                                                                             final Object... hasKeyValues) {
+        final TinkerVertexStep<E> vertexStep = new TinkerVertexStep<>(new VertexStep<>(traversal, returnClass, direction, edgeLabels));
+        for (int i = 0; i < hasKeyValues.length; i = i + 2) {
+            vertexStep.addHasContainer(new HasContainer((String) hasKeyValues[i], (P) hasKeyValues[i + 1]));
+        }
+        return traversal.addStep(vertexStep);
+    }
+
+    private static String[] labels(final String... edgeLabels) {
+        return edgeLabels;
+    }
+
+    @Parameterized.Parameters(name = "{0}")
+    public static Iterable<Object[]> generateTestParameters() {
+        return Arrays.asList(new Object[][]{
+                {__.out(), __.out(), Collections.emptyList()},
+                {__.out().out(), __.out().out(), Collections.emptyList()},
+                {__.outE("bought").has("ts", gt(10)),
+                        vertexStep(__.start().asAdmin(), Edge.class, Direction.OUT, labels("bought"), "ts", gt(10)), Collections.emptyList()},
+                {__.outE("bought").has("ts", gt(10)).has("weight", lt(0.5)),
+                        vertexStep(__.start().asAdmin(), Edge.class, Direction.OUT, labels("bought"), "ts", gt(10), "weight", lt(0.5)), Collections.emptyList()},
+                {__.outE("bought").has("ts", P.between(10, 20)),
+                        vertexStep(__.start().asAdmin(), Edge.class, Direction.OUT, labels("bought"), "ts", gte(10), "ts", lt(20)), Collections.emptyList()},
+                {__.out("knows").hasLabel("person"),
+                        vertexStep(__.start().asAdmin(), Vertex.class, Direction.OUT, labels("knows"), T.label.getAccessor(), eq("person")), Collections.emptyList()},
+                {__.both().hasId(1).as("a"),
+                        vertexStep(__.start().asAdmin(), Vertex.class, Direction.BOTH, labels(), T.id.getAccessor(), eq(1)).as("a"), Collections.emptyList()},
+                {__.in().has("age", gt(30)).out(),
+                        vertexStep(__.start().asAdmin(), Vertex.class, Direction.IN, labels(), "age", gt(30)).out(), Collections.emptyList()},
+                {__.out().barrier().has("age", gt(30)),
+                        vertexStep(__.start().asAdmin(), Vertex.class, Direction.OUT, labels(), "age", gt(30)).barrier(), Collections.emptyList()},
+                {__.out().out().has("age", gt(30)),
+                        vertexStep(__.out().asAdmin(), Vertex.class, Direction.OUT, labels(), "age", gt(30)), Collections.emptyList()},
+                {__.out().limit(1).has("age", gt(30)), __.out().limit(1).has("age", gt(30)), Collections.emptyList()},
+                {__.where(outE("bought").has("ts", gt(10))),
+                        __.where(vertexStep(__.start().asAdmin(), Edge.class, Direction.OUT, labels("bought"), "ts", gt(10))), Collections.emptyList()},
+        });
+    }
+}
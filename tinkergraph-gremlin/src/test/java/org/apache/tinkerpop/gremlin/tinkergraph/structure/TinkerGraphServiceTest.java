@@ -26,6 +26,9 @@ import org.apache.tinkerpop.gremlin.process.traversal.traverser.TraverserRequire
 import org.apache.tinkerpop.gremlin.process.traversal.traverser.util.TraverserSet;
 import org.apache.tinkerpop.gremlin.structure.Direction;
 import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.structure.service.AsyncService;
+import org.apache.tinkerpop.gremlin.structure.service.Service;
+import org.apache.tinkerpop.gremlin.structure.util.CloseableIterator;
 import org.apache.tinkerpop.gremlin.tinkergraph.services.TinkerDegreeCentralityFactory;
 import org.apache.tinkerpop.gremlin.tinkergraph.services.TinkerServiceRegistry;
 import org.apache.tinkerpop.gremlin.tinkergraph.services.TinkerTextSearchFactory;
@@ -37,11 +40,16 @@ import org.junit.Test;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.Comparator;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.BiFunction;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
@@ -164,6 +172,39 @@ public class TinkerGraphServiceTest {
 
     }
 
+    /**
+     * Demonstrate / test the tokenized query of the search service, with and without a text index.
+     */
+    @Test
+    public void g_call_search_query() {
+        final TinkerGraph graph = TinkerGraph.open();
+        graph.getServiceRegistry().registerService(new TinkerTextSearchFactory(graph));
+        final GraphTraversalSource g = graph.traversal();
+        g.addV().property("text", "The quick brown fox").
+          addV().property("text", "jumps over the lazy dog").
+          addV().property("text", "A quick brown dog").
+          addV().property("title", "brown").iterate();
+
+        for (final boolean indexed : Arrays.asList(false, true)) {
+            if (indexed) graph.createTextIndex("text", Vertex.class);
+
+            assertArrayEquals(new String[] {"The quick brown fox", "A quick brown dog"}, toResultStrings(
+                    g.call("tinker.search", asMap("query", "Brown QUICK", "key", "text")).value()));
+            assertArrayEquals(new String[] {"The quick brown fox"}, toResultStrings(
+                    g.call("tinker.search", asMap("query", "brown fox", "mode", "phrase", "key", "text")).value()));
+            assertArrayEquals(new String[0], toResultStrings(
+                    g.call("tinker.search", asMap("query", "fox brown", "mode", "phrase", "key", "text")).value()));
+            assertArrayEquals(new String[] {"jumps over the lazy dog"}, toResultStrings(
+                    g.call("tinker.search", asMap("query", "jump la", "mode", "prefix", "key", "text")).value()));
+            assertArrayEquals(new String[] {"The quick brown fox", "A quick brown dog"}, toResultStrings(
+                    g.call("tinker.search", asMap("query", "quikc", "mode", "fuzzy", "key", "text")).value()));
+        }
+
+        // without a key all the properties are searched
+        assertArrayEquals(new String[] {"The quick brown fox", "A quick brown dog", "brown"}, toResultStrings(
+                g.call("tinker.search", asMap("query", "brown")).value()));
+    }
+
     @Test
     public void g_V_call_degree_centrality() {
         assertArrayEquals(new String[] {
@@ -199,6 +240,25 @@ public class TinkerGraphServiceTest {
         checkResult(0l, g.V().where(__.call("tinker.degree.centrality").is(100)).count());
     }
 
+    /**
+     * Demonstrates an asynchronous Streaming service with several calls in flight. The calls for earlier traversers
+     * complete last, but their results are still returned in the order of the traversers.
+     */
+    @Test
+    public void g_V_call_async_streaming() {
+        final DelayedIdService service = new DelayedIdService(graph, 3);
+        graph.getServiceRegistry().registerService(service);
+
+        assertArrayEquals(new String[] {"1", "2", "3", "4", "5", "6"}, toResultStrings(
+
+                g.V().call(DelayedIdService.NAME)
+
+        ));
+        assertEquals(3, service.maxInFlight.get());
+
+        checkResult(2l, g.V().call(DelayedIdService.NAME).limit(2).count());
+    }
+
     /**
      * Demonstrates registration and usage of a Starting lambda service. Start services take no input and are run
      * via GraphTraversalSource. Text search above is another example of a Start service.
@@ -445,6 +505,61 @@ public class TinkerGraphServiceTest {
         checkResults(Arrays.asList(4, 2), g.V().call(serviceName, asMap(LambdaServiceFactory.Options.TYPE, Type.Barrier, LambdaServiceFactory.Options.CHUNK_SIZE, 4)));
     }
 
+    /**
+     * Emits the id of each vertex after a delay that is longer for the vertices that come first.
+     */
+    private static class DelayedIdService extends TinkerServiceRegistry.TinkerServiceFactory<Vertex, Object>
+            implements AsyncService<Vertex, Object> {
+
+        static final String NAME = "tinker.delayed.id";
+
+        final AtomicInteger inFlight = new AtomicInteger();
+        final AtomicInteger maxInFlight = new AtomicInteger();
+        private final int maxConcurrency;
+
+        DelayedIdService(final AbstractTinkerGraph graph, final int maxConcurrency) {
+            super(graph, NAME);
+            this.maxConcurrency = maxConcurrency;
+        }
+
+        @Override
+        public Type getType() {
+            return Type.Streaming;
+        }
+
+        @Override
+        public Set<Type> getSupportedTypes() {
+            return Collections.singleton(Type.Streaming);
+        }
+
+        @Override
+        public Service<Vertex, Object> createService(final boolean isStart, final Map params) {
+            return this;
+        }
+
+        @Override
+        public int getMaxConcurrency() {
+            return maxConcurrency;
+        }
+
+        @Override
+        public CompletionStage<CloseableIterator<Object>> executeAsync(final ServiceCallContext ctx, final Traverser.Admin<Vertex> in, final Map params) {
+            final Object id = in.get().id();
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            return CompletableFuture.supplyAsync(() -> {
+                try {
+                    Thread.sleep(10L * (10 - ((Number) id).intValue()));
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                }
+                inFlight.decrementAndGet();
+                return CloseableIterator.of(IteratorUtils.of(id));
+            });
+        }
+        @Override
+        public void close() {}
+    }
+
     private String toResultString(final Traversal traversal) {
         return (String) IteratorUtils.stream(traversal).map(Object::toString).collect(Collectors.joining(",", "[", "]"));
     }
@@ -23,11 +23,16 @@ import org.apache.commons.configuration2.Configuration;
 import org.apache.tinkerpop.gremlin.GraphHelper;
 import org.apache.tinkerpop.gremlin.TestHelper;
 import org.apache.tinkerpop.gremlin.process.computer.Computer;
+import org.apache.tinkerpop.gremlin.process.traversal.Merge;
 import org.apache.tinkerpop.gremlin.process.traversal.P;
+import org.apache.tinkerpop.gremlin.process.traversal.Scope;
+import org.apache.tinkerpop.gremlin.process.traversal.TextP;
 import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
 import org.apache.tinkerpop.gremlin.process.traversal.TraversalStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.WithOptions;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.finalization.ParallelBranchStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.optimization.IdentityRemovalStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.verification.ReservedKeysVerificationStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.util.Metrics;
@@ -37,6 +42,7 @@ import org.apache.tinkerpop.gremlin.structure.Graph;
 import org.apache.tinkerpop.gremlin.structure.T;
 import org.apache.tinkerpop.gremlin.structure.Vertex;
 import org.apache.tinkerpop.gremlin.structure.VertexProperty;
+import org.apache.tinkerpop.gremlin.structure.Direction;
 import org.apache.tinkerpop.gremlin.structure.io.Io;
 import org.apache.tinkerpop.gremlin.structure.io.GraphReader;
 import org.apache.tinkerpop.gremlin.structure.io.GraphWriter;
@@ -50,6 +56,8 @@ import org.apache.tinkerpop.gremlin.structure.io.gryo.GryoClassResolverV1;
 import org.apache.tinkerpop.gremlin.structure.io.gryo.GryoMapper;
 import org.apache.tinkerpop.gremlin.structure.io.gryo.GryoVersion;
 import org.apache.tinkerpop.gremlin.structure.io.gryo.GryoWriter;
+import org.apache.tinkerpop.gremlin.tinkergraph.process.traversal.strategy.optimization.TinkerDegreeCountStrategy;
+import org.apache.tinkerpop.gremlin.util.CollectionUtil;
 import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
 import org.apache.tinkerpop.shaded.jackson.databind.ObjectMapper;
 import org.apache.tinkerpop.shaded.kryo.ClassResolver;
@@ -69,15 +77,18 @@ import java.io.FileOutputStream;
 import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Random;
 import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.function.Supplier;
 
 import static org.apache.tinkerpop.gremlin.process.traversal.AnonymousTraversalSource.traversal;
@@ -98,6 +109,133 @@ import static org.mockito.Mockito.mock;
  */
 public class TinkerGraphTest {
 
+    @Test
+    public void shouldMaintainGraphStatistics() {
+        final TinkerGraph graph = TinkerFactory.createModern();
+        assertEquals(6L, graph.count(Vertex.class));
+        assertEquals(6L, graph.count(Edge.class));
+        assertEquals(Optional.of(4L), graph.countByLabel(Vertex.class, "person"));
+        assertEquals(Optional.of(4L), graph.countByLabel(Edge.class, "created"));
+        assertEquals(Optional.of(0L), graph.countByLabel(Vertex.class, "nothing"));
+        assertEquals(4.0d / 6.0d, graph.averageDegree("created"), 0.0001d);
+
+        // unindexed keys cannot be estimated
+        assertEquals(Optional.empty(), graph.countByProperty(Vertex.class, "lang", "java"));
+        graph.createIndex("lang", Vertex.class);
+        assertEquals(Optional.of(2L), graph.countByProperty(Vertex.class, "lang", "java"));
+
+        graph.traversal().V().has("name", "josh").drop().iterate();
+        assertEquals(Optional.of(3L), graph.countByLabel(Vertex.class, "person"));
+        assertEquals(Optional.of(2L), graph.countByLabel(Edge.class, "created"));
+        assertEquals(Optional.of(1L), graph.countByLabel(Edge.class, "knows"));
+
+        graph.clear();
+        assertEquals(Optional.of(0L), graph.countByLabel(Vertex.class, "person"));
+    }
+
+    @Test
+    public void shouldLookupVerticesInBatch() {
+        final TinkerGraph graph = TinkerFactory.createModern();
+        final List<Map<?, ?>> searches = Arrays.asList(
+                CollectionUtil.asMap(T.label, "person", "name", "marko"),
+                CollectionUtil.asMap("age", 29),
+                CollectionUtil.asMap(T.id, 3, T.label, "software"),
+                CollectionUtil.asMap(T.id, 3, T.label, "person"),
+                CollectionUtil.asMap(T.label, "software"),
+                CollectionUtil.asMap("name", "nobody"));
+        final List<List<Vertex>> results = graph.lookupVertices(searches);
+        assertEquals(Arrays.asList(graph.vertex(1)), results.get(0));
+        assertEquals(Arrays.asList(graph.vertex(1)), results.get(1));
+        assertEquals(Arrays.asList(graph.vertex(3)), results.get(2));
+        assertEquals(0, results.get(3).size());
+        assertEquals(new HashSet<>(Arrays.asList(graph.vertex(3), graph.vertex(5))), new HashSet<>(results.get(4)));
+        assertEquals(0, results.get(5).size());
+
+        graph.createIndex("name", Vertex.class);
+        assertEquals(Arrays.asList(graph.vertex(1)), graph.lookupVertices(searches).get(0));
+    }
+
+    @Test
+    public void shouldMergeVerticesAndEdgesInBatches() {
+        final GraphTraversalSource g = TinkerGraph.open().traversal();
+        final List<Map<Object, Object>> rows = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            rows.add(CollectionUtil.asMap(T.label, "person", "name", "p" + (i % 10)));
+        }
+
+        // rows that repeat within a batch match the vertex that an earlier row created. they are streamed from
+        // flatMap() as inject() would bulk the equal ones into a single traverser
+        assertEquals(100L, g.inject(0).flatMap(t -> rows.iterator()).
+                mergeV(__.identity()).with(WithOptions.mergeBatchSize, 32).
+                    option(Merge.onMatch, __.constant(CollectionUtil.asMap("seen", true))).count().next().longValue());
+        assertEquals(10L, g.V().count().next().longValue());
+        assertEquals(10L, g.V().has("seen", true).count().next().longValue());
+
+        final List<Map<Object, Object>> edgeRows = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            final Object from = g.V().has("name", "p" + (i % 10)).id().next();
+            final Object to = g.V().has("name", "p" + ((i + 1) % 10)).id().next();
+            edgeRows.add(CollectionUtil.asMap(T.label, "knows", Direction.OUT, from, Direction.IN, to));
+        }
+        assertEquals(100L, g.inject(0).flatMap(t -> edgeRows.iterator()).
+                mergeE(__.identity()).with(WithOptions.mergeBatchSize, 32).count().next().longValue());
+        assertEquals(10L, g.E().count().next().longValue());
+        assertEquals(10L, g.V().out("knows").count().next().longValue());
+    }
+
+    @Test
+    public void shouldMergeEdgesInBatchesByExactEndpoints() {
+        final GraphTraversalSource g = TinkerGraph.open().traversal();
+
+        // ids past 2^53 that are equal as doubles must still anchor their own searches
+        final long a = 1L << 53;
+        final long b = a + 1;
+        g.addV().property(T.id, a).addV().property(T.id, b).addV().property(T.id, 1L).iterate();
+
+        final List<Map<Object, Object>> edgeRows = Arrays.asList(
+                CollectionUtil.asMap(T.label, "knows", Direction.OUT, a, Direction.IN, 1L),
+                CollectionUtil.asMap(T.label, "knows", Direction.OUT, b, Direction.IN, 1L),
+                CollectionUtil.asMap(T.label, "knows", Direction.OUT, a, Direction.IN, b),
+                CollectionUtil.asMap(T.label, "knows", Direction.IN, b),
+                CollectionUtil.asMap(T.label, "knows", Direction.OUT, a, Direction.IN, 1L));
+        final List<Edge> merged = g.inject(0).flatMap(t -> edgeRows.iterator()).
+                mergeE().with(WithOptions.mergeBatchSize, 10).toList();
+        assertEquals(5, merged.size());
+        assertEquals(b, merged.get(1).outVertex().id());
+        assertEquals(b, merged.get(2).inVertex().id());
+        assertEquals(merged.get(0), merged.get(4));
+        assertEquals(3L, g.E().count().next().longValue());
+        assertEquals(Arrays.asList(1L), g.V(b).out("knows").id().toList());
+        assertEquals(merged.get(2), merged.get(3));
+    }
+
+    @Test
+    public void shouldEvaluateBranchesConcurrentlyInOrder() {
+        final GraphTraversalSource g = TinkerFactory.createTheCrew().traversal();
+        final GraphTraversalSource gp = g.withStrategies(ParallelBranchStrategy.build().parallelism(4).create());
+        final Function<GraphTraversalSource, List<Object>> query = s -> s.V().
+                <Object>union(__.out().out().values("name"), __.both().values("name"), __.outE().values("since")).
+                local(__.union(__.identity(), __.constant("x")).fold()).
+                project("value", "size", "first").by().by(__.count(Scope.local)).by(__.limit(Scope.local, 1)).
+                <Object>map(t -> t.get()).toList();
+
+        final List<Object> expected = query.apply(g);
+        assertEquals(expected, query.apply(gp));
+        assertTrue(expected.size() > 20);
+    }
+
+    @Test
+    public void shouldRethrowExceptionFromConcurrentBranch() {
+        final GraphTraversalSource gp = TinkerFactory.createModern().traversal().
+                withStrategies(ParallelBranchStrategy.build().parallelism(2).create());
+        try {
+            gp.V().union(__.out().values("name").asDate(), __.values("name").asDate()).iterate();
+            fail("Should have thrown an exception parsing a name as a date");
+        } catch (IllegalArgumentException ex) {
+            // expected
+        }
+    }
+
     @Test
     public void shouldManageIndices() {
         final TinkerGraph g = TinkerGraph.open();
@@ -320,6 +458,307 @@ public class TinkerGraphTest {
         }, 0.5)).has("oid", "1").count().next());
     }
 
+    @Test
+    public void shouldReadEdgeRangesFromAdjacencyIndex() {
+        final TinkerGraph graph = TinkerGraph.open(adjacencyIndexConfiguration(10));
+        graph.createAdjacencyIndex("ts");
+        final Vertex v = graph.addVertex();
+        for (int i = 0; i < 100; i++) {
+            v.addEdge("bought", graph.addVertex(), "ts", i, "seen", true);
+        }
+        v.addEdge("bought", graph.addVertex(), "ts", "unknown", "seen", true);
+        v.addEdge("bought", graph.addVertex(), "ts", true, "seen", true);
+        v.addEdge("bought", graph.addVertex(), "seen", true);
+
+        // the spy on "seen" is tested before the range on "ts" for each edge so it only sees every edge of the
+        // vertex when the adjacency index is not used to narrow them down to the ones in range. values which can't
+        // be sorted, like the boolean, are always seen.
+        final GraphTraversalSource g = graph.traversal();
+        final List<Object> seen = new ArrayList<>();
+        final P<Object> spy = P.test((t, u) -> seen.add(t), true);
+
+        assertEquals(10L, g.V(v).outE("bought").has("seen", spy).has("ts", P.gt(89)).count().next().longValue());
+        assertEquals(11, seen.size());
+        seen.clear();
+
+        assertEquals(10L, g.V(v).outE("bought").has("seen", spy).has("ts", P.between(20, 30)).count().next().longValue());
+        assertEquals(11, seen.size());
+        seen.clear();
+
+        assertEquals(1L, g.V(v).outE("bought").has("seen", spy).has("ts", P.eq(5L)).count().next().longValue());
+        assertEquals(2, seen.size());
+        seen.clear();
+
+        assertEquals(0L, g.V(v).outE("bought").has("seen", spy).has("ts", P.gt(50)).has("ts", P.lt(40)).count().next().longValue());
+        assertEquals(1, seen.size());
+        seen.clear();
+
+        graph.dropAdjacencyIndex("ts");
+        assertEquals(10L, g.V(v).outE("bought").has("seen", spy).has("ts", P.gt(89)).count().next().longValue());
+        assertEquals(103, seen.size());
+    }
+
+    @Test
+    public void shouldMaintainAdjacencyIndexOnMutation() {
+        final TinkerGraph graph = TinkerGraph.open(adjacencyIndexConfiguration(10));
+        graph.createAdjacencyIndex("ts");
+        final Vertex v = graph.addVertex();
+        final List<Edge> edges = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            edges.add(v.addEdge("bought", graph.addVertex(), "ts", i));
+            graph.addVertex().addEdge("bought", v, "ts", i);
+        }
+
+        final GraphTraversalSource g = graph.traversal();
+        final Runnable check = () -> {
+            for (final Direction direction : Direction.values()) {
+                final long expected = IteratorUtils.count(IteratorUtils.filter(v.edges(direction, "bought"),
+                        e -> e.property("ts").isPresent() && ((Number) e.value("ts")).intValue() >= 40));
+                assertEquals(expected, g.V(v).toE(direction, "bought").has("ts", P.gte(40)).count().next().longValue());
+            }
+        };
+
+        check.run();
+        edges.get(0).property("ts", 45);
+        edges.get(1).property("ts", 45L);
+        edges.get(45).property("ts", 1);
+        edges.get(46).property("ts").remove();
+        edges.get(47).remove();
+        v.addEdge("bought", graph.addVertex(), "ts", 99.5d);
+        graph.addVertex().addEdge("bought", v, "ts", 40);
+        check.run();
+
+        assertEquals(Arrays.asList(45, 45L), g.V(v).outE("bought").has("ts", P.eq(45)).order().by(T.id).values("ts").toList());
+    }
+
+    @Test
+    public void shouldDropEdgesWhileFilteringAdjacency() {
+        final TinkerGraph graph = TinkerGraph.open();
+        final Vertex v = graph.addVertex();
+        for (int i = 0; i < 20; i++) {
+            v.addEdge(i % 2 == 0 ? "bought" : "sold", graph.addVertex(), "ts", i);
+        }
+
+        // the adjacency is modified as it is read so it can't be read lazily
+        final GraphTraversalSource g = graph.traversal();
+        g.V(v).outE().has("ts", P.gte(10)).drop().iterate();
+        assertEquals(10L, g.V(v).outE().has("ts", P.lt(10)).count().next().longValue());
+        assertEquals(0L, g.V(v).outE().has("ts", P.gte(10)).count().next().longValue());
+    }
+
+    @Test
+    public void shouldFilterTextFromTextIndex() {
+        final TinkerGraph graph = TinkerGraph.open();
+        graph.createTextIndex("text", Vertex.class);
+        final GraphTraversalSource g = graph.traversal();
+        for (int i = 0; i < 100; i++) {
+            g.addV().property("text", "document number " + i).property("seen", true).iterate();
+        }
+        g.addV().property("text", "The Quick-Brown fox").property("seen", true).iterate();
+
+        // the spy on "seen" is tested before the text filter for each vertex so it only sees the vertices that the
+        // text index did not rule out
+        final List<Object> seen = new ArrayList<>();
+        final P<Object> spy = P.test((t, u) -> seen.add(t), true);
+
+        assertEquals(1L, g.V().has("seen", spy).has("text", TextP.containing("ck-Brown f")).count().next().longValue());
+        assertEquals(1, seen.size());
+        seen.clear();
+
+        assertEquals(0L, g.V().has("seen", spy).has("text", TextP.containing("ck-brown f")).count().next().longValue());
+        assertEquals(1, seen.size());
+        seen.clear();
+
+        assertEquals(11L, g.V().has("seen", spy).has("text", TextP.containing("number 7")).count().next().longValue());
+        assertEquals(11, seen.size());
+        seen.clear();
+
+        // only a TextP can be answered from the index
+        assertEquals(1L, g.V().has("seen", spy).has("text", TextP.endingWith("number 7").or(TextP.endingWith("r 7"))).count().next().longValue());
+        assertEquals(101, seen.size());
+        seen.clear();
+
+        assertEquals(1L, g.V().has("seen", spy).has("text", TextP.startingWith("The Qu")).count().next().longValue());
+        assertEquals(1, seen.size());
+        seen.clear();
+
+        assertEquals(1L, g.V().has("seen", spy).has("text", TextP.endingWith("er 42")).count().next().longValue());
+        assertEquals(1, seen.size());
+        seen.clear();
+
+        graph.dropTextIndex("text", Vertex.class);
+        assertEquals(1L, g.V().has("seen", spy).has("text", TextP.startingWith("The Qu")).count().next().longValue());
+        assertEquals(101, seen.size());
+    }
+
+    @Test
+    public void shouldMaintainTextIndexOnMutation() {
+        final TinkerGraph graph = TinkerGraph.open();
+        graph.createTextIndex("text", Vertex.class);
+        graph.createTextIndex("text", Edge.class);
+        final Vertex v1 = graph.addVertex("text", "red apple");
+        final Vertex v2 = graph.addVertex("text", "green apple");
+        final Vertex v3 = graph.addVertex("text", "red pepper");
+        final Edge e = v1.addEdge("near", v2, "text", "red apple pie");
+        final GraphTraversalSource g = graph.traversal();
+
+        final Function<String, List<Object>> search = q -> g.V().has("text", TextP.containing(q)).id().toList();
+        assertEquals(Arrays.asList(v1.id(), v3.id()), search.apply("red"));
+        assertEquals(1L, g.E().has("text", TextP.containing("pie")).count().next().longValue());
+
+        v1.property(VertexProperty.Cardinality.single, "text", "yellow banana");
+        assertEquals(Collections.singletonList(v3.id()), search.apply("red"));
+        assertEquals(Collections.singletonList(v1.id()), search.apply("banana"));
+
+        v2.property(VertexProperty.Cardinality.list, "text", "red grape");
+        assertEquals(Arrays.asList(v2.id(), v3.id()), search.apply("red"));
+        assertEquals(Collections.singletonList(v2.id()), search.apply("apple"));
+        v2.properties("text").forEachRemaining(p -> {
+            if (p.value().equals("green apple")) p.remove();
+        });
+        assertEquals(Collections.emptyList(), search.apply("apple"));
+        assertEquals(Arrays.asList(v2.id(), v3.id()), search.apply("red"));
+
+        v3.remove();
+        assertEquals(Collections.singletonList(v2.id()), search.apply("red"));
+
+        e.property("text", "cherry pie");
+        assertEquals(1L, g.E().has("text", TextP.containing("cherry")).count().next().longValue());
+        assertEquals(0L, g.E().has("text", TextP.containing("apple")).count().next().longValue());
+        e.property("text").remove();
+        assertEquals(0L, g.E().has("text", TextP.containing("cherry")).count().next().longValue());
+
+        // a vertex added after the index was created with many new tokens on it
+        final Vertex v4 = graph.addVertex("text", "red currant");
+        assertEquals(Arrays.asList(v2.id(), v4.id()), search.apply("red"));
+        assertEquals(Collections.singleton("text"), graph.getTextIndexedKeys(Vertex.class));
+    }
+
+    @Test
+    public void shouldSplitTextIntoTokens() {
+        assertEquals(Arrays.asList("the", "quick", "brown", "fox", "42"), TinkerTextIndex.tokenize(" The quick-Brown fox, 42!"));
+        assertEquals(Collections.emptyList(), TinkerTextIndex.tokenize("--"));
+        assertTrue(TinkerTextIndex.matches("The quick brown fox", "QUICK fox", TinkerTextIndex.Mode.term));
+        assertTrue(TinkerTextIndex.matches("The quick brown fox", "fo qu", TinkerTextIndex.Mode.prefix));
+        assertTrue(TinkerTextIndex.matches("The quick brown fox", "quick brown", TinkerTextIndex.Mode.phrase));
+        assertTrue(!TinkerTextIndex.matches("The quick brown fox", "quick fox", TinkerTextIndex.Mode.phrase));
+        assertTrue(TinkerTextIndex.matches("The quick brown fox", "browne", TinkerTextIndex.Mode.fuzzy));
+        assertTrue(!TinkerTextIndex.matches("The quick brown fox", "fix", TinkerTextIndex.Mode.term));
+        assertTrue(!TinkerTextIndex.matches(42, "42", TinkerTextIndex.Mode.term));
+    }
+
+    @Test
+    public void shouldKeepOrdinalsInTextIndexPostings() {
+        final TinkerTextIndex.Postings postings = new TinkerTextIndex.Postings();
+        for (final int ordinal : new int[] {5, 300, 70000, 3, 300, 0, Integer.MAX_VALUE}) {
+            postings.add(ordinal);
+        }
+        assertEquals(6, postings.size());
+        assertEquals("[0, 3, 5, 300, 70000, " + Integer.MAX_VALUE + "]", Arrays.toString(postings.toArray()));
+        postings.remove(300);
+        postings.remove(4);
+        assertEquals("[0, 3, 5, 70000, " + Integer.MAX_VALUE + "]", Arrays.toString(postings.toArray()));
+
+        // out of order ordinals are inserted between their neighbours and removals join them back up
+        postings.add(69999);
+        postings.add(128);
+        postings.add(1);
+        assertEquals("[0, 1, 3, 5, 128, 69999, 70000, " + Integer.MAX_VALUE + "]", Arrays.toString(postings.toArray()));
+        postings.remove(0);
+        postings.remove(Integer.MAX_VALUE);
+        postings.remove(128);
+        assertEquals("[1, 3, 5, 69999, 70000]", Arrays.toString(postings.toArray()));
+        postings.add(70001);
+        assertEquals("[1, 3, 5, 69999, 70000, 70001]", Arrays.toString(postings.toArray()));
+        for (final int ordinal : postings.toArray()) {
+            postings.remove(ordinal);
+        }
+        assertTrue(postings.isEmpty());
+        postings.add(2);
+        assertEquals("[2]", Arrays.toString(postings.toArray()));
+    }
+
+    @Test
+    public void shouldReuseOrdinalsOfRemovedElementsInTextIndex() {
+        final TinkerGraph graph = TinkerGraph.open();
+        graph.createTextIndex("text", Vertex.class);
+        final List<Vertex> vertices = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            vertices.add(graph.addVertex("text", "word" + i + " common"));
+        }
+        assertEquals(10, graph.vertexTextIndex.ordinalCount());
+
+        vertices.get(2).remove();
+        vertices.get(5).remove();
+        final Vertex replacement = graph.addVertex("text", "word2 common");
+        assertEquals(10, graph.vertexTextIndex.ordinalCount());
+        assertEquals(Collections.singletonList(replacement), graph.vertexTextIndex.search("text", "word2", TinkerTextIndex.Mode.term));
+        assertEquals(9, graph.vertexTextIndex.search("text", "common", TinkerTextIndex.Mode.term).size());
+
+        // removing the elements at the end gives back the ordinals freed before them
+        for (int i = 6; i < 10; i++) {
+            vertices.get(i).remove();
+        }
+        assertEquals(5, graph.vertexTextIndex.ordinalCount());
+        assertEquals(5, graph.vertexTextIndex.search("text", "common", TinkerTextIndex.Mode.term).size());
+        graph.addVertex("text", "word10 common");
+        assertEquals(6, graph.vertexTextIndex.ordinalCount());
+        assertEquals(6, graph.vertexTextIndex.search("text", "common", TinkerTextIndex.Mode.term).size());
+    }
+
+    @Test
+    public void shouldCountDegreeFromAdjacency() {
+        final TinkerGraph graph = TinkerGraph.open();
+        final Vertex a = graph.addVertex(T.id, 1);
+        final Vertex b = graph.addVertex(T.id, 2);
+        final Vertex c = graph.addVertex(T.id, 3);
+        a.addEdge("knows", b);
+        a.addEdge("knows", c);
+        a.addEdge("created", c);
+        final Edge loop = a.addEdge("knows", a);
+        b.addEdge("created", c);
+
+        final GraphTraversalSource g = traversal().withEmbedded(graph);
+        final GraphTraversalSource iterated = g.withoutStrategies(TinkerDegreeCountStrategy.class);
+        final List<Function<GraphTraversalSource, Traversal<?, ?>>> traversals = Arrays.asList(
+                s -> s.V().outE().count(),
+                s -> s.V().both("knows").count(),
+                s -> s.V().order().by(T.id).local(__.bothE("knows", "created").count()),
+                s -> s.V().order().by(T.id).local(__.in("knows", "knows").count()),
+                s -> s.V().where(__.outE().count().is(P.gt(1))).id(),
+                s -> s.V().out().out().limit(2).count());
+
+        assertEquals(4, TinkerHelper.degree((TinkerVertex) a, Direction.BOTH, "knows"));
+        assertEquals(3, TinkerHelper.degree((TinkerVertex) c, Direction.IN));
+        assertEquals(0, TinkerHelper.degree((TinkerVertex) c, Direction.OUT));
+        assertTrue(g.V().outE().count().explain().toString().contains("TinkerDegreeStep"));
+        for (final Function<GraphTraversalSource, Traversal<?, ?>> t : traversals) {
+            assertEquals(t.apply(iterated).toList(), t.apply(g).toList());
+        }
+
+        // without bulking a traverser cannot carry the degree so adjacencies are iterated
+        assertEquals(5L, g.withBulk(false).V().outE().count().next().longValue());
+        assertEquals(6L, g.withBulk(false).V().both("knows").count().next().longValue());
+
+        loop.remove();
+        c.remove();
+        assertEquals(1, TinkerHelper.degree((TinkerVertex) a, Direction.BOTH));
+        for (final Function<GraphTraversalSource, Traversal<?, ?>> t : traversals) {
+            assertEquals(t.apply(iterated).toList(), t.apply(g).toList());
+        }
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void shouldRequirePositiveAdjacencyIndexThreshold() {
+        TinkerGraph.open(adjacencyIndexConfiguration(0));
+    }
+
+    private static Configuration adjacencyIndexConfiguration(final int threshold) {
+        final Configuration conf = new BaseConfiguration();
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_ADJACENCY_INDEX_THRESHOLD, threshold);
+        return conf;
+    }
+
     @Test
     public void shouldSerializeTinkerGraphToGryo() throws Exception {
         final TinkerGraph graph = TinkerFactory.createModern();
@@ -19,13 +19,18 @@
 package org.apache.tinkerpop.gremlin.tinkergraph.structure;
 
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.WithOptions;
 import org.apache.tinkerpop.gremlin.structure.Edge;
 import org.apache.tinkerpop.gremlin.structure.T;
 import org.apache.tinkerpop.gremlin.structure.Vertex;
 import org.apache.tinkerpop.gremlin.structure.util.TransactionException;
+import org.apache.tinkerpop.gremlin.util.CollectionUtil;
 import org.junit.Test;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
@@ -1457,4 +1462,23 @@ public class TinkerTransactionGraphTest {
 
         countElementsInNewThreadTx(g, 1, 0);
     }
+
+    @Test
+    public void shouldMergeVerticesInBatchesWithoutBatchVertexLookup() {
+        final GraphTraversalSource g = TinkerTransactionGraph.open().traversal();
+        g.addV("person").property(T.id, 1).property("name", "marko").iterate();
+        g.tx().commit();
+
+        final List<Map<Object, Object>> rows = Arrays.asList(
+                CollectionUtil.asMap(T.id, 1),
+                CollectionUtil.asMap(T.label, "person", "name", "marko"),
+                CollectionUtil.asMap(T.label, "person", "name", "vadas"),
+                CollectionUtil.asMap(T.label, "person", "name", "vadas"),
+                CollectionUtil.asMap(T.label, "software", "name", "lop"));
+        final List<Object> names = g.inject(rows.toArray()).
+                mergeV(__.identity()).with(WithOptions.mergeBatchSize, 10).values("name").toList();
+        assertEquals(Arrays.asList("marko", "marko", "vadas", "vadas", "lop"), names);
+        assertEquals(3L, g.V().count().next().longValue());
+        g.tx().rollback();
+    }
 }